@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.cli;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookup of option values in a parsed {@link CommandLine}
+ * holding <code>optionCount</code> options. The option looked up is the last
+ * one parsed, the worst case for a linear search.
+ *
+ * @version $Revision$, $Date$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandLineBenchmark
+{
+    @Param({"10", "1000", "5000"})
+    public int optionCount;
+
+    private CommandLine line;
+
+    private String shortName;
+
+    private String longName;
+
+    @Setup
+    public void setUp() throws ParseException
+    {
+        Options options = ParserBenchmark.createOptions(optionCount, true);
+        String[] arguments = new String[optionCount * 2];
+        for (int i = 0; i < optionCount; i++)
+        {
+            arguments[2 * i] = "-o" + i;
+            arguments[2 * i + 1] = "value" + i;
+        }
+        line = new BasicParser().parse(options, arguments);
+        shortName = "o" + (optionCount - 1);
+        longName = "option" + (optionCount - 1);
+    }
+
+    @Benchmark
+    public String getOptionValue()
+    {
+        return line.getOptionValue(shortName);
+    }
+
+    @Benchmark
+    public String getOptionValueByLongName()
+    {
+        return line.getOptionValue(longName);
+    }
+
+    @Benchmark
+    public String[] getOptionValues()
+    {
+        return line.getOptionValues(shortName);
+    }
+
+    @Benchmark
+    public boolean hasOption()
+    {
+        return line.hasOption(shortName);
+    }
+}
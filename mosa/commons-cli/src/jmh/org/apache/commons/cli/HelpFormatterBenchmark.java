@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.cli;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link HelpFormatter#printHelp(PrintWriter, int, String, String, Options, int, int, String, boolean)}
+ * for <code>optionCount</code> options. The help is written to a writer that
+ * discards it so only the formatting is measured.
+ *
+ * @version $Revision$, $Date$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelpFormatterBenchmark
+{
+    @Param({"10", "1000", "5000"})
+    public int optionCount;
+
+    private HelpFormatter formatter;
+
+    private Options options;
+
+    private PrintWriter writer;
+
+    @Setup
+    public void setUp()
+    {
+        formatter = new HelpFormatter();
+        options = ParserBenchmark.createOptions(optionCount, true);
+        writer = new PrintWriter(new Writer()
+        {
+            public void write(char[] cbuf, int off, int len)
+            {
+            }
+
+            public void flush()
+            {
+            }
+
+            public void close()
+            {
+            }
+        });
+    }
+
+    @Benchmark
+    public void printHelp()
+    {
+        formatter.printHelp(writer, HelpFormatter.DEFAULT_WIDTH, "app", "header", options,
+                HelpFormatter.DEFAULT_LEFT_PAD, HelpFormatter.DEFAULT_DESC_PAD, "footer", false);
+        writer.flush();
+    }
+
+    @Benchmark
+    public void printHelpWithUsage()
+    {
+        formatter.printHelp(writer, HelpFormatter.DEFAULT_WIDTH, "app", "header", options,
+                HelpFormatter.DEFAULT_LEFT_PAD, HelpFormatter.DEFAULT_DESC_PAD, "footer", true);
+        writer.flush();
+    }
+}
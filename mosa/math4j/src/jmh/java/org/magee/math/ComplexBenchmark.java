@@ -0,0 +1,111 @@
+/**
+ * ComplexBenchmark.java Benchmarks for complex arithmetic.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math;
+
+// import other packages
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures <code>Complex</code> operations over arrays of numbers. Every
+ * benchmark folds <code>size</code> numbers into one result.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComplexBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    private Complex[] numbers;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(size);
+        numbers = new Complex[size];
+        for(int i = 0; i < size; i++) {
+            numbers[i] = new Complex(random.nextGaussian(), random.nextGaussian());
+        }
+    }
+
+    @Benchmark
+    public Complex addMultiply() {
+        Complex sum = new Complex(0.0, 0.0);
+        for(int i = 1; i < numbers.length; i++) {
+            sum = sum.add(numbers[i].multiply(numbers[i - 1]));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Complex divide() {
+        Complex sum = new Complex(0.0, 0.0);
+        for(int i = 1; i < numbers.length; i++) {
+            sum = sum.add(numbers[i].divide(numbers[i - 1]));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Complex pow() {
+        Complex sum = new Complex(0.0, 0.0);
+        for(int i = 0; i < numbers.length; i++) {
+            sum = sum.add(numbers[i].pow(2.5));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Complex log() {
+        Complex sum = new Complex(0.0, 0.0);
+        for(int i = 0; i < numbers.length; i++) {
+            sum = sum.add(numbers[i].log());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double abs() {
+        double sum = 0.0;
+        for(int i = 0; i < numbers.length; i++) {
+            sum += numbers[i].abs();
+        }
+        return sum;
+    }
+}
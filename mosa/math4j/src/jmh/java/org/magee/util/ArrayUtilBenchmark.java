@@ -0,0 +1,95 @@
+/**
+ * ArrayUtilBenchmark.java Benchmarks for the array copying methods.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.util;
+
+// import other packages
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the copy operations of <code>ArrayUtil</code> on double arrays and
+ * Object arrays of increasing length.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayUtilBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    private double[] doubles;
+
+    private Object[] objects;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(size);
+        doubles = new double[size];
+        objects = new Object[size];
+        for(int i = 0; i < size; i++) {
+            doubles[i] = random.nextDouble();
+            objects[i] = Double.valueOf(doubles[i]);
+        }
+    }
+
+    @Benchmark
+    public double[] reverse() {
+        return ArrayUtil.reverse(doubles);
+    }
+
+    @Benchmark
+    public double[] subArray() {
+        return ArrayUtil.subArray(doubles, size / 4, size / 2);
+    }
+
+    @Benchmark
+    public double[] removeIndexElement() {
+        return ArrayUtil.removeIndexElement(doubles, size / 2);
+    }
+
+    @Benchmark
+    public Object[] reverseObjects() {
+        return ArrayUtil.reverse(objects);
+    }
+
+    @Benchmark
+    public Object[] removeNulls() {
+        return ArrayUtil.removeNulls(objects);
+    }
+}
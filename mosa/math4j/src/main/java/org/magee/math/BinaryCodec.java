@@ -0,0 +1,812 @@
+/**
+ * BinaryCodec.java A class that writes functions and numbers in a compact
+ * binary form.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math;
+
+// import other packages
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * The <code>BinaryCodec</code> class writes <code>Function</code>,
+ * <code>Rational</code> and <code>Complex</code> objects in a compact binary
+ * form and reads them back, to a <code>DataOutput</code> or a
+ * <code>ByteBuffer</code>. It cannot be instantiated.
+ * <p>
+ *
+ * A function is written as a version byte followed by a tree of nodes, each
+ * a tag byte naming the class of the function and the values it needs.
+ * The coefficients of a polynomial are packed: whole numbers are written as
+ * variable length integers, numbers that are exactly a <code>float</code>
+ * take four bytes, and only the rest take eight. A rational is its
+ * numerator and denominator as variable length integers, so small
+ * fractions take two bytes, and a complex number is its two parts. Numbers
+ * carry no version byte of their own; they are meant to be part of a larger
+ * record. All multi-byte values are big-endian whatever the order of the
+ * buffer.
+ * <p>
+ *
+ * <code>viewFunction</code> reads a function from a buffer without copying
+ * the coefficients of a polynomial that were written as
+ * <code>float</code>s or <code>double</code>s, so that a file of models
+ * mapped into memory can be evaluated in place.
+ *
+ * @version 1.0, October 19, 2026
+ * @version 1.1, October 19, 2026 Compound functions are written with their
+ *          operation and operands, as format 2.
+ * @version 1.2, October 19, 2026 Views of polynomials have jetAt.
+ * @version 1.3, October 19, 2026 Immutable functions are written as their
+ *          mutable forms, which they are read back as.
+ * @version 1.4, October 19, 2026 Lengths are checked against the data left
+ *          before arrays are made for them.
+ */
+
+/*
+ * version changes
+ * 1.4 a corrupt length cannot make a large array
+ */
+public final class BinaryCodec {
+
+    /**
+     * The version of the format written by this class.
+     */
+    public static final int VERSION = 2;
+
+    // private members
+    private static final int CONSTANT = 0; // the tags of the function nodes
+
+    private static final int POLY = 1;
+
+    private static final int EXPONENTIAL = 2;
+
+    private static final int NATURAL_EXP = 3;
+
+    private static final int LOG = 4;
+
+    private static final int RADICAL = 5;
+
+    private static final int COMPOUND = 6;
+
+    private static final int INTEGRAL = 0; // the packings of a coefficient array
+
+    private static final int FLOAT = 1;
+
+    private static final int DOUBLE = 2;
+
+    private static final double MAX_INTEGRAL = 9007199254740992.0; // 2^53
+
+    private static final int READ_CHUNK = 4096; // coefficients read from a stream before the array grows
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * Returns the number of bytes <code>writeFunction</code> writes for
+     * <code>f</code>.
+     *
+     * @param f The function.
+     * @return The length of its binary form.
+     * @throws IllegalArgumentException If <code>f</code> has no binary form.
+     */
+    public static int encodedLength(Function f) {
+        Counter out = new Counter();
+        out.write(VERSION);
+        function(f, out);
+        return out.count;
+    }
+
+    /**
+     * Writes <code>f</code> to <code>out</code>.
+     *
+     * @param f The function.
+     * @param out The stream to write to.
+     * @throws IOException If <code>out</code> fails.
+     * @throws IllegalArgumentException If <code>f</code> has no binary form.
+     */
+    public static void writeFunction(Function f, DataOutput out) throws IOException {
+        try {
+            Output o = new StreamOutput(out);
+            o.write(VERSION);
+            function(f, o);
+        } catch(UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes <code>f</code> to <code>buf</code> at its position, which is
+     * moved past it.
+     *
+     * @param f The function.
+     * @param buf The buffer to write to.
+     * @throws java.nio.BufferOverflowException If <code>buf</code> is too
+     *         short, in which case its position is unchanged.
+     * @throws IllegalArgumentException If <code>f</code> has no binary form.
+     */
+    public static void writeFunction(Function f, ByteBuffer buf) {
+        BufferOutput o = new BufferOutput(buf);
+        o.write(VERSION);
+        function(f, o);
+        buf.position(o.buf.position());
+    }
+
+    /**
+     * Reads a function written by <code>writeFunction</code>.
+     *
+     * @param in The stream to read from.
+     * @return The function.
+     * @throws IOException If <code>in</code> fails.
+     * @throws StreamCorruptedException If the data is not a function.
+     */
+    public static Function readFunction(DataInput in) throws IOException {
+        try {
+            Input i = new StreamInput(in);
+            return function(i, version(i));
+        } catch(UncheckedIOException e) {
+            throw e.getCause();
+        } catch(IllegalArgumentException e) {
+            throw new StreamCorruptedException(e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a function written by <code>writeFunction</code> from
+     * <code>buf</code> at its position, which is moved past it.
+     *
+     * @param buf The buffer to read from.
+     * @return The function.
+     * @throws java.nio.BufferUnderflowException If <code>buf</code> ends
+     *         first.
+     * @throws IllegalArgumentException If the data is not a function.
+     */
+    public static Function readFunction(ByteBuffer buf) {
+        BufferInput i = new BufferInput(buf);
+        Function f = function(i, version(i));
+        buf.position(i.buf.position());
+        return f;
+    }
+
+    /**
+     * Does the same as <code>readFunction(ByteBuffer)</code>, except that a
+     * polynomial whose coefficients were written as <code>float</code>s or
+     * <code>double</code>s is evaluated from <code>buf</code> itself. Such a
+     * function reads the buffer every time it is used, so the content of
+     * the buffer must not change while it is in use; it is written as a
+     * <code>PolyFunction</code> when serialized.
+     *
+     * @param buf The buffer to read from.
+     * @return The function.
+     * @throws java.nio.BufferUnderflowException If <code>buf</code> ends
+     *         first.
+     * @throws IllegalArgumentException If the data is not a function.
+     */
+    public static Function viewFunction(ByteBuffer buf) {
+        BufferInput i = new BufferInput(buf);
+        int version = version(i);
+        Function f;
+        int at = i.buf.position();
+        if(i.read() == POLY) {
+            int n = length(i);
+            int packing = (n == 0) ? INTEGRAL : i.read();
+            if(packing == FLOAT || packing == DOUBLE) {
+                int width = (packing == FLOAT) ? 4 : 8;
+                if(i.buf.remaining() / width < n)
+                    throw new java.nio.BufferUnderflowException();
+                ByteBuffer coefs = i.buf.slice().order(ByteOrder.BIG_ENDIAN);
+                coefs.limit(n * width);
+                i.buf.position(i.buf.position() + n * width);
+                f = new PolyView(coefs, n, packing == FLOAT);
+            } else {
+                i.buf.position(at);
+                f = function(i, version);
+            }
+        } else {
+            i.buf.position(at);
+            f = function(i, version);
+        }
+        buf.position(i.buf.position());
+        return f;
+    }
+
+    /**
+     * Writes <code>r</code> to <code>out</code>.
+     *
+     * @param r The rational.
+     * @param out The stream to write to.
+     * @throws IOException If <code>out</code> fails.
+     */
+    public static void writeRational(Rational r, DataOutput out) throws IOException {
+        try {
+            rational(r, new StreamOutput(out));
+        } catch(UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes <code>r</code> to <code>buf</code> at its position, which is
+     * moved past it.
+     *
+     * @param r The rational.
+     * @param buf The buffer to write to.
+     * @throws java.nio.BufferOverflowException If <code>buf</code> is too
+     *         short, in which case its position is unchanged.
+     */
+    public static void writeRational(Rational r, ByteBuffer buf) {
+        BufferOutput o = new BufferOutput(buf);
+        rational(r, o);
+        buf.position(o.buf.position());
+    }
+
+    /**
+     * Reads a rational written by <code>writeRational</code>.
+     *
+     * @param in The stream to read from.
+     * @return The rational.
+     * @throws IOException If <code>in</code> fails.
+     * @throws StreamCorruptedException If the data is not a rational.
+     */
+    public static Rational readRational(DataInput in) throws IOException {
+        try {
+            return rational(new StreamInput(in));
+        } catch(UncheckedIOException e) {
+            throw e.getCause();
+        } catch(IllegalArgumentException e) {
+            throw new StreamCorruptedException(e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a rational written by <code>writeRational</code> from
+     * <code>buf</code> at its position, which is moved past it.
+     *
+     * @param buf The buffer to read from.
+     * @return The rational.
+     * @throws java.nio.BufferUnderflowException If <code>buf</code> ends
+     *         first.
+     * @throws IllegalArgumentException If the data is not a rational.
+     */
+    public static Rational readRational(ByteBuffer buf) {
+        BufferInput i = new BufferInput(buf);
+        Rational r = rational(i);
+        buf.position(i.buf.position());
+        return r;
+    }
+
+    /**
+     * Writes <code>c</code> to <code>out</code>.
+     *
+     * @param c The complex number.
+     * @param out The stream to write to.
+     * @throws IOException If <code>out</code> fails.
+     */
+    public static void writeComplex(Complex c, DataOutput out) throws IOException {
+        out.writeDouble(c.real);
+        out.writeDouble(c.imag);
+    }
+
+    /**
+     * Writes <code>c</code> to <code>buf</code> at its position, which is
+     * moved past it.
+     *
+     * @param c The complex number.
+     * @param buf The buffer to write to.
+     * @throws java.nio.BufferOverflowException If <code>buf</code> is too
+     *         short, in which case its position is unchanged.
+     */
+    public static void writeComplex(Complex c, ByteBuffer buf) {
+        BufferOutput o = new BufferOutput(buf);
+        o.writeDouble(c.real);
+        o.writeDouble(c.imag);
+        buf.position(o.buf.position());
+    }
+
+    /**
+     * Reads a complex number written by <code>writeComplex</code>.
+     *
+     * @param in The stream to read from.
+     * @return The complex number.
+     * @throws IOException If <code>in</code> fails.
+     */
+    public static Complex readComplex(DataInput in) throws IOException {
+        double real = in.readDouble();
+        return new Complex(real, in.readDouble());
+    }
+
+    /**
+     * Reads a complex number written by <code>writeComplex</code> from
+     * <code>buf</code> at its position, which is moved past it.
+     *
+     * @param buf The buffer to read from.
+     * @return The complex number.
+     * @throws java.nio.BufferUnderflowException If <code>buf</code> ends
+     *         first.
+     */
+    public static Complex readComplex(ByteBuffer buf) {
+        BufferInput i = new BufferInput(buf);
+        double real = i.readDouble();
+        Complex c = new Complex(real, i.readDouble());
+        buf.position(i.buf.position());
+        return c;
+    }
+
+    /**
+     * Writes the node of <code>f</code>.
+     */
+    private static void function(Function f, Output out) {
+        Class<?> type = f.getClass();
+        if(type == ConstantFunction.class) {
+            out.write(CONSTANT);
+            out.writeDouble(((ConstantFunction) f).getValue());
+        } else if(type == PolyFunction.class) {
+            out.write(POLY);
+            coefficients(((PolyFunction) f).getCoeffients(), out);
+        } else if(type == ImmutablePolyFunction.class) {
+            out.write(POLY);
+            coefficients(((ImmutablePolyFunction) f).getCoeffients(), out);
+        } else if(f instanceof PolyView) {
+            out.write(POLY);
+            coefficients(((PolyView) f).getCoeffients(), out);
+        } else if(type == ExponentialFunction.class) {
+            out.write(EXPONENTIAL);
+            out.writeDouble(((ExponentialFunction) f).getBase());
+        } else if(type == ImmutableExponentialFunction.class) {
+            out.write(EXPONENTIAL);
+            out.writeDouble(((ImmutableExponentialFunction) f).getBase());
+        } else if(type == NaturalExpFunction.class) {
+            out.write(NATURAL_EXP);
+        } else if(type == LogFunction.class) {
+            out.write(LOG);
+            out.writeDouble(((LogFunction) f).getBase());
+        } else if(type == ImmutableLogFunction.class) {
+            out.write(LOG);
+            out.writeDouble(((ImmutableLogFunction) f).getBase());
+        } else if(type == RadicalFunction.class) {
+            out.write(RADICAL);
+            out.writeDouble(((RadicalFunction) f).getIndex());
+        } else if(type == CompoundFunction.class) {
+            CompoundFunction c = (CompoundFunction) f;
+            out.write(COMPOUND);
+            out.write(c.getOperation().ordinal());
+            function(c.getLeft(), out);
+            function(c.getRight(), out);
+        } else {
+            throw new IllegalArgumentException("No binary form for " + type.getName());
+        }
+    }
+
+    /**
+     * Reads a node written by <code>function(Function, Output)</code>.
+     */
+    private static Function function(Input in, int version) {
+        int tag = in.read();
+        switch(tag) {
+            case CONSTANT:
+                return new ConstantFunction(in.readDouble());
+            case POLY:
+                double[] coefs = coefficients(in);
+                return (coefs.length == 0) ? new PolyFunction() : new PolyFunction(coefs);
+            case EXPONENTIAL:
+                return new ExponentialFunction(in.readDouble());
+            case NATURAL_EXP:
+                return new NaturalExpFunction();
+            case LOG:
+                return new LogFunction(in.readDouble());
+            case RADICAL:
+                return new RadicalFunction(in.readDouble());
+            case COMPOUND:
+                if(version == 1)
+                    return new CompoundFunction();
+                int op = in.read();
+                CompoundFunction.Operation[] ops = CompoundFunction.Operation.values();
+                if(op >= ops.length)
+                    throw new IllegalArgumentException("Unknown operation " + op);
+                Function left = function(in, version);
+                return new CompoundFunction(ops[op], left, function(in, version));
+            default:
+                throw new IllegalArgumentException("Unknown function tag " + tag);
+        }
+    }
+
+    private static int version(Input in) {
+        int version = in.read();
+        if(version < 1 || version > VERSION)
+            throw new IllegalArgumentException("Unsupported format version " + version);
+        return version;
+    }
+
+    /**
+     * Writes the coefficients, highest power first, without the leading
+     * zeros, in the tightest packing that holds all of them exactly.
+     */
+    private static void coefficients(double[] coefs, Output out) {
+        int from = 0;
+        while(from < coefs.length && coefs[from] == 0.0) {
+            from++;
+        }
+        int packing = INTEGRAL;
+        for(int i = from; i < coefs.length && packing != DOUBLE; i++) {
+            double c = coefs[i];
+            if(packing == INTEGRAL && !(Math.rint(c) == c && Math.abs(c) <= MAX_INTEGRAL && !isNegativeZero(c)))
+                packing = FLOAT;
+            if(packing == FLOAT && !((double) (float) c == c || Double.isNaN(c)))
+                packing = DOUBLE;
+        }
+        out.writeVarLong(coefs.length - from);
+        if(from == coefs.length)
+            return;
+        out.write(packing);
+        for(int i = from; i < coefs.length; i++) {
+            if(packing == INTEGRAL)
+                out.writeVarLong(zigZag((long) coefs[i]));
+            else if(packing == FLOAT)
+                out.writeInt(Float.floatToRawIntBits((float) coefs[i]));
+            else
+                out.writeDouble(coefs[i]);
+        }
+    }
+
+    /**
+     * Reads coefficients written by <code>coefficients(double[], Output)</code>.
+     * The array grows as they are read, so a corrupt length in a stream
+     * fails at the end of the data instead of making a huge array.
+     */
+    private static double[] coefficients(Input in) {
+        int n = length(in);
+        double[] coefs = new double[Math.min(n, READ_CHUNK)];
+        if(n == 0)
+            return coefs;
+        int packing = in.read();
+        if(packing != INTEGRAL && packing != FLOAT && packing != DOUBLE)
+            throw new IllegalArgumentException("Unknown packing " + packing);
+        for(int i = 0; i < n; i++) {
+            if(i == coefs.length)
+                coefs = Arrays.copyOf(coefs, (int) Math.min(n, 2L * coefs.length));
+            if(packing == INTEGRAL)
+                coefs[i] = unZigZag(in.readVarLong());
+            else if(packing == FLOAT)
+                coefs[i] = Float.intBitsToFloat(in.readInt());
+            else
+                coefs[i] = in.readDouble();
+        }
+        if(coefs[0] == 0.0)
+            throw new IllegalArgumentException("Leading zero coefficient");
+        return coefs;
+    }
+
+    /**
+     * Reads the number of coefficients, each of which takes at least one of
+     * the bytes left when that number is known.
+     */
+    private static int length(Input in) {
+        long n = in.readVarLong();
+        if(n < 0L || n > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Bad length " + n);
+        long left = in.remaining();
+        if(left >= 0L && n > left)
+            throw new IllegalArgumentException("Length " + n + " is more than the " + left + " bytes left");
+        return (int) n;
+    }
+
+    private static void rational(Rational r, Output out) {
+        out.writeVarLong(zigZag(r.numerator));
+        out.writeVarLong(zigZag(r.denominator));
+    }
+
+    private static Rational rational(Input in) {
+        long numerator = unZigZag(in.readVarLong());
+        long denominator = unZigZag(in.readVarLong());
+        if(denominator == 0L)
+            throw new IllegalArgumentException("Zero denominator");
+        return new Rational(numerator, denominator);
+    }
+
+    private static boolean isNegativeZero(double d) {
+        return d == 0.0 && Double.doubleToRawLongBits(d) != 0L;
+    }
+
+    /**
+     * Maps signed values to unsigned ones so that small magnitudes of
+     * either sign get short variable length forms.
+     */
+    private static long zigZag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    private static long unZigZag(long n) {
+        return (n >>> 1) ^ -(n & 1L);
+    }
+
+    /**
+     * The destination of the encoder. Variable length integers are written
+     * seven bits at a time, lowest first, with the high bit of each byte
+     * set while more follow.
+     */
+    private static abstract class Output {
+        abstract void write(int b);
+
+        abstract void writeInt(int v);
+
+        abstract void writeDouble(double v);
+
+        final void writeVarLong(long v) {
+            while((v & ~0x7FL) != 0L) {
+                write((int) (v & 0x7FL) | 0x80);
+                v >>>= 7;
+            }
+            write((int) v);
+        }
+    }
+
+    /**
+     * The source of the decoder.
+     */
+    private static abstract class Input {
+        abstract int read();
+
+        /**
+         * Returns the number of bytes left, or -1 if it is not known.
+         */
+        abstract long remaining();
+
+        abstract int readInt();
+
+        abstract double readDouble();
+
+        final long readVarLong() {
+            long v = 0L;
+            for(int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                v |= (long) (b & 0x7F) << shift;
+                if((b & 0x80) == 0)
+                    return v;
+            }
+            throw new IllegalArgumentException("Variable length integer too long");
+        }
+    }
+
+    private static class Counter extends Output {
+        int count;
+
+        void write(int b) {
+            count++;
+        }
+
+        void writeInt(int v) {
+            count += 4;
+        }
+
+        void writeDouble(double v) {
+            count += 8;
+        }
+    }
+
+    private static class StreamOutput extends Output {
+        private final DataOutput out;
+
+        StreamOutput(DataOutput out) {
+            this.out = out;
+        }
+
+        void write(int b) {
+            try {
+                out.write(b);
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeInt(int v) {
+            try {
+                out.writeInt(v);
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeDouble(double v) {
+            try {
+                out.writeDouble(v);
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static class StreamInput extends Input {
+        private final DataInput in;
+
+        StreamInput(DataInput in) {
+            this.in = in;
+        }
+
+        long remaining() {
+            return -1L;
+        }
+
+        int read() {
+            try {
+                return in.readUnsignedByte();
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        int readInt() {
+            try {
+                return in.readInt();
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        double readDouble() {
+            try {
+                return in.readDouble();
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes to a big-endian duplicate of the caller's buffer, so that the
+     * caller's position only moves once the whole value fits.
+     */
+    private static class BufferOutput extends Output {
+        final ByteBuffer buf;
+
+        BufferOutput(ByteBuffer buf) {
+            this.buf = buf.duplicate().order(ByteOrder.BIG_ENDIAN);
+        }
+
+        void write(int b) {
+            buf.put((byte) b);
+        }
+
+        void writeInt(int v) {
+            buf.putInt(v);
+        }
+
+        void writeDouble(double v) {
+            buf.putDouble(v);
+        }
+    }
+
+    private static class BufferInput extends Input {
+        final ByteBuffer buf;
+
+        BufferInput(ByteBuffer buf) {
+            this.buf = buf.duplicate().order(ByteOrder.BIG_ENDIAN);
+        }
+
+        int read() {
+            return buf.get() & 0xFF;
+        }
+
+        long remaining() {
+            return buf.remaining();
+        }
+
+        int readInt() {
+            return buf.getInt();
+        }
+
+        double readDouble() {
+            return buf.getDouble();
+        }
+    }
+
+    /**
+     * A polynomial whose coefficients, highest power first, are read from
+     * a buffer each time it is evaluated.
+     */
+    private static class PolyView extends Function {
+        static final long serialVersionUID = 1L;
+
+        private final transient ByteBuffer coefs;
+
+        private final int n;
+
+        private final boolean floats;
+
+        PolyView(ByteBuffer coefs, int n, boolean floats) {
+            this.coefs = coefs;
+            this.n = n;
+            this.floats = floats;
+        }
+
+        private double coefficient(int i) {
+            return floats ? coefs.getFloat(i << 2) : coefs.getDouble(i << 3);
+        }
+
+        double[] getCoeffients() {
+            double[] c = new double[n];
+            for(int i = 0; i < n; i++) {
+                c[i] = coefficient(i);
+            }
+            return c;
+        }
+
+        private PolyFunction toPolyFunction() {
+            return (n == 0) ? new PolyFunction() : new PolyFunction(getCoeffients());
+        }
+
+        public String toString() {
+            return toPolyFunction().toString();
+        }
+
+        public double valueAt(double x) {
+            double value = 0.0;
+            for(int i = 0; i < n; i++) {
+                value = value * x + coefficient(i);
+            }
+            return value;
+        }
+
+        public void jetAt(double x, double[] jet) {
+            double p0 = 0.0, p1 = 0.0, p2 = 0.0;
+            for(int i = 0; i < n; i++) {
+                p2 = p2 * x + p1;
+                p1 = p1 * x + p0;
+                p0 = p0 * x + coefficient(i);
+            }
+            jet[0] = p0;
+            jet[1] = p1;
+            jet[2] = 2 * p2;
+        }
+
+        /**
+         * Evaluates the antiderivative that is zero at zero.
+         */
+        private double antiderivValueAt(double x) {
+            double value = 0.0;
+            for(int i = 0; i < n; i++) {
+                value = value * x + coefficient(i) / (n - i);
+            }
+            return value * x;
+        }
+
+        public double area(double x1, double x2) {
+            return antiderivValueAt(x2) - antiderivValueAt(x1);
+        }
+
+        protected Function deriveFunc() {
+            return toPolyFunction().getDerivFunc();
+        }
+
+        protected Function integrateFunc() {
+            return toPolyFunction().getAntiderivFunc();
+        }
+
+        private Object writeReplace() {
+            return toPolyFunction();
+        }
+    }
+}
@@ -33,10 +33,27 @@ package org.magee.math;
  * are methods for finding values, area under the curve, derivative, etc.
  * <p>
  * 
- * Stored in this class are each of the functions added to it.
+ * Stored in this class are the two functions it combines and the
+ * <code>Operation</code> that combines them; either may itself be a
+ * compound function, so a tree of them describes any expression in the
+ * package. The static methods <code>sum</code>, <code>product</code>,
+ * <code>quotient</code> and <code>compose</code> build such trees while
+ * simplifying them: constants are folded, zeros and ones are dropped, and
+ * polynomials are combined into one polynomial. The derivative of every
+ * tree is found by the usual rules; an antiderivative is found for sums,
+ * constant multiples and functions of a linear function, and the area
+ * under any other tree is found numerically.
  * 
  * @author Anthony W. Magee
  * @version 1.0, August 22, 2004
+ * @version 1.1, October 19, 2026 Implemented as a tree of two functions with
+ *          simplifying constructors and symbolic derivatives.
+ * @version 1.2, October 19, 2026 Added jetAt, which applies the rules of
+ *          differentiation to numbers instead of trees.
+ * @version 1.3, October 19, 2026 Immutable polynomials are folded like
+ *          polynomials.
+ * @version 1.4, October 19, 2026 The derivative is found again when an
+ *          operand changes.
  */
 
 /*
@@ -46,32 +63,429 @@ package org.magee.math;
 public class CompoundFunction extends Function {
     static final long serialVersionUID = 1L;
 
+    /**
+     * Enum defining the ways two functions can be combined
+     */
+    public static enum Operation {
+        SUM, PRODUCT, QUOTIENT, COMPOSITION
+    }
+
+    // private members
+    private final Operation operation; // how f and g are combined
+
+    private final Function f; // the left operand, or the outer function of a composition
+
+    private final Function g; // the right operand, or the inner function of a composition
+
+    /**
+     * Constructor that creates the function 0 + 0.
+     */
     public CompoundFunction() {
-        //      TODO 
+        this(Operation.SUM, new ConstantFunction(), new ConstantFunction());
+    }
+
+    /**
+     * Constructor that combines <code>f</code> and <code>g</code> by
+     * <code>operation</code> as given, without simplifying.
+     * 
+     * @param operation The way to combine the functions.
+     * @param f The left operand, or the outer function of a composition.
+     * @param g The right operand, or the inner function of a composition.
+     */
+    public CompoundFunction(Operation operation, Function f, Function g) {
+        if(operation == null || f == null || g == null)
+            throw new IllegalArgumentException("Null operation or operand");
+        this.operation = operation;
+        this.f = f;
+        this.g = g;
+    }
+
+    /**
+     * Returns the way the two functions are combined.
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns the left operand, or the outer function of a composition.
+     */
+    public Function getLeft() {
+        return f;
+    }
+
+    /**
+     * Returns the right operand, or the inner function of a composition.
+     */
+    public Function getRight() {
+        return g;
+    }
+
+    /**
+     * Returns <code>f</code> + <code>g</code>, simplified.
+     * 
+     * @param f The first addend.
+     * @param g The second addend.
+     * @return The sum.
+     */
+    public static Function sum(Function f, Function g) {
+        if(isConstant(f, 0.0))
+            return g;
+        if(isConstant(g, 0.0))
+            return f;
+        double[] p = coefficients(f), q = coefficients(g);
+        if(p != null && q != null) {
+            double[] r = new double[Math.max(p.length, q.length)];
+            for(int i = 0; i < p.length; i++) {
+                r[r.length - p.length + i] += p[i];
+            }
+            for(int i = 0; i < q.length; i++) {
+                r[r.length - q.length + i] += q[i];
+            }
+            return polynomial(r);
+        }
+        return new CompoundFunction(Operation.SUM, f, g);
+    }
+
+    /**
+     * Returns <code>f</code> - <code>g</code>, simplified.
+     * 
+     * @param f The minuend.
+     * @param g The subtrahend.
+     * @return The difference.
+     */
+    public static Function difference(Function f, Function g) {
+        return sum(f, product(new ConstantFunction(-1.0), g));
+    }
+
+    /**
+     * Returns <code>f</code> * <code>g</code>, simplified. A constant
+     * factor is kept on the left.
+     * 
+     * @param f The multiplicand.
+     * @param g The multiplier.
+     * @return The product.
+     */
+    public static Function product(Function f, Function g) {
+        if(isConstant(f, 0.0) || isConstant(g, 0.0))
+            return new ConstantFunction(0.0);
+        if(isConstant(f, 1.0))
+            return g;
+        if(isConstant(g, 1.0))
+            return f;
+        double[] p = coefficients(f), q = coefficients(g);
+        if(p != null && q != null) {
+            double[] r = new double[p.length + q.length - 1];
+            for(int i = 0; i < p.length; i++) {
+                for(int j = 0; j < q.length; j++) {
+                    r[i + j] += p[i] * q[j];
+                }
+            }
+            return polynomial(r);
+        }
+        if(q != null && q.length == 1)
+            return product(g, f);
+        if(p != null && p.length == 1 && g instanceof CompoundFunction) {
+            CompoundFunction h = (CompoundFunction) g;
+            double[] c = coefficients(h.f);
+            if(h.operation == Operation.PRODUCT && c != null && c.length == 1)
+                return product(new ConstantFunction(p[0] * c[0]), h.g);
+        }
+        return new CompoundFunction(Operation.PRODUCT, f, g);
+    }
+
+    /**
+     * Returns <code>f</code> / <code>g</code>, simplified.
+     * 
+     * @param f The dividend.
+     * @param g The divisor.
+     * @return The quotient.
+     */
+    public static Function quotient(Function f, Function g) {
+        double[] q = coefficients(g);
+        if(q != null && q.length == 1)
+            return product(new ConstantFunction(1.0 / q[0]), f);
+        if(isConstant(f, 0.0))
+            return new ConstantFunction(0.0);
+        return new CompoundFunction(Operation.QUOTIENT, f, g);
+    }
+
+    /**
+     * Returns <code>f</code>(<code>g</code>(x)), simplified.
+     * 
+     * @param f The outer function.
+     * @param g The inner function.
+     * @return The composition.
+     */
+    public static Function compose(Function f, Function g) {
+        double[] p = coefficients(f), q = coefficients(g);
+        if(p != null && p.length <= 1)
+            return f;
+        if(isIdentity(q))
+            return f;
+        if(isIdentity(p))
+            return g;
+        if(p != null && q != null) {
+            Function r = new ConstantFunction(0.0);
+            for(int i = 0; i < p.length; i++) { // Horner's rule over polynomials
+                r = sum(product(r, g), new ConstantFunction(p[i]));
+            }
+            return r;
+        }
+        return new CompoundFunction(Operation.COMPOSITION, f, g);
     }
 
+    /**
+     * Returns x<sup><code>power</code></sup>, simplified.
+     * 
+     * @param power The exponent.
+     * @return The power function.
+     */
+    public static Function power(double power) {
+        if(power == 0.0)
+            return new ConstantFunction(1.0);
+        if(power == 1.0)
+            return new PolyFunction(new double[] { 1.0, 0.0 });
+        return new RadicalFunction(1.0 / power);
+    }
+
+    /**
+     * Returns the coefficients, highest power first and without leading
+     * zeros, of a constant or polynomial function, or null for any other.
+     */
+    static double[] coefficients(Function f) {
+        if(f instanceof ImmutablePolyFunction)
+            return ((ImmutablePolyFunction) f).getCoeffients();
+        if(f instanceof ConstantFunction)
+            return (((ConstantFunction) f).getValue() == 0.0) ? new double[0] : new double[] { ((ConstantFunction) f).getValue() };
+        if(!(f instanceof PolyFunction))
+            return null;
+        double[] c = ((PolyFunction) f).getCoeffients();
+        int from = 0;
+        while(from < c.length && c[from] == 0.0) {
+            from++;
+        }
+        return (from == 0) ? c : java.util.Arrays.copyOfRange(c, from, c.length);
+    }
+
+    /**
+     * Returns the function with coefficients <code>c</code>, highest power
+     * first: a <code>ConstantFunction</code> if it has no powers of x, or a
+     * <code>PolyFunction</code>.
+     */
+    static Function polynomial(double[] c) {
+        int from = 0;
+        while(from < c.length && c[from] == 0.0) {
+            from++;
+        }
+        if(c.length - from <= 1)
+            return new ConstantFunction((from == c.length) ? 0.0 : c[from]);
+        return new PolyFunction(java.util.Arrays.copyOfRange(c, from, c.length));
+    }
+
+    private static boolean isConstant(Function f, double value) {
+        double[] c = coefficients(f);
+        if(c == null)
+            return false;
+        return (value == 0.0) ? c.length == 0 : c.length == 1 && c[0] == value;
+    }
+
+    private static boolean isIdentity(double[] c) {
+        return c != null && c.length == 2 && c[0] == 1.0 && c[1] == 0.0;
+    }
+
+    /**
+     * Returns a string representation of this function.
+     */
     public String toString() {
-        //      TODO 
-        return null;
+        String symbol;
+        switch(operation) {
+            case SUM:
+                symbol = " + ";
+                break;
+            case PRODUCT:
+                symbol = " * ";
+                break;
+            case QUOTIENT:
+                symbol = " / ";
+                break;
+            default:
+                symbol = " o ";
+        }
+        return "(" + f + ")" + symbol + "(" + g + ")";
     }
 
+    /**
+     * Evaluates the value of the function at x.
+     * 
+     * @param x The value to evaluate the function at.
+     * @return The y value.
+     */
     public double valueAt(double x) {
-        //      TODO 
-        return 0;
+        switch(operation) {
+            case SUM:
+                return f.valueAt(x) + g.valueAt(x);
+            case PRODUCT:
+                return f.valueAt(x) * g.valueAt(x);
+            case QUOTIENT:
+                return f.valueAt(x) / g.valueAt(x);
+            default:
+                return f.valueAt(g.valueAt(x));
+        }
     }
 
+    /**
+     * Writes the value of the function at x and its first two derivatives
+     * to <code>jet</code>, combining those of the two operands by the sum,
+     * product, quotient and chain rules. Nothing is allocated, so a whole
+     * tree is evaluated without garbage.
+     * 
+     * @param x The value to evaluate the function at.
+     * @param jet The array of at least three elements to write to.
+     */
+    public void jetAt(double x, double[] jet) {
+        if(operation == Operation.COMPOSITION) {
+            g.jetAt(x, jet);
+            double u1 = jet[1], u2 = jet[2];
+            f.jetAt(jet[0], jet);
+            jet[2] = jet[2] * u1 * u1 + jet[1] * u2;
+            jet[1] = jet[1] * u1;
+            return;
+        }
+        f.jetAt(x, jet);
+        double a0 = jet[0], a1 = jet[1], a2 = jet[2];
+        g.jetAt(x, jet);
+        double b0 = jet[0], b1 = jet[1], b2 = jet[2];
+        switch(operation) {
+            case SUM:
+                jet[0] = a0 + b0;
+                jet[1] = a1 + b1;
+                jet[2] = a2 + b2;
+                break;
+            case PRODUCT:
+                jet[0] = a0 * b0;
+                jet[1] = a1 * b0 + a0 * b1;
+                jet[2] = a2 * b0 + 2 * a1 * b1 + a0 * b2;
+                break;
+            default:
+                double q = a0 / b0;
+                double q1 = (a1 - q * b1) / b0;
+                jet[0] = q;
+                jet[1] = q1;
+                jet[2] = (a2 - 2 * q1 * b1 - q * b2) / b0;
+        }
+    }
+
+    /**
+     * Evaluates the area under the curve from <code>x1</code> to
+     * <code>x2</code>, from the antiderivative if there is one and by
+     * adaptive Simpson's rule otherwise.
+     * 
+     * @param x1 Lower bound.
+     * @param x2 Upper bound.
+     * @return The total area under the curve.
+     */
     public double area(double x1, double x2) {
-        // TODO Auto-generated method stub
-        return 0;
+        if(x1 == x2)
+            return 0.0;
+        Function ad = getAntiderivFunc();
+        if(ad != null)
+            return ad.valueAt(x2) - ad.valueAt(x1);
+        double y1 = valueAt(x1), y2 = valueAt(x2), ym = valueAt((x1 + x2) / 2);
+        return simpson(x1, x2, y1, ym, y2, (x2 - x1) / 6 * (y1 + 4 * ym + y2), 1e-10, 40);
     }
 
-    public Function getDerivFunc() {
-        // TODO Auto-generated method stub
-        return null;
+    private double simpson(double a, double b, double fa, double fm, double fb, double whole, double eps, int depth) {
+        double m = (a + b) / 2, lm = (a + m) / 2, rm = (m + b) / 2;
+        double flm = valueAt(lm), frm = valueAt(rm);
+        double left = (m - a) / 6 * (fa + 4 * flm + fm);
+        double right = (b - m) / 6 * (fm + 4 * frm + fb);
+        double delta = left + right - whole;
+        if(depth <= 0 || Math.abs(delta) <= 15 * eps)
+            return left + right + delta / 15;
+        return simpson(a, m, fa, flm, fm, left, eps / 2, depth - 1) + simpson(m, b, fm, frm, fb, right, eps / 2, depth - 1);
     }
 
-    public Function getAntiderivFunc() {
-        // TODO Auto-generated method stub
+    /**
+     * Returns a stamp that grows whenever either operand changes.
+     */
+    protected long stamp() {
+        return super.stamp() + f.stamp() + g.stamp();
+    }
+
+    /** 
+     * Finds the derivative of this function by the sum, product, quotient
+     * and chain rules.
+     * 
+     * @return A function that is the derivative of <code>this</code>, or
+     *         null if an operand has none.
+     */
+    protected Function deriveFunc() {
+        Function df = f.getDerivFunc(), dg = g.getDerivFunc();
+        if(df == null || dg == null)
+            return null;
+        switch(operation) {
+            case SUM:
+                return sum(df, dg);
+            case PRODUCT:
+                return sum(product(df, g), product(f, dg));
+            case QUOTIENT:
+                return quotient(difference(product(df, g), product(f, dg)), product(g, g));
+            default:
+                return product(compose(df, g), dg);
+        }
+    }
+
+    /** 
+     * Finds the antiderivative of this function, if it is a sum, a constant
+     * multiple or a function of a linear function.
+     * 
+     * @return A function that is the antiderivative of <code>this</code>, or
+     *         null if none is found.
+     */
+    protected Function integrateFunc() {
+        Function s = combine(operation, f, g);
+        if(!(s instanceof CompoundFunction))
+            return s.getAntiderivFunc(); // it simplified to a single function
+        CompoundFunction c = (CompoundFunction) s;
+        if(c.operation != operation || c.f != f || c.g != g)
+            return c.getAntiderivFunc(); // it simplified to another tree
+        double[] p = coefficients(f), q = coefficients(g);
+        if(operation == Operation.SUM) {
+            Function af = f.getAntiderivFunc(), ag = g.getAntiderivFunc();
+            return (af == null || ag == null) ? null : sum(af, ag);
+        } else if(operation == Operation.PRODUCT) {
+            if(p != null && p.length <= 1)
+                return times(p, g.getAntiderivFunc());
+            if(q != null && q.length <= 1)
+                return times(q, f.getAntiderivFunc());
+        } else if(operation == Operation.COMPOSITION && q != null && q.length == 2) {
+            Function af = f.getAntiderivFunc();
+            return (af == null) ? null : product(new ConstantFunction(1.0 / q[0]), compose(af, g));
+        }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Combines <code>f</code> and <code>g</code> by <code>operation</code>,
+     * simplified.
+     */
+    private static Function combine(Operation operation, Function f, Function g) {
+        switch(operation) {
+            case SUM:
+                return sum(f, g);
+            case PRODUCT:
+                return product(f, g);
+            case QUOTIENT:
+                return quotient(f, g);
+            default:
+                return compose(f, g);
+        }
+    }
+
+    private static Function times(double[] c, Function h) {
+        if(h == null)
+            return null;
+        return product(new ConstantFunction((c.length == 0) ? 0.0 : c[0]), h);
+    }
+}
@@ -30,6 +30,11 @@ import java.io.Serializable;
  * 
  * @author Anthony Magee
  * @version 1.0 November 6, 2005
+ * @version 1.1, October 19, 2026 Added getValue.
+ * @version 1.2, October 19, 2026 A zero antiderivative no longer fails.
+ * @version 1.3, October 19, 2026 Added jetAt.
+ * @version 1.4, October 19, 2026 The value is final, so a constant can be
+ *          shared between threads.
  */
 
 /* version changes
@@ -38,7 +43,7 @@ import java.io.Serializable;
 public class ConstantFunction extends Function implements Serializable {
     static final long serialVersionUID = 1L;
     
-    private double c;
+    private final double c;
 
     /**
      * An overloaded constructor that creates the function f(x) = 0.0.
@@ -56,6 +61,13 @@ public class ConstantFunction extends Function implements Serializable {
         this.c = c;
     }
 
+    /**
+     * Returns the value of this function.
+     */
+    public double getValue() {
+        return c;
+    }
+
     /**
      * Returns a string representation of this function.
      */
@@ -72,6 +84,18 @@ public class ConstantFunction extends Function implements Serializable {
         return c;
     }
 
+    /**
+     * Writes c and the two zero derivatives to <code>jet</code>.
+     * 
+     * @param x The point in the domain.
+     * @param jet The array of at least three elements to write to.
+     */
+    public void jetAt(double x, double[] jet) {
+        jet[0] = c;
+        jet[1] = 0.0;
+        jet[2] = 0.0;
+    }
+
     /**
      * Finds the area under the curve from <code>x1</code> to <code>x2</code>.
      * 
@@ -88,7 +112,7 @@ public class ConstantFunction extends Function implements Serializable {
      * 
      * @return A function that is the derivative of <code>this</code>.
      */
-    public Function getDerivFunc() {
+    protected Function deriveFunc() {
         return new ConstantFunction();
     }
 
@@ -97,7 +121,7 @@ public class ConstantFunction extends Function implements Serializable {
      * 
      * @return A function that is the antiderivative of <code>this</code>.
      */
-    public Function getAntiderivFunc() {
-        return new PolyFunction(new double[] {c, 0});
+    protected Function integrateFunc() {
+        return CompoundFunction.polynomial(new double[] {c, 0});
     }
 }
@@ -0,0 +1,136 @@
+/**
+ * ImmutableExponentialFunction.java A class for defining an exponential function that cannot be changed.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math;
+
+/**
+ * The <code>ImmutableExponentialFunction</code> class defines the function
+ * base<sup>x</sup>, as <code>ExponentialFunction</code> does, with a base
+ * that cannot be changed. Its field is final, so one instance may be shared
+ * by any number of threads without locks or copies; <code>withBase</code>
+ * returns a new function instead of changing this one.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public final class ImmutableExponentialFunction extends Function {
+    static final long serialVersionUID = 1L;
+
+    // private members
+    private final double base; // the base of the exponential
+
+    /**
+     * Constructor that creates the function base<sup>x</sup>.
+     *
+     * @param base The base of the exponential.
+     */
+    public ImmutableExponentialFunction(double base) {
+        this.base = base;
+    }
+
+    /**
+     * Returns the base of the exponential.
+     */
+    public double getBase() {
+        return base;
+    }
+
+    /**
+     * Returns the exponential with base <code>base</code>.
+     *
+     * @param base The new base.
+     * @return A new function, or this one if the base is unchanged.
+     */
+    public ImmutableExponentialFunction withBase(double base) {
+        return (base == this.base) ? this : new ImmutableExponentialFunction(base);
+    }
+
+    /**
+     * Evaluates the value of the function at x.
+     *
+     * @param x The value to evaluate the function at.
+     * @return The y value.
+     */
+    public double valueAt(double x) {
+        return Math.pow(base, x);
+    }
+
+    /**
+     * Writes the value of the function at x and its first two derivatives,
+     * ln base * base ^ x and ln base ^ 2 * base ^ x, to <code>jet</code>.
+     *
+     * @param x The value to evaluate the function at.
+     * @param jet The array of at least three elements to write to.
+     */
+    public void jetAt(double x, double[] jet) {
+        double y = Math.pow(base, x);
+        double lnBase = Math.log(base);
+        jet[0] = y;
+        jet[1] = y * lnBase;
+        jet[2] = y * lnBase * lnBase;
+    }
+
+    /**
+     * Evaluates the area under the curve from <code>x1</code> to
+     * <code>x2</code>.
+     *
+     * @param x1 Lower bound.
+     * @param x2 Upper bound.
+     * @return The total area under the curve.
+     */
+    public double area(double x1, double x2) {
+        if(base == 1.0)
+            return x2 - x1;
+        return (Math.pow(base, x2) - Math.pow(base, x1)) / Math.log(base);
+    }
+
+    /**
+     * Finds the derivative of this function, ln base * base ^ x.
+     *
+     * @return A function that is the derivative of <code>this</code>.
+     */
+    protected Function deriveFunc() {
+        return CompoundFunction.product(new ConstantFunction(Math.log(base)), this);
+    }
+
+    /**
+     * Finds the antiderivative of this function, base ^ x / ln base, or x
+     * when the base is one.
+     *
+     * @return A function that is the antiderivative of <code>this</code>.
+     */
+    protected Function integrateFunc() {
+        if(base == 1.0)
+            return CompoundFunction.power(1.0);
+        return CompoundFunction.product(new ConstantFunction(1 / Math.log(base)), this);
+    }
+
+    /**
+     * Returns a string representation of this exponential function.
+     */
+    public String toString() {
+        return base + " ^ x";
+    }
+}
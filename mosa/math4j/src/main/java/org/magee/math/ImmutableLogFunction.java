@@ -0,0 +1,134 @@
+/**
+ * ImmutableLogFunction.java A class for defining a logarithmic function that cannot be changed.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math;
+
+/**
+ * The <code>ImmutableLogFunction</code> class defines the function
+ * log<sub>base</sub> x, as <code>LogFunction</code> does, with a base that
+ * cannot be changed. Its fields are final, so one instance may be shared by
+ * any number of threads without locks or copies; <code>withBase</code>
+ * returns a new function instead of changing this one.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public final class ImmutableLogFunction extends Function {
+    static final long serialVersionUID = 1L;
+
+    // private members
+    private final double base; // the base of the logarithm
+
+    private final double lnBase; // the natural logarithm of the base
+
+    /**
+     * Constructor that creates the function log<sub>base</sub> x.
+     *
+     * @param base The base of the logarithm.
+     */
+    public ImmutableLogFunction(double base) {
+        this.base = base;
+        this.lnBase = Math.log(base);
+    }
+
+    /**
+     * Returns the base of the logarithm.
+     */
+    public double getBase() {
+        return base;
+    }
+
+    /**
+     * Returns the logarithm with base <code>base</code>.
+     *
+     * @param base The new base.
+     * @return A new function, or this one if the base is unchanged.
+     */
+    public ImmutableLogFunction withBase(double base) {
+        return (base == this.base) ? this : new ImmutableLogFunction(base);
+    }
+
+    /**
+     * Evaluates the value of the function at x.
+     *
+     * @param x The value to evaluate the function at.
+     * @return The y value.
+     */
+    public double valueAt(double x) {
+        return Math.log(x) / lnBase;
+    }
+
+    /**
+     * Writes the value of the function at x and its first two derivatives,
+     * 1 / (x ln base) and -1 / (x^2 ln base), to <code>jet</code>.
+     *
+     * @param x The value to evaluate the function at.
+     * @param jet The array of at least three elements to write to.
+     */
+    public void jetAt(double x, double[] jet) {
+        double d = 1 / (x * lnBase);
+        jet[0] = Math.log(x) / lnBase;
+        jet[1] = d;
+        jet[2] = -d / x;
+    }
+
+    /**
+     * Evaluates the area under the curve from <code>x1</code> to
+     * <code>x2</code>, from the antiderivative (x ln x - x) / ln base.
+     *
+     * @param x1 Lower bound.
+     * @param x2 Upper bound.
+     * @return The total area under the curve.
+     */
+    public double area(double x1, double x2) {
+        return (x2 * Math.log(x2) - x2 - x1 * Math.log(x1) + x1) / lnBase;
+    }
+
+    /**
+     * Finds the derivative of this function, 1 / (x ln base).
+     *
+     * @return A function that is the derivative of <code>this</code>.
+     */
+    protected Function deriveFunc() {
+        return CompoundFunction.product(new ConstantFunction(1 / lnBase), CompoundFunction.power(-1.0));
+    }
+
+    /**
+     * Finds the antiderivative of this function, x log x - x / ln base.
+     *
+     * @return A function that is the antiderivative of <code>this</code>.
+     */
+    protected Function integrateFunc() {
+        Function xLog = CompoundFunction.product(CompoundFunction.power(1.0), this);
+        return CompoundFunction.sum(xLog, new ImmutablePolyFunction(new double[] { -1 / lnBase, 0.0 }));
+    }
+
+    /**
+     * Returns a string representation of this logarithmic function.
+     */
+    public String toString() {
+        return "log<" + base + "> x";
+    }
+}
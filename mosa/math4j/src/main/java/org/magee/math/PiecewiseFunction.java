@@ -0,0 +1,328 @@
+/**
+ * PiecewiseFunction.java A class for defining a function made of pieces on adjacent intervals.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math;
+
+/**
+ * The <code>PiecewiseFunction</code> class defines a function that follows
+ * a different <code>Function</code> on each of a row of adjacent intervals,
+ * such as a tariff with several bands.
+ * <p>
+ *
+ * The n pieces are split by n - 1 increasing boundaries b<sub>0</sub>,
+ * b<sub>1</sub>, ... Piece 0 holds below b<sub>0</sub>, piece i holds on
+ * [b<sub>i-1</sub>, b<sub>i</sub>) and the last piece holds from the last
+ * boundary on, so a boundary belongs to the piece on its right.
+ * <p>
+ *
+ * The piece of a point is the number of boundaries not above it, found by a
+ * binary search whose steps choose between two indices instead of
+ * branching, so that it runs in the same O(log n) steps whatever the data.
+ * The areas of the pieces between boundaries are added up once, so that
+ * <code>area</code> over any number of pieces costs two searches and the
+ * areas of the two end pieces, and added up again only after a piece has
+ * changed. <code>valuesAt</code> and
+ * <code>valueAndDerivatives</code> keep the piece of the last point and try
+ * it and the next piece before searching, so that sorted points cost little
+ * more than one search per piece they cross.
+ * <p>
+ *
+ * @version 1.0, October 19, 2026
+ * @version 1.1, October 19, 2026 The areas and derivatives are found again
+ *          when a piece changes.
+ */
+
+/*
+ * version changes
+ * 1.1 pieces may be changed after construction
+ */
+public class PiecewiseFunction extends Function {
+    static final long serialVersionUID = 1L;
+
+    // private members
+    private final Function[] pieces; // the function on each interval
+
+    private final double[] bounds; // the boundaries between the pieces, increasing
+
+    private transient volatile Areas areas; // the area from bounds[0] to each boundary, once added up
+
+    /**
+     * Constructor that creates a function following <code>pieces[i]</code>
+     * between <code>bounds[i - 1]</code> and <code>bounds[i]</code>.
+     *
+     * @param pieces The functions on the intervals, at least one.
+     * @param bounds The boundaries between the pieces, one fewer than the
+     *        pieces and strictly increasing.
+     */
+    public PiecewiseFunction(Function[] pieces, double[] bounds) {
+        if(pieces.length == 0)
+            throw new IllegalArgumentException("A piecewise function needs at least one piece");
+        if(bounds.length != pieces.length - 1)
+            throw new IllegalArgumentException(pieces.length + " pieces need " + (pieces.length - 1) + " boundaries, not " + bounds.length);
+        for(int i = 0; i < pieces.length; i++) {
+            if(pieces[i] == null)
+                throw new IllegalArgumentException("Piece " + i + " is null");
+        }
+        for(int i = 0; i < bounds.length; i++) {
+            if(Double.isNaN(bounds[i]) || Double.isInfinite(bounds[i]))
+                throw new IllegalArgumentException("Boundary " + i + " is not finite");
+            if(i > 0 && !(bounds[i] > bounds[i - 1]))
+                throw new IllegalArgumentException("Boundaries are not increasing at " + i);
+        }
+        this.pieces = pieces.clone();
+        this.bounds = bounds.clone();
+    }
+
+    /**
+     * Returns the area from <code>bounds[0]</code> to each boundary, adding
+     * them up again if a piece has changed since they were last added up.
+     */
+    private double[] areas() {
+        long stamp = stamp();
+        Areas a = areas;
+        if(a == null || a.stamp != stamp) {
+            double[] sums = new double[bounds.length];
+            for(int i = 1; i < bounds.length; i++) {
+                sums[i] = sums[i - 1] + pieces[i].area(bounds[i - 1], bounds[i]);
+            }
+            areas = a = new Areas(sums, stamp);
+        }
+        return a.sums;
+    }
+
+    /**
+     * Returns a stamp that grows whenever a piece changes.
+     */
+    protected long stamp() {
+        long stamp = super.stamp();
+        for(int i = 0; i < pieces.length; i++) {
+            stamp += pieces[i].stamp();
+        }
+        return stamp;
+    }
+
+    /**
+     * Returns a copy of the pieces of this function.
+     */
+    public Function[] getPieces() {
+        return pieces.clone();
+    }
+
+    /**
+     * Returns a copy of the boundaries between the pieces.
+     */
+    public double[] getBounds() {
+        return bounds.clone();
+    }
+
+    /**
+     * Returns the index of the piece that holds <code>x</code>, given that
+     * it is not below piece <code>from</code>: <code>from</code> plus the
+     * number of the boundaries from <code>bounds[from]</code> on that are not
+     * above <code>x</code>.
+     */
+    private int find(double x, int from) {
+        int base = from, n = bounds.length - from;
+        if(n == 0)
+            return base;
+        while(n > 1) {
+            int half = n >>> 1;
+            base = (bounds[base + half - 1] <= x) ? base + half : base;
+            n -= half;
+        }
+        return (bounds[base] <= x) ? base + 1 : base;
+    }
+
+    /**
+     * Returns the index of the piece that holds <code>x</code>, trying piece
+     * <code>i</code> and the next piece before searching.
+     */
+    private int findNear(double x, int i) {
+        if(!(x >= ((i > 0) ? bounds[i - 1] : Double.NEGATIVE_INFINITY))) // below the piece, or NaN
+            return find(x, 0);
+        if(i == bounds.length || x < bounds[i])
+            return i;
+        if(i + 1 == bounds.length || x < bounds[i + 1])
+            return i + 1;
+        return find(x, i + 2);
+    }
+
+    /**
+     * Evaluates the value of the function at x.
+     *
+     * @param x The value to evaluate the function at.
+     * @return The y value.
+     */
+    public double valueAt(double x) {
+        return pieces[find(x, 0)].valueAt(x);
+    }
+
+    /**
+     * Writes the value of the function at every element of <code>x</code>
+     * into the same element of <code>values</code>, searching only when a
+     * point leaves the piece of the one before.
+     *
+     * @param x The values to evaluate the function at.
+     * @param values The array for the values, as long as <code>x</code>.
+     */
+    public void valuesAt(double[] x, double[] values) {
+        if(values.length < x.length)
+            throw new IllegalArgumentException("Output array is shorter than the input");
+        int piece = 0;
+        for(int i = 0; i < x.length; i++) {
+            piece = findNear(x[i], piece);
+            values[i] = pieces[piece].valueAt(x[i]);
+        }
+    }
+
+    /**
+     * Writes the value of the function at x and its first two derivatives,
+     * those of the piece that holds x, to <code>jet</code>.
+     *
+     * @param x The value to evaluate the function at.
+     * @param jet The array of at least three elements to write to.
+     */
+    public void jetAt(double x, double[] jet) {
+        pieces[find(x, 0)].jetAt(x, jet);
+    }
+
+    /**
+     * Writes the value of the function and its first and second derivatives
+     * at every element of <code>x</code> into the same element of the output
+     * arrays, searching only when a point leaves the piece of the one before.
+     *
+     * @param x The values to evaluate the function at.
+     * @param values The array for the values, as long as <code>x</code>.
+     * @param first The array for the first derivatives, as long as
+     *        <code>x</code>.
+     * @param second The array for the second derivatives, as long as
+     *        <code>x</code>, or null if they are not wanted.
+     */
+    public void valueAndDerivatives(double[] x, double[] values, double[] first, double[] second) {
+        if(values.length < x.length || first.length < x.length || (second != null && second.length < x.length))
+            throw new IllegalArgumentException("Output arrays are shorter than the input");
+        double[] jet = new double[3];
+        int piece = 0;
+        for(int i = 0; i < x.length; i++) {
+            piece = findNear(x[i], piece);
+            pieces[piece].jetAt(x[i], jet);
+            values[i] = jet[0];
+            first[i] = jet[1];
+            if(second != null)
+                second[i] = jet[2];
+        }
+    }
+
+    /**
+     * Evaluates the area under the curve from <code>x1</code> to
+     * <code>x2</code>, from the areas of the end pieces and the sum of the
+     * areas of the pieces between them.
+     *
+     * @param x1 Lower bound.
+     * @param x2 Upper bound.
+     * @return The total area under the curve.
+     */
+    public double area(double x1, double x2) {
+        int i1 = find(x1, 0), i2 = find(x2, 0);
+        if(i1 == i2)
+            return pieces[i1].area(x1, x2);
+        if(i1 > i2)
+            return -area(x2, x1);
+        double[] areas = areas();
+        return pieces[i1].area(x1, bounds[i1]) + (areas[i2 - 1] - areas[i1]) + pieces[i2].area(bounds[i2 - 1], x2);
+    }
+
+    /**
+     * Finds the derivative of this function, the piecewise function of the
+     * derivatives of the pieces.
+     *
+     * @return A function that is the derivative of <code>this</code>, or
+     *         null if a piece has no derivative.
+     */
+    protected Function deriveFunc() {
+        Function[] d = new Function[pieces.length];
+        for(int i = 0; i < pieces.length; i++) {
+            d[i] = pieces[i].getDerivFunc();
+            if(d[i] == null)
+                return null;
+        }
+        return new PiecewiseFunction(d, bounds);
+    }
+
+    /**
+     * Finds the antiderivative of this function, the piecewise function of
+     * the antiderivatives of the pieces, each moved up or down so that they
+     * join at the boundaries.
+     *
+     * @return A function that is the antiderivative of <code>this</code>, or
+     *         null if a piece has no antiderivative.
+     */
+    protected Function integrateFunc() {
+        double[] areas = areas();
+        Function[] ad = new Function[pieces.length];
+        double[] shift = new double[pieces.length];
+        for(int i = 0; i < pieces.length; i++) {
+            ad[i] = pieces[i].getAntiderivFunc();
+            if(ad[i] == null)
+                return null;
+            if(i > 0) // the integral from bounds[0] to bounds[i - 1]
+                shift[i] = areas[i - 1] - ad[i].valueAt(bounds[i - 1]);
+        }
+        if(bounds.length > 0)
+            shift[0] = -ad[0].valueAt(bounds[0]);
+        for(int i = 0; i < pieces.length; i++) {
+            ad[i] = CompoundFunction.sum(ad[i], new ConstantFunction(shift[i]));
+        }
+        return new PiecewiseFunction(ad, bounds);
+    }
+
+    /**
+     * Returns a string representation of this piecewise function.
+     */
+    public String toString() {
+        StringBuilder s = new StringBuilder("{ ");
+        for(int i = 0; i < pieces.length; i++) {
+            if(i > 0)
+                s.append("; ");
+            s.append(pieces[i]);
+            if(i > 0)
+                s.append(" for x >= ").append(bounds[i - 1]);
+            if(i < bounds.length)
+                s.append((i > 0) ? " and x < " : " for x < ").append(bounds[i]);
+        }
+        return s.append(" }").toString();
+    }
+
+    /**
+     * The areas up to the boundaries and the stamp of the pieces when they
+     * were added up, kept together so that they are read together.
+     */
+    private static final class Areas {
+        final double[] sums;
+        final long stamp;
+
+        Areas(double[] sums, long stamp) {
+            this.sums = sums;
+            this.stamp = stamp;
+        }
+    }
+}
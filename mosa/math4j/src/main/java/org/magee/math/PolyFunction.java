@@ -23,12 +23,16 @@
 package org.magee.math;
 
 // import other packages
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.magee.math.linear.DenseMatrix;
+import org.magee.math.linear.EigenvalueDecomposition;
+import org.magee.metrics.Metrics;
 import org.magee.util.ArrayUtil;
 import org.magee.util.MathUtil;
 
-import Jama.EigenvalueDecomposition;
-import Jama.Matrix;
-
 /**
  * The <code>PolyFunction</code> class defines a polynomial function.
  * <p>
@@ -45,15 +49,44 @@ import Jama.Matrix;
  * 
  * @author Anthony W. Magee
  * @version 1.1, November 5, 2005
+ * @version 1.2, October 19, 2026 Corrected the antiderivative and the value
+ *          of constant polynomials.
+ * @version 1.3, October 19, 2026 Added jetAt.
+ * @version 1.4, October 19, 2026 getComplexRoots records metrics.
+ * @version 1.5, October 19, 2026 Added toImmutable.
+ * @version 1.6, October 19, 2026 Added toRational; quadratic roots avoid
+ *          cancellation.
+ * @version 1.7, October 19, 2026 Added interpolate; valuesAt shares large
+ *          batches between threads.
+ * @version 1.8, October 19, 2026 The derivative and antiderivative are kept
+ *          and shared, and must not be changed by callers.
  */
 
 /*
  * version changes
  * 1.0 intial writing 
  * 1.1 finalized getRoots and rewrite of constructors
+ * 1.2 antiderivative divides by the new power, valueAt uses Horner's rule
+ * 1.3 value and first two derivatives in one Horner pass
+ * 1.4 getComplexRoots is timed when metrics are on
+ * 1.5 immutable copies for sharing between threads
+ * 1.6 exact copies for certified roots, stable quadratic formula
+ * 1.7 interpolation by divided differences, parallel bulk evaluation
+ * 1.8 shared derivatives documented as read only
  */
 public class PolyFunction extends Function {
 
+    /**
+     * Batches of <code>valuesAt</code> with at least this many terms in all
+     * are shared between threads.
+     */
+    static final int PARALLEL_TERMS = 1 << 18;
+
+    /**
+     * The fewest points one thread evaluates in a shared batch.
+     */
+    static final int CHUNK_SIZE = 1024;
+
     // private members
     private double[] coefs; // the coeffients of this function
 
@@ -179,6 +212,23 @@ public class PolyFunction extends Function {
         return ArrayUtil.reverse(coefs);
     }
 
+    /**
+     * Returns an immutable copy of this polynomial, which may be shared
+     * between threads while this one is changed.
+     */
+    public ImmutablePolyFunction toImmutable() {
+        return new ImmutablePolyFunction(getCoeffients());
+    }
+
+    /**
+     * Returns a polynomial with exactly the coeffients of this one as
+     * rational numbers, whose real roots can be counted and isolated with a
+     * certificate.
+     */
+    public RationalPolyFunction toRational() {
+        return RationalPolyFunction.valueOf(this);
+    }
+
     /**
      * Sets the degree of the polynomial to <code>degree</code> and adjusts
      * the coeffients to match <code>degree</code>.
@@ -197,6 +247,7 @@ public class PolyFunction extends Function {
             }
             coefs = temp; // set coefs to the new array of coeffients
             this.degree = degree; // finally set the degree
+            changed();
         }
     }
 
@@ -220,6 +271,7 @@ public class PolyFunction extends Function {
         }
 
         this.coefs = ArrayUtil.reverse(coefs);
+        changed();
     }
 
     /**
@@ -284,31 +336,141 @@ public class PolyFunction extends Function {
 
     public double valueAt(double x) {
         double value = 0.0;
+        for(int i = coefs.length - 1; i >= 0; i--) { // Horner's rule
+            value = value * x + coefs[i];
+        }
+        return value;
+    }
 
-        if(degree != 0) {
-            for(int i = 0; i < coefs.length; i++) {
-                value += (Math.pow(x, i) * coefs[i]);
+    /**
+     * Writes the value of the polynomial at every element of <code>x</code>
+     * into the same element of <code>values</code>, by Horner's rule. A large
+     * batch is split into chunks evaluated on a fork/join pool; each value is
+     * the one <code>valueAt</code> gives.
+     * 
+     * @param x The values to evaluate the function at.
+     * @param values The array for the values, as long as <code>x</code>.
+     */
+    public void valuesAt(double[] x, double[] values) {
+        if(values.length < x.length)
+            throw new IllegalArgumentException("Output array is shorter than the input");
+        double[] c = coefs; // the same coeffients throughout, even if they are set meanwhile
+        ValuesTask task = new ValuesTask(c, x, values, 0, x.length);
+        if((long) x.length * c.length >= PARALLEL_TERMS && x.length >= 2 * CHUNK_SIZE)
+            PoolHolder.POOL.invoke(task);
+        else
+            task.compute();
+    }
+
+    /**
+     * Finds the polynomial of degree less than the number of points that
+     * takes the value <code>y[i]</code> at <code>x[i]</code>, by Newton's
+     * divided differences in O(n<sup>2</sup>) operations. The coeffients in
+     * powers of x are ill-conditioned for many points spread along the line,
+     * so points are best scaled into [-1, 1] and kept to a modest number.
+     * 
+     * @param x The points, all different and finite.
+     * @param y The values at the points.
+     * @return The interpolating polynomial, the zero polynomial if every
+     *         value is zero.
+     */
+    public static PolyFunction interpolate(double[] x, double[] y) {
+        int n = x.length;
+        if(n == 0)
+            throw new IllegalArgumentException("Interpolation needs at least one point");
+        if(y.length != n)
+            throw new IllegalArgumentException(n + " points need " + n + " values, not " + y.length);
+        for(int i = 0; i < n; i++) {
+            if(Double.isNaN(x[i]) || Double.isInfinite(x[i]))
+                throw new IllegalArgumentException("Point " + i + " is not finite");
+        }
+        double[] sorted = x.clone();
+        Arrays.sort(sorted);
+        for(int i = 1; i < n; i++) {
+            if(sorted[i] == sorted[i - 1])
+                throw new IllegalArgumentException("Point " + sorted[i] + " is repeated");
+        }
+
+        double[] d = y.clone(); // d[i] becomes the divided difference y[x0, ..., xi]
+        for(int j = 1; j < n; j++) {
+            for(int i = n - 1; i >= j; i--) {
+                d[i] = (d[i] - d[i - 1]) / (x[i] - x[i - j]);
             }
         }
+        double[] c = new double[n]; // the Newton form multiplied out, lowest power first
+        for(int k = n - 1; k >= 0; k--) { // c = c (x - x[k]) + d[k]
+            for(int i = n - 1 - k; i > 0; i--) {
+                c[i] = c[i - 1] - x[k] * c[i];
+            }
+            c[0] = d[k] - x[k] * c[0];
+        }
+        return fromAscending(c);
+    }
 
-        return value;
+    /**
+     * Writes the value and first two derivatives of the polynomial at x to
+     * <code>jet</code>, all in one pass of Horner's rule.
+     * 
+     * @param x The value to evaluate the function at.
+     * @param jet The array of at least three elements to write to.
+     */
+    public void jetAt(double x, double[] jet) {
+        double p0 = 0.0, p1 = 0.0, p2 = 0.0;
+        for(int i = coefs.length - 1; i >= 0; i--) {
+            p2 = p2 * x + p1;
+            p1 = p1 * x + p0;
+            p0 = p0 * x + coefs[i];
+        }
+        jet[0] = p0;
+        jet[1] = p1;
+        jet[2] = 2 * p2;
     }
 
+    /**
+     * Gets the derivative of this polynomial. It is kept until this
+     * polynomial changes and is shared by every caller, so it must not be
+     * changed; copy its coeffients into a new polynomial to change them.
+     */
     public PolyFunction getDerivFunc() {
-        double[] derivCoefs = new double[degree];
-        for(int i = 0; i < degree; i++) {
+        return (PolyFunction) super.getDerivFunc();
+    }
+
+    /**
+     * Gets the antiderivative of this polynomial. It is kept until this
+     * polynomial changes and is shared by every caller, so it must not be
+     * changed; copy its coeffients into a new polynomial to change them.
+     */
+    public PolyFunction getAntiderivFunc() {
+        return (PolyFunction) super.getAntiderivFunc();
+    }
+
+    protected PolyFunction deriveFunc() {
+        double[] derivCoefs = new double[Math.max(coefs.length - 1, 0)];
+        for(int i = 0; i < derivCoefs.length; i++) {
             derivCoefs[i] = coefs[i + 1] * (i + 1);
         }
-        return new PolyFunction(ArrayUtil.reverse(derivCoefs));
+        return fromAscending(derivCoefs);
     }
 
-    public PolyFunction getAntiderivFunc() {
+    protected PolyFunction integrateFunc() {
         double[] antiCoefs = new double[coefs.length + 1];
         antiCoefs[0] = 0.0;
         for(int i = 1; i < antiCoefs.length; i++) {
-            antiCoefs[i] = coefs[i - 1] * (i - 1);
+            antiCoefs[i] = coefs[i - 1] / i;
+        }
+        return fromAscending(antiCoefs);
+    }
+
+    /**
+     * Creates the polynomial whose coeffients are <code>ascending</code>,
+     * lowest power first, allowing them all to be zero.
+     */
+    private static PolyFunction fromAscending(double[] ascending) {
+        for(int i = 0; i < ascending.length; i++) {
+            if(ascending[i] != 0.0)
+                return new PolyFunction(ArrayUtil.reverse(ascending));
         }
-        return new PolyFunction(ArrayUtil.reverse(antiCoefs));
+        return new PolyFunction();
     }
 
     public double area(double x1, double x2) {
@@ -368,8 +530,12 @@ public class PolyFunction extends Function {
         double radicand = b * b - 4 * a * c;
         if(radicand >= 0) {
             double[] roots = new double[2];
-            roots[0] = (-b + Math.sqrt(radicand)) / 2 / a;
-            roots[1] = (-b - Math.sqrt(radicand)) / 2 / a;
+            double q = -(b + Math.copySign(Math.sqrt(radicand), b)) / 2; // no cancellation in b + sqrt
+            if(q == 0.0)
+                return roots; // b and c are zero
+            int big = (b < 0) ? 0 : 1; // q / a is (-b + sqrt) / 2a when b is negative
+            roots[big] = q / a;
+            roots[1 - big] = c / q;
             return roots;
         }
         return new double[] {};
@@ -389,6 +555,7 @@ public class PolyFunction extends Function {
      *         of this function.
      */
     public Complex[] getComplexRoots() {
+        long start = Metrics.start();
         double an = coefs[coefs.length - 1];
         double[][] m = new double[degree][degree];
 
@@ -410,15 +577,59 @@ public class PolyFunction extends Function {
         }
 
         Complex[] roots = new Complex[degree];
-        EigenvalueDecomposition ed = new EigenvalueDecomposition(new Matrix(m));
+        EigenvalueDecomposition ed = new EigenvalueDecomposition(new DenseMatrix(m));
         double[] imag = ed.getImagEigenvalues();
         double[] real = ed.getRealEigenvalues();
         for(int r = 0; r < degree; r++) {
             roots[r] = new Complex(MathUtil.errorRound(real[r]), MathUtil.errorRound(imag[r]));
         }
+        Metrics.stop(PolyFunction.class, "getComplexRoots", start);
 
         return roots;
     }
 
+    /**
+     * Holds the pool shared by the evaluation tasks until it is first
+     * needed.
+     */
+    private static class PoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    /**
+     * Evaluates the points from <code>lo</code> to <code>hi - 1</code> by
+     * Horner's rule, halving the range between threads down to
+     * <code>CHUNK_SIZE</code> points.
+     */
+    private static class ValuesTask extends RecursiveAction {
+        static final long serialVersionUID = 1L;
+
+        private final double[] coefs, x, values;
+        private final int lo, hi;
+
+        ValuesTask(double[] coefs, double[] x, double[] values, int lo, int hi) {
+            this.coefs = coefs;
+            this.x = x;
+            this.values = values;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute() {
+            if(hi - lo >= 2 * CHUNK_SIZE && inForkJoinPool()) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ValuesTask(coefs, x, values, lo, mid), new ValuesTask(coefs, x, values, mid, hi));
+                return;
+            }
+            for(int k = lo; k < hi; k++) {
+                double value = 0.0, xk = x[k];
+                for(int i = coefs.length - 1; i >= 0; i--) { // Horner's rule
+                    value = value * xk + coefs[i];
+                }
+                values[k] = value;
+            }
+        }
+    }
+
     static final long serialVersionUID = 11L;
 }
@@ -29,11 +29,16 @@ import org.magee.math.Function;
 /**
  * @author Anthony Magee
  * @version 1.0 November 6, 2005
+ * @version 1.1, October 19, 2026 Added getIndex.
+ * @version 1.2, October 19, 2026 Symbolic derivative and antiderivative.
+ * @version 1.3, October 19, 2026 Added jetAt.
+ * @version 1.4, October 19, 2026 The index is final, so a radical can be
+ *          shared between threads.
  */
 public class RadicalFunction extends Function implements Serializable {
     static final long serialVersionUID = 1L;
     
-    private double index;
+    private final double index;
     
     /**
      * 
@@ -49,6 +54,13 @@ public class RadicalFunction extends Function implements Serializable {
         this.index = index;
     }
 
+    /**
+     * Returns the index of the root.
+     */
+    public double getIndex() {
+        return index;
+    }
+
     /**
      * 
      */
@@ -90,22 +102,50 @@ public class RadicalFunction extends Function implements Serializable {
      * Evaluates the value of the antiderivative of the function at x.
      */
     public double antiderivValueAt(double x) {
+        if(index == -1.0)
+            return Math.log(x);
         return Math.pow(x, 1 / index + 1) * index / (index + 1);
     }
     
     /**
+     * Writes the value of the function at x and its first two derivatives
+     * to <code>jet</code>, from a single power where x is not zero.
+     * 
+     * @param x The value to evaluate the function at.
+     * @param jet The array of at least three elements to write to.
+     */
+    public void jetAt(double x, double[] jet) {
+        double p = 1 / index;
+        double y = Math.pow(x, p);
+        jet[0] = y;
+        if(x != 0.0) {
+            jet[1] = p * y / x;
+            jet[2] = (p - 1) * jet[1] / x;
+        } else {
+            jet[1] = p * Math.pow(x, p - 1);
+            jet[2] = p * (p - 1) * Math.pow(x, p - 2);
+        }
+    }
+
+    /**
+     * Finds the derivative of this function, (1 / index) x<sup>1 / index - 1</sup>.
      * 
+     * @return A function that is the derivative of <code>this</code>.
      */
-    public Function getDerivFunc() {
-        // TODO Auto-generated method stub
-        return null;
+    protected Function deriveFunc() {
+        return CompoundFunction.product(new ConstantFunction(1 / index), CompoundFunction.power(1 / index - 1));
     }
 
     /**
+     * Finds the antiderivative of this function,
+     * x<sup>1 / index + 1</sup> / (1 / index + 1), or ln x when the index is -1.
      * 
+     * @return A function that is the antiderivative of <code>this</code>.
      */
-    public Function getAntiderivFunc() {
-        // TODO Auto-generated method stub
-        return null;
+    protected Function integrateFunc() {
+        double power = 1 / index + 1;
+        if(power == 0.0)
+            return new LogFunction(Math.E);
+        return CompoundFunction.product(new ConstantFunction(1 / power), CompoundFunction.power(power));
     }
 }
@@ -0,0 +1,96 @@
+/**
+ * BiCGStab.java A class for the stabilized biconjugate gradient method.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+/**
+ * The <code>BiCGStab</code> class solves general square systems by the
+ * (right preconditioned) stabilized biconjugate gradient method of van der
+ * Vorst. Each iteration costs two matrix-vector products and two
+ * preconditioner solves, and storage stays at eight vectors; unlike GMRES
+ * the cost per iteration does not grow.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class BiCGStab extends IterativeSolver {
+
+    protected void iterate(LinearOperator a, double[] b, double[] x, double normB) {
+        int n = b.length;
+        double[] r = new double[n], rHat = new double[n], p = new double[n], v = new double[n];
+        double[] pHat = new double[n], s = new double[n], sHat = new double[n], t = new double[n];
+        residual(a, b, x, r);
+        residual = norm(r) / normB;
+        if(residual <= tolerance)
+            return;
+
+        System.arraycopy(r, 0, rHat, 0, n);
+        double rho = 1.0, alpha = 1.0, omega = 1.0;
+        while(iterations < maxIterations) {
+            iterations++;
+            double rhoNext = dot(rHat, r);
+            if(rhoNext == 0.0)
+                throw new ArithmeticException("BiCGStab broke down: rho is zero.");
+            if(iterations == 1) {
+                System.arraycopy(r, 0, p, 0, n);
+            } else {
+                double beta = (rhoNext / rho) * (alpha / omega);
+                for(int i = 0; i < n; i++) {
+                    p[i] = r[i] + beta * (p[i] - omega * v[i]);
+                }
+            }
+            rho = rhoNext;
+
+            precondition(p, pHat);
+            a.apply(pHat, v);
+            alpha = rho / dot(rHat, v);
+            for(int i = 0; i < n; i++) {
+                s[i] = r[i] - alpha * v[i];
+            }
+            double normS = norm(s) / normB;
+            if(normS <= tolerance) {
+                axpy(alpha, pHat, x);
+                residual = normS;
+                return;
+            }
+
+            precondition(s, sHat);
+            a.apply(sHat, t);
+            double tt = dot(t, t);
+            if(tt == 0.0)
+                throw new ArithmeticException("BiCGStab broke down: t is zero.");
+            omega = dot(t, s) / tt;
+            for(int i = 0; i < n; i++) {
+                x[i] += alpha * pHat[i] + omega * sHat[i];
+                r[i] = s[i] - omega * t[i];
+            }
+            residual = norm(r) / normB;
+            if(residual <= tolerance)
+                return;
+            if(omega == 0.0)
+                throw new ArithmeticException("BiCGStab broke down: omega is zero.");
+        }
+    }
+}
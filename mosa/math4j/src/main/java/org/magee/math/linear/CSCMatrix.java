@@ -0,0 +1,209 @@
+/**
+ * CSCMatrix.java A class for describing a sparse matrix stored by columns.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The <code>CSCMatrix</code> class stores a sparse matrix in compressed
+ * sparse column form: the non-zero elements of column j are
+ * <code>values[colPointer[j]]</code> to
+ * <code>values[colPointer[j + 1] - 1]</code>, in row order, and their rows
+ * are held at the same positions of <code>rowIndex</code>.
+ * <p>
+ *
+ * The arrays of a matrix stored by columns are exactly those of its
+ * transpose stored by rows, so <code>transpose</code> costs nothing and
+ * <code>transposeTimes</code> runs as a parallel row product. The plain
+ * product <code>times</code> has to scatter each column into the result
+ * and runs on one thread; use a <code>CSRMatrix</code> when that product is
+ * the one that matters.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class CSCMatrix implements LinearOperator, Serializable {
+    static final long serialVersionUID = 1L;
+
+    // private members
+    private final int rows, cols; // the dimensions of this matrix
+
+    private final int[] colPointer; // the start of each column, plus the end of the last
+
+    private final int[] rowIndex; // the row of each stored element
+
+    private final double[] values; // the stored elements
+
+    /**
+     * Constructor that wraps the three arrays of a compressed sparse column
+     * matrix without copying them. Rows must be sorted within each column.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param colPointer The start of each column in the other arrays, with
+     *        <code>cols + 1</code> elements.
+     * @param rowIndex The row of each stored element.
+     * @param values The stored elements.
+     */
+    public CSCMatrix(int rows, int cols, int[] colPointer, int[] rowIndex, double[] values) {
+        if(rows < 0 || cols < 0 || colPointer.length != cols + 1)
+            throw new IllegalArgumentException("A " + rows + " x " + cols + " matrix needs " + (cols + 1) + " column pointers");
+        if(rowIndex.length < colPointer[cols] || values.length < colPointer[cols])
+            throw new IllegalArgumentException("Array lengths do not match " + colPointer[cols] + " stored elements");
+        this.rows = rows;
+        this.cols = cols;
+        this.colPointer = colPointer;
+        this.rowIndex = rowIndex;
+        this.values = values;
+    }
+
+    /**
+     * Returns the number of rows.
+     */
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns.
+     */
+    public int getColumnDimension() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of stored elements.
+     */
+    public int getNonZeroCount() {
+        return colPointer[cols];
+    }
+
+    /**
+     * Returns element (<code>row</code>, <code>col</code>), found by a binary
+     * search of the column.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @return The element, or zero if it is not stored.
+     * @throws ArrayIndexOutOfBoundsException
+     */
+    public double get(int row, int col) {
+        if(row < 0 || row >= rows || col < 0 || col >= cols)
+            throw new ArrayIndexOutOfBoundsException("Element (" + row + ", " + col + ") is outside a " + rows + " x " + cols + " matrix");
+        int k = Arrays.binarySearch(rowIndex, colPointer[col], colPointer[col + 1], row);
+        return (k < 0) ? 0.0 : values[k];
+    }
+
+    /**
+     * Computes <code>y</code> = <code>this</code>*<code>x</code> by adding
+     * each column, scaled, into <code>y</code>.
+     *
+     * @param x A vector with one element per column.
+     * @param y A vector with one element per row to hold the product.
+     */
+    public void apply(double[] x, double[] y) {
+        if(x.length != cols || y.length != rows)
+            throw new IllegalArgumentException("Vector lengths " + x.length + " and " + y.length + " do not match " + rows + " x " + cols);
+        Arrays.fill(y, 0.0);
+        for(int j = 0; j < cols; j++) {
+            double xj = x[j];
+            if(xj == 0.0)
+                continue;
+            for(int k = colPointer[j], end = colPointer[j + 1]; k < end; k++) {
+                y[rowIndex[k]] += values[k] * xj;
+            }
+        }
+    }
+
+    /**
+     * Computes the matrix-vector product <code>this</code>*<code>x</code>.
+     *
+     * @param x A vector with one element per column.
+     * @return A new vector with one element per row.
+     */
+    public double[] times(double[] x) {
+        double[] reply = new double[rows];
+        apply(x, reply);
+        return reply;
+    }
+
+    /**
+     * Computes the product of the transpose of this matrix with
+     * <code>x</code>. Large products are spread over every available
+     * processor.
+     *
+     * @param x A vector with one element per row.
+     * @return A new vector with one element per column.
+     */
+    public double[] transposeTimes(double[] x) {
+        return transpose().times(x);
+    }
+
+    /**
+     * Returns the transpose of this matrix, stored by rows. The transpose
+     * shares its arrays with this matrix.
+     */
+    public CSRMatrix transpose() {
+        return new CSRMatrix(cols, rows, colPointer, rowIndex, values);
+    }
+
+    /**
+     * Converts this matrix to compressed sparse row form.
+     */
+    public CSRMatrix toCSR() {
+        // the columns of the transpose are the rows of this matrix
+        CSCMatrix t = transpose().toCSC();
+        return new CSRMatrix(rows, cols, t.colPointer, t.rowIndex, t.values);
+    }
+
+    /**
+     * Copies this matrix into a new dense matrix.
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix reply = new DenseMatrix(rows, cols);
+        for(int j = 0; j < cols; j++) {
+            for(int k = colPointer[j]; k < colPointer[j + 1]; k++) {
+                reply.set(rowIndex[k], j, values[k]);
+            }
+        }
+        return reply;
+    }
+
+    /**
+     * Returns a string representation of the stored elements, one per line.
+     */
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        for(int j = 0; j < cols; j++) {
+            for(int k = colPointer[j]; k < colPointer[j + 1]; k++) {
+                sb.append("(" + rowIndex[k] + ", " + j + ") " + values[k] + "\n");
+            }
+        }
+        return sb.toString();
+    }
+}
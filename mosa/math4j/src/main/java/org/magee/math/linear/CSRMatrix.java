@@ -0,0 +1,304 @@
+/**
+ * CSRMatrix.java A class for describing a sparse matrix stored by rows.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The <code>CSRMatrix</code> class stores a sparse matrix in compressed
+ * sparse row form: the non-zero elements of row i are
+ * <code>values[rowPointer[i]]</code> to
+ * <code>values[rowPointer[i + 1] - 1]</code>, in column order, and their
+ * columns are held at the same positions of <code>columnIndex</code>.
+ * <p>
+ *
+ * Storage is proportional to the number of non-zero elements rather than to
+ * the size of the matrix. Matrix-vector products read each row once and
+ * write each element of the result once, so rows can be handed to different
+ * processors without any locking; large products are split into bands of
+ * about the same number of non-zero elements and run in parallel. Build one
+ * with <code>SparseMatrixBuilder</code>.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class CSRMatrix implements LinearOperator, Serializable {
+    static final long serialVersionUID = 1L;
+
+    /**
+     * Products over fewer non-zero elements than this are done on one
+     * thread.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    // private members
+    private final int rows, cols; // the dimensions of this matrix
+
+    private final int[] rowPointer; // the start of each row, plus the end of the last
+
+    private final int[] columnIndex; // the column of each stored element
+
+    private final double[] values; // the stored elements
+
+    /**
+     * Constructor that wraps the three arrays of a compressed sparse row
+     * matrix without copying them. Columns must be sorted within each row.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param rowPointer The start of each row in the other arrays, with
+     *        <code>rows + 1</code> elements.
+     * @param columnIndex The column of each stored element.
+     * @param values The stored elements.
+     */
+    public CSRMatrix(int rows, int cols, int[] rowPointer, int[] columnIndex, double[] values) {
+        if(rows < 0 || cols < 0 || rowPointer.length != rows + 1)
+            throw new IllegalArgumentException("A " + rows + " x " + cols + " matrix needs " + (rows + 1) + " row pointers");
+        if(columnIndex.length < rowPointer[rows] || values.length < rowPointer[rows])
+            throw new IllegalArgumentException("Array lengths do not match " + rowPointer[rows] + " stored elements");
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPointer = rowPointer;
+        this.columnIndex = columnIndex;
+        this.values = values;
+    }
+
+    /**
+     * Copies the non-zero elements of <code>m</code>.
+     *
+     * @param m A dense matrix.
+     * @return An equal sparse matrix.
+     */
+    public static CSRMatrix valueOf(DenseMatrix m) {
+        SparseMatrixBuilder builder = new SparseMatrixBuilder(m.getRowDimension(), m.getColumnDimension());
+        for(int i = 0; i < m.getRowDimension(); i++) {
+            for(int j = 0; j < m.getColumnDimension(); j++) {
+                double v = m.get(i, j);
+                if(v != 0.0)
+                    builder.add(i, j, v);
+            }
+        }
+        return builder.toCSR();
+    }
+
+    /**
+     * Returns the number of rows.
+     */
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns.
+     */
+    public int getColumnDimension() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of stored elements.
+     */
+    public int getNonZeroCount() {
+        return rowPointer[rows];
+    }
+
+    /**
+     * Returns element (<code>row</code>, <code>col</code>), found by a binary
+     * search of the row.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @return The element, or zero if it is not stored.
+     * @throws ArrayIndexOutOfBoundsException
+     */
+    public double get(int row, int col) {
+        if(row < 0 || row >= rows || col < 0 || col >= cols)
+            throw new ArrayIndexOutOfBoundsException("Element (" + row + ", " + col + ") is outside a " + rows + " x " + cols + " matrix");
+        int k = Arrays.binarySearch(columnIndex, rowPointer[row], rowPointer[row + 1], col);
+        return (k < 0) ? 0.0 : values[k];
+    }
+
+    /**
+     * Returns the diagonal of this matrix.
+     */
+    public double[] getDiagonal() {
+        double[] reply = new double[Math.min(rows, cols)];
+        for(int i = 0; i < reply.length; i++) {
+            int k = Arrays.binarySearch(columnIndex, rowPointer[i], rowPointer[i + 1], i);
+            if(k >= 0)
+                reply[i] = values[k];
+        }
+        return reply;
+    }
+
+    /**
+     * Computes <code>y</code> = <code>this</code>*<code>x</code>. Large
+     * products are spread over every available processor.
+     *
+     * @param x A vector with one element per column.
+     * @param y A vector with one element per row to hold the product.
+     */
+    public void apply(double[] x, double[] y) {
+        if(x.length != cols || y.length != rows)
+            throw new IllegalArgumentException("Vector lengths " + x.length + " and " + y.length + " do not match " + rows + " x " + cols);
+        MultiplyTask task = new MultiplyTask(x, y, 0, rows);
+        if(getNonZeroCount() < PARALLEL_THRESHOLD)
+            task.compute();
+        else
+            DenseMatrix.Pool.POOL.invoke(task);
+    }
+
+    /**
+     * Computes the matrix-vector product <code>this</code>*<code>x</code>.
+     *
+     * @param x A vector with one element per column.
+     * @return A new vector with one element per row.
+     */
+    public double[] times(double[] x) {
+        double[] reply = new double[rows];
+        apply(x, reply);
+        return reply;
+    }
+
+    /**
+     * Computes the transpose of this matrix, which is this matrix stored by
+     * columns.
+     *
+     * @return A new matrix that is the transpose of <code>this</code>.
+     */
+    public CSRMatrix transpose() {
+        CSCMatrix byColumns = toCSC();
+        return byColumns.transpose();
+    }
+
+    /**
+     * Converts this matrix to compressed sparse column form.
+     */
+    public CSCMatrix toCSC() {
+        int nnz = getNonZeroCount();
+        int[] colPointer = new int[cols + 1];
+        for(int k = 0; k < nnz; k++) {
+            colPointer[columnIndex[k] + 1]++;
+        }
+        for(int j = 0; j < cols; j++) {
+            colPointer[j + 1] += colPointer[j];
+        }
+        int[] next = Arrays.copyOf(colPointer, cols);
+        int[] rowIndex = new int[nnz];
+        double[] v = new double[nnz];
+        for(int i = 0; i < rows; i++) { // rows in order keep each column sorted
+            for(int k = rowPointer[i]; k < rowPointer[i + 1]; k++) {
+                int to = next[columnIndex[k]]++;
+                rowIndex[to] = i;
+                v[to] = values[k];
+            }
+        }
+        return new CSCMatrix(rows, cols, colPointer, rowIndex, v);
+    }
+
+    /**
+     * Copies this matrix into a new dense matrix.
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix reply = new DenseMatrix(rows, cols);
+        for(int i = 0; i < rows; i++) {
+            for(int k = rowPointer[i]; k < rowPointer[i + 1]; k++) {
+                reply.set(i, columnIndex[k], values[k]);
+            }
+        }
+        return reply;
+    }
+
+    /*
+     * The arrays are shared with the preconditioners and with CSCMatrix.
+     */
+    int[] rowPointer() {
+        return rowPointer;
+    }
+
+    int[] columnIndex() {
+        return columnIndex;
+    }
+
+    double[] values() {
+        return values;
+    }
+
+    /**
+     * Returns a string representation of the stored elements, one per line.
+     */
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        for(int i = 0; i < rows; i++) {
+            for(int k = rowPointer[i]; k < rowPointer[i + 1]; k++) {
+                sb.append("(" + i + ", " + columnIndex[k] + ") " + values[k] + "\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Multiplies a band of rows into the product. Bands are split where half
+     * of their stored elements fall until they are small enough.
+     */
+    private class MultiplyTask extends RecursiveAction {
+        private final double[] x, y;
+        private final int rowFrom, rowTo;
+
+        MultiplyTask(double[] x, double[] y, int rowFrom, int rowTo) {
+            this.x = x;
+            this.y = y;
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+        }
+
+        protected void compute() {
+            int count = rowPointer[rowTo] - rowPointer[rowFrom];
+            if(count > PARALLEL_THRESHOLD / 2 && rowTo - rowFrom > 1 && getPool() != null) {
+                int half = rowPointer[rowFrom] + count / 2;
+                int mid = Arrays.binarySearch(rowPointer, rowFrom, rowTo, half);
+                if(mid < 0)
+                    mid = -mid - 1;
+                mid = Math.max(rowFrom + 1, Math.min(rowTo - 1, mid));
+                invokeAll(new MultiplyTask(x, y, rowFrom, mid), new MultiplyTask(x, y, mid, rowTo));
+                return;
+            }
+
+            for(int i = rowFrom; i < rowTo; i++) {
+                double sum = 0.0;
+                for(int k = rowPointer[i], end = rowPointer[i + 1]; k < end; k++) {
+                    sum += values[k] * x[columnIndex[k]];
+                }
+                y[i] = sum;
+            }
+        }
+
+        static final long serialVersionUID = 1L;
+    }
+}
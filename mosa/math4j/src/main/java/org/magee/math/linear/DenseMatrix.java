@@ -0,0 +1,569 @@
+/**
+ * DenseMatrix.java A class for describing a dense matrix of doubles.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.io.Serializable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The <code>DenseMatrix</code> class stores a matrix of doubles in a single
+ * row-major array.
+ * <p>
+ *
+ * Element (i, j) is stored at <code>data[offset + i * stride + j]</code>.
+ * A matrix made by <code>view</code> shares the array of the matrix it was
+ * made from, so changes to one are seen by the other and no elements are
+ * copied. Every method that returns a new matrix returns one that owns a
+ * fresh, contiguous array.
+ * <p>
+ *
+ * Multiplication is blocked so each block of the operands stays in cache,
+ * and large products are spread over every available processor.
+ *
+ * @version 1.0, October 19, 2026
+ * @version 1.1, October 19, 2026 Dimensions are checked before the array
+ *          is made.
+ */
+
+/*
+ * version changes
+ */
+public class DenseMatrix implements LinearOperator, Serializable {
+    static final long serialVersionUID = 1L;
+
+    /**
+     * The edge length of the square blocks used by <code>times</code>.
+     */
+    static final int BLOCK_SIZE = 128;
+
+    /**
+     * Products with fewer multiply-adds than this are done on one thread.
+     */
+    static final long PARALLEL_THRESHOLD = 1L << 21;
+
+    // private members
+    private final double[] data; // the elements, possibly shared with other views
+
+    private final int rows, cols; // the dimensions of this matrix
+
+    private final int offset; // the index of element (0, 0) in data
+
+    private final int stride; // the distance between the starts of two rows in data
+
+    /**
+     * Constructor that creates a <code>rows</code> by <code>cols</code>
+     * matrix of zeros.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     */
+    public DenseMatrix(int rows, int cols) {
+        this(new double[size(rows, cols)], rows, cols, 0, cols);
+    }
+
+    /**
+     * Overloaded constructor that copies the two dimensional array
+     * <code>elements</code>. Every row must have the same length.
+     *
+     * @param elements The elements of the matrix by row.
+     */
+    public DenseMatrix(double[][] elements) {
+        this(elements.length, (elements.length == 0) ? 0 : elements[0].length);
+        for(int i = 0; i < rows; i++) {
+            if(elements[i].length != cols)
+                throw new IllegalArgumentException("All rows must have the same length.");
+            System.arraycopy(elements[i], 0, data, i * cols, cols);
+        }
+    }
+
+    /**
+     * Overloaded constructor that wraps the row-major array <code>data</code>
+     * without copying it.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param data The elements of the matrix by row.
+     */
+    public DenseMatrix(int rows, int cols, double[] data) {
+        this(checkLength(data, rows, cols), rows, cols, 0, cols);
+    }
+
+    private DenseMatrix(double[] data, int rows, int cols, int offset, int stride) {
+        this.data = data;
+        this.rows = rows;
+        this.cols = cols;
+        this.offset = offset;
+        this.stride = stride;
+    }
+
+    /**
+     * Returns the number of elements of a <code>rows</code> by
+     * <code>cols</code> matrix, checked before any array is made.
+     */
+    private static int size(int rows, int cols) {
+        if(rows < 0 || cols < 0)
+            throw new IllegalArgumentException("Matrix dimensions cannot be negative: " + rows + " x " + cols);
+        if((long) rows * cols > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Matrix is too large: " + rows + " x " + cols);
+        return rows * cols;
+    }
+
+    /**
+     * Returns <code>data</code> once it is known to hold a
+     * <code>rows</code> by <code>cols</code> matrix.
+     */
+    private static double[] checkLength(double[] data, int rows, int cols) {
+        if(data.length < size(rows, cols))
+            throw new IllegalArgumentException("Array length " + data.length + " is too short for " + rows + " x " + cols);
+        return data;
+    }
+
+    /**
+     * Creates the <code>n</code> by <code>n</code> identity matrix.
+     *
+     * @param n The dimension of the matrix.
+     * @return The identity matrix.
+     */
+    public static DenseMatrix identity(int n) {
+        DenseMatrix reply = new DenseMatrix(n, n);
+        for(int i = 0; i < n; i++) {
+            reply.data[i * n + i] = 1.0;
+        }
+        return reply;
+    }
+
+    /**
+     * Returns the number of rows.
+     */
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns.
+     */
+    public int getColumnDimension() {
+        return cols;
+    }
+
+    /**
+     * Returns element (<code>row</code>, <code>col</code>).
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @return The element.
+     */
+    public double get(int row, int col) {
+        checkIndex(row, col);
+        return data[offset + row * stride + col];
+    }
+
+    /**
+     * Sets element (<code>row</code>, <code>col</code>) to <code>value</code>.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @param value The new element.
+     */
+    public void set(int row, int col, double value) {
+        checkIndex(row, col);
+        data[offset + row * stride + col] = value;
+    }
+
+    /**
+     * Determines if the rows of this matrix follow each other in its array
+     * with no gaps, as they do in any matrix that is not a narrowed view.
+     */
+    public boolean isContiguous() {
+        return stride == cols || rows <= 1;
+    }
+
+    /**
+     * Returns a view of the block of this matrix that starts at
+     * (<code>row</code>, <code>col</code>). The view shares elements with
+     * this matrix.
+     *
+     * @param row The first row of the block.
+     * @param col The first column of the block.
+     * @param rows The number of rows in the block.
+     * @param cols The number of columns in the block.
+     * @return The block as a matrix.
+     * @throws ArrayIndexOutOfBoundsException
+     */
+    public DenseMatrix view(int row, int col, int rows, int cols) {
+        if(row < 0 || col < 0 || rows < 0 || cols < 0 || row + rows > this.rows || col + cols > this.cols)
+            throw new ArrayIndexOutOfBoundsException("Block (" + row + ", " + col + ") " + rows + " x " + cols + " is outside a " + this.rows + " x " + this.cols + " matrix");
+        return new DenseMatrix(data, rows, cols, offset + row * stride + col, stride);
+    }
+
+    /**
+     * Returns a view of row <code>row</code> as a one row matrix.
+     *
+     * @param row The row index.
+     * @return The row as a matrix.
+     */
+    public DenseMatrix row(int row) {
+        return view(row, 0, 1, cols);
+    }
+
+    /**
+     * Returns a copy of this matrix that owns its elements.
+     */
+    public DenseMatrix copy() {
+        DenseMatrix reply = new DenseMatrix(rows, cols);
+        copyInto(reply.data);
+        return reply;
+    }
+
+    /**
+     * Returns the elements of this matrix as a new row-major array.
+     */
+    public double[] toRowPackedArray() {
+        double[] reply = new double[rows * cols];
+        copyInto(reply);
+        return reply;
+    }
+
+    /**
+     * Returns the elements of this matrix as a new two dimensional array.
+     */
+    public double[][] toArray() {
+        double[][] reply = new double[rows][cols];
+        for(int i = 0; i < rows; i++) {
+            System.arraycopy(data, offset + i * stride, reply[i], 0, cols);
+        }
+        return reply;
+    }
+
+    /**
+     * Computes the transpose of this matrix. The copy is made in blocks so
+     * that both matrices are walked through cache friendly.
+     *
+     * @return A new matrix that is the transpose of <code>this</code>.
+     */
+    public DenseMatrix transpose() {
+        DenseMatrix reply = new DenseMatrix(cols, rows);
+        double[] t = reply.data;
+        for(int i0 = 0; i0 < rows; i0 += BLOCK_SIZE) {
+            int iMax = Math.min(rows, i0 + BLOCK_SIZE);
+            for(int j0 = 0; j0 < cols; j0 += BLOCK_SIZE) {
+                int jMax = Math.min(cols, j0 + BLOCK_SIZE);
+                for(int i = i0; i < iMax; i++) {
+                    int from = offset + i * stride;
+                    for(int j = j0; j < jMax; j++) {
+                        t[j * rows + i] = data[from + j];
+                    }
+                }
+            }
+        }
+        return reply;
+    }
+
+    /**
+     * Computes <code>this</code>+<code>m</code>.
+     *
+     * @param m The addend.
+     * @return A new matrix that is the sum.
+     */
+    public DenseMatrix add(DenseMatrix m) {
+        checkSameSize(m);
+        DenseMatrix reply = new DenseMatrix(rows, cols);
+        for(int i = 0; i < rows; i++) {
+            int a = offset + i * stride, b = m.offset + i * m.stride, c = i * cols;
+            for(int j = 0; j < cols; j++) {
+                reply.data[c + j] = data[a + j] + m.data[b + j];
+            }
+        }
+        return reply;
+    }
+
+    /**
+     * Computes <code>this</code>-<code>m</code>.
+     *
+     * @param m The subtrahend.
+     * @return A new matrix that is the difference.
+     */
+    public DenseMatrix subtract(DenseMatrix m) {
+        checkSameSize(m);
+        DenseMatrix reply = new DenseMatrix(rows, cols);
+        for(int i = 0; i < rows; i++) {
+            int a = offset + i * stride, b = m.offset + i * m.stride, c = i * cols;
+            for(int j = 0; j < cols; j++) {
+                reply.data[c + j] = data[a + j] - m.data[b + j];
+            }
+        }
+        return reply;
+    }
+
+    /**
+     * Computes <code>this</code>*<code>d</code>.
+     *
+     * @param d The scalar.
+     * @return A new matrix that is the product.
+     */
+    public DenseMatrix times(double d) {
+        DenseMatrix reply = new DenseMatrix(rows, cols);
+        for(int i = 0; i < rows; i++) {
+            int a = offset + i * stride, c = i * cols;
+            for(int j = 0; j < cols; j++) {
+                reply.data[c + j] = data[a + j] * d;
+            }
+        }
+        return reply;
+    }
+
+    /**
+     * Computes the matrix-vector product <code>this</code>*<code>x</code>.
+     *
+     * @param x A vector with one element per column.
+     * @return A new vector with one element per row.
+     */
+    public double[] times(double[] x) {
+        if(x.length != cols)
+            throw new IllegalArgumentException("Vector length " + x.length + " does not match " + cols + " columns.");
+        double[] reply = new double[rows];
+        apply(x, reply);
+        return reply;
+    }
+
+    /**
+     * Computes <code>y</code> = <code>this</code>*<code>x</code> without
+     * allocating a new vector.
+     *
+     * @param x A vector with one element per column.
+     * @param y A vector with one element per row to hold the product.
+     */
+    public void apply(double[] x, double[] y) {
+        if(x.length != cols || y.length != rows)
+            throw new IllegalArgumentException("Vector lengths " + x.length + " and " + y.length + " do not match " + rows + " x " + cols);
+        for(int i = 0; i < rows; i++) {
+            int a = offset + i * stride;
+            double sum = 0.0;
+            for(int j = 0; j < cols; j++) {
+                sum += data[a + j] * x[j];
+            }
+            y[i] = sum;
+        }
+    }
+
+    /**
+     * Computes the matrix product <code>this</code>*<code>m</code>. The
+     * product is computed block by block and, when it is large enough, the
+     * row blocks are spread over every available processor.
+     *
+     * @param m The right hand factor.
+     * @return A new matrix that is the product.
+     */
+    public DenseMatrix times(DenseMatrix m) {
+        if(m.rows != cols)
+            throw new IllegalArgumentException("Matrix inner dimensions must agree: " + rows + " x " + cols + " * " + m.rows + " x " + m.cols);
+        DenseMatrix reply = new DenseMatrix(rows, m.cols);
+        MultiplyTask task = new MultiplyTask(this, m, reply, 0, rows);
+        if((long) rows * cols * m.cols < PARALLEL_THRESHOLD)
+            task.compute();
+        else
+            Pool.POOL.invoke(task);
+        return reply;
+    }
+
+    /**
+     * Computes the one norm, the maximum column sum of absolute values.
+     */
+    public double norm1() {
+        double[] sums = new double[cols];
+        for(int i = 0; i < rows; i++) {
+            int a = offset + i * stride;
+            for(int j = 0; j < cols; j++) {
+                sums[j] += Math.abs(data[a + j]);
+            }
+        }
+        double max = 0.0;
+        for(int j = 0; j < cols; j++) {
+            max = Math.max(max, sums[j]);
+        }
+        return max;
+    }
+
+    /**
+     * Computes the Frobenius norm, the square root of the sum of the squares
+     * of every element.
+     */
+    public double normF() {
+        double scale = 0.0, sum = 1.0; // scaled to avoid overflow
+        for(int i = 0; i < rows; i++) {
+            int a = offset + i * stride;
+            for(int j = 0; j < cols; j++) {
+                double v = Math.abs(data[a + j]);
+                if(v == 0.0)
+                    continue;
+                if(scale < v) {
+                    sum = 1.0 + sum * (scale / v) * (scale / v);
+                    scale = v;
+                } else
+                    sum += (v / scale) * (v / scale);
+            }
+        }
+        return scale * Math.sqrt(sum);
+    }
+
+    /**
+     * Computes the sum of the diagonal elements.
+     */
+    public double trace() {
+        double sum = 0.0;
+        int n = Math.min(rows, cols);
+        for(int i = 0; i < n; i++) {
+            sum += data[offset + i * stride + i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns a string representation of this matrix, one row per line.
+     */
+    public String toString() {
+        StringBuffer reply = new StringBuffer();
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < cols; j++) {
+                reply.append(data[offset + i * stride + j]);
+                if(j != cols - 1)
+                    reply.append(" ");
+            }
+            reply.append("\n");
+        }
+        return reply.toString();
+    }
+
+    /**
+     * Package access to the array of elements for the decompositions.
+     */
+    double[] array() {
+        return data;
+    }
+
+    /**
+     * The index of element (0, 0) in <code>array()</code>.
+     */
+    int offset() {
+        return offset;
+    }
+
+    /**
+     * The distance between rows in <code>array()</code>.
+     */
+    int stride() {
+        return stride;
+    }
+
+    private void copyInto(double[] dest) {
+        if(isContiguous())
+            System.arraycopy(data, offset, dest, 0, rows * cols);
+        else {
+            for(int i = 0; i < rows; i++) {
+                System.arraycopy(data, offset + i * stride, dest, i * cols, cols);
+            }
+        }
+    }
+
+    private void checkIndex(int row, int col) {
+        if(row < 0 || row >= rows || col < 0 || col >= cols)
+            throw new ArrayIndexOutOfBoundsException("(" + row + ", " + col + ") is not a valid index");
+    }
+
+    private void checkSameSize(DenseMatrix m) {
+        if(m.rows != rows || m.cols != cols)
+            throw new IllegalArgumentException("Matrix dimensions must agree: " + rows + " x " + cols + " and " + m.rows + " x " + m.cols);
+    }
+
+    /**
+     * Holds the pool shared by the parallel matrix operations until it is
+     * first needed.
+     */
+    static class Pool {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    /**
+     * Multiplies a band of rows of the left factor into the product. Bands
+     * are split in half until they are one block high.
+     */
+    private static class MultiplyTask extends RecursiveAction {
+        private final DenseMatrix a, b, c;
+        private final int rowFrom, rowTo;
+
+        MultiplyTask(DenseMatrix a, DenseMatrix b, DenseMatrix c, int rowFrom, int rowTo) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+        }
+
+        protected void compute() {
+            if(rowTo - rowFrom > BLOCK_SIZE && getPool() != null) {
+                int mid = rowFrom + ((rowTo - rowFrom) / 2 / BLOCK_SIZE + 1) * BLOCK_SIZE;
+                if(mid < rowTo) {
+                    invokeAll(new MultiplyTask(a, b, c, rowFrom, mid), new MultiplyTask(a, b, c, mid, rowTo));
+                    return;
+                }
+            }
+
+            double[] ad = a.data, bd = b.data, cd = c.data;
+            int n = a.cols, p = b.cols;
+            for(int i0 = rowFrom; i0 < rowTo; i0 += BLOCK_SIZE) {
+                int iMax = Math.min(rowTo, i0 + BLOCK_SIZE);
+                for(int k0 = 0; k0 < n; k0 += BLOCK_SIZE) {
+                    int kMax = Math.min(n, k0 + BLOCK_SIZE);
+                    for(int j0 = 0; j0 < p; j0 += BLOCK_SIZE) {
+                        int jMax = Math.min(p, j0 + BLOCK_SIZE);
+                        for(int i = i0; i < iMax; i++) {
+                            int aRow = a.offset + i * a.stride, cRow = c.offset + i * c.stride;
+                            int k = k0;
+                            // four rows of b per pass over the row of c
+                            for(; k + 3 < kMax; k += 4) {
+                                double a0 = ad[aRow + k], a1 = ad[aRow + k + 1];
+                                double a2 = ad[aRow + k + 2], a3 = ad[aRow + k + 3];
+                                int b0 = b.offset + k * b.stride, b1 = b0 + b.stride;
+                                int b2 = b1 + b.stride, b3 = b2 + b.stride;
+                                for(int j = j0; j < jMax; j++) {
+                                    cd[cRow + j] += a0 * bd[b0 + j] + a1 * bd[b1 + j] + a2 * bd[b2 + j] + a3 * bd[b3 + j];
+                                }
+                            }
+                            for(; k < kMax; k++) {
+                                double aik = ad[aRow + k];
+                                int bRow = b.offset + k * b.stride;
+                                for(int j = j0; j < jMax; j++) {
+                                    cd[cRow + j] += aik * bd[bRow + j];
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        static final long serialVersionUID = 1L;
+    }
+}
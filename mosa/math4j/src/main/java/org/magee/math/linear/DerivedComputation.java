@@ -0,0 +1,211 @@
+/**
+ * DerivedComputation.java A base class for results derived from an observable matrix.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+/**
+ * The <code>DerivedComputation</code> class keeps a result computed from an
+ * <code>ObservableMatrix</code>, such as its inverse, up to date as the
+ * matrix changes.
+ * <p>
+ *
+ * Nothing is computed until <code>get</code> is first called. After that
+ * each committed change is offered to <code>update</code>, which a subclass
+ * overrides to fold small changes into the result cheaply. When it cannot,
+ * the result is simply dropped and recomputed by the next
+ * <code>get</code>, so a burst of edits that nobody reads costs nothing.
+ * <p>
+ *
+ * Each element change is a rank one update A + delta * e(i) * e(j)', so
+ * results that keep the inverse can use the Sherman-Morrison formula
+ * provided here, at O(n^2) per changed element instead of O(n^3). Rounding
+ * errors build up over a run of such updates, so after
+ * <code>MAX_UPDATES</code> of them the result is dropped and computed
+ * afresh, and an update whose factor 1 + delta * inv(j, i) is within
+ * <code>TOLERANCE</code> of cancelling is refused.
+ *
+ * @version 1.0, October 19, 2026
+ * @version 1.1, October 19, 2026 The result is computed afresh after a run
+ *          of rank one updates or one that is nearly singular.
+ */
+
+/*
+ * version changes
+ * 1.1 refresh after MAX_UPDATES updates, stricter singularity tolerance
+ */
+public abstract class DerivedComputation<T> implements MatrixChangeListener {
+
+    /**
+     * The number of element changes folded into a result before it is
+     * computed afresh.
+     */
+    public static final int MAX_UPDATES = 32;
+
+    /**
+     * The smallest size of the factor 1 + delta * inv(j, i), relative to
+     * 1 + |delta * inv(j, i)|, for which a Sherman-Morrison update is made.
+     */
+    public static final double TOLERANCE = 1e-6;
+
+    // protected members
+    protected final ObservableMatrix source; // the matrix this result is derived from
+
+    // private members
+    private T value; // the result, or null when it must be recomputed
+
+    private long version = -1; // the version of source the result is for
+
+    private int recomputations; // how often compute has been called
+
+    private int updates; // the element changes folded in since compute
+
+    /**
+     * Constructor that registers this computation with
+     * <code>source</code>.
+     *
+     * @param source The matrix to follow.
+     */
+    protected DerivedComputation(ObservableMatrix source) {
+        this.source = source;
+        source.addMatrixChangeListener(this);
+    }
+
+    /**
+     * Returns the result for the last committed state of the matrix,
+     * computing it if it is not up to date.
+     */
+    public synchronized T get() {
+        if(value == null) {
+            DenseMatrix a;
+            synchronized(source) {
+                a = source.committedCopy();
+                version = source.getVersion();
+            }
+            value = compute(a);
+            updates = 0;
+            recomputations++;
+        }
+        return value;
+    }
+
+    /**
+     * Determines if the next call to <code>get</code> will have to compute
+     * the result from scratch.
+     */
+    public synchronized boolean isStale() {
+        return value == null;
+    }
+
+    /**
+     * Returns the number of times the result has been computed from
+     * scratch.
+     */
+    public synchronized int getRecomputations() {
+        return recomputations;
+    }
+
+    /**
+     * Stops following the matrix.
+     */
+    public void dispose() {
+        source.removeMatrixChangeListener(this);
+    }
+
+    /**
+     * Folds a committed change into the result, or drops the result if
+     * <code>update</code> cannot.
+     */
+    public synchronized void matrixChanged(MatrixChangeEvent e) {
+        if(value == null || e.getVersion() <= version)
+            return; // nothing to update, or the result already includes this change
+        T updated = null;
+        if(e.getVersion() == version + 1 && !e.isStructureChange() && updates + e.getChangeCount() <= MAX_UPDATES) {
+            updated = update(value, e);
+            updates += e.getChangeCount();
+        }
+        value = updated;
+        version = e.getVersion();
+    }
+
+    /**
+     * Computes the result from scratch.
+     *
+     * @param a A private copy of the matrix that may be changed.
+     * @return The result, which must not be null.
+     */
+    protected abstract T compute(DenseMatrix a);
+
+    /**
+     * Folds the changes in <code>e</code> into <code>value</code>. The
+     * default gives up, so the result is recomputed lazily.
+     *
+     * @param value The result before the change.
+     * @param e The change.
+     * @return The result after the change, or null to recompute it.
+     */
+    protected T update(T value, MatrixChangeEvent e) {
+        return null;
+    }
+
+    /**
+     * Determines if a commit is small enough that rank one updates of an
+     * n by n inverse, at n^2 each, beat a fresh factorization at n^3.
+     */
+    static boolean isSmallUpdate(MatrixChangeEvent e) {
+        int n = e.getRowDimension();
+        return e.getColumnDimension() == n && e.getChangeCount() <= Math.max(1, n / 8);
+    }
+
+    /**
+     * Applies the Sherman-Morrison formula to the row-packed inverse
+     * <code>inv</code> of an n by n matrix A, turning it into the inverse of
+     * A + <code>delta</code> * e(i) * e(j)'.
+     *
+     * @return The factor 1 + delta * inv(j, i) by which the determinant
+     *         changes, or NaN if it is within <code>TOLERANCE</code> of
+     *         zero, in which case <code>inv</code> is not changed.
+     */
+    static double shermanMorrison(double[] inv, int n, int i, int j, double delta) {
+        double dji = delta * inv[j * n + i];
+        double factor = 1.0 + dji;
+        if(Double.isNaN(factor) || Double.isInfinite(delta) || Math.abs(factor) <= TOLERANCE * (1.0 + Math.abs(dji)))
+            return Double.NaN;
+
+        // inv -= (delta / factor) * inv(:, i) * inv(j, :)
+        double[] column = new double[n];
+        for(int r = 0; r < n; r++) {
+            column[r] = inv[r * n + i] * (delta / factor);
+        }
+        double[] row = new double[n];
+        System.arraycopy(inv, j * n, row, 0, n);
+        for(int r = 0; r < n; r++) {
+            double c = column[r];
+            if(c == 0.0)
+                continue;
+            int base = r * n;
+            for(int s = 0; s < n; s++) {
+                inv[base + s] -= c * row[s];
+            }
+        }
+        return factor;
+    }
+}
@@ -0,0 +1,504 @@
+/**
+ * EigenvalueDecomposition.java A class for finding the eigenvalues of a dense matrix.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The <code>EigenvalueDecomposition</code> class finds every eigenvalue, real
+ * and complex, of a real square matrix.
+ * <p>
+ *
+ * The matrix is reduced to upper Hessenberg form by orthogonal similarity
+ * transformations and then to real Schur form by the shifted double QR
+ * algorithm, following the EISPACK routines orthes and hqr. Only the active
+ * window of the Hessenberg matrix is updated because no eigenvectors are
+ * accumulated. The eigenvalues come out in the same order as those of
+ * <code>Jama.EigenvalueDecomposition</code>. A symmetric matrix is instead
+ * reduced to tridiagonal form and solved by the implicit QL algorithm
+ * (EISPACK tred2 and tql2), and its eigenvalues are sorted ascending.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class EigenvalueDecomposition implements Serializable {
+    static final long serialVersionUID = 1L;
+
+    // private members
+    private final int n; // the dimension of the matrix
+
+    private final double[] d, e; // the real and imaginary parts of the eigenvalues
+
+    /**
+     * Constructor that finds the eigenvalues of the square matrix
+     * <code>a</code>. The matrix itself is not changed.
+     *
+     * @param a The matrix to examine.
+     */
+    public EigenvalueDecomposition(DenseMatrix a) {
+        this(a, false);
+    }
+
+    /**
+     * Overloaded constructor for a matrix that is already upper Hessenberg,
+     * such as a companion matrix. The reduction to Hessenberg form is
+     * skipped when <code>hessenberg</code> is true.
+     *
+     * @param a The matrix to examine.
+     * @param hessenberg True if every element below the subdiagonal is zero.
+     */
+    public EigenvalueDecomposition(DenseMatrix a, boolean hessenberg) {
+        if(a.getRowDimension() != a.getColumnDimension())
+            throw new IllegalArgumentException("Matrix must be square.");
+        n = a.getRowDimension();
+        d = new double[n];
+        e = new double[n];
+
+        double[] h = a.toRowPackedArray();
+        if(!hessenberg && isSymmetric(h, n)) {
+            tred(h, n, d, e);
+            tql(n, d, e);
+        } else {
+            if(!hessenberg)
+                orthes(h, n);
+            hqr(h, n, d, e);
+        }
+    }
+
+    /**
+     * Returns the real parts of the eigenvalues.
+     */
+    public double[] getRealEigenvalues() {
+        return d.clone();
+    }
+
+    /**
+     * Returns the imaginary parts of the eigenvalues. Complex eigenvalues come
+     * in adjacent conjugate pairs with the positive imaginary part first.
+     */
+    public double[] getImagEigenvalues() {
+        return e.clone();
+    }
+
+    private static boolean isSymmetric(double[] h, int n) {
+        for(int i = 0; i < n; i++) {
+            for(int j = 0; j < i; j++) {
+                if(h[i * n + j] != h[j * n + i])
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reduces the symmetric matrix h to tridiagonal form by Householder
+     * similarity transformations, leaving the diagonal in d and the
+     * subdiagonal in e[1..n-1]. Only the lower triangle of h is used.
+     */
+    private static void tred(double[] h, int n, double[] d, double[] e) {
+        for(int j = 0; j < n; j++) {
+            d[j] = h[(n - 1) * n + j];
+        }
+
+        for(int i = n - 1; i > 0; i--) {
+            double scale = 0.0;
+            double hh = 0.0;
+            for(int k = 0; k < i; k++) {
+                scale += Math.abs(d[k]);
+            }
+            if(scale == 0.0) {
+                e[i] = d[i - 1];
+                for(int j = 0; j < i; j++) {
+                    d[j] = h[(i - 1) * n + j];
+                }
+            } else {
+                for(int k = 0; k < i; k++) {
+                    d[k] /= scale;
+                    hh += d[k] * d[k];
+                }
+                double f = d[i - 1];
+                double g = Math.sqrt(hh);
+                if(f > 0)
+                    g = -g;
+                e[i] = scale * g;
+                hh = hh - f * g;
+                d[i - 1] = f - g;
+                for(int j = 0; j < i; j++) {
+                    e[j] = 0.0;
+                }
+
+                // apply the similarity transformation to the remaining columns
+                for(int j = 0; j < i; j++) {
+                    f = d[j];
+                    g = e[j] + h[j * n + j] * f;
+                    for(int k = j + 1; k <= i - 1; k++) {
+                        g += h[k * n + j] * d[k];
+                        e[k] += h[k * n + j] * f;
+                    }
+                    e[j] = g;
+                }
+                f = 0.0;
+                for(int j = 0; j < i; j++) {
+                    e[j] /= hh;
+                    f += e[j] * d[j];
+                }
+                double hf = f / (hh + hh);
+                for(int j = 0; j < i; j++) {
+                    e[j] -= hf * d[j];
+                }
+                for(int j = 0; j < i; j++) {
+                    f = d[j];
+                    g = e[j];
+                    for(int k = j; k <= i - 1; k++) {
+                        h[k * n + j] -= (f * e[k] + g * d[k]);
+                    }
+                    d[j] = h[(i - 1) * n + j];
+                }
+            }
+        }
+
+        for(int j = 0; j < n; j++) {
+            d[j] = h[j * n + j];
+        }
+        e[0] = 0.0;
+    }
+
+    /**
+     * Finds the eigenvalues of the symmetric tridiagonal matrix held in d and
+     * e by the implicit QL algorithm, sorting them ascending.
+     */
+    private static void tql(int n, double[] d, double[] e) {
+        for(int i = 1; i < n; i++) {
+            e[i - 1] = e[i];
+        }
+        if(n > 0)
+            e[n - 1] = 0.0;
+
+        double f = 0.0;
+        double tst1 = 0.0;
+        double eps = Math.pow(2.0, -52.0);
+        for(int l = 0; l < n; l++) {
+            // look for a small subdiagonal element
+            tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+            int m = l;
+            while(m < n - 1) {
+                if(Math.abs(e[m]) <= eps * tst1)
+                    break;
+                m++;
+            }
+
+            if(m > l) {
+                do {
+                    // compute the implicit shift
+                    double g = d[l];
+                    double p = (d[l + 1] - g) / (2.0 * e[l]);
+                    double r = QRDecomposition.hypot(p, 1.0);
+                    if(p < 0)
+                        r = -r;
+                    d[l] = e[l] / (p + r);
+                    d[l + 1] = e[l] * (p + r);
+                    double dl1 = d[l + 1];
+                    double hs = g - d[l];
+                    for(int i = l + 2; i < n; i++) {
+                        d[i] -= hs;
+                    }
+                    f = f + hs;
+
+                    // implicit QL transformation
+                    p = d[m];
+                    double c = 1.0, c2 = c, c3 = c;
+                    double el1 = e[l + 1];
+                    double s = 0.0, s2 = 0.0;
+                    for(int i = m - 1; i >= l; i--) {
+                        c3 = c2;
+                        c2 = c;
+                        s2 = s;
+                        g = c * e[i];
+                        hs = c * p;
+                        r = QRDecomposition.hypot(p, e[i]);
+                        e[i + 1] = s * r;
+                        s = e[i] / r;
+                        c = p / r;
+                        p = c * d[i] - s * g;
+                        d[i + 1] = hs + s * (c * g + s * d[i]);
+                    }
+                    p = -s * s2 * c3 * el1 * e[l] / dl1;
+                    e[l] = s * p;
+                    d[l] = c * p;
+                } while(Math.abs(e[l]) > eps * tst1);
+            }
+            d[l] = d[l] + f;
+            e[l] = 0.0;
+        }
+        Arrays.sort(d);
+    }
+
+    /**
+     * Reduces h to upper Hessenberg form by Householder similarity
+     * transformations.
+     */
+    private static void orthes(double[] h, int n) {
+        int high = n - 1;
+        double[] ort = new double[n];
+
+        for(int m = 1; m <= high - 1; m++) {
+            double scale = 0.0;
+            for(int i = m; i <= high; i++) {
+                scale += Math.abs(h[i * n + m - 1]);
+            }
+            if(scale == 0.0)
+                continue;
+
+            double hh = 0.0;
+            for(int i = high; i >= m; i--) {
+                ort[i] = h[i * n + m - 1] / scale;
+                hh += ort[i] * ort[i];
+            }
+            double g = Math.sqrt(hh);
+            if(ort[m] > 0)
+                g = -g;
+            hh = hh - ort[m] * g;
+            ort[m] = ort[m] - g;
+
+            // apply the transformation from the left
+            for(int j = m; j < n; j++) {
+                double f = 0.0;
+                for(int i = high; i >= m; i--) {
+                    f += ort[i] * h[i * n + j];
+                }
+                f = f / hh;
+                for(int i = m; i <= high; i++) {
+                    h[i * n + j] -= f * ort[i];
+                }
+            }
+
+            // and from the right
+            for(int i = 0; i <= high; i++) {
+                int row = i * n;
+                double f = 0.0;
+                for(int j = high; j >= m; j--) {
+                    f += ort[j] * h[row + j];
+                }
+                f = f / hh;
+                for(int j = m; j <= high; j++) {
+                    h[row + j] -= f * ort[j];
+                }
+            }
+            ort[m] = scale * ort[m];
+            h[m * n + m - 1] = scale * g;
+        }
+    }
+
+    /**
+     * Finds the eigenvalues of the upper Hessenberg matrix h by the shifted
+     * double QR algorithm.
+     */
+    private static void hqr(double[] h, int nn, double[] d, double[] e) {
+        int n = nn - 1;
+        int low = 0;
+        double eps = Math.pow(2.0, -52.0);
+        double exshift = 0.0;
+        double p = 0, q = 0, r = 0, s = 0, z = 0, w, x, y;
+
+        double norm = 0.0;
+        for(int i = 0; i < nn; i++) {
+            for(int j = Math.max(i - 1, 0); j < nn; j++) {
+                norm += Math.abs(h[i * nn + j]);
+            }
+        }
+
+        int iter = 0;
+        while(n >= low) {
+            // look for a single small subdiagonal element
+            int l = n;
+            while(l > low) {
+                s = Math.abs(h[(l - 1) * nn + l - 1]) + Math.abs(h[l * nn + l]);
+                if(s == 0.0)
+                    s = norm;
+                if(Math.abs(h[l * nn + l - 1]) < eps * s)
+                    break;
+                l--;
+            }
+
+            if(l == n) { // one root found
+                d[n] = h[n * nn + n] + exshift;
+                e[n] = 0.0;
+                n--;
+                iter = 0;
+            } else if(l == n - 1) { // two roots found
+                w = h[n * nn + n - 1] * h[(n - 1) * nn + n];
+                p = (h[(n - 1) * nn + n - 1] - h[n * nn + n]) / 2.0;
+                q = p * p + w;
+                z = Math.sqrt(Math.abs(q));
+                x = h[n * nn + n] + exshift;
+
+                if(q >= 0) { // a real pair
+                    z = (p >= 0) ? p + z : p - z;
+                    d[n - 1] = x + z;
+                    d[n] = d[n - 1];
+                    if(z != 0.0)
+                        d[n] = x - w / z;
+                    e[n - 1] = 0.0;
+                    e[n] = 0.0;
+                } else { // a complex pair
+                    d[n - 1] = x + p;
+                    d[n] = x + p;
+                    e[n - 1] = z;
+                    e[n] = -z;
+                }
+                n = n - 2;
+                iter = 0;
+            } else { // no convergence yet
+                x = h[n * nn + n];
+                y = 0.0;
+                w = 0.0;
+                if(l < n) {
+                    y = h[(n - 1) * nn + n - 1];
+                    w = h[n * nn + n - 1] * h[(n - 1) * nn + n];
+                }
+
+                // Wilkinson's original ad hoc shift
+                if(iter == 10) {
+                    exshift += x;
+                    for(int i = low; i <= n; i++) {
+                        h[i * nn + i] -= x;
+                    }
+                    s = Math.abs(h[n * nn + n - 1]) + Math.abs(h[(n - 1) * nn + n - 2]);
+                    x = y = 0.75 * s;
+                    w = -0.4375 * s * s;
+                }
+
+                // MATLAB's new ad hoc shift
+                if(iter == 30) {
+                    s = (y - x) / 2.0;
+                    s = s * s + w;
+                    if(s > 0) {
+                        s = Math.sqrt(s);
+                        if(y < x)
+                            s = -s;
+                        s = x - w / ((y - x) / 2.0 + s);
+                        for(int i = low; i <= n; i++) {
+                            h[i * nn + i] -= s;
+                        }
+                        exshift += s;
+                        x = y = w = 0.964;
+                    }
+                }
+
+                iter = iter + 1;
+                if(iter > 30 * nn)
+                    throw new ArithmeticException("Eigenvalues did not converge.");
+
+                // look for two consecutive small subdiagonal elements
+                int m = n - 2;
+                while(m >= l) {
+                    z = h[m * nn + m];
+                    r = x - z;
+                    s = y - z;
+                    p = (r * s - w) / h[(m + 1) * nn + m] + h[m * nn + m + 1];
+                    q = h[(m + 1) * nn + m + 1] - z - r - s;
+                    r = h[(m + 2) * nn + m + 1];
+                    s = Math.abs(p) + Math.abs(q) + Math.abs(r);
+                    p = p / s;
+                    q = q / s;
+                    r = r / s;
+                    if(m == l)
+                        break;
+                    if(Math.abs(h[m * nn + m - 1]) * (Math.abs(q) + Math.abs(r)) < eps * (Math.abs(p) * (Math.abs(h[(m - 1) * nn + m - 1]) + Math.abs(z) + Math.abs(h[(m + 1) * nn + m + 1]))))
+                        break;
+                    m--;
+                }
+
+                for(int i = m + 2; i <= n; i++) {
+                    h[i * nn + i - 2] = 0.0;
+                    if(i > m + 2)
+                        h[i * nn + i - 3] = 0.0;
+                }
+
+                // double QR step involving rows l:n and columns m:n
+                for(int k = m; k <= n - 1; k++) {
+                    boolean notlast = (k != n - 1);
+                    if(k != m) {
+                        p = h[k * nn + k - 1];
+                        q = h[(k + 1) * nn + k - 1];
+                        r = (notlast ? h[(k + 2) * nn + k - 1] : 0.0);
+                        x = Math.abs(p) + Math.abs(q) + Math.abs(r);
+                        if(x != 0.0) {
+                            p = p / x;
+                            q = q / x;
+                            r = r / x;
+                        }
+                    }
+                    if(x == 0.0)
+                        break;
+
+                    s = Math.sqrt(p * p + q * q + r * r);
+                    if(p < 0)
+                        s = -s;
+                    if(s != 0) {
+                        if(k != m)
+                            h[k * nn + k - 1] = -s * x;
+                        else if(l != m)
+                            h[k * nn + k - 1] = -h[k * nn + k - 1];
+                        p = p + s;
+                        x = p / s;
+                        y = q / s;
+                        z = r / s;
+                        q = q / p;
+                        r = r / p;
+
+                        // row modification, limited to the active window
+                        int k0 = k * nn, k1 = k0 + nn, k2 = k1 + nn;
+                        for(int j = k; j <= n; j++) {
+                            p = h[k0 + j] + q * h[k1 + j];
+                            if(notlast) {
+                                p = p + r * h[k2 + j];
+                                h[k2 + j] = h[k2 + j] - p * z;
+                            }
+                            h[k0 + j] = h[k0 + j] - p * x;
+                            h[k1 + j] = h[k1 + j] - p * y;
+                        }
+
+                        // column modification, limited to the active window
+                        int iMax = Math.min(n, k + 3);
+                        for(int i = l; i <= iMax; i++) {
+                            int row = i * nn;
+                            p = x * h[row + k] + y * h[row + k + 1];
+                            if(notlast) {
+                                p = p + z * h[row + k + 2];
+                                h[row + k + 2] = h[row + k + 2] - p * r;
+                            }
+                            h[row + k] = h[row + k] - p;
+                            h[row + k + 1] = h[row + k + 1] - p * q;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * IterativeSolver.java A base class for iterative linear solvers.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.util.Arrays;
+
+/**
+ * The <code>IterativeSolver</code> class is the base of the Krylov subspace
+ * solvers. A solver needs only products of the matrix with vectors, so it
+ * works with any <code>LinearOperator</code>, and memory stays at a few
+ * vectors however large the matrix is.
+ * <p>
+ *
+ * Iteration stops when the residual norm ||b - A*x|| falls to
+ * <code>tolerance</code> times ||b||, or after <code>maxIterations</code>
+ * iterations. A solver is not thread safe; the counters describe the last
+ * call to <code>solve</code>.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public abstract class IterativeSolver {
+
+    // protected members
+    protected double tolerance = 1e-10; // the relative residual to reach
+
+    protected int maxIterations = 1000; // the iteration limit
+
+    protected Preconditioner preconditioner; // null for none
+
+    protected int iterations; // iterations done by the last solve
+
+    protected double residual; // the relative residual after the last solve
+
+    /**
+     * Returns the relative residual at which iteration stops.
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Sets the relative residual at which iteration stops.
+     *
+     * @param tolerance A positive tolerance.
+     */
+    public void setTolerance(double tolerance) {
+        if(!(tolerance > 0.0))
+            throw new IllegalArgumentException("Tolerance must be positive: " + tolerance);
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns the largest number of iterations a solve may take.
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Sets the largest number of iterations a solve may take.
+     *
+     * @param maxIterations A positive iteration limit.
+     */
+    public void setMaxIterations(int maxIterations) {
+        if(maxIterations < 1)
+            throw new IllegalArgumentException("Iteration limit must be positive: " + maxIterations);
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Returns the preconditioner, or null if there is none.
+     */
+    public Preconditioner getPreconditioner() {
+        return preconditioner;
+    }
+
+    /**
+     * Sets the preconditioner.
+     *
+     * @param preconditioner The preconditioner, or null for none.
+     */
+    public void setPreconditioner(Preconditioner preconditioner) {
+        this.preconditioner = preconditioner;
+    }
+
+    /**
+     * Returns the number of iterations done by the last solve.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the relative residual ||b - A*x|| / ||b|| after the last
+     * solve.
+     */
+    public double getResidual() {
+        return residual;
+    }
+
+    /**
+     * Determines if the last solve reached the tolerance.
+     */
+    public boolean hasConverged() {
+        return residual <= tolerance;
+    }
+
+    /**
+     * Solves <code>a</code>*x = <code>b</code> starting from zero.
+     *
+     * @param a A square matrix.
+     * @param b The right hand side.
+     * @return The solution.
+     */
+    public double[] solve(LinearOperator a, double[] b) {
+        return solve(a, b, new double[b.length]);
+    }
+
+    /**
+     * Solves <code>a</code>*x = <code>b</code> starting from
+     * <code>x0</code>, which is not changed.
+     *
+     * @param a A square matrix.
+     * @param b The right hand side.
+     * @param x0 The first guess.
+     * @return The solution, or the last iterate if the tolerance was not
+     *         reached.
+     * @throws ArithmeticException If the method breaks down.
+     */
+    public double[] solve(LinearOperator a, double[] b, double[] x0) {
+        int n = b.length;
+        if(a.getRowDimension() != n || a.getColumnDimension() != n || x0.length != n)
+            throw new IllegalArgumentException("Dimensions do not match a " + a.getRowDimension() + " x " + a.getColumnDimension() + " system");
+        iterations = 0;
+        double[] x = x0.clone();
+        double normB = norm(b);
+        if(normB == 0.0) {
+            Arrays.fill(x, 0.0);
+            residual = 0.0;
+            return x;
+        }
+        iterate(a, b, x, normB);
+        return x;
+    }
+
+    /**
+     * Improves <code>x</code> in place until it converges or the iteration
+     * limit is reached, keeping <code>iterations</code> and
+     * <code>residual</code> up to date.
+     *
+     * @param a A square matrix.
+     * @param b The right hand side.
+     * @param x The first guess, then the solution.
+     * @param normB The norm of <code>b</code>, which is not zero.
+     */
+    protected abstract void iterate(LinearOperator a, double[] b, double[] x, double normB);
+
+    /**
+     * Applies the preconditioner to <code>r</code>, or copies it if there is
+     * none.
+     */
+    protected void precondition(double[] r, double[] z) {
+        if(preconditioner == null)
+            System.arraycopy(r, 0, z, 0, r.length);
+        else
+            preconditioner.apply(r, z);
+    }
+
+    /**
+     * Computes <code>r</code> = <code>b</code> - <code>a</code>*<code>x</code>.
+     */
+    protected static void residual(LinearOperator a, double[] b, double[] x, double[] r) {
+        a.apply(x, r);
+        for(int i = 0; i < r.length; i++) {
+            r[i] = b[i] - r[i];
+        }
+    }
+
+    /**
+     * Computes the dot product of <code>x</code> and <code>y</code>.
+     */
+    protected static double dot(double[] x, double[] y) {
+        double sum = 0.0;
+        for(int i = 0; i < x.length; i++) {
+            sum += x[i] * y[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Computes the Euclidean norm of <code>x</code>.
+     */
+    protected static double norm(double[] x) {
+        return Math.sqrt(dot(x, x));
+    }
+
+    /**
+     * Computes <code>y</code> = <code>y</code> + <code>alpha</code>*<code>x</code>.
+     */
+    protected static void axpy(double alpha, double[] x, double[] y) {
+        for(int i = 0; i < y.length; i++) {
+            y[i] += alpha * x[i];
+        }
+    }
+}
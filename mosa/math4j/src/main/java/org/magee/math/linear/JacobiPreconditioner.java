@@ -0,0 +1,81 @@
+/**
+ * JacobiPreconditioner.java A class for the diagonal preconditioner.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.io.Serializable;
+
+/**
+ * The <code>JacobiPreconditioner</code> class approximates a matrix by its
+ * diagonal. It costs one division per element to apply and suits matrices
+ * whose diagonal dominates each row.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class JacobiPreconditioner implements Preconditioner, Serializable {
+    static final long serialVersionUID = 1L;
+
+    // private members
+    private final double[] inverse; // the reciprocal of each diagonal element
+
+    /**
+     * Constructor that takes the diagonal of <code>a</code>.
+     *
+     * @param a A square matrix with no zero on its diagonal.
+     * @throws ArithmeticException
+     */
+    public JacobiPreconditioner(CSRMatrix a) {
+        this(a.getDiagonal());
+    }
+
+    /**
+     * Overloaded constructor that takes the diagonal itself.
+     *
+     * @param diagonal The diagonal of the matrix.
+     * @throws ArithmeticException
+     */
+    public JacobiPreconditioner(double[] diagonal) {
+        inverse = new double[diagonal.length];
+        for(int i = 0; i < diagonal.length; i++) {
+            if(diagonal[i] == 0.0)
+                throw new ArithmeticException("Diagonal element " + i + " is zero.");
+            inverse[i] = 1.0 / diagonal[i];
+        }
+    }
+
+    /**
+     * Divides <code>r</code> by the diagonal.
+     *
+     * @param r The right hand side.
+     * @param z A vector to hold the solution.
+     */
+    public void apply(double[] r, double[] z) {
+        for(int i = 0; i < inverse.length; i++) {
+            z[i] = r[i] * inverse[i];
+        }
+    }
+}
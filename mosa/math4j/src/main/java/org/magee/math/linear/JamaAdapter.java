@@ -0,0 +1,90 @@
+/**
+ * JamaAdapter.java A class for moving matrices between Math4J and Jama.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import Jama.Matrix;
+
+/**
+ * The <code>JamaAdapter</code> class converts between
+ * <code>DenseMatrix</code> and <code>Jama.Matrix</code>. It cannot be
+ * instantiated.
+ * <p>
+ *
+ * Jama keeps one array per row, so every conversion copies the elements.
+ * Sparse matrices are expanded to dense ones, so only convert those that
+ * are small enough to display or to hand to Jama.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class JamaAdapter {
+
+    private JamaAdapter() {
+    }
+
+    /**
+     * Copies <code>m</code> into a new <code>Jama.Matrix</code>.
+     *
+     * @param m The matrix to convert.
+     * @return An equal <code>Jama.Matrix</code>.
+     */
+    public static Matrix toJama(DenseMatrix m) {
+        return new Matrix(m.toArray());
+    }
+
+    /**
+     * Copies <code>m</code> into a new <code>DenseMatrix</code>.
+     *
+     * @param m The matrix to convert.
+     * @return An equal <code>DenseMatrix</code>.
+     */
+    public static DenseMatrix fromJama(Matrix m) {
+        return new DenseMatrix(m.getArray());
+    }
+
+    /**
+     * Copies the sparse matrix <code>m</code>, zeros included, into a new
+     * <code>Jama.Matrix</code>.
+     *
+     * @param m The matrix to convert.
+     * @return An equal <code>Jama.Matrix</code>.
+     */
+    public static Matrix toJama(CSRMatrix m) {
+        return toJama(m.toDense());
+    }
+
+    /**
+     * Copies the non-zero elements of <code>m</code> into a new
+     * <code>CSRMatrix</code>.
+     *
+     * @param m The matrix to convert.
+     * @return An equal <code>CSRMatrix</code>.
+     */
+    public static CSRMatrix sparseFromJama(Matrix m) {
+        return CSRMatrix.valueOf(fromJama(m));
+    }
+}
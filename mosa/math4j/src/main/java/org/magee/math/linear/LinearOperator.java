@@ -0,0 +1,56 @@
+/**
+ * LinearOperator.java An interface for anything that multiplies vectors.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+/**
+ * The <code>LinearOperator</code> interface describes a matrix by what it
+ * does to a vector. The iterative solvers only ever need the product of the
+ * matrix with a vector, so they accept any <code>LinearOperator</code>.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public interface LinearOperator {
+
+    /**
+     * Returns the number of rows.
+     */
+    public int getRowDimension();
+
+    /**
+     * Returns the number of columns.
+     */
+    public int getColumnDimension();
+
+    /**
+     * Computes <code>y</code> = <code>this</code>*<code>x</code>, writing
+     * over <code>y</code>. The two arrays must not be the same.
+     *
+     * @param x A vector with one element per column.
+     * @param y A vector with one element per row to hold the product.
+     */
+    public void apply(double[] x, double[] y);
+}
@@ -0,0 +1,223 @@
+/**
+ * MatrixChangeEvent.java A class describing a committed change to an observable matrix.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.util.BitSet;
+import java.util.EventObject;
+
+/**
+ * The <code>MatrixChangeEvent</code> class describes every edit folded into
+ * one commit of an <code>ObservableMatrix</code>: the dirty rows and
+ * columns, the smallest region that holds them, and for each changed
+ * element the difference between its new value and its value at the
+ * previous commit.
+ * <p>
+ *
+ * An element edited several times between commits appears once, with the
+ * total change, and an element edited back to its old value does not
+ * appear at all. A structure change, made by replacing the whole matrix,
+ * lists no elements and marks every row and column dirty.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class MatrixChangeEvent extends EventObject {
+    static final long serialVersionUID = 1L;
+
+    // private members
+    private final long version; // the version of the matrix after this commit
+
+    private final int rows, cols; // the dimensions after this commit
+
+    private final boolean structure; // true if the whole matrix was replaced
+
+    private final int[] changedRows, changedCols; // the position of each changed element
+
+    private final double[] deltas; // the change in each element
+
+    private final BitSet dirtyRows = new BitSet(), dirtyCols = new BitSet();
+
+    /**
+     * Constructor for a commit of single element changes.
+     *
+     * @param source The matrix that changed.
+     * @param version The version of the matrix after the commit.
+     * @param rows The number of rows of the matrix.
+     * @param cols The number of columns of the matrix.
+     * @param changedRows The row of each changed element.
+     * @param changedCols The column of each changed element.
+     * @param deltas The new value minus the old value of each element.
+     */
+    public MatrixChangeEvent(ObservableMatrix source, long version, int rows, int cols, int[] changedRows, int[] changedCols, double[] deltas) {
+        super(source);
+        this.version = version;
+        this.rows = rows;
+        this.cols = cols;
+        this.structure = false;
+        this.changedRows = changedRows;
+        this.changedCols = changedCols;
+        this.deltas = deltas;
+        for(int k = 0; k < deltas.length; k++) {
+            dirtyRows.set(changedRows[k]);
+            dirtyCols.set(changedCols[k]);
+        }
+    }
+
+    /**
+     * Overloaded constructor for a structure change.
+     *
+     * @param source The matrix that changed.
+     * @param version The version of the matrix after the commit.
+     * @param rows The number of rows of the new matrix.
+     * @param cols The number of columns of the new matrix.
+     */
+    public MatrixChangeEvent(ObservableMatrix source, long version, int rows, int cols) {
+        super(source);
+        this.version = version;
+        this.rows = rows;
+        this.cols = cols;
+        this.structure = true;
+        this.changedRows = this.changedCols = new int[0];
+        this.deltas = new double[0];
+        dirtyRows.set(0, rows);
+        dirtyCols.set(0, cols);
+    }
+
+    /**
+     * Returns the version of the matrix after this commit. Versions count
+     * commits, so two events whose versions are not consecutive have missed
+     * one in between.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Determines if the whole matrix was replaced, possibly by one of a
+     * different size.
+     */
+    public boolean isStructureChange() {
+        return structure;
+    }
+
+    /**
+     * Returns the set of rows that hold a changed element.
+     */
+    public BitSet getDirtyRows() {
+        return (BitSet) dirtyRows.clone();
+    }
+
+    /**
+     * Returns the set of columns that hold a changed element.
+     */
+    public BitSet getDirtyColumns() {
+        return (BitSet) dirtyCols.clone();
+    }
+
+    /**
+     * Returns the first row of the dirty region, or -1 if nothing changed.
+     */
+    public int getFirstRow() {
+        return dirtyRows.nextSetBit(0);
+    }
+
+    /**
+     * Returns the last row of the dirty region, or -1 if nothing changed.
+     */
+    public int getLastRow() {
+        return dirtyRows.length() - 1;
+    }
+
+    /**
+     * Returns the first column of the dirty region, or -1 if nothing
+     * changed.
+     */
+    public int getFirstColumn() {
+        return dirtyCols.nextSetBit(0);
+    }
+
+    /**
+     * Returns the last column of the dirty region, or -1 if nothing
+     * changed.
+     */
+    public int getLastColumn() {
+        return dirtyCols.length() - 1;
+    }
+
+    /**
+     * Returns the number of rows of the matrix after this commit.
+     */
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns of the matrix after this commit.
+     */
+    public int getColumnDimension() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of changed elements, which is zero for a structure
+     * change.
+     */
+    public int getChangeCount() {
+        return deltas.length;
+    }
+
+    /**
+     * Returns the row of changed element <code>k</code>.
+     */
+    public int getChangedRow(int k) {
+        return changedRows[k];
+    }
+
+    /**
+     * Returns the column of changed element <code>k</code>.
+     */
+    public int getChangedColumn(int k) {
+        return changedCols[k];
+    }
+
+    /**
+     * Returns the new value minus the old value of changed element
+     * <code>k</code>.
+     */
+    public double getDelta(int k) {
+        return deltas[k];
+    }
+
+    /**
+     * Returns a string representation of the dirty region.
+     */
+    public String toString() {
+        if(structure)
+            return "MatrixChangeEvent[version " + version + ", structure " + rows + " x " + cols + "]";
+        return "MatrixChangeEvent[version " + version + ", " + deltas.length + " elements in rows " + getFirstRow() + "-" + getLastRow() + ", columns " + getFirstColumn() + "-" + getLastColumn() + "]";
+    }
+}
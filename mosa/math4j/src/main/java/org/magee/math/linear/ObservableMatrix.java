@@ -0,0 +1,315 @@
+/**
+ * ObservableMatrix.java A class for a dense matrix that reports its changes.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The <code>ObservableMatrix</code> class holds a dense matrix and tells
+ * registered listeners what changed. Edits take effect at once for
+ * <code>get</code>, but listeners hear about them only when they are
+ * committed, and all the edits made since the last commit are folded into
+ * one <code>MatrixChangeEvent</code>.
+ * <p>
+ *
+ * <code>commitLater</code> debounces commits: each call pushes the commit
+ * back by the commit delay, so a burst of edits such as typing in a table
+ * cell produces a single event once the burst is over. Debounced commits
+ * are made on a shared daemon thread.
+ * <p>
+ *
+ * Every method is thread safe. Derived results such as an
+ * <code>InverseComputation</code> read the committed state through
+ * <code>committedCopy</code>, which leaves out edits that have not been
+ * committed yet.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class ObservableMatrix {
+
+    // private members
+    private DenseMatrix matrix; // the current elements, edits included
+
+    private final Map<Long, Double> original = new LinkedHashMap<Long, Double>(); // the committed value of each edited element
+
+    private boolean replaced; // true if the whole matrix was replaced since the last commit
+
+    private long version; // the number of commits so far
+
+    private long commitDelay = 250; // the debounce delay in milliseconds
+
+    private ScheduledFuture<?> pending; // the debounced commit, if any
+
+    private final CopyOnWriteArrayList<MatrixChangeListener> listeners = new CopyOnWriteArrayList<MatrixChangeListener>();
+
+    private final Object deliveryLock = new Object(); // keeps events in commit order
+
+    /**
+     * Constructor that observes a copy of <code>m</code>.
+     *
+     * @param m The starting elements.
+     */
+    public ObservableMatrix(DenseMatrix m) {
+        this.matrix = m.copy();
+    }
+
+    /**
+     * Overloaded constructor for a <code>rows</code> by <code>cols</code>
+     * matrix of zeros.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     */
+    public ObservableMatrix(int rows, int cols) {
+        this.matrix = new DenseMatrix(rows, cols);
+    }
+
+    /**
+     * Returns the number of rows.
+     */
+    public synchronized int getRowDimension() {
+        return matrix.getRowDimension();
+    }
+
+    /**
+     * Returns the number of columns.
+     */
+    public synchronized int getColumnDimension() {
+        return matrix.getColumnDimension();
+    }
+
+    /**
+     * Returns the number of commits made so far.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns element (<code>row</code>, <code>col</code>), including edits
+     * not yet committed.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @return The element.
+     */
+    public synchronized double get(int row, int col) {
+        return matrix.get(row, col);
+    }
+
+    /**
+     * Sets element (<code>row</code>, <code>col</code>) to
+     * <code>value</code>. Listeners hear about it at the next commit.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @param value The new element.
+     */
+    public synchronized void set(int row, int col, double value) {
+        double old = matrix.get(row, col);
+        if(!replaced) {
+            Long key = Long.valueOf(((long) row << 32) | col);
+            if(!original.containsKey(key))
+                original.put(key, Double.valueOf(old));
+        }
+        matrix.set(row, col, value);
+    }
+
+    /**
+     * Replaces every element with a copy of <code>m</code>, which may have
+     * different dimensions. The next commit is a structure change.
+     *
+     * @param m The new elements.
+     */
+    public synchronized void setMatrix(DenseMatrix m) {
+        matrix = m.copy();
+        original.clear();
+        replaced = true;
+    }
+
+    /**
+     * Returns a copy of the current elements, including edits not yet
+     * committed.
+     */
+    public synchronized DenseMatrix copy() {
+        return matrix.copy();
+    }
+
+    /**
+     * Returns a copy of the elements as of the last commit. A listener that
+     * starts from this copy and applies every later event stays exactly in
+     * step with the matrix.
+     *
+     * @throws IllegalStateException if the whole matrix was replaced and not
+     *         yet committed.
+     */
+    public synchronized DenseMatrix committedCopy() {
+        if(replaced)
+            throw new IllegalStateException("The replaced matrix has not been committed.");
+        DenseMatrix reply = matrix.copy();
+        for(Map.Entry<Long, Double> e : original.entrySet()) {
+            long key = e.getKey().longValue();
+            reply.set((int) (key >>> 32), (int) key, e.getValue().doubleValue());
+        }
+        return reply;
+    }
+
+    /**
+     * Determines if there are edits that have not been committed.
+     */
+    public synchronized boolean isDirty() {
+        return replaced || !original.isEmpty();
+    }
+
+    /**
+     * Returns the delay, in milliseconds, that <code>commitLater</code> waits
+     * for the edits to stop.
+     */
+    public synchronized long getCommitDelay() {
+        return commitDelay;
+    }
+
+    /**
+     * Sets the delay, in milliseconds, that <code>commitLater</code> waits for
+     * the edits to stop.
+     *
+     * @param millis A delay that is not negative.
+     */
+    public synchronized void setCommitDelay(long millis) {
+        if(millis < 0)
+            throw new IllegalArgumentException("Delay cannot be negative: " + millis);
+        this.commitDelay = millis;
+    }
+
+    /**
+     * Commits the edits made so far once no further call has come for the
+     * commit delay. Each call cancels the commit scheduled by the one before.
+     */
+    public synchronized void commitLater() {
+        if(pending != null)
+            pending.cancel(false);
+        pending = Scheduler.SERVICE.schedule(new Runnable() {
+            public void run() {
+                commit();
+            }
+        }, commitDelay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Commits the edits made so far and tells every listener about them in
+     * one event. Nothing is sent if nothing changed.
+     *
+     * @return The event sent, or null if there was nothing to commit.
+     */
+    public MatrixChangeEvent commit() {
+        synchronized(deliveryLock) {
+            MatrixChangeEvent event = takeChanges();
+            if(event != null) {
+                for(MatrixChangeListener l : listeners) {
+                    l.matrixChanged(event);
+                }
+            }
+            return event;
+        }
+    }
+
+    /**
+     * Folds the pending edits into an event and starts a new version.
+     */
+    private synchronized MatrixChangeEvent takeChanges() {
+        if(pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        int rows = matrix.getRowDimension(), cols = matrix.getColumnDimension();
+        if(replaced) {
+            replaced = false;
+            return new MatrixChangeEvent(this, ++version, rows, cols);
+        }
+
+        int count = 0;
+        int[] changedRows = new int[original.size()], changedCols = new int[original.size()];
+        double[] deltas = new double[original.size()];
+        for(Iterator<Map.Entry<Long, Double>> it = original.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<Long, Double> e = it.next();
+            long key = e.getKey().longValue();
+            int row = (int) (key >>> 32), col = (int) key;
+            double delta = matrix.get(row, col) - e.getValue().doubleValue();
+            if(delta != 0.0) { // an element set back to its old value is no change; NaN counts as a change
+                changedRows[count] = row;
+                changedCols[count] = col;
+                deltas[count] = delta;
+                count++;
+            }
+            it.remove();
+        }
+        if(count == 0)
+            return null;
+        return new MatrixChangeEvent(this, ++version, rows, cols, Arrays.copyOf(changedRows, count), Arrays.copyOf(changedCols, count), Arrays.copyOf(deltas, count));
+    }
+
+    /**
+     * Registers a listener for committed changes.
+     *
+     * @param l The listener to add.
+     */
+    public void addMatrixChangeListener(MatrixChangeListener l) {
+        listeners.add(l);
+    }
+
+    /**
+     * Removes a listener added by <code>addMatrixChangeListener</code>.
+     *
+     * @param l The listener to remove.
+     */
+    public void removeMatrixChangeListener(MatrixChangeListener l) {
+        listeners.remove(l);
+    }
+
+    /**
+     * Holds the thread for debounced commits until it is first needed.
+     */
+    static class Scheduler {
+        static final ScheduledExecutorService SERVICE = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "ObservableMatrix commit");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * QRDecomposition.java A class for the QR decomposition of a dense matrix.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.io.Serializable;
+
+/**
+ * The <code>QRDecomposition</code> class factors an m by n matrix A, with
+ * m &gt;= n, into A = Q * R by Householder reflections. Q is orthogonal and
+ * R is upper triangular.
+ * <p>
+ *
+ * The reflections are kept in the lower part of a row-major copy of A and
+ * are applied a row at a time, so Q is never formed unless it is asked for.
+ * The decomposition solves least squares problems.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class QRDecomposition implements Serializable {
+    static final long serialVersionUID = 1L;
+
+    // private members
+    private final double[] qr; // the reflections below the diagonal and R above it
+
+    private final int m, n; // the dimensions of the matrix
+
+    private final double[] rDiag; // the diagonal of R
+
+    /**
+     * Constructor that factors the matrix <code>a</code>. The matrix itself is
+     * not changed.
+     *
+     * @param a The matrix to factor.
+     */
+    public QRDecomposition(DenseMatrix a) {
+        m = a.getRowDimension();
+        n = a.getColumnDimension();
+        if(m < n)
+            throw new IllegalArgumentException("Matrix must have at least as many rows as columns.");
+        qr = a.toRowPackedArray();
+        rDiag = new double[n];
+        double[] w = new double[n];
+
+        for(int k = 0; k < n; k++) {
+            // the norm of column k below the diagonal, scaled to avoid overflow
+            double nrm = 0.0;
+            for(int i = k; i < m; i++) {
+                nrm = hypot(nrm, qr[i * n + k]);
+            }
+
+            if(nrm != 0.0) {
+                if(qr[k * n + k] < 0)
+                    nrm = -nrm;
+                for(int i = k; i < m; i++) {
+                    qr[i * n + k] /= nrm;
+                }
+                qr[k * n + k] += 1.0;
+
+                // w = v' * A for the remaining columns, gathered a row at a time
+                for(int j = k + 1; j < n; j++) {
+                    w[j] = 0.0;
+                }
+                for(int i = k; i < m; i++) {
+                    double v = qr[i * n + k];
+                    int row = i * n;
+                    for(int j = k + 1; j < n; j++) {
+                        w[j] += v * qr[row + j];
+                    }
+                }
+                double vk = qr[k * n + k];
+                for(int j = k + 1; j < n; j++) {
+                    w[j] = -w[j] / vk;
+                }
+                for(int i = k; i < m; i++) {
+                    double v = qr[i * n + k];
+                    int row = i * n;
+                    for(int j = k + 1; j < n; j++) {
+                        qr[row + j] += w[j] * v;
+                    }
+                }
+            }
+            rDiag[k] = -nrm;
+        }
+    }
+
+    /**
+     * Determines if the matrix has full column rank.
+     *
+     * @return true if R has no zero on its diagonal.
+     */
+    public boolean isFullRank() {
+        for(int j = 0; j < n; j++) {
+            if(rDiag[j] == 0.0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the upper triangular factor R.
+     */
+    public DenseMatrix getR() {
+        DenseMatrix r = new DenseMatrix(n, n);
+        for(int i = 0; i < n; i++) {
+            r.set(i, i, rDiag[i]);
+            for(int j = i + 1; j < n; j++) {
+                r.set(i, j, qr[i * n + j]);
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Returns the first n columns of the orthogonal factor Q.
+     */
+    public DenseMatrix getQ() {
+        DenseMatrix q = new DenseMatrix(m, n);
+        for(int k = n - 1; k >= 0; k--) {
+            q.set(k, k, 1.0);
+            double vk = qr[k * n + k];
+            if(vk == 0.0)
+                continue;
+            for(int j = k; j < n; j++) {
+                double s = 0.0;
+                for(int i = k; i < m; i++) {
+                    s += qr[i * n + k] * q.get(i, j);
+                }
+                s = -s / vk;
+                for(int i = k; i < m; i++) {
+                    q.set(i, j, q.get(i, j) + s * qr[i * n + k]);
+                }
+            }
+        }
+        return q;
+    }
+
+    /**
+     * Finds the x that minimizes the two norm of A * x - b.
+     *
+     * @param b The right hand side, one element per row.
+     * @return The least squares solution x.
+     * @throws ArithmeticException if the matrix is rank deficient.
+     */
+    public double[] solve(double[] b) {
+        if(b.length != m)
+            throw new IllegalArgumentException("Vector length " + b.length + " does not match " + m + " rows.");
+        if(!isFullRank())
+            throw new ArithmeticException("Matrix is rank deficient.");
+
+        double[] y = b.clone();
+        for(int k = 0; k < n; k++) { // y = Q' * b
+            double s = 0.0;
+            for(int i = k; i < m; i++) {
+                s += qr[i * n + k] * y[i];
+            }
+            s = -s / qr[k * n + k];
+            for(int i = k; i < m; i++) {
+                y[i] += s * qr[i * n + k];
+            }
+        }
+
+        double[] x = new double[n];
+        for(int k = n - 1; k >= 0; k--) { // solve R * x = y
+            double sum = y[k];
+            for(int j = k + 1; j < n; j++) {
+                sum -= qr[k * n + j] * x[j];
+            }
+            x[k] = sum / rDiag[k];
+        }
+        return x;
+    }
+
+    /**
+     * Computes sqrt(a^2 + b^2) without under or overflow.
+     */
+    static double hypot(double a, double b) {
+        double absA = Math.abs(a), absB = Math.abs(b);
+        if(absA > absB) {
+            double r = b / a;
+            return absA * Math.sqrt(1 + r * r);
+        } else if(b != 0) {
+            double r = a / b;
+            return absB * Math.sqrt(1 + r * r);
+        }
+        return 0.0;
+    }
+}
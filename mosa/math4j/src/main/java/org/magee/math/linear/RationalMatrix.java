@@ -0,0 +1,744 @@
+/**
+ * RationalMatrix.java A class for exact linear algebra on rational matrices.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+import org.magee.math.Rational;
+
+/**
+ * The <code>RationalMatrix</code> class holds a matrix of exact rational
+ * numbers and finds its determinant, rank and the solutions of linear
+ * systems with no rounding.
+ * <p>
+ *
+ * The elements are kept as integer numerators over one positive common
+ * denominator, which is one for an integer matrix, in lowest terms. The
+ * numerators are packed into a row-major <code>long</code> array when they
+ * all fit, and kept as <code>BigInteger</code>s when they do not, so that
+ * small matrices cost no objects per element. A matrix is never changed
+ * once made.
+ * <p>
+ *
+ * Elimination is fraction free, after Bareiss: each step multiplies by the
+ * pivot and divides exactly by the pivot before it, so every element stays
+ * an integer, a minor of the matrix, no larger than it must be. It runs in
+ * <code>long</code>s, checking each product for overflow, and starts again
+ * with <code>BigInteger</code>s if one overflows. The determinant of a
+ * matrix of <code>MODULAR_THRESHOLD</code> rows or more is found instead
+ * modulo enough primes to exceed twice the Hadamard bound, one prime per
+ * task on a fork/join pool, and put together by the Chinese remainder
+ * theorem, which keeps the work in machine words.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class RationalMatrix implements Serializable {
+    static final long serialVersionUID = 1L;
+
+    /**
+     * Determinants of matrices with this many rows or more are found modulo
+     * primes.
+     */
+    static final int MODULAR_THRESHOLD = 40;
+
+    /**
+     * The largest prime below 2<sup>31</sup>; the primes used for modular
+     * determinants count down from it, so products of residues fit in a
+     * <code>long</code>.
+     */
+    private static final long LARGEST_PRIME = 2147483647L;
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    // private members
+    private final int rows, cols; // the dimensions of this matrix
+
+    private final long[] packed; // the numerators by row, or null if they do not all fit
+
+    private final BigInteger[] big; // the numerators by row, if they are not packed
+
+    private final BigInteger denominator; // the common denominator, positive
+
+    /**
+     * Constructor that creates the integer matrix with the elements
+     * <code>elements</code>. Every row must have the same length.
+     *
+     * @param elements The elements of the matrix by row.
+     */
+    public RationalMatrix(long[][] elements) {
+        this(elements.length, (elements.length == 0) ? 0 : elements[0].length, flatten(elements), 1L);
+    }
+
+    /**
+     * Overloaded constructor that creates the matrix whose elements are the
+     * row-major <code>numerators</code> over <code>denominator</code>.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param numerators The numerators of the elements by row, which are
+     *        copied.
+     * @param denominator The denominator of every element, not zero.
+     */
+    public RationalMatrix(int rows, int cols, long[] numerators, long denominator) {
+        this(rows, cols, toBig(numerators), BigInteger.valueOf(denominator));
+    }
+
+    /**
+     * Overloaded constructor that creates the matrix whose elements are the
+     * row-major <code>numerators</code> over <code>denominator</code>.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param numerators The numerators of the elements by row, which are
+     *        copied.
+     * @param denominator The denominator of every element, not zero.
+     */
+    public RationalMatrix(int rows, int cols, BigInteger[] numerators, BigInteger denominator) {
+        checkLength(rows, cols, numerators.length);
+        if(denominator.signum() == 0)
+            throw new IllegalArgumentException("Zero denominator");
+        BigInteger[] n = Arrays.copyOf(numerators, rows * cols);
+        BigInteger d = denominator;
+        if(d.signum() < 0) {
+            d = d.negate();
+            for(int i = 0; i < n.length; i++) {
+                n[i] = n[i].negate();
+            }
+        }
+        BigInteger g = d;
+        for(int i = 0; i < n.length && !g.equals(BigInteger.ONE); i++) {
+            g = g.gcd(n[i]);
+        }
+        if(!g.equals(BigInteger.ONE)) {
+            d = d.divide(g);
+            for(int i = 0; i < n.length; i++) {
+                n[i] = n[i].divide(g);
+            }
+        }
+
+        boolean fits = true;
+        for(int i = 0; i < n.length && fits; i++) {
+            fits = n[i].bitLength() < 64;
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.denominator = d;
+        if(fits) {
+            this.packed = new long[n.length];
+            for(int i = 0; i < n.length; i++) {
+                packed[i] = n[i].longValue();
+            }
+            this.big = null;
+        } else {
+            this.packed = null;
+            this.big = n;
+        }
+    }
+
+    /**
+     * Creates the matrix with the elements <code>elements</code>, over the
+     * least common multiple of their denominators.
+     *
+     * @param elements The elements of the matrix by row.
+     * @return The matrix.
+     */
+    public static RationalMatrix valueOf(Rational[][] elements) {
+        int rows = elements.length, cols = (rows == 0) ? 0 : elements[0].length;
+        BigInteger lcm = BigInteger.ONE;
+        for(Rational[] row : elements) {
+            if(row.length != cols)
+                throw new IllegalArgumentException("All rows must have the same length.");
+            for(Rational r : row) {
+                if(r.denominator == 0L)
+                    throw new IllegalArgumentException("Zero denominator");
+                BigInteger d = BigInteger.valueOf(r.denominator).abs();
+                lcm = lcm.divide(lcm.gcd(d)).multiply(d);
+            }
+        }
+        BigInteger[] n = new BigInteger[rows * cols];
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < cols; j++) {
+                Rational r = elements[i][j];
+                BigInteger d = BigInteger.valueOf(r.denominator);
+                n[i * cols + j] = BigInteger.valueOf(r.numerator).multiply(lcm.divide(d.abs())).multiply(BigInteger.valueOf(d.signum()));
+            }
+        }
+        return new RationalMatrix(rows, cols, n, lcm);
+    }
+
+    /**
+     * Creates the <code>n</code> by <code>n</code> identity matrix.
+     *
+     * @param n The dimension of the matrix.
+     * @return The identity matrix.
+     */
+    public static RationalMatrix identity(int n) {
+        long[] a = new long[n * n];
+        for(int i = 0; i < n; i++) {
+            a[i * n + i] = 1L;
+        }
+        return new RationalMatrix(n, n, a, 1L);
+    }
+
+    private static void checkLength(int rows, int cols, int length) {
+        if(rows < 0 || cols < 0)
+            throw new IllegalArgumentException("Matrix dimensions cannot be negative: " + rows + " x " + cols);
+        if(length < (long) rows * cols)
+            throw new IllegalArgumentException("Array length " + length + " is too short for " + rows + " x " + cols);
+    }
+
+    private static long[] flatten(long[][] elements) {
+        int cols = (elements.length == 0) ? 0 : elements[0].length;
+        long[] a = new long[elements.length * cols];
+        for(int i = 0; i < elements.length; i++) {
+            if(elements[i].length != cols)
+                throw new IllegalArgumentException("All rows must have the same length.");
+            System.arraycopy(elements[i], 0, a, i * cols, cols);
+        }
+        return a;
+    }
+
+    private static BigInteger[] toBig(long[] a) {
+        BigInteger[] b = new BigInteger[a.length];
+        for(int i = 0; i < a.length; i++) {
+            b[i] = BigInteger.valueOf(a[i]);
+        }
+        return b;
+    }
+
+    /**
+     * Returns the number of rows.
+     */
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns.
+     */
+    public int getColumnDimension() {
+        return cols;
+    }
+
+    /**
+     * Returns the numerator of element (<code>row</code>, <code>col</code>)
+     * over the common denominator.
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @return The numerator.
+     */
+    public BigInteger getNumerator(int row, int col) {
+        if(row < 0 || row >= rows || col < 0 || col >= cols)
+            throw new ArrayIndexOutOfBoundsException("Element (" + row + ", " + col + ") is outside a " + rows + " x " + cols + " matrix");
+        return numerator(row * cols + col);
+    }
+
+    /**
+     * Returns the positive denominator common to every element.
+     */
+    public BigInteger getDenominator() {
+        return denominator;
+    }
+
+    /**
+     * Determines if every element is an integer.
+     */
+    public boolean isInteger() {
+        return denominator.equals(BigInteger.ONE);
+    }
+
+    /**
+     * Determines if the numerators are packed into <code>long</code>s.
+     */
+    public boolean isPacked() {
+        return packed != null;
+    }
+
+    /**
+     * Returns the nearest doubles to the elements, as a
+     * <code>DenseMatrix</code>.
+     */
+    public DenseMatrix toDenseMatrix() {
+        boolean exact = packed != null && denominator.bitLength() < 53;
+        double d = denominator.doubleValue();
+        BigDecimal bd = new BigDecimal(denominator);
+        double[] a = new double[rows * cols];
+        for(int i = 0; i < a.length; i++) {
+            a[i] = exact ? packed[i] / d : new BigDecimal(numerator(i)).divide(bd, MathContext.DECIMAL64).doubleValue();
+        }
+        return new DenseMatrix(rows, cols, a);
+    }
+
+    private BigInteger numerator(int index) {
+        return (packed != null) ? BigInteger.valueOf(packed[index]) : big[index];
+    }
+
+    /**
+     * Computes the product of this matrix and <code>m</code>.
+     *
+     * @param m The right factor.
+     * @return A new matrix that is <code>this * m</code>.
+     */
+    public RationalMatrix times(RationalMatrix m) {
+        if(m.rows != cols)
+            throw new IllegalArgumentException("Matrix inner dimensions must agree.");
+        BigInteger[] c = new BigInteger[rows * m.cols];
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < m.cols; j++) {
+                BigInteger s = BigInteger.ZERO;
+                for(int k = 0; k < cols; k++) {
+                    s = s.add(numerator(i * cols + k).multiply(m.numerator(k * m.cols + j)));
+                }
+                c[i * m.cols + j] = s;
+            }
+        }
+        return new RationalMatrix(rows, m.cols, c, denominator.multiply(m.denominator));
+    }
+
+    /**
+     * Computes the determinant exactly, by fraction free elimination for
+     * small matrices and modulo primes for large ones.
+     *
+     * @return The determinant as {numerator, denominator} in lowest terms,
+     *         with a positive denominator.
+     */
+    public BigInteger[] determinant() {
+        if(rows != cols)
+            throw new IllegalArgumentException("Matrix must be square.");
+        BigInteger det = (rows >= MODULAR_THRESHOLD) ? modularDeterminant() : bareissDeterminant();
+        BigInteger d = denominator.pow(rows);
+        BigInteger g = det.gcd(d);
+        return new BigInteger[] { det.divide(g), d.divide(g) };
+    }
+
+    /**
+     * Returns the rank of this matrix.
+     */
+    public int rank() {
+        return eliminate(cols, null).rank;
+    }
+
+    /**
+     * Returns the fraction free row echelon form of the numerators of this
+     * matrix: rows are swapped to bring up nonzero pivots, and below each
+     * pivot the elements are zero. Element (i, j) right of the pivot of row
+     * i is the minor on the first i + 1 rows of the pivot columns and
+     * column j, so the last pivot of a square matrix of full rank is the
+     * determinant of the numerators up to sign.
+     *
+     * @return A new integer matrix in echelon form.
+     */
+    public RationalMatrix echelon() {
+        Echelon e = eliminate(cols, null);
+        return e.toMatrix(rows, cols);
+    }
+
+    /**
+     * Solves <code>this * X = b</code> exactly.
+     *
+     * @param b The right hand sides, one per column.
+     * @return The solution.
+     * @throws ArithmeticException If this matrix is singular.
+     */
+    public RationalMatrix solve(RationalMatrix b) {
+        if(rows != cols)
+            throw new IllegalArgumentException("Matrix must be square.");
+        if(b.rows != rows)
+            throw new IllegalArgumentException("Matrix row dimensions must agree.");
+        int n = rows, m = b.cols, w = n + m;
+        Echelon e = eliminate(n, b);
+        if(e.rank < n)
+            throw new ArithmeticException("Matrix is singular.");
+
+        // D y = x' with D the last pivot, found column by column by exact division
+        BigInteger last = (n == 0) ? BigInteger.ONE : e.get(n - 1, n - 1, w);
+        BigInteger[] x = new BigInteger[n * m];
+        for(int k = 0; k < m; k++) {
+            for(int i = n - 1; i >= 0; i--) {
+                BigInteger s = last.multiply(e.get(i, n + k, w));
+                for(int j = i + 1; j < n; j++) {
+                    s = s.subtract(e.get(i, j, w).multiply(x[j * m + k]));
+                }
+                x[i * m + k] = s.divide(e.get(i, i, w));
+            }
+        }
+        for(int i = 0; i < x.length; i++) {
+            x[i] = x[i].multiply(denominator);
+        }
+        return new RationalMatrix(n, m, x, last.multiply(b.denominator));
+    }
+
+    /**
+     * Eliminates below the pivots in the first <code>limit</code> columns
+     * of the numerators, with the numerators of <code>right</code>, if not
+     * null, joined on as more columns.
+     */
+    private Echelon eliminate(int limit, RationalMatrix right) {
+        int extra = (right == null) ? 0 : right.cols;
+        int w = cols + extra;
+        if(packed != null && (right == null || right.packed != null)) {
+            long[] a = new long[rows * w];
+            for(int i = 0; i < rows; i++) {
+                System.arraycopy(packed, i * cols, a, i * w, cols);
+                if(right != null)
+                    System.arraycopy(right.packed, i * extra, a, i * w + cols, extra);
+            }
+            try {
+                return eliminate(a, rows, w, limit);
+            } catch(ArithmeticException e) {
+                // a product overflowed; start again with BigIntegers
+            }
+        }
+        BigInteger[] a = new BigInteger[rows * w];
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < cols; j++) {
+                a[i * w + j] = numerator(i * cols + j);
+            }
+            for(int j = 0; j < extra; j++) {
+                a[i * w + cols + j] = right.numerator(i * extra + j);
+            }
+        }
+        return eliminate(a, rows, w, limit);
+    }
+
+    /**
+     * Bareiss elimination in <code>long</code>s.
+     *
+     * @throws ArithmeticException If a product overflows.
+     */
+    private static Echelon eliminate(long[] a, int rows, int w, int limit) {
+        Echelon e = new Echelon(a, null);
+        long prev = 1L;
+        int r = 0;
+        for(int c = 0; c < limit && r < rows; c++) {
+            int p = r;
+            while(p < rows && a[p * w + c] == 0L) {
+                p++;
+            }
+            if(p == rows)
+                continue;
+            if(p != r) {
+                for(int j = 0; j < w; j++) {
+                    long t = a[p * w + j];
+                    a[p * w + j] = a[r * w + j];
+                    a[r * w + j] = t;
+                }
+                e.odd = !e.odd;
+            }
+            long pivot = a[r * w + c];
+            for(int i = r + 1; i < rows; i++) {
+                long f = a[i * w + c];
+                for(int j = c + 1; j < w; j++) {
+                    a[i * w + j] = Math.subtractExact(Math.multiplyExact(pivot, a[i * w + j]), Math.multiplyExact(f, a[r * w + j])) / prev;
+                }
+                a[i * w + c] = 0L;
+            }
+            prev = pivot;
+            r++;
+        }
+        e.rank = r;
+        return e;
+    }
+
+    /**
+     * Bareiss elimination in <code>BigInteger</code>s.
+     */
+    private static Echelon eliminate(BigInteger[] a, int rows, int w, int limit) {
+        Echelon e = new Echelon(null, a);
+        BigInteger prev = BigInteger.ONE;
+        int r = 0;
+        for(int c = 0; c < limit && r < rows; c++) {
+            int p = r;
+            while(p < rows && a[p * w + c].signum() == 0) {
+                p++;
+            }
+            if(p == rows)
+                continue;
+            if(p != r) {
+                for(int j = 0; j < w; j++) {
+                    BigInteger t = a[p * w + j];
+                    a[p * w + j] = a[r * w + j];
+                    a[r * w + j] = t;
+                }
+                e.odd = !e.odd;
+            }
+            BigInteger pivot = a[r * w + c];
+            for(int i = r + 1; i < rows; i++) {
+                BigInteger f = a[i * w + c];
+                for(int j = c + 1; j < w; j++) {
+                    a[i * w + j] = pivot.multiply(a[i * w + j]).subtract(f.multiply(a[r * w + j])).divide(prev);
+                }
+                a[i * w + c] = BigInteger.ZERO;
+            }
+            prev = pivot;
+            r++;
+        }
+        e.rank = r;
+        return e;
+    }
+
+    /**
+     * Finds the determinant of the numerators by Bareiss elimination.
+     */
+    BigInteger bareissDeterminant() {
+        if(rows == 0)
+            return BigInteger.ONE;
+        Echelon e = eliminate(cols, null);
+        if(e.rank < rows)
+            return BigInteger.ZERO;
+        BigInteger det = e.get(rows - 1, cols - 1, cols);
+        return e.odd ? det.negate() : det;
+    }
+
+    /**
+     * Finds the determinant of the numerators modulo enough primes to fix
+     * it, in parallel, and combines the residues.
+     */
+    BigInteger modularDeterminant() {
+        int n = rows;
+        if(n == 0)
+            return BigInteger.ONE;
+        double bits = 1.0; // log2 of twice the Hadamard bound
+        for(int i = 0; i < n; i++) {
+            double norm = 0.0;
+            int scale = 0;
+            for(int j = 0; j < n; j++) {
+                scale = Math.max(scale, numerator(i * n + j).bitLength());
+            }
+            if(scale == 0)
+                return BigInteger.ZERO; // a zero row
+            for(int j = 0; j < n; j++) {
+                BigInteger v = numerator(i * n + j);
+                double x = Math.scalb(v.shiftRight(Math.max(scale - 60, 0)).doubleValue(), -Math.min(scale, 60));
+                norm += x * x;
+            }
+            bits += scale + 0.5 * Math.log(norm) / Math.log(2.0);
+        }
+        long[] primes = primes((int) Math.ceil((bits + 1) / 30.9));
+        long[] residues = new long[primes.length];
+        DenseMatrix.Pool.POOL.invoke(new PrimeTask(this, primes, residues, 0, primes.length));
+
+        BigInteger x = BigInteger.valueOf(residues[0]);
+        BigInteger m = BigInteger.valueOf(primes[0]);
+        for(int k = 1; k < primes.length; k++) { // Garner's mixed radix form
+            long p = primes[k];
+            long xp = x.mod(BigInteger.valueOf(p)).longValue();
+            long mp = m.mod(BigInteger.valueOf(p)).longValue();
+            long t = Math.floorMod(residues[k] - xp, p) * inverse(mp, p) % p;
+            x = x.add(m.multiply(BigInteger.valueOf(t)));
+            m = m.multiply(BigInteger.valueOf(p));
+        }
+        return (x.shiftLeft(1).compareTo(m) > 0) ? x.subtract(m) : x;
+    }
+
+    /**
+     * Returns the <code>k</code> largest primes below 2<sup>31</sup>.
+     */
+    private static long[] primes(int k) {
+        long[] p = new long[Math.max(k, 1)];
+        long candidate = LARGEST_PRIME;
+        for(int i = 0; i < p.length; candidate -= 2) {
+            if(BigInteger.valueOf(candidate).isProbablePrime(40))
+                p[i++] = candidate;
+        }
+        return p;
+    }
+
+    /**
+     * Returns the inverse of <code>a</code> modulo the prime <code>p</code>.
+     */
+    private static long inverse(long a, long p) {
+        long t = 0L, newT = 1L, r = p, newR = a;
+        while(newR != 0L) {
+            long q = r / newR;
+            long tmp = t - q * newT;
+            t = newT;
+            newT = tmp;
+            tmp = r - q * newR;
+            r = newR;
+            newR = tmp;
+        }
+        return (t < 0L) ? t + p : t;
+    }
+
+    /**
+     * Returns the determinant of the numerators modulo the prime
+     * <code>p</code>, by Gaussian elimination in the field of residues.
+     */
+    private long determinantModulo(long p) {
+        int n = rows;
+        long[] a = new long[n * n];
+        BigInteger bp = BigInteger.valueOf(p);
+        for(int i = 0; i < a.length; i++) {
+            a[i] = (packed != null) ? Math.floorMod(packed[i], p) : big[i].mod(bp).longValue();
+        }
+        long det = 1L;
+        for(int c = 0; c < n; c++) {
+            int r = c;
+            while(r < n && a[r * n + c] == 0L) {
+                r++;
+            }
+            if(r == n)
+                return 0L;
+            if(r != c) {
+                for(int j = c; j < n; j++) {
+                    long t = a[r * n + j];
+                    a[r * n + j] = a[c * n + j];
+                    a[c * n + j] = t;
+                }
+                det = p - det;
+            }
+            long pivot = a[c * n + c];
+            det = det * pivot % p;
+            long inv = inverse(pivot, p);
+            for(int i = c + 1; i < n; i++) {
+                long f = a[i * n + c] * inv % p;
+                if(f == 0L)
+                    continue;
+                for(int j = c + 1; j < n; j++) {
+                    a[i * n + j] = (a[i * n + j] + (p - f) * a[c * n + j]) % p;
+                }
+            }
+        }
+        return det % p;
+    }
+
+    /**
+     * Returns whether <code>o</code> is a matrix with the same elements.
+     */
+    public boolean equals(Object o) {
+        if(!(o instanceof RationalMatrix))
+            return false;
+        RationalMatrix m = (RationalMatrix) o;
+        if(m.rows != rows || m.cols != cols || !m.denominator.equals(denominator))
+            return false;
+        if(packed != null && m.packed != null)
+            return Arrays.equals(packed, m.packed);
+        for(int i = 0; i < rows * cols; i++) {
+            if(!numerator(i).equals(m.numerator(i)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code of the elements.
+     */
+    public int hashCode() {
+        int h = 31 * rows + cols;
+        for(int i = 0; i < rows * cols; i++) {
+            h = 31 * h + numerator(i).hashCode();
+        }
+        return 31 * h + denominator.hashCode();
+    }
+
+    /**
+     * Returns a string representation of this matrix, one row per line, each
+     * element as a fraction in lowest terms.
+     */
+    public String toString() {
+        StringBuffer reply = new StringBuffer();
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < cols; j++) {
+                BigInteger n = numerator(i * cols + j);
+                BigInteger g = n.gcd(denominator);
+                reply.append(n.divide(g));
+                if(!denominator.equals(g))
+                    reply.append("/").append(denominator.divide(g));
+                if(j != cols - 1)
+                    reply.append(" ");
+            }
+            reply.append("\n");
+        }
+        return reply.toString();
+    }
+
+    /**
+     * The result of a fraction free elimination: the echelon form, in
+     * <code>long</code>s or <code>BigInteger</code>s, its rank and whether
+     * an odd number of rows were swapped.
+     */
+    private static final class Echelon {
+        final long[] packed;
+        final BigInteger[] big;
+        int rank;
+        boolean odd;
+
+        Echelon(long[] packed, BigInteger[] big) {
+            this.packed = packed;
+            this.big = big;
+        }
+
+        BigInteger get(int i, int j, int w) {
+            return (packed != null) ? BigInteger.valueOf(packed[i * w + j]) : big[i * w + j];
+        }
+
+        RationalMatrix toMatrix(int rows, int cols) {
+            if(packed != null)
+                return new RationalMatrix(rows, cols, packed, 1L);
+            return new RationalMatrix(rows, cols, big, BigInteger.ONE);
+        }
+    }
+
+    /**
+     * Finds the determinant modulo the primes <code>primes[lo]</code> to
+     * <code>primes[hi - 1]</code>, splitting until each task has one.
+     */
+    private static class PrimeTask extends RecursiveAction {
+        static final long serialVersionUID = 1L;
+
+        private final RationalMatrix m;
+        private final long[] primes, residues;
+        private final int lo, hi;
+
+        PrimeTask(RationalMatrix m, long[] primes, long[] residues, int lo, int hi) {
+            this.m = m;
+            this.primes = primes;
+            this.residues = residues;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute() {
+            if(hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new PrimeTask(m, primes, residues, lo, mid), new PrimeTask(m, primes, residues, mid, hi));
+                return;
+            }
+            residues[lo] = m.determinantModulo(primes[lo]);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * BrentMinimizer.java A class for Brent's method of finding minima.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.solver;
+
+// import other packages
+import org.magee.math.Function;
+
+/**
+ * The <code>BrentMinimizer</code> class finds minima by Brent's method,
+ * which fits a parabola through the three best points so far and steps to
+ * its vertex when that lands well inside the interval and makes progress,
+ * and takes a golden section step when it does not. It converges
+ * superlinearly on smooth functions and is never much slower than golden
+ * section search.
+ * <p>
+ *
+ * When the function has a derivative from <code>getDerivFunc</code> the
+ * parabola is replaced by secant steps on the derivative, and the sign of
+ * the derivative chooses which part of the interval to keep, so fewer
+ * steps are needed near the minimum.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class BrentMinimizer extends Minimizer {
+
+    protected double search(Function f, double a, double b) {
+        Function d = f.getDerivFunc();
+        return (d == null) ? parabolic(f, a, b) : secant(f, d, a, b);
+    }
+
+    /**
+     * Brent's method with parabolic steps.
+     */
+    private double parabolic(Function f, double a, double b) {
+        double x = a + GoldenSectionMinimizer.GOLDEN * (b - a), w = x, v = x;
+        double fx = valueAt(f, x), fw = fx, fv = fx;
+        double d = 0.0, e = 0.0; // the last step and the one before it
+        while(true) {
+            double xm = (a + b) / 2;
+            double tol1 = accuracy(x), tol2 = 2 * tol1;
+            if(Math.abs(x - xm) <= tol2 - (b - a) / 2)
+                break;
+            boolean golden = true;
+            if(Math.abs(e) > tol1) {
+                double r = (x - w) * (fx - fv);
+                double q = (x - v) * (fx - fw);
+                double p = (x - v) * q - (x - w) * r;
+                q = 2 * (q - r);
+                if(q > 0.0)
+                    p = -p;
+                else
+                    q = -q;
+                double olde = e;
+                e = d;
+                if(Math.abs(p) < Math.abs(q * olde / 2) && p > q * (a - x) && p < q * (b - x)) {
+                    d = p / q;
+                    double u = x + d;
+                    if(u - a < tol2 || b - u < tol2)
+                        d = (xm >= x) ? tol1 : -tol1;
+                    golden = false;
+                }
+            }
+            if(golden) {
+                e = (x >= xm) ? a - x : b - x;
+                d = GoldenSectionMinimizer.GOLDEN * e;
+            }
+            double u = x + ((Math.abs(d) >= tol1) ? d : (d > 0.0 ? tol1 : -tol1));
+            double fu = valueAt(f, u);
+            if(fu <= fx) {
+                if(u >= x)
+                    a = x;
+                else
+                    b = x;
+                v = w;
+                fv = fw;
+                w = x;
+                fw = fx;
+                x = u;
+                fx = fu;
+            } else {
+                if(u < x)
+                    a = u;
+                else
+                    b = u;
+                if(fu <= fw || w == x) {
+                    v = w;
+                    fv = fw;
+                    w = u;
+                    fw = fu;
+                } else if(fu <= fv || v == x || v == w) {
+                    v = u;
+                    fv = fu;
+                }
+            }
+        }
+        value = fx;
+        return x;
+    }
+
+    /**
+     * Brent's method with secant steps on the derivative <code>df</code>.
+     */
+    private double secant(Function f, Function df, double a, double b) {
+        double x = (a + b) / 2, w = x, v = x;
+        double fx = valueAt(f, x), fw = fx, fv = fx;
+        double dx = valueAt(df, x), dw = dx, dv = dx;
+        double d = 0.0, e = 0.0;
+        while(true) {
+            double xm = (a + b) / 2;
+            double tol1 = accuracy(x), tol2 = 2 * tol1;
+            if(Math.abs(x - xm) <= tol2 - (b - a) / 2)
+                break;
+            boolean bisect = true;
+            if(Math.abs(e) > tol1) {
+                double d1 = 2 * (b - a), d2 = d1;
+                if(dw != dx)
+                    d1 = (w - x) * dx / (dx - dw);
+                if(dv != dx)
+                    d2 = (v - x) * dx / (dx - dv);
+                double u1 = x + d1, u2 = x + d2;
+                boolean ok1 = (a - u1) * (u1 - b) > 0.0 && dx * d1 <= 0.0;
+                boolean ok2 = (a - u2) * (u2 - b) > 0.0 && dx * d2 <= 0.0;
+                double olde = e;
+                e = d;
+                if(ok1 || ok2) {
+                    if(ok1 && ok2)
+                        d = (Math.abs(d1) < Math.abs(d2)) ? d1 : d2;
+                    else
+                        d = ok1 ? d1 : d2;
+                    if(Math.abs(d) <= Math.abs(olde / 2)) {
+                        double u = x + d;
+                        if(u - a < tol2 || b - u < tol2)
+                            d = (xm >= x) ? tol1 : -tol1;
+                        bisect = false;
+                    }
+                }
+            }
+            if(bisect) { // step into the half the derivative points down to
+                e = (dx >= 0.0) ? a - x : b - x;
+                d = e / 2;
+            }
+            double u, fu;
+            if(Math.abs(d) >= tol1) {
+                u = x + d;
+                fu = valueAt(f, u);
+            } else {
+                u = x + ((d > 0.0) ? tol1 : -tol1);
+                fu = valueAt(f, u);
+                if(fu > fx)
+                    break; // the minimum is within the tolerance of x
+            }
+            double du = valueAt(df, u);
+            if(fu <= fx) {
+                if(u >= x)
+                    a = x;
+                else
+                    b = x;
+                v = w;
+                fv = fw;
+                dv = dw;
+                w = x;
+                fw = fx;
+                dw = dx;
+                x = u;
+                fx = fu;
+                dx = du;
+            } else {
+                if(u < x)
+                    a = u;
+                else
+                    b = u;
+                if(fu <= fw || w == x) {
+                    v = w;
+                    fv = fw;
+                    dv = dw;
+                    w = u;
+                    fw = fu;
+                    dw = du;
+                } else if(fu < fv || v == x || v == w) {
+                    v = u;
+                    fv = fu;
+                    dv = du;
+                }
+            }
+        }
+        value = fx;
+        return x;
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * GoldenSectionMinimizer.java A class for the golden section search.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.solver;
+
+// import other packages
+import org.magee.math.Function;
+
+/**
+ * The <code>GoldenSectionMinimizer</code> class finds minima by golden
+ * section search. Each step evaluates the function once and keeps the part
+ * of the interval that must hold the minimum, shrinking it by the golden
+ * ratio, so the number of evaluations depends only on the width of the
+ * interval and the tolerance. It needs nothing of the function but that it
+ * has a single minimum on the interval.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class GoldenSectionMinimizer extends Minimizer {
+
+    /**
+     * The fraction (3 - sqrt 5) / 2 of the interval between its end and the
+     * nearer inner point.
+     */
+    static final double GOLDEN = 0.3819660112501051;
+
+    protected double search(Function f, double a, double b) {
+        double x1 = a + GOLDEN * (b - a), x2 = b - GOLDEN * (b - a);
+        double f1 = valueAt(f, x1), f2 = valueAt(f, x2);
+        while(b - a > 2 * accuracy((a + b) / 2)) {
+            if(f1 <= f2) { // the minimum is in [a, x2]
+                b = x2;
+                x2 = x1;
+                f2 = f1;
+                x1 = a + GOLDEN * (b - a);
+                f1 = valueAt(f, x1);
+            } else { // the minimum is in [x1, b]
+                a = x1;
+                x1 = x2;
+                f1 = f2;
+                x2 = b - GOLDEN * (b - a);
+                f2 = valueAt(f, x2);
+            }
+        }
+        if(f1 <= f2) {
+            value = f1;
+            return x1;
+        }
+        value = f2;
+        return x2;
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * MultiStartMinimizer.java A class for finding the global minimum of a
+ * function from many local searches.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.solver;
+
+// import other packages
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.magee.math.Function;
+
+/**
+ * The <code>MultiStartMinimizer</code> class finds the global minimum of a
+ * function with several local minima. It cuts the interval into equal
+ * parts, runs a local minimizer on every part, and keeps the lowest of
+ * their minima and of the two ends of the interval. The parts are shared
+ * out over a fork/join pool, each task with its own copy of the local
+ * minimizer, and the evaluation count is the total of all of them.
+ * <p>
+ *
+ * The global minimum is found if no part holds more than one local
+ * minimum, so the number of parts should exceed the number of minima; the
+ * function must be safe to evaluate from several threads at once.
+ * <code>getMinima</code> returns what each part found.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class MultiStartMinimizer extends Minimizer {
+
+    /**
+     * The number of parts searched by one task.
+     */
+    private static final int PART_THRESHOLD = 4;
+
+    // private members
+    private final Minimizer local; // the method used on each part
+
+    private int parts; // the number of parts of the interval
+
+    private double[] minima; // the minimum found in each part by the last call
+
+    /**
+     * Constructor that searches 64 parts by Brent's method.
+     */
+    public MultiStartMinimizer() {
+        this(new BrentMinimizer(), 64);
+    }
+
+    /**
+     * Constructor that searches <code>parts</code> parts by
+     * <code>local</code>, whose tolerance and evaluation limit apply to
+     * each part.
+     *
+     * @param local The local minimizer.
+     * @param parts The number of parts.
+     */
+    public MultiStartMinimizer(Minimizer local, int parts) {
+        if(local == null)
+            throw new IllegalArgumentException("Null local minimizer");
+        this.local = local;
+        setParts(parts);
+    }
+
+    /**
+     * Returns the number of parts the interval is cut into.
+     */
+    public int getParts() {
+        return parts;
+    }
+
+    /**
+     * Sets the number of parts the interval is cut into.
+     *
+     * @param parts A positive number of parts.
+     */
+    public void setParts(int parts) {
+        if(parts < 1)
+            throw new IllegalArgumentException("Number of parts must be positive: " + parts);
+        this.parts = parts;
+    }
+
+    /**
+     * Returns the abscissa of the minimum found in each part by the last
+     * call, in increasing order.
+     */
+    public double[] getMinima() {
+        return (minima == null) ? new double[0] : minima.clone();
+    }
+
+    protected double search(Function f, double a, double b) {
+        double[] xs = new double[parts], fs = new double[parts];
+        long[] counts = new long[parts];
+        PartTask task = new PartTask(f, a, b, xs, fs, counts, 0, parts);
+        if(parts >= 2 * PART_THRESHOLD)
+            PoolHolder.POOL.invoke(task);
+        else
+            task.compute();
+
+        double x = a, fx = valueAt(f, a);
+        double fb = valueAt(f, b);
+        if(fb < fx) {
+            x = b;
+            fx = fb;
+        }
+        for(int i = 0; i < parts; i++) {
+            evaluations += counts[i];
+            if(fs[i] < fx) {
+                x = xs[i];
+                fx = fs[i];
+            }
+        }
+        minima = xs;
+        value = fx;
+        return x;
+    }
+
+    /**
+     * Holds the pool shared by the part tasks until it is first needed.
+     */
+    private static class PoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    /**
+     * Runs the local minimizer on the parts lo to hi - 1.
+     */
+    private class PartTask extends RecursiveAction {
+        static final long serialVersionUID = 1L;
+
+        private final Function f;
+        private final double a, b;
+        private final double[] xs, fs;
+        private final long[] counts;
+        private final int lo, hi;
+
+        PartTask(Function f, double a, double b, double[] xs, double[] fs, long[] counts, int lo, int hi) {
+            this.f = f;
+            this.a = a;
+            this.b = b;
+            this.xs = xs;
+            this.fs = fs;
+            this.counts = counts;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute() {
+            if(hi - lo > PART_THRESHOLD) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new PartTask(f, a, b, xs, fs, counts, lo, mid),
+                          new PartTask(f, a, b, xs, fs, counts, mid, hi));
+                return;
+            }
+
+            Minimizer m = local.clone();
+            for(int i = lo; i < hi; i++) {
+                double from = a + (b - a) * i / parts;
+                double to = (i + 1 == parts) ? b : a + (b - a) * (i + 1) / parts;
+                xs[i] = m.minimize(f, from, to);
+                fs[i] = m.getValue();
+                counts[i] = m.getEvaluations();
+            }
+        }
+    }
+}
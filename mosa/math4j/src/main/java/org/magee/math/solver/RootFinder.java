@@ -0,0 +1,315 @@
+/**
+ * RootFinder.java An abstract class for finding the roots of a function.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.solver;
+
+// import other packages
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.magee.math.Function;
+import org.magee.metrics.Metrics;
+
+/**
+ * The <code>RootFinder</code> class is the base of the methods that find a
+ * root of any <code>Function</code> between two points where its values
+ * have opposite signs. Such a bracket always holds a root of a continuous
+ * function, and every method here keeps one around the root as it
+ * narrows, so it cannot wander off or diverge.
+ * <p>
+ *
+ * A search stops when the bracket is narrower than <code>tolerance</code>
+ * plus a few units in the last place of the root, or when the function is
+ * exactly zero, and fails with an <code>ArithmeticException</code> after
+ * <code>maxEvaluations</code> evaluations of the function.
+ * <p>
+ *
+ * <code>findAllRoots</code> cuts an interval into equal parts, looks for a
+ * change of sign in each part and refines every bracket it finds, with the
+ * parts shared out over a fork/join pool so that both the scan and the
+ * refinement run in parallel. Roots where the function touches zero without
+ * crossing it are found only if they fall on the end of a part. A finder is
+ * not thread safe; the counter describes the last call, and the function
+ * must be safe to evaluate from several threads at once.
+ * <p>
+ *
+ * When <code>Metrics</code> are on, each call is timed and its evaluations
+ * counted under the class of the finder, and each evaluation made by a
+ * search is timed under the class of the function.
+ *
+ * @version 1.0, October 19, 2026
+ * @version 1.1, October 19, 2026 Records metrics.
+ */
+
+/*
+ * version changes
+ */
+public abstract class RootFinder implements Cloneable {
+
+    /**
+     * The number of parts of the interval scanned by one task of
+     * <code>findAllRoots</code>.
+     */
+    private static final int SCAN_THRESHOLD = 32;
+
+    // protected members
+    protected double tolerance = 1e-12; // the absolute width of the final bracket
+
+    protected int maxEvaluations = 1000; // the evaluation limit of one search
+
+    protected long evaluations; // evaluations done by the last call
+
+    /**
+     * Returns the width of bracket at which a search stops.
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Sets the width of bracket at which a search stops.
+     *
+     * @param tolerance A positive tolerance.
+     */
+    public void setTolerance(double tolerance) {
+        if(!(tolerance > 0.0))
+            throw new IllegalArgumentException("Tolerance must be positive: " + tolerance);
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns the largest number of evaluations one search may take.
+     */
+    public int getMaxEvaluations() {
+        return maxEvaluations;
+    }
+
+    /**
+     * Sets the largest number of evaluations one search may take.
+     *
+     * @param maxEvaluations A positive evaluation limit.
+     */
+    public void setMaxEvaluations(int maxEvaluations) {
+        if(maxEvaluations < 1)
+            throw new IllegalArgumentException("Evaluation limit must be positive: " + maxEvaluations);
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    /**
+     * Returns the number of times the function was evaluated by the last
+     * call, counting a derivative as one.
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Finds a root of <code>f</code> between <code>a</code> and
+     * <code>b</code>.
+     *
+     * @param f The function.
+     * @param a One end of the bracket.
+     * @param b The other end of the bracket.
+     * @return A root.
+     * @throws IllegalArgumentException If f(a) and f(b) have the same sign.
+     * @throws ArithmeticException If the evaluation limit is reached.
+     */
+    public double findRoot(Function f, double a, double b) {
+        evaluations = 0;
+        long start = Metrics.start();
+        try {
+            return bracket(f, a, b);
+        } finally {
+            Metrics.stop(getClass(), "findRoot", start);
+            Metrics.count(getClass(), "evaluations", evaluations);
+        }
+    }
+
+    /**
+     * Checks that <code>a</code> and <code>b</code> bracket a root of
+     * <code>f</code> and narrows the bracket.
+     */
+    private double bracket(Function f, double a, double b) {
+        double fa = valueAt(f, a);
+        double fb = valueAt(f, b);
+        if(fa == 0.0)
+            return a;
+        if(fb == 0.0)
+            return b;
+        if((fa > 0.0) == (fb > 0.0) || Double.isNaN(fa) || Double.isNaN(fb))
+            throw new IllegalArgumentException("f(" + a + ") = " + fa + " and f(" + b + ") = " + fb + " do not bracket a root");
+        return search(f, a, fa, b, fb);
+    }
+
+    /**
+     * Finds the roots of <code>f</code> between <code>a</code> and
+     * <code>b</code> by cutting the interval into <code>parts</code> equal
+     * parts and refining every part whose ends have opposite signs or are
+     * zero.
+     *
+     * @param f The function.
+     * @param a The lower bound.
+     * @param b The upper bound.
+     * @param parts The number of parts to scan.
+     * @return The roots in increasing order.
+     * @throws ArithmeticException If a search reaches the evaluation limit.
+     */
+    public double[] findAllRoots(Function f, double a, double b, int parts) {
+        if(!(a < b))
+            throw new IllegalArgumentException("Empty interval [" + a + ", " + b + "]");
+        if(parts < 1)
+            throw new IllegalArgumentException("Number of parts must be positive: " + parts);
+        double[] roots = new double[parts + 1]; // roots[i] lies in [x(i), x(i + 1)), roots[parts] at b
+        AtomicLong count = new AtomicLong();
+        long start = Metrics.start();
+        ScanTask task = new ScanTask(f, a, b, parts, roots, count, 0, parts + 1);
+        if(parts >= 2 * SCAN_THRESHOLD)
+            PoolHolder.POOL.invoke(task);
+        else
+            task.compute();
+        evaluations = count.get();
+        Metrics.stop(getClass(), "findAllRoots", start);
+        Metrics.count(getClass(), "evaluations", evaluations);
+
+        int n = 0;
+        for(int i = 0; i < roots.length; i++) {
+            if(!Double.isNaN(roots[i]))
+                roots[n++] = roots[i];
+        }
+        roots = Arrays.copyOf(roots, n);
+        Arrays.sort(roots);
+        return roots;
+    }
+
+    /**
+     * Narrows the bracket [<code>a</code>, <code>b</code>] to a root.
+     *
+     * @param f The function.
+     * @param a One end of the bracket.
+     * @param fa The value of f at a, not zero.
+     * @param b The other end of the bracket.
+     * @param fb The value of f at b, not zero and of the opposite sign.
+     * @return A root.
+     * @throws ArithmeticException If the evaluation limit is reached.
+     */
+    protected abstract double search(Function f, double a, double fa, double b, double fb);
+
+    /**
+     * Evaluates <code>f</code> at <code>x</code>, counting the evaluation
+     * and failing once the limit is passed.
+     */
+    protected double valueAt(Function f, double x) {
+        if(++evaluations > maxEvaluations)
+            throw new ArithmeticException("No root found within " + maxEvaluations + " evaluations");
+        long start = Metrics.start();
+        double y = f.valueAt(x);
+        Metrics.stop(f.getClass(), "valueAt", start);
+        return y;
+    }
+
+    /**
+     * Returns half the width of bracket at which a search near
+     * <code>x</code> stops.
+     */
+    protected double halfTolerance(double x) {
+        return 2 * Math.ulp(x) + tolerance / 2;
+    }
+
+    /**
+     * Returns a copy of this finder with its own counter.
+     */
+    protected RootFinder clone() {
+        try {
+            return (RootFinder) super.clone();
+        } catch(CloneNotSupportedException e) {
+            throw new InternalError(e.toString());
+        }
+    }
+
+    /**
+     * Holds the pool shared by the scan tasks until it is first needed.
+     */
+    private static class PoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    /**
+     * Scans the points x(lo) to x(hi - 1) of the interval and refines the
+     * brackets that start at them.
+     */
+    private class ScanTask extends RecursiveAction {
+        static final long serialVersionUID = 1L;
+
+        private final Function f;
+        private final double a, b;
+        private final int parts, lo, hi;
+        private final double[] roots;
+        private final AtomicLong count;
+
+        ScanTask(Function f, double a, double b, int parts, double[] roots, AtomicLong count, int lo, int hi) {
+            this.f = f;
+            this.a = a;
+            this.b = b;
+            this.parts = parts;
+            this.roots = roots;
+            this.count = count;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        private double x(int i) {
+            return (i == parts) ? b : a + (b - a) * i / parts;
+        }
+
+        protected void compute() {
+            if(hi - lo > SCAN_THRESHOLD) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ScanTask(f, a, b, parts, roots, count, lo, mid),
+                          new ScanTask(f, a, b, parts, roots, count, mid, hi));
+                return;
+            }
+
+            RootFinder finder = RootFinder.this.clone();
+            double x0 = x(lo), f0 = f.valueAt(x0);
+            long scanned = 1;
+            for(int i = lo; i < hi; i++) {
+                roots[i] = Double.NaN;
+                if(f0 == 0.0)
+                    roots[i] = x0;
+                if(i == parts)
+                    break;
+                double x1 = x(i + 1), f1 = f.valueAt(x1);
+                scanned++;
+                if(f0 != 0.0 && f1 != 0.0 && (f0 > 0.0) != (f1 > 0.0) && !Double.isNaN(f0) && !Double.isNaN(f1)) {
+                    finder.evaluations = 0;
+                    roots[i] = finder.search(f, x0, f0, x1, f1);
+                    scanned += finder.evaluations;
+                }
+                x0 = x1;
+                f0 = f1;
+            }
+            count.addAndGet(scanned);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Counter.java A class for counting events from many threads.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.metrics;
+
+// import other packages
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The <code>Counter</code> class counts events, such as the evaluations of a
+ * function by a solver. It is kept in a <code>LongAdder</code>, which gives
+ * each contending thread its own cell, so that threads adding at once do not
+ * wait on each other; reading the count adds up the cells.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class Counter {
+
+    // private members
+    private final LongAdder count = new LongAdder(); // the events counted
+
+    /**
+     * Counts one event.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Counts <code>n</code> events.
+     *
+     * @param n The number of events.
+     */
+    public void add(long n) {
+        count.add(n);
+    }
+
+    /**
+     * Returns the number of events counted since the last reset.
+     */
+    public long get() {
+        return count.sum();
+    }
+
+    /**
+     * Sets the count back to zero.
+     */
+    public void reset() {
+        count.reset();
+    }
+
+    /**
+     * Returns the count as a string.
+     */
+    public String toString() {
+        return Long.toString(get());
+    }
+}
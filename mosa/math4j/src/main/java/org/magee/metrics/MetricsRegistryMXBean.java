@@ -0,0 +1,55 @@
+/**
+ * MetricsRegistryMXBean.java The management interface of a metrics registry.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.metrics;
+
+// import other packages
+import java.util.Map;
+
+/**
+ * The <code>MetricsRegistryMXBean</code> interface is what JMX tools such as
+ * JConsole see of a <code>MetricsRegistry</code>: the counters as a table of
+ * names and counts, and the histograms as a table of names and snapshots.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public interface MetricsRegistryMXBean {
+
+    /**
+     * Returns the count of every counter, by name.
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Returns a snapshot of every histogram, by name.
+     */
+    Map<String, LatencyHistogram.Snapshot> getHistograms();
+
+    /**
+     * Sets every counter and histogram back to zero.
+     */
+    void reset();
+}
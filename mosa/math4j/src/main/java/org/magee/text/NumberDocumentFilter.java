@@ -0,0 +1,132 @@
+/**
+ * NumberDocumentFilter.java A class that keeps a document a valid prefix of
+ * a number.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.text;
+
+// import other packages
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.DocumentFilter;
+import javax.swing.text.Segment;
+
+/**
+ * The <code>NumberDocumentFilter</code> class lets text into a document only
+ * if the whole document stays the start of a number in its
+ * <code>NumberSyntax</code>, so partial input such as "-" or "1.5E" is
+ * allowed while typing but "1.5.2" is not.
+ * <p>
+ *
+ * An insertion is checked by running the syntax over the text before it,
+ * the new text and the text after it in turn. The document is read through
+ * a <code>Segment</code> without copying, so a paste of any size is checked
+ * in one pass over the characters. A removal is checked the same way, so
+ * deleting the mantissa of "1e5" is refused rather than leaving "e5".
+ *
+ * @version 1.0, October 19, 2026
+ * @version 1.1, October 19, 2026 Removals are checked like insertions.
+ */
+
+/*
+ * version changes
+ * 1.1 remove is filtered
+ */
+public class NumberDocumentFilter extends DocumentFilter {
+
+    // private members
+    private final NumberSyntax syntax; // the numbers allowed
+
+    private final boolean upperCase; // true to store letters in upper case
+
+    /**
+     * Constructor for the given syntax.
+     *
+     * @param syntax The numbers the document may hold.
+     */
+    public NumberDocumentFilter(NumberSyntax syntax) {
+        this(syntax, false);
+    }
+
+    /**
+     * Overloaded constructor that can convert inserted letters, such as
+     * hexadecimal digits, to upper case.
+     *
+     * @param syntax The numbers the document may hold.
+     * @param upperCase True to convert inserted text to upper case.
+     */
+    public NumberDocumentFilter(NumberSyntax syntax, boolean upperCase) {
+        this.syntax = syntax;
+        this.upperCase = upperCase;
+    }
+
+    /**
+     * Returns the numbers this filter allows.
+     */
+    public NumberSyntax getSyntax() {
+        return syntax;
+    }
+
+    public void insertString(FilterBypass fb, int offset, String s, AttributeSet atts) throws BadLocationException {
+        replace(fb, offset, 0, s, atts);
+    }
+
+    public void replace(FilterBypass fb, int offset, int length, String s, AttributeSet atts) throws BadLocationException {
+        if(s == null)
+            s = "";
+        if(upperCase)
+            s = s.toUpperCase();
+        if(accepts(fb.getDocument(), offset, length, s))
+            super.replace(fb, offset, length, s, atts);
+    }
+
+    public void remove(FilterBypass fb, int offset, int length) throws BadLocationException {
+        if(accepts(fb.getDocument(), offset, length, ""))
+            super.remove(fb, offset, length);
+    }
+
+    /**
+     * Determines if replacing <code>length</code> characters at
+     * <code>offset</code> with <code>s</code> leaves the start of a number.
+     */
+    private boolean accepts(Document doc, int offset, int length, String s) throws BadLocationException {
+        Segment segment = new Segment();
+        segment.setPartialReturn(true);
+
+        int state = run(doc, segment, syntax.start(), 0, offset);
+        state = syntax.run(state, s, 0, s.length());
+        return syntax.isLive(run(doc, segment, state, offset + length, doc.getLength()));
+    }
+
+    /**
+     * Runs the syntax over the document from <code>from</code> to
+     * <code>to</code>, a piece of the document's storage at a time.
+     */
+    private int run(Document doc, Segment segment, int state, int from, int to) throws BadLocationException {
+        while(from < to && syntax.isLive(state)) {
+            doc.getText(from, to - from, segment);
+            state = syntax.run(state, segment.array, segment.offset, segment.offset + segment.count);
+            from += segment.count;
+        }
+        return state;
+    }
+}
@@ -0,0 +1,267 @@
+/**
+ * NumberSyntax.java A class that recognizes numbers with lookup tables and a
+ * finite-state machine.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.text;
+
+// import other packages
+import java.util.Arrays;
+
+/**
+ * The <code>NumberSyntax</code> class recognizes the text of a number one
+ * character at a time. Each ASCII character is mapped to a character class
+ * by a 128-entry lookup table, and a transition table indexed by state and
+ * class gives the next state, so checking a character costs two array reads
+ * and no branching on the character itself. Any character outside ASCII is
+ * rejected.
+ * <p>
+ *
+ * The machine can be run over a text in pieces, carrying the state from one
+ * piece to the next, so a document can check the text before an insertion,
+ * the insertion and the text after it in one linear pass without joining
+ * them. A state is <i>live</i> while the text read so far can still be
+ * completed to a number, and <i>accepting</i> when it already is one.
+ * <p>
+ *
+ * The integer syntaxes read an optional sign followed by digits of their
+ * radix, in either case. <code>DOUBLE</code> reads an optional sign, digits
+ * with an optional decimal point and an optional exponent with its own
+ * sign, which is the decimal form understood by
+ * <code>Double.parseDouble</code>.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class NumberSyntax {
+
+    /**
+     * The state of a machine that has read something that can never become
+     * a number.
+     */
+    public static final int REJECT = -1;
+
+    // character classes
+    private static final byte OTHER = 0, DIGIT = 1, SIGN = 2, POINT = 3, EXPONENT = 4;
+
+    private static final int CLASSES = 5;
+
+    /**
+     * Binary integers.
+     */
+    public static final NumberSyntax BINARY = integer(2);
+
+    /**
+     * Octal integers.
+     */
+    public static final NumberSyntax OCTAL = integer(8);
+
+    /**
+     * Decimal integers.
+     */
+    public static final NumberSyntax DECIMAL = integer(10);
+
+    /**
+     * Hexadecimal integers.
+     */
+    public static final NumberSyntax HEXADECIMAL = integer(16);
+
+    /**
+     * Decimal floating point numbers with an optional exponent.
+     */
+    public static final NumberSyntax DOUBLE = floatingPoint();
+
+    // private members
+    private final byte[] classOf; // the class of each ASCII character
+
+    private final int[] next; // the transition table, by state then class
+
+    private final boolean[] accepting; // the states that end a number
+
+    /**
+     * Constructor from the finished tables.
+     */
+    private NumberSyntax(byte[] classOf, int[] next, boolean[] accepting) {
+        this.classOf = classOf;
+        this.next = next;
+        this.accepting = accepting;
+    }
+
+    /**
+     * Returns the syntax of signed integers in <code>radix</code>.
+     *
+     * @param radix A radix from <code>Character.MIN_RADIX</code> to
+     *        <code>Character.MAX_RADIX</code>.
+     * @return The syntax.
+     */
+    public static NumberSyntax forRadix(int radix) {
+        switch(radix) {
+            case 2:
+                return BINARY;
+            case 8:
+                return OCTAL;
+            case 10:
+                return DECIMAL;
+            case 16:
+                return HEXADECIMAL;
+            default:
+                return integer(radix);
+        }
+    }
+
+    private static NumberSyntax integer(int radix) {
+        if(radix < Character.MIN_RADIX || radix > Character.MAX_RADIX)
+            throw new IllegalArgumentException("Radix out of range: " + radix);
+        byte[] classOf = new byte[128];
+        for(int c = 0; c < 128; c++) {
+            if(Character.digit((char) c, radix) >= 0)
+                classOf[c] = DIGIT;
+        }
+        classOf['+'] = classOf['-'] = SIGN;
+
+        // states: 0 start, 1 after the sign, 2 in the digits
+        int[] next = new int[3 * CLASSES];
+        Arrays.fill(next, REJECT);
+        next[0 * CLASSES + SIGN] = 1;
+        next[0 * CLASSES + DIGIT] = 2;
+        next[1 * CLASSES + DIGIT] = 2;
+        next[2 * CLASSES + DIGIT] = 2;
+        return new NumberSyntax(classOf, next, new boolean[] { false, false, true });
+    }
+
+    private static NumberSyntax floatingPoint() {
+        byte[] classOf = new byte[128];
+        for(int c = '0'; c <= '9'; c++) {
+            classOf[c] = DIGIT;
+        }
+        classOf['+'] = classOf['-'] = SIGN;
+        classOf['.'] = POINT;
+        classOf['e'] = classOf['E'] = EXPONENT;
+
+        /* states:
+         * 0 start            1 after the sign       2 integer digits
+         * 3 point, no digits 4 point after digits   5 fraction digits
+         * 6 after E          7 after the E's sign   8 exponent digits
+         */
+        int[] next = new int[9 * CLASSES];
+        Arrays.fill(next, REJECT);
+        next[0 * CLASSES + SIGN] = 1;
+        next[0 * CLASSES + DIGIT] = 2;
+        next[0 * CLASSES + POINT] = 3;
+        next[1 * CLASSES + DIGIT] = 2;
+        next[1 * CLASSES + POINT] = 3;
+        next[2 * CLASSES + DIGIT] = 2;
+        next[2 * CLASSES + POINT] = 4;
+        next[2 * CLASSES + EXPONENT] = 6;
+        next[3 * CLASSES + DIGIT] = 5;
+        next[4 * CLASSES + DIGIT] = 5;
+        next[4 * CLASSES + EXPONENT] = 6;
+        next[5 * CLASSES + DIGIT] = 5;
+        next[5 * CLASSES + EXPONENT] = 6;
+        next[6 * CLASSES + SIGN] = 7;
+        next[6 * CLASSES + DIGIT] = 8;
+        next[7 * CLASSES + DIGIT] = 8;
+        next[8 * CLASSES + DIGIT] = 8;
+        return new NumberSyntax(classOf, next, new boolean[] { false, false, true, false, true, true, false, false, true });
+    }
+
+    /**
+     * Returns the state of a machine that has read nothing.
+     */
+    public int start() {
+        return 0;
+    }
+
+    /**
+     * Runs the machine from <code>state</code> over characters
+     * <code>from</code> to <code>to - 1</code> of <code>s</code>.
+     *
+     * @param state The state before the first character.
+     * @param s The text to read.
+     * @param from The index of the first character.
+     * @param to The index after the last character.
+     * @return The state after the last character, or <code>REJECT</code>.
+     */
+    public int run(int state, CharSequence s, int from, int to) {
+        for(int i = from; state != REJECT && i < to; i++) {
+            char c = s.charAt(i);
+            state = (c < 128) ? next[state * CLASSES + classOf[c]] : REJECT;
+        }
+        return state;
+    }
+
+    /**
+     * Runs the machine from <code>state</code> over characters
+     * <code>from</code> to <code>to - 1</code> of the array <code>a</code>,
+     * such as the array of a <code>javax.swing.text.Segment</code>.
+     *
+     * @param state The state before the first character.
+     * @param a The text to read.
+     * @param from The index of the first character.
+     * @param to The index after the last character.
+     * @return The state after the last character, or <code>REJECT</code>.
+     */
+    public int run(int state, char[] a, int from, int to) {
+        for(int i = from; state != REJECT && i < to; i++) {
+            char c = a[i];
+            state = (c < 128) ? next[state * CLASSES + classOf[c]] : REJECT;
+        }
+        return state;
+    }
+
+    /**
+     * Determines if <code>state</code> can still be completed to a number.
+     */
+    public boolean isLive(int state) {
+        return state != REJECT;
+    }
+
+    /**
+     * Determines if <code>state</code> ends a complete number.
+     */
+    public boolean isAccepting(int state) {
+        return state != REJECT && accepting[state];
+    }
+
+    /**
+     * Determines if <code>s</code> is the start of a number, which includes
+     * the empty string and complete numbers.
+     *
+     * @param s The text to check.
+     * @return True if more characters could make <code>s</code> a number.
+     */
+    public boolean isPrefix(CharSequence s) {
+        return run(start(), s, 0, s.length()) != REJECT;
+    }
+
+    /**
+     * Determines if <code>s</code> is a complete number.
+     *
+     * @param s The text to check.
+     * @return True if <code>s</code> is a number in this syntax.
+     */
+    public boolean matches(CharSequence s) {
+        return isAccepting(run(start(), s, 0, s.length()));
+    }
+}
@@ -50,14 +50,6 @@ package org.magee.text;
 
 // import other packages
 
-import java.util.Arrays;
-
-
-
-import javax.swing.text.AttributeSet;
-
-import javax.swing.text.BadLocationException;
-
 import javax.swing.text.PlainDocument;
 
 
@@ -78,9 +70,9 @@ import javax.swing.text.PlainDocument;
 
  * (typing or pasting) or by other means (TextComponent.setText()) it is first
 
- * examined to contain only octal values. If it passes this test then the string
+ * checked by a <code>NumberDocumentFilter</code>, which lets it in only if
 
- * is inserted for the view by the user.
+ * the whole text stays the start of an octal number.
 
  * 
 
@@ -88,6 +80,10 @@ import javax.swing.text.PlainDocument;
 
  * @version 1.0, December 23, 2001
 
+ * @version 1.1, October 19, 2026 Validation moved to a shared
+
+ *          <code>NumberDocumentFilter</code>.
+
  */
 
 
@@ -100,49 +96,17 @@ import javax.swing.text.PlainDocument;
 
 public class OctalDocument extends PlainDocument {
 
-    
-
-    private char[] oct = {'0', '1', '2', '3', '4', '5', '6', '7'};
 
-    
 
     /**
 
-     * implements code for checking the validity of the input
+     * Default constructor that installs the octal number filter.
 
      */
 
-    public void insertString(int offset, String s, AttributeSet atts) throws BadLocationException {
-
-        if(s != null && s.length() > 0) { // check if there is anything in the string to examine
-
-            Arrays.sort(oct); // required for binarySearch
-
-            boolean isValid = true; // the state of the string
-
-            int i = 0;
-
-            while(isValid && i < s.length()) { // to save process time check isValid first
-
-                if(Arrays.binarySearch(oct, s.charAt(i)) < 0) {
-
-                    isValid = false; // an invalid character was found
-
-                }
-
-                i++;
-
-            }
-
-
-
-            if(isValid) {
-
-                super.insertString(offset, s, atts); // a valid string was inserted
-
-            }
+    public OctalDocument() {
 
-        }
+        setDocumentFilter(new NumberDocumentFilter(NumberSyntax.OCTAL));
 
     }
 
@@ -22,30 +22,51 @@
 
 package org.magee.ui;
 
+import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Font;
-import java.awt.GridLayout;
 import java.io.Serializable;
-import java.util.ArrayList;
 
 import javax.swing.BorderFactory;
+import javax.swing.DefaultCellEditor;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
 import javax.swing.JTextField;
-import javax.swing.event.DocumentEvent;
-import javax.swing.event.DocumentListener;
-import javax.swing.text.BadLocationException;
-import javax.swing.text.Document;
+import javax.swing.SwingConstants;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.TableColumnModelEvent;
+import javax.swing.event.TableColumnModelListener;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableModel;
+
+import org.magee.math.linear.JamaAdapter;
+import org.magee.math.linear.ObservableMatrix;
 
 import Jama.Matrix;
 
 /**
  * This class is a JPanel extension for displaying the class
- * <code>com.magee.math.Matrix</code> as a lightweight component.
+ * <code>Jama.Matrix</code> as a lightweight component.
+ * <p>
+ *
+ * The cells are drawn by a <code>JTable</code> over a
+ * <code>MatrixTableModel</code>, so only the visible cells are ever
+ * formatted and painted. One renderer and one editor are shared by every
+ * cell, and replacing the matrix repaints the visible cells instead of
+ * rebuilding a component per element.
  * 
  * @author Anthony W. Magee
  * @version 1.0, May 16, 2002
  * @version 1.1, April 6, 2005 Replaced <code>Vector</code> with
  *          <code>ArrayList</code> to save overhead.
+ * @version 1.2, October 19, 2026 Replaced the grid of text fields with a
+ *          virtualized <code>JTable</code>.
+ * @version 1.3, October 19, 2026 Columns are sized whenever the table makes
+ *          them.
  */
 
 /*
@@ -54,9 +75,26 @@ import Jama.Matrix;
 public class MatrixTable extends JPanel implements Serializable {
 
     /**
-     * Storage for the matrix given for the table.
+     * The model that presents the matrix to the table, either a
+     * <code>MatrixTableModel</code> or an
+     * <code>ObservableMatrixTableModel</code>.
+     */
+    private final AbstractTableModel model;
+
+    /**
+     * The table that draws the visible cells.
+     */
+    private final JTable table;
+
+    /**
+     * The renderer shared by every cell.
+     */
+    private final CellRenderer renderer = new CellRenderer();
+
+    /**
+     * The text field of the editor shared by every cell.
      */
-    private Matrix matrix;
+    private final JTextField editorField = new JTextField();
 
     /**
      * Storage for the font given for the table.
@@ -68,11 +106,6 @@ public class MatrixTable extends JPanel implements Serializable {
      */
     private Color color;
 
-    /**
-     * Array to keep track of the text fields created.
-     */
-    private ArrayList<JTextField> fields = new ArrayList<JTextField>();
-
     /**
      * Constructor that allows user to define the font and color of the text.
      * 
@@ -81,15 +114,7 @@ public class MatrixTable extends JPanel implements Serializable {
      * @param c The color for the text of this object.
      */
     public MatrixTable(Matrix m, Font f, Color c) {
-        this.matrix = m;
-        this.font = f;
-        this.color = c;
-
-        fields.ensureCapacity(matrix.getRowDimension() * matrix.getColumnDimension());
-        setLayout(new GridLayout(matrix.getRowDimension(), matrix.getColumnDimension(), 1, 1));
-        setBorder(BorderFactory.createLineBorder(Color.gray, 2));
-        setBackground(Color.gray);
-        setElements(matrix);
+        this(new MatrixTableModel(m), f, c);
     }
 
     /**
@@ -102,71 +127,99 @@ public class MatrixTable extends JPanel implements Serializable {
     }
 
     /**
-     * Defines each element in the table from the elements in the matrix.
+     * Overloaded constructor for an observable matrix. Edits made in the
+     * table are committed to the matrix once typing pauses.
      * 
-     * @param matrix
-     */
-    private void setElements(Matrix matrix) {
-        removeAll();
-        double[][] elements = matrix.getArray();
-        int rowMax = matrix.getRowDimension();
-        for(int row = 0; row < rowMax; row++) {
-            for(int col = 0; col < matrix.getColumnDimension(); col++) {
-                JTextField l = new JTextField(Double.toString(elements[row][col]));
-                l.setForeground(color);
-                l.setFont(font);
-                l.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
-                l.setBorder(BorderFactory.createEmptyBorder(2, 2, 2, 2));
-                l.getDocument().putProperty("name", Integer.toString(row * rowMax + col));
-                l.getDocument().addDocumentListener(new DocumentListener() {
-                    public void changedUpdate(DocumentEvent e) {
-                        changed(e);
-                    }
-                    public void insertUpdate(DocumentEvent e){
-                        changed(e);
-                    }
-                    public void removeUpdate(DocumentEvent e){
-                        changed(e);
-                    }
-                });
-                add(l);
-                fields.add(l);
-            }
-        }
+     * @param m The <code>ObservableMatrix</code> object to be presented.
+     * @param f The font for the text of this object.
+     * @param c The color for the text of this object.
+     */
+    public MatrixTable(ObservableMatrix m, Font f, Color c) {
+        this(new ObservableMatrixTableModel(m), f, c);
     }
 
-    private void changed(DocumentEvent de) {
-        Document doc = de.getDocument();
-        int name = Integer.parseInt((String) doc.getProperty("name"));
-        int cols = matrix.getColumnDimension();
-        
-        try {
-            matrix.set(name / cols, name % cols, Double.parseDouble(doc.getText(0, doc.getLength())));
-        } catch(NumberFormatException e) {
-            matrix.set(name / cols, name % cols, Double.NaN);
-        } catch(BadLocationException bl){
-            System.out.println("bad location - contact author with details and steps to reproduce");
-        }
+    /**
+     * Overloaded constructor for an observable matrix with a plain black
+     * font.
+     * 
+     * @param m The <code>ObservableMatrix</code> object to be presented.
+     */
+    public MatrixTable(ObservableMatrix m) {
+        this(m, new Font("monospaced", Font.PLAIN, 12), Color.black);
     }
-    
+
+    private MatrixTable(AbstractTableModel model, Font f, Color c) {
+        super(new BorderLayout());
+        this.model = model;
+        this.table = new JTable(model);
+        table.getColumnModel().addColumnModelListener(new ColumnSizer());
+
+        editorField.setHorizontalAlignment(SwingConstants.CENTER);
+        editorField.setBorder(BorderFactory.createEmptyBorder(2, 2, 2, 2));
+        table.setDefaultRenderer(Double.class, renderer);
+        table.setDefaultEditor(Double.class, new DefaultCellEditor(editorField));
+        table.setTableHeader(null);
+        table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        table.setCellSelectionEnabled(true);
+        table.setGridColor(Color.gray);
+        table.putClientProperty("terminateEditOnFocusLost", Boolean.TRUE);
+
+        setBorder(BorderFactory.createLineBorder(Color.gray, 2));
+        setBackground(Color.gray);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        setTextFont(f);
+        setTextColor(c);
+    }
+
     /**
-     * Returns the matrix for this table.
+     * Returns the matrix for this table. A table of an observable matrix
+     * returns a copy of its current elements.
      * 
      * @return This table's <code>Matrix</code> object.
      */
     public Matrix getMatrix() {
-        return matrix;
+        if(model instanceof ObservableMatrixTableModel)
+            return JamaAdapter.toJama(((ObservableMatrixTableModel) model).getObservableMatrix().copy());
+        return ((MatrixTableModel) model).getMatrix();
+    }
+
+    /**
+     * Returns the observable matrix for this table.
+     * 
+     * @return This table's <code>ObservableMatrix</code> object, or null if
+     *         it shows a plain <code>Matrix</code>.
+     */
+    public ObservableMatrix getObservableMatrix() {
+        if(model instanceof ObservableMatrixTableModel)
+            return ((ObservableMatrixTableModel) model).getObservableMatrix();
+        return null;
     }
 
     /**
-     * Sets the matrix for this table.
+     * Sets the matrix for this table. A table of an observable matrix copies
+     * the elements of <code>m</code> into it and commits them.
      * 
      * @param m The matrix to display in this table.
      */
     public void setMatrix(Matrix m) {
-        this.matrix = m;
-        setElements(matrix);
-        revalidate();
+        if(table.isEditing())
+            table.getCellEditor().cancelCellEditing();
+        if(model instanceof ObservableMatrixTableModel) {
+            ObservableMatrix observable = ((ObservableMatrixTableModel) model).getObservableMatrix();
+            observable.setMatrix(JamaAdapter.fromJama(m));
+            observable.commit();
+        } else {
+            ((MatrixTableModel) model).setMatrix(m);
+        }
+    }
+
+    /**
+     * Returns the table model that presents the matrix.
+     * 
+     * @return This table's model.
+     */
+    public TableModel getModel() {
+        return model;
     }
 
     /**
@@ -185,8 +238,12 @@ public class MatrixTable extends JPanel implements Serializable {
      */
     public void setTextFont(Font f) {
         this.font = f;
-        setElements(matrix);
-        revalidate();
+        renderer.setFont(f);
+        editorField.setFont(f);
+        table.setFont(f);
+        table.setRowHeight(table.getFontMetrics(f).getHeight() + 4);
+        sizeColumns();
+        table.repaint();
     }
 
     /**
@@ -205,9 +262,74 @@ public class MatrixTable extends JPanel implements Serializable {
      */
     public void setTextColor(Color c) {
         this.color = c;
-        setElements(matrix);
-        revalidate();
+        renderer.setForeground(c);
+        editorField.setForeground(c);
+        table.repaint();
+    }
+
+    /**
+     * Gives every column the width of a typical formatted double, so the
+     * width never depends on scanning the elements.
+     */
+    private void sizeColumns() {
+        int width = columnWidth();
+        for(int col = 0; col < table.getColumnCount(); col++) {
+            table.getColumnModel().getColumn(col).setPreferredWidth(width);
+        }
+    }
+
+    private int columnWidth() {
+        return table.getFontMetrics(font).stringWidth("-0.0000000000000000") + 6;
+    }
+
+    /**
+     * Sizes each column the table makes, so the columns keep their width
+     * after any change of structure, whether it reshapes the rows, the
+     * columns or neither.
+     */
+    private class ColumnSizer implements TableColumnModelListener {
+
+        public void columnAdded(TableColumnModelEvent e) {
+            if(font != null) // not yet set while the table is first built
+                table.getColumnModel().getColumn(e.getToIndex()).setPreferredWidth(columnWidth());
+        }
+
+        public void columnRemoved(TableColumnModelEvent e) {
+        }
+
+        public void columnMoved(TableColumnModelEvent e) {
+        }
+
+        public void columnMarginChanged(ChangeEvent e) {
+        }
+
+        public void columnSelectionChanged(ListSelectionEvent e) {
+        }
+    }
+
+    /**
+     * Formats a cell only when it is painted.
+     */
+    private class CellRenderer extends DefaultTableCellRenderer {
+
+        CellRenderer() {
+            setHorizontalAlignment(SwingConstants.CENTER);
+        }
+
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int col) {
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, col);
+            setFont(font);
+            if(!isSelected)
+                setForeground(color);
+            return this;
+        }
+
+        protected void setValue(Object value) {
+            setText((value == null) ? "" : value.toString());
+        }
+
+        static final long serialVersionUID = 1L;
     }
     
     static final long serialVersionUID = 12L;
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+/**
+ * MatrixTableModel.java Class for presenting a <code>Jama.Matrix</code> to a <code>JTable</code>.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.ui;
+
+import javax.swing.table.AbstractTableModel;
+
+import Jama.Matrix;
+
+/**
+ * This class is a table model that reads its cells straight from a
+ * <code>Jama.Matrix</code>. Nothing is copied or formatted up front; a
+ * <code>JTable</code> asks only for the cells it paints, so the cost of
+ * showing a matrix follows the size of the window rather than the size of
+ * the matrix.
+ * <p>
+ *
+ * An edited cell that does not parse as a double is stored as
+ * <code>Double.NaN</code>.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class MatrixTableModel extends AbstractTableModel {
+
+    /**
+     * The matrix presented by this model.
+     */
+    private Matrix matrix;
+
+    /**
+     * Constructor for a model of the matrix <code>m</code>.
+     *
+     * @param m The matrix to present.
+     */
+    public MatrixTableModel(Matrix m) {
+        this.matrix = m;
+    }
+
+    /**
+     * Returns the matrix presented by this model.
+     *
+     * @return This model's <code>Matrix</code> object.
+     */
+    public Matrix getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * Replaces the matrix presented by this model. When the dimensions are
+     * unchanged the table keeps its columns and only repaints what is
+     * visible.
+     *
+     * @param m The new matrix.
+     */
+    public void setMatrix(Matrix m) {
+        boolean sameShape = m.getRowDimension() == matrix.getRowDimension() && m.getColumnDimension() == matrix.getColumnDimension();
+        this.matrix = m;
+        if(sameShape)
+            fireTableDataChanged();
+        else
+            fireTableStructureChanged();
+    }
+
+    public int getRowCount() {
+        return matrix.getRowDimension();
+    }
+
+    public int getColumnCount() {
+        return matrix.getColumnDimension();
+    }
+
+    public String getColumnName(int col) {
+        return Integer.toString(col);
+    }
+
+    public Class<?> getColumnClass(int col) {
+        return Double.class;
+    }
+
+    public boolean isCellEditable(int row, int col) {
+        return true;
+    }
+
+    public Object getValueAt(int row, int col) {
+        return Double.valueOf(matrix.get(row, col));
+    }
+
+    public void setValueAt(Object value, int row, int col) {
+        double d;
+        if(value instanceof Number) {
+            d = ((Number) value).doubleValue();
+        } else {
+            try {
+                d = Double.parseDouble(String.valueOf(value).trim());
+            } catch(NumberFormatException e) {
+                d = Double.NaN;
+            }
+        }
+        matrix.set(row, col, d);
+        fireTableCellUpdated(row, col);
+    }
+
+    static final long serialVersionUID = 1L;
+}
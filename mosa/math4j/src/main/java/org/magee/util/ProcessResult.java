@@ -0,0 +1,85 @@
+/**
+ * ProcessResult.java A class that holds what a finished process returned.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.util;
+
+/**
+ * The <code>ProcessResult</code> class holds the exit value of a finished
+ * process and the text it wrote to its standard output and standard error.
+ * A stream that was passed to a consumer line by line is not kept, and its
+ * text is empty.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class ProcessResult {
+
+    // private members
+    private final int exitValue;
+
+    private final String output;
+
+    private final String errorOutput;
+
+    /**
+     * Constructor for a process that exited with <code>exitValue</code>.
+     *
+     * @param exitValue The exit value of the process.
+     * @param output The text of the standard output.
+     * @param errorOutput The text of the standard error.
+     */
+    public ProcessResult(int exitValue, String output, String errorOutput) {
+        this.exitValue = exitValue;
+        this.output = output;
+        this.errorOutput = errorOutput;
+    }
+
+    /**
+     * Returns the exit value, zero by convention for success.
+     */
+    public int getExitValue() {
+        return exitValue;
+    }
+
+    /**
+     * Returns the lines of the standard output, each followed by the line
+     * separator.
+     */
+    public String getOutput() {
+        return output;
+    }
+
+    /**
+     * Returns the lines of the standard error, each followed by the line
+     * separator.
+     */
+    public String getErrorOutput() {
+        return errorOutput;
+    }
+
+    public String toString() {
+        return "exit value " + exitValue;
+    }
+}
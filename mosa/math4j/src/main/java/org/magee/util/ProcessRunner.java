@@ -0,0 +1,342 @@
+/**
+ * ProcessRunner.java A class that runs external processes without blocking
+ * the caller.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.util;
+
+// import other packages
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * The <code>ProcessRunner</code> class starts external processes and
+ * returns a <code>CompletableFuture</code> of their result at once. The
+ * standard output and standard error of every process are read at the same
+ * time, so a process that fills one pipe while the other is being read
+ * cannot stall, and each line goes either to a consumer as it arrives or
+ * into the <code>ProcessResult</code>.
+ * <p>
+ *
+ * The streams are read by a shared pool of at most
+ * <code>MAX_READERS</code> daemon threads that shrinks when they are idle.
+ * Each process holds two of them while it runs, so beyond
+ * <code>MAX_READERS / 2</code> processes the reading of the rest waits for
+ * a thread. The two reads of a process are handed to the pool together, so
+ * a process never waits with one stream read and the other queued behind
+ * processes that cannot finish. The standard input of every process is
+ * closed as soon as it starts, so a command that reads it sees its end
+ * instead of waiting for input that never comes. A command may be
+ * given a timeout, after which it is killed and its future fails with a
+ * <code>TimeoutException</code>, and cancelling a future kills its process.
+ * <p>
+ *
+ * A runner starts at most <code>getMaxProcesses</code> processes at a time
+ * and queues the rest without holding a thread for them, so a large batch
+ * of commands can be submitted at once.
+ *
+ * @version 1.0, October 19, 2026
+ * @version 1.1, October 19, 2026 Streams are read by a bounded pool and
+ *          standard input is closed at the start.
+ * @version 1.2, October 19, 2026 Queued jobs that cannot start are passed
+ *          over without recursion.
+ */
+
+/*
+ * version changes
+ * 1.1 bounded reader pool, standard input closed
+ * 1.2 finished loops over the queue instead of recursing through start
+ */
+public class ProcessRunner {
+
+    /**
+     * The most threads that read the outputs of processes at once, shared
+     * by every runner.
+     */
+    public static final int MAX_READERS = 64;
+
+    // private members
+    private final int maxProcesses; // the limit on processes alive at once
+
+    private final ArrayDeque<Job> queue = new ArrayDeque<Job>(); // jobs waiting for a slot
+
+    private int running; // the number of started jobs not yet finished
+
+    /**
+     * Constructor for a runner with no limit on the number of processes.
+     */
+    public ProcessRunner() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor for a runner that keeps at most <code>maxProcesses</code>
+     * processes alive at once.
+     *
+     * @param maxProcesses The limit, at least one.
+     */
+    public ProcessRunner(int maxProcesses) {
+        if(maxProcesses < 1)
+            throw new IllegalArgumentException("maxProcesses must be at least 1: " + maxProcesses);
+        this.maxProcesses = maxProcesses;
+    }
+
+    /**
+     * Returns the limit on processes alive at once.
+     */
+    public int getMaxProcesses() {
+        return maxProcesses;
+    }
+
+    /**
+     * Returns the number of processes started and not yet finished.
+     */
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    /**
+     * Returns the number of commands waiting to be started.
+     */
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Runs <code>command</code>, keeping both of its outputs in the result.
+     *
+     * @param command The program and its arguments.
+     * @return The future result of the process.
+     */
+    public CompletableFuture<ProcessResult> submit(String[] command) {
+        return submit(command, null, null, 0L, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs <code>command</code>, passing the lines of its outputs to the
+     * given consumers on the threads that read them.
+     *
+     * @param command The program and its arguments.
+     * @param output The consumer of the standard output, or null to keep it
+     *        in the result.
+     * @param errorOutput The consumer of the standard error, or null to keep
+     *        it in the result.
+     * @param timeout The time after the start at which the process is
+     *        killed, or zero for none.
+     * @param unit The unit of <code>timeout</code>.
+     * @return The future result of the process. It fails with an
+     *         <code>IOException</code> if the process cannot start and with
+     *         a <code>TimeoutException</code> if it runs out of time.
+     */
+    public CompletableFuture<ProcessResult> submit(String[] command, Consumer<String> output, Consumer<String> errorOutput, long timeout, TimeUnit unit) {
+        if(command.length == 0)
+            throw new IllegalArgumentException("Empty command");
+        final Job job = new Job(command.clone(), output, errorOutput, unit.toNanos(timeout));
+        boolean start;
+        synchronized(this) {
+            start = running < maxProcesses;
+            if(start)
+                running++;
+            else
+                queue.add(job);
+        }
+        if(start) {
+            if(!start(job))
+                finished();
+        } else {
+            job.future.whenComplete((r, t) -> {
+                synchronized(ProcessRunner.this) {
+                    queue.remove(job); // cancelled while waiting
+                }
+            });
+        }
+        return job.future;
+    }
+
+    /**
+     * Starts the process of <code>job</code> in a slot already counted in
+     * <code>running</code>.
+     *
+     * @return True if the process started and holds the slot, false if the
+     *         job was already cancelled or its process could not start, in
+     *         which case the caller must free the slot.
+     */
+    private boolean start(final Job job) {
+        if(job.future.isDone())
+            return false;
+        final Process process;
+        try {
+            process = new ProcessBuilder(job.command).start();
+        } catch(IOException e) {
+            job.future.completeExceptionally(e);
+            return false;
+        }
+        try {
+            process.getOutputStream().close(); // nothing is ever written to it
+        } catch(IOException e) {
+            // the process has already gone, which waitFor will report
+        }
+        job.future.whenComplete((r, t) -> {
+            if(t != null)
+                process.destroyForcibly(); // timed out or cancelled
+        });
+        final ScheduledFuture<?> timer = (job.timeout > 0L) ? Shared.TIMER.schedule(() -> {
+            job.future.completeExceptionally(new TimeoutException("Process timed out: " + job.command[0]));
+        }, job.timeout, TimeUnit.NANOSECONDS) : null;
+
+        CompletableFuture<String> output, errorOutput;
+        synchronized(Shared.DRAIN) { // next to each other in the queue
+            output = CompletableFuture.supplyAsync(() -> drain(process.getInputStream(), job.output), Shared.DRAIN);
+            errorOutput = CompletableFuture.supplyAsync(() -> drain(process.getErrorStream(), job.errorOutput), Shared.DRAIN);
+        }
+        output.thenCombineAsync(errorOutput, (o, e) -> new ProcessResult(waitFor(process), o, e), Shared.DRAIN).whenComplete((r, t) -> {
+            if(timer != null)
+                timer.cancel(false);
+            finished(); // free the slot before anyone waiting on the future looks
+            if(t == null) {
+                job.future.complete(r);
+            } else {
+                while((t instanceof CompletionException || t instanceof UncheckedIOException) && t.getCause() != null) {
+                    t = t.getCause();
+                }
+                job.future.completeExceptionally(t);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Frees the slot of a finished job and starts the next waiting one in
+     * it. Jobs that finish at once, because they were cancelled or cannot
+     * start, are passed over in a loop, so a long queue of them does not
+     * deepen the stack.
+     */
+    private void finished() {
+        while(true) {
+            Job next;
+            synchronized(this) {
+                next = queue.poll();
+                if(next == null) {
+                    running--;
+                    return;
+                }
+            }
+            if(start(next))
+                return;
+        }
+    }
+
+    /**
+     * Reads <code>in</code> to its end, passing each line to
+     * <code>consumer</code> or, if it is null, returning the lines.
+     */
+    private static String drain(InputStream in, Consumer<String> consumer) {
+        String ls = System.getProperty("line.separator");
+        StringBuffer result = new StringBuffer();
+        try(BufferedReader br = new BufferedReader(new InputStreamReader(in))) {
+            String lineIn;
+            while((lineIn = br.readLine()) != null) {
+                if(consumer != null) {
+                    consumer.accept(lineIn);
+                } else {
+                    result.append(lineIn);
+                    result.append(ls);
+                }
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
+
+    private static int waitFor(Process process) {
+        try {
+            return process.waitFor();
+        } catch(InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * A command waiting for or holding a slot.
+     */
+    private static class Job {
+        final String[] command;
+        final Consumer<String> output, errorOutput;
+        final long timeout; // in nanoseconds, zero for none
+        final CompletableFuture<ProcessResult> future = new CompletableFuture<ProcessResult>();
+
+        Job(String[] command, Consumer<String> output, Consumer<String> errorOutput, long timeout) {
+            this.command = command;
+            this.output = output;
+            this.errorOutput = errorOutput;
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * Holds the threads shared by every runner until they are first needed.
+     */
+    private static class Shared {
+        static final ThreadPoolExecutor DRAIN = drainExecutor();
+
+        static final ScheduledThreadPoolExecutor TIMER = timer();
+
+        private static ThreadPoolExecutor drainExecutor() {
+            ThreadPoolExecutor drain = new ThreadPoolExecutor(MAX_READERS, MAX_READERS, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), daemonFactory("process-reader"));
+            drain.allowCoreThreadTimeOut(true);
+            return drain;
+        }
+
+        private static ScheduledThreadPoolExecutor timer() {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, daemonFactory("process-timer"));
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+
+        private static ThreadFactory daemonFactory(final String name) {
+            return new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, name);
+                    t.setDaemon(true);
+                    return t;
+                }
+            };
+        }
+    }
+}
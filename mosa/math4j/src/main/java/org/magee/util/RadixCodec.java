@@ -0,0 +1,595 @@
+/**
+ * RadixCodec.java A class that converts bytes and big integers to and from
+ * the digits of a radix.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.util;
+
+// import other packages
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * The <code>RadixCodec</code> class writes bytes as binary, octal or
+ * hexadecimal digits and reads them back. Every byte is written as a fixed
+ * number of digits, eight in binary, three in octal and two in hexadecimal,
+ * so a stream of digits can be cut anywhere on a multiple of that width.
+ * <p>
+ *
+ * Encoding looks the digits of a byte up in a table of 256 entries, and
+ * decoding looks each digit up in a table of 128 character values, so no
+ * <code>String</code> or other object is made for a value. The array
+ * methods work on a range of an array, and the buffer methods read from
+ * the position of one buffer and write at the position of another, like a
+ * <code>java.nio.charset.CharsetEncoder</code>: they convert as many whole
+ * bytes as both buffers allow and leave the rest, such as half of a
+ * hexadecimal pair at the end of a read, for the next call. Decoding
+ * accepts digits in either case and throws a
+ * <code>NumberFormatException</code> at the first character that is not a
+ * digit.
+ * <p>
+ *
+ * The static <code>toString</code> and <code>parse</code> methods convert
+ * a <code>BigInteger</code> of any length in any radix. Binary and
+ * hexadecimal go through the byte tables in linear time; other radixes are
+ * split in half by a cached power of the radix and converted recursively,
+ * which turns the quadratic digit-at-a-time conversion into a few large
+ * multiplications and divisions.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class RadixCodec {
+
+    /**
+     * The value of each ASCII character as a digit, or -1.
+     */
+    private static final byte[][] DIGIT_VALUES = new byte[Character.MAX_RADIX + 1][];
+
+    /**
+     * Numbers with fewer digits than this are converted by
+     * <code>BigInteger</code> itself.
+     */
+    private static final int RECURSION_THRESHOLD = 512;
+
+    /**
+     * The powers radix<sup>2<sup>k</sup></sup> by radix then k, filled in
+     * as they are needed.
+     */
+    private static final BigInteger[][] POWERS = new BigInteger[Character.MAX_RADIX + 1][];
+
+    /**
+     * Eight binary digits per byte.
+     */
+    public static final RadixCodec BINARY = new RadixCodec(2, 8, false);
+
+    /**
+     * Three octal digits per byte, from 000 to 377.
+     */
+    public static final RadixCodec OCTAL = new RadixCodec(8, 3, false);
+
+    /**
+     * Two lower case hexadecimal digits per byte.
+     */
+    public static final RadixCodec HEXADECIMAL = new RadixCodec(16, 2, false);
+
+    /**
+     * Two upper case hexadecimal digits per byte.
+     */
+    public static final RadixCodec HEXADECIMAL_UPPER_CASE = new RadixCodec(16, 2, true);
+
+    // private members
+    private final int radix; // the radix of the digits
+
+    private final int width; // the number of digits per byte
+
+    private final char[] digits; // the digits of each byte, width per byte
+
+    private final byte[] values; // the value of each ASCII digit, or -1
+
+    /**
+     * Constructor that builds the tables.
+     */
+    private RadixCodec(int radix, int width, boolean upperCase) {
+        this.radix = radix;
+        this.width = width;
+        this.digits = new char[256 * width];
+        for(int b = 0; b < 256; b++) {
+            int v = b;
+            for(int i = width - 1; i >= 0; i--) {
+                char c = Character.forDigit(v % radix, radix);
+                digits[b * width + i] = upperCase ? Character.toUpperCase(c) : c;
+                v /= radix;
+            }
+        }
+        this.values = digitValues(radix);
+    }
+
+    /**
+     * Returns the table of digit values for <code>radix</code>.
+     */
+    private static byte[] digitValues(int radix) {
+        synchronized(DIGIT_VALUES) {
+            if(DIGIT_VALUES[radix] == null) {
+                byte[] table = new byte[128];
+                for(int c = 0; c < 128; c++) {
+                    table[c] = (byte) Character.digit((char) c, radix);
+                }
+                DIGIT_VALUES[radix] = table;
+            }
+            return DIGIT_VALUES[radix];
+        }
+    }
+
+    /**
+     * Returns the radix of the digits.
+     */
+    public int getRadix() {
+        return radix;
+    }
+
+    /**
+     * Returns the number of digits written for each byte.
+     */
+    public int getDigitsPerByte() {
+        return width;
+    }
+
+    /**
+     * Writes <code>len</code> bytes of <code>src</code> from
+     * <code>srcOff</code> as digits into <code>dst</code> from
+     * <code>dstOff</code>.
+     *
+     * @param src The bytes to encode.
+     * @param srcOff The index of the first byte.
+     * @param len The number of bytes.
+     * @param dst The array for the digits, with room for
+     *        <code>len * getDigitsPerByte()</code> of them.
+     * @param dstOff The index of the first digit.
+     * @return The number of digits written.
+     */
+    public int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len * width);
+        char[] digits = this.digits;
+        int end = srcOff + len;
+        if(width == 2) {
+            for(int i = srcOff, j = dstOff; i < end; i++, j += 2) {
+                int t = (src[i] & 0xFF) << 1;
+                dst[j] = digits[t];
+                dst[j + 1] = digits[t + 1];
+            }
+        } else {
+            for(int i = srcOff, j = dstOff; i < end; i++, j += width) {
+                System.arraycopy(digits, (src[i] & 0xFF) * width, dst, j, width);
+            }
+        }
+        return len * width;
+    }
+
+    /**
+     * Writes <code>len</code> bytes of <code>src</code> from
+     * <code>srcOff</code> as ASCII digits into <code>dst</code> from
+     * <code>dstOff</code>.
+     *
+     * @param src The bytes to encode.
+     * @param srcOff The index of the first byte.
+     * @param len The number of bytes.
+     * @param dst The array for the digits, with room for
+     *        <code>len * getDigitsPerByte()</code> of them.
+     * @param dstOff The index of the first digit.
+     * @return The number of digits written.
+     */
+    public int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len * width);
+        char[] digits = this.digits;
+        int end = srcOff + len;
+        for(int i = srcOff, j = dstOff; i < end; i++) {
+            int t = (src[i] & 0xFF) * width;
+            for(int k = 0; k < width; k++) {
+                dst[j++] = (byte) digits[t + k];
+            }
+        }
+        return len * width;
+    }
+
+    /**
+     * Returns the digits of <code>bytes</code> as a string.
+     *
+     * @param bytes The bytes to encode.
+     * @return A string of <code>bytes.length * getDigitsPerByte()</code>
+     *         digits.
+     */
+    public String encode(byte[] bytes) {
+        char[] a = new char[bytes.length * width];
+        encode(bytes, 0, bytes.length, a, 0);
+        return new String(a);
+    }
+
+    /**
+     * Encodes the remaining bytes of <code>src</code> into the remaining
+     * space of <code>dst</code>, as many whole bytes as there is room for.
+     * Both positions are advanced past what was converted.
+     *
+     * @param src The bytes to encode.
+     * @param dst The buffer for the digits.
+     * @return The number of bytes encoded.
+     */
+    public int encode(ByteBuffer src, CharBuffer dst) {
+        int n = Math.min(src.remaining(), dst.remaining() / width);
+        if(src.hasArray() && dst.hasArray()) {
+            encode(src.array(), src.arrayOffset() + src.position(), n, dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.position() + n);
+            dst.position(dst.position() + n * width);
+        } else {
+            for(int i = 0; i < n; i++) {
+                int t = (src.get() & 0xFF) * width;
+                dst.put(digits, t, width);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Encodes the remaining bytes of <code>src</code> as ASCII digits into
+     * the remaining space of <code>dst</code>, as many whole bytes as there
+     * is room for. Both positions are advanced past what was converted.
+     *
+     * @param src The bytes to encode.
+     * @param dst The buffer for the digits.
+     * @return The number of bytes encoded.
+     */
+    public int encode(ByteBuffer src, ByteBuffer dst) {
+        int n = Math.min(src.remaining(), dst.remaining() / width);
+        if(src.hasArray() && dst.hasArray()) {
+            encode(src.array(), src.arrayOffset() + src.position(), n, dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.position() + n);
+            dst.position(dst.position() + n * width);
+        } else {
+            for(int i = 0; i < n; i++) {
+                int t = (src.get() & 0xFF) * width;
+                for(int k = 0; k < width; k++) {
+                    dst.put((byte) digits[t + k]);
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Reads <code>len</code> digits of <code>src</code> from
+     * <code>srcOff</code> into bytes of <code>dst</code> from
+     * <code>dstOff</code>.
+     *
+     * @param src The digits to decode.
+     * @param srcOff The index of the first digit.
+     * @param len The number of digits, a multiple of
+     *        <code>getDigitsPerByte()</code>.
+     * @param dst The array for the bytes.
+     * @param dstOff The index of the first byte.
+     * @return The number of bytes written.
+     * @throws NumberFormatException If a character is not a digit or a
+     *         group of digits is more than a byte.
+     */
+    public int decode(char[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        if(len % width != 0)
+            throw new IllegalArgumentException("Digit count " + len + " is not a multiple of " + width);
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len / width);
+        byte[] values = this.values;
+        int end = srcOff + len;
+        if(width == 2) {
+            for(int i = srcOff, j = dstOff; i < end; i += 2, j++) {
+                char c0 = src[i], c1 = src[i + 1];
+                int v0 = (c0 < 128) ? values[c0] : -1;
+                int v1 = (c1 < 128) ? values[c1] : -1;
+                if((v0 | v1) < 0)
+                    throw badDigit(v0 < 0 ? c0 : c1, v0 < 0 ? i : i + 1);
+                dst[j] = (byte) ((v0 << 4) | v1);
+            }
+        } else {
+            for(int i = srcOff, j = dstOff; i < end; j++) {
+                int v = 0;
+                for(int k = 0; k < width; k++, i++) {
+                    char c = src[i];
+                    int d = (c < 128) ? values[c] : -1;
+                    if(d < 0)
+                        throw badDigit(c, i);
+                    v = v * radix + d;
+                }
+                if(v > 0xFF)
+                    throw new NumberFormatException("Value out of range for a byte at index " + (i - width));
+                dst[j] = (byte) v;
+            }
+        }
+        return len / width;
+    }
+
+    /**
+     * Reads <code>len</code> ASCII digits of <code>src</code> from
+     * <code>srcOff</code> into bytes of <code>dst</code> from
+     * <code>dstOff</code>.
+     *
+     * @param src The digits to decode.
+     * @param srcOff The index of the first digit.
+     * @param len The number of digits, a multiple of
+     *        <code>getDigitsPerByte()</code>.
+     * @param dst The array for the bytes.
+     * @param dstOff The index of the first byte.
+     * @return The number of bytes written.
+     * @throws NumberFormatException If a character is not a digit or a
+     *         group of digits is more than a byte.
+     */
+    public int decode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        if(len % width != 0)
+            throw new IllegalArgumentException("Digit count " + len + " is not a multiple of " + width);
+        checkRange(src.length, srcOff, len);
+        checkRange(dst.length, dstOff, len / width);
+        byte[] values = this.values;
+        int end = srcOff + len;
+        for(int i = srcOff, j = dstOff; i < end; j++) {
+            int v = 0;
+            for(int k = 0; k < width; k++, i++) {
+                int c = src[i];
+                int d = (c >= 0) ? values[c] : -1; // bytes over 127 are negative
+                if(d < 0)
+                    throw badDigit((char) (c & 0xFF), i);
+                v = v * radix + d;
+            }
+            if(v > 0xFF)
+                throw new NumberFormatException("Value out of range for a byte at index " + (i - width));
+            dst[j] = (byte) v;
+        }
+        return len / width;
+    }
+
+    /**
+     * Returns the bytes whose digits are <code>s</code>.
+     *
+     * @param s The digits, a multiple of <code>getDigitsPerByte()</code>
+     *        long.
+     * @return The decoded bytes.
+     * @throws NumberFormatException If a character is not a digit or a
+     *         group of digits is more than a byte.
+     */
+    public byte[] decode(CharSequence s) {
+        char[] a = s.toString().toCharArray();
+        byte[] bytes = new byte[a.length / width];
+        decode(a, 0, a.length, bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * Decodes the remaining digits of <code>src</code> into the remaining
+     * space of <code>dst</code>, as many whole bytes as there are digits and
+     * room for. Digits of an incomplete byte are left in <code>src</code>.
+     * Both positions are advanced past what was converted.
+     *
+     * @param src The digits to decode.
+     * @param dst The buffer for the bytes.
+     * @return The number of bytes decoded.
+     * @throws NumberFormatException If a character is not a digit or a
+     *         group of digits is more than a byte.
+     */
+    public int decode(CharBuffer src, ByteBuffer dst) {
+        int n = Math.min(src.remaining() / width, dst.remaining());
+        if(src.hasArray() && dst.hasArray()) {
+            decode(src.array(), src.arrayOffset() + src.position(), n * width, dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.position() + n * width);
+            dst.position(dst.position() + n);
+        } else {
+            char[] group = new char[width];
+            byte[] one = new byte[1];
+            for(int i = 0; i < n; i++) {
+                src.get(group);
+                decode(group, 0, width, one, 0);
+                dst.put(one[0]);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Decodes the remaining ASCII digits of <code>src</code> into the
+     * remaining space of <code>dst</code>, as many whole bytes as there are
+     * digits and room for. Digits of an incomplete byte are left in
+     * <code>src</code>. Both positions are advanced past what was converted.
+     *
+     * @param src The digits to decode.
+     * @param dst The buffer for the bytes.
+     * @return The number of bytes decoded.
+     * @throws NumberFormatException If a character is not a digit or a
+     *         group of digits is more than a byte.
+     */
+    public int decode(ByteBuffer src, ByteBuffer dst) {
+        int n = Math.min(src.remaining() / width, dst.remaining());
+        if(src.hasArray() && dst.hasArray()) {
+            decode(src.array(), src.arrayOffset() + src.position(), n * width, dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.position() + n * width);
+            dst.position(dst.position() + n);
+        } else {
+            byte[] group = new byte[width];
+            byte[] one = new byte[1];
+            for(int i = 0; i < n; i++) {
+                src.get(group);
+                decode(group, 0, width, one, 0);
+                dst.put(one[0]);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Returns the digits of <code>n</code> in <code>radix</code>, with a
+     * leading minus sign if it is negative, the same string as
+     * <code>n.toString(radix)</code>.
+     *
+     * @param n The number to convert.
+     * @param radix A radix from <code>Character.MIN_RADIX</code> to
+     *        <code>Character.MAX_RADIX</code>.
+     * @return The digits of <code>n</code>.
+     */
+    public static String toString(BigInteger n, int radix) {
+        checkRadix(radix);
+        StringBuffer sb = new StringBuffer();
+        if(n.signum() < 0)
+            sb.append('-');
+        BigInteger abs = n.abs();
+        if(radix == 2 || radix == 16) {
+            String s = (radix == 2 ? BINARY : HEXADECIMAL).encode(abs.toByteArray());
+            int start = 0;
+            while(start < s.length() - 1 && s.charAt(start) == '0') {
+                start++;
+            }
+            sb.append(s, start, s.length());
+        } else {
+            toString(abs, radix, sb, 0);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends the digits of <code>n</code>, not negative, padded with zeros
+     * to <code>width</code> digits.
+     */
+    private static void toString(BigInteger n, int radix, StringBuffer sb, int width) {
+        int digits = (int) ((n.bitLength() - 1) * Math.log(2) / Math.log(radix)); // at most the digit count - 1
+        if(digits < RECURSION_THRESHOLD) {
+            String s = n.toString(radix);
+            for(int i = s.length(); i < width; i++) {
+                sb.append('0');
+            }
+            sb.append(s);
+            return;
+        }
+        // split off the low 2^k digits, with radix^(2^k) <= n so the high half is not empty
+        int k = 31 - Integer.numberOfLeadingZeros(digits);
+        BigInteger[] qr = n.divideAndRemainder(power(radix, k));
+        int low = 1 << k;
+        toString(qr[0], radix, sb, width > low ? width - low : 0);
+        toString(qr[1], radix, sb, low);
+    }
+
+    /**
+     * Returns the number whose digits in <code>radix</code> are
+     * <code>s</code>, with an optional leading sign, the same number as
+     * <code>new BigInteger(s, radix)</code>.
+     *
+     * @param s The digits to convert.
+     * @param radix A radix from <code>Character.MIN_RADIX</code> to
+     *        <code>Character.MAX_RADIX</code>.
+     * @return The number.
+     * @throws NumberFormatException If <code>s</code> is not a number in
+     *         <code>radix</code>.
+     */
+    public static BigInteger parse(CharSequence s, int radix) {
+        checkRadix(radix);
+        int from = 0;
+        boolean negative = false;
+        if(s.length() > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+            negative = s.charAt(0) == '-';
+            from = 1;
+        }
+        if(from == s.length())
+            throw new NumberFormatException("No digits: \"" + s + "\"");
+        byte[] values = digitValues(radix);
+        for(int i = from; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if(c >= 128 || values[c] < 0)
+                throw badDigit(c, i);
+        }
+
+        BigInteger n;
+        if(radix == 2 || radix == 16) {
+            RadixCodec codec = (radix == 2) ? BINARY : HEXADECIMAL;
+            int len = s.length() - from;
+            int pad = (codec.width - len % codec.width) % codec.width;
+            char[] a = new char[len + pad];
+            for(int i = 0; i < pad; i++) {
+                a[i] = '0';
+            }
+            for(int i = 0; i < len; i++) {
+                a[pad + i] = s.charAt(from + i);
+            }
+            byte[] magnitude = new byte[a.length / codec.width];
+            codec.decode(a, 0, a.length, magnitude, 0);
+            n = new BigInteger(1, magnitude);
+        } else {
+            n = parse(s, radix, from, s.length());
+        }
+        return negative ? n.negate() : n;
+    }
+
+    /**
+     * Returns the number whose digits are <code>s</code> from
+     * <code>from</code> to <code>to - 1</code>.
+     */
+    private static BigInteger parse(CharSequence s, int radix, int from, int to) {
+        int len = to - from;
+        if(len <= RECURSION_THRESHOLD)
+            return new BigInteger(s.subSequence(from, to).toString(), radix);
+        int k = 31 - Integer.numberOfLeadingZeros(len - 1); // 2^k < len
+        int mid = to - (1 << k);
+        return parse(s, radix, from, mid).multiply(power(radix, k)).add(parse(s, radix, mid, to));
+    }
+
+    /**
+     * Returns radix<sup>2<sup>k</sup></sup>, squaring the largest cached
+     * power up to it.
+     */
+    private static BigInteger power(int radix, int k) {
+        synchronized(POWERS) {
+            BigInteger[] powers = POWERS[radix];
+            if(powers == null) {
+                powers = new BigInteger[] { BigInteger.valueOf(radix) };
+            }
+            if(k >= powers.length) {
+                BigInteger[] grown = new BigInteger[k + 1];
+                System.arraycopy(powers, 0, grown, 0, powers.length);
+                for(int i = powers.length; i <= k; i++) {
+                    grown[i] = grown[i - 1].multiply(grown[i - 1]);
+                }
+                powers = grown;
+            }
+            POWERS[radix] = powers;
+            return powers[k];
+        }
+    }
+
+    private static void checkRadix(int radix) {
+        if(radix < Character.MIN_RADIX || radix > Character.MAX_RADIX)
+            throw new IllegalArgumentException("Radix out of range: " + radix);
+    }
+
+    private static void checkRange(int length, int off, int len) {
+        if(off < 0 || len < 0 || off > length - len)
+            throw new ArrayIndexOutOfBoundsException("Range [" + off + ", " + off + " + " + len + ") out of bounds for length " + length);
+    }
+
+    private static NumberFormatException badDigit(char c, int index) {
+        return new NumberFormatException("Not a digit: '" + c + "' at index " + index);
+    }
+}
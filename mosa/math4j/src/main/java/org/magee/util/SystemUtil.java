@@ -22,22 +22,84 @@
 
 package org.magee.util;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.StreamTokenizer;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * 
  * @author Anthony Magee
+ * @version 1.1, October 19, 2026 Commands run through a
+ *          <code>ProcessRunner</code>, which reads standard error as well
+ *          and can run them asynchronously.
  */
 public class SystemUtil {
 
+    /**
+     * The runner of the commands of this class, with no limit on the number
+     * of processes.
+     */
+    private static final ProcessRunner RUNNER = new ProcessRunner();
+
     public static String exec(String command) throws IOException {
-        String ls = System.getProperty("line.separator");
-        StringBuffer result = new StringBuffer();
+        try {
+            return execAsync(command).get().getOutput();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + command);
+        } catch(ExecutionException e) {
+            if(e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Runs <code>command</code> without waiting for it, keeping both of its
+     * outputs in the result.
+     *
+     * @param command The command line, split into arguments at spaces
+     *        outside of quotes.
+     * @return The future result of the process.
+     */
+    public static CompletableFuture<ProcessResult> execAsync(String command) {
+        return RUNNER.submit(parseCommand(command));
+    }
+
+    /**
+     * Runs <code>command</code> without waiting for it, passing the lines of
+     * its outputs to the given consumers as they are read.
+     *
+     * @param command The command line, split into arguments at spaces
+     *        outside of quotes.
+     * @param output The consumer of the standard output, or null to keep it
+     *        in the result.
+     * @param errorOutput The consumer of the standard error, or null to keep
+     *        it in the result.
+     * @param timeout The time after which the process is killed, or zero
+     *        for none.
+     * @param unit The unit of <code>timeout</code>.
+     * @return The future result of the process; cancelling it kills the
+     *         process.
+     */
+    public static CompletableFuture<ProcessResult> execAsync(String command, Consumer<String> output, Consumer<String> errorOutput, long timeout, TimeUnit unit) {
+        return RUNNER.submit(parseCommand(command), output, errorOutput, timeout, unit);
+    }
+
+    /**
+     * Splits <code>command</code> into the program and its arguments at
+     * spaces, keeping text in single or double quotes together.
+     *
+     * @param command The command line.
+     * @return The program and its arguments.
+     */
+    public static String[] parseCommand(String command) {
         ArrayList<String> argsArray = new ArrayList<String>();
         StreamTokenizer st = new StreamTokenizer(new StringReader(command));
         st.resetSyntax();
@@ -54,24 +116,18 @@ public class SystemUtil {
         st.quoteChar('\'');
         st.whitespaceChars(' ', ' ');
 
-        while(st.nextToken() != StreamTokenizer.TT_EOF) {
-            argsArray.add(st.sval);
+        try {
+            while(st.nextToken() != StreamTokenizer.TT_EOF) {
+                argsArray.add(st.sval);
+            }
+        } catch(IOException e) { // a StringReader does not fail
+            throw new IllegalStateException(e);
         }
 
         String[] args = new String[1];
         // System.out.println(argsArray.toString()); //check resulting array
         // here for validity
-        Process p = Runtime.getRuntime().exec(argsArray.toArray(args));
-
-        BufferedReader br = new BufferedReader(new InputStreamReader(p.getInputStream()));
-
-        String lineIn = "";
-        while((lineIn = br.readLine()) != null) {
-            result.append(lineIn);
-            result.append(ls);
-        }
-
-        return result.toString();
+        return argsArray.toArray(args);
     }
 
 }
@@ -23,7 +23,9 @@
 package org.magee.util;
 
 // import other packages
-import java.util.StringTokenizer;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 
 /**
  * The <code>TextUtil</code> class is for manipulating strings. It cannot be
@@ -38,6 +40,8 @@ import java.util.StringTokenizer;
  * 
  * @author Anthony W. Magee
  * @version 1.0, July 18, 2001
+ * @version 1.1, October 19, 2026 Words are found by a
+ *          <code>TitleCaseTransformer</code>, which can also stream.
  */
 
 /*
@@ -91,39 +95,22 @@ public class TextUtil {
      * @param delimit The delimiter to be used
      */
     public static String titleCase(String str, LetterCase changeOption, String delimit) {
-        StringBuffer reply = new StringBuffer();
-        StringTokenizer st = new StringTokenizer(str, delimit);
-        int tokenCount = 1;
-        int totalTokens = st.countTokens();
-        while(st.hasMoreTokens()) {
-            char[] c = st.nextToken().toCharArray();
-            c[0] = Character.toUpperCase(c[0]);
-
-            switch(changeOption) {
-                case IGNORE: // option to ignore secondary letters
-                    reply.append(new String(c));
-                    break;
-                case LOWERCASE: // option to lowercase secondary letters
-                    for(int i = 1; i < c.length; i++) {
-                        c[i] = Character.toLowerCase(c[i]);
-                    }
-                    reply.append(new String(c));
-                    break;
-                case UPPERCASE: // option to uppercase secondary letters
-                    for(int i = 1; i < c.length; i++) {
-                        c[i] = Character.toUpperCase(c[i]);
-                    }
-                    reply.append(new String(c));
-                    break;
-                default: // throw exception if user provived irregular value
-                    throw new RuntimeException("changeOption must be one of the following: TextUtil.IGNORE, TextUtil.LOWERCASE, TextUtil.UPPERCASE");
-            }
-
-            if(tokenCount < totalTokens)
-                reply.append(delimit);
-            tokenCount++;
-        }
+        return new TitleCaseTransformer(changeOption, delimit).transform(str);
+    }
 
-        return reply.toString();
+    /**
+     * This overload will do the same as
+     * <code>titleCase(String, LetterCase, String)</code> on all of the text
+     * read from <code>in</code>, writing the result to <code>out</code>
+     * without holding the text in memory. Neither stream is closed.
+     *
+     * @param in The text to be manipulated
+     * @param out The stream for the result
+     * @param changeOption The option to modify secondary letters
+     * @param delimit The delimiter to be used
+     * @throws IOException If either stream fails
+     */
+    public static void titleCase(Reader in, Writer out, LetterCase changeOption, String delimit) throws IOException {
+        new TitleCaseTransformer(changeOption, delimit).transform(in, out);
     }
 }
\ No newline at end of file
@@ -0,0 +1,448 @@
+/**
+ * TitleCaseTransformer.java A class that title cases text streamed from a
+ * <code>Reader</code> to a <code>Writer</code>.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.util;
+
+// import other packages
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.magee.util.TextUtil.LetterCase;
+
+/**
+ * The <code>TitleCaseTransformer</code> class does the work of
+ * <code>TextUtil.titleCase</code> on text of any length. The text is cut
+ * into words by delimiters; the first letter of every word is capitalized,
+ * the other letters are changed as the <code>LetterCase</code> option says,
+ * and the words are written joined by a separator, so runs of delimiters
+ * and delimiters at the ends of the text are dropped.
+ * <p>
+ *
+ * Delimiters may be single characters, as in <code>titleCase</code>, or
+ * strings of several characters such as "\r\n"; where two delimiters could
+ * start at the same place the longer one is taken. A <code>Reader</code> is
+ * transformed a <code>CharBuffer</code> at a time, and the state of the
+ * current word and the start of a delimiter cut by the end of a buffer are
+ * carried to the next one, so the output is the same as transforming the
+ * whole text at once.
+ * <p>
+ *
+ * <code>parallelTransform</code> reads large blocks and splits each into
+ * pieces at two adjacent characters that belong to no delimiter. Such a
+ * place is always inside a word, so every piece but the first of a stream
+ * can be transformed independently and the pieces written in order.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class TitleCaseTransformer {
+
+    /**
+     * The longest delimiter allowed.
+     */
+    public static final int MAX_DELIMITER_LENGTH = 1024;
+
+    /**
+     * The number of characters read by <code>transform</code> at a time.
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * The number of characters read by <code>parallelTransform</code> at a
+     * time.
+     */
+    private static final int BLOCK_SIZE = 1 << 22;
+
+    /**
+     * Pieces shorter than this are not worth transforming on another thread.
+     */
+    private static final int MIN_PIECE_SIZE = 1 << 16;
+
+    // private members
+    private final LetterCase changeOption; // what to do with the other letters
+
+    private final char[][] delimiters; // the delimiters, longest first
+
+    private final char[] separator; // written between words
+
+    private final boolean[] startsDelimiter = new boolean[256]; // the first characters of the delimiters
+
+    private final boolean[] inDelimiter = new boolean[256]; // every character of the delimiters
+
+    private final StringBuffer highChars = new StringBuffer(); // delimiter characters past 255
+
+    /**
+     * Constructor with the delimiters of <code>TextUtil.titleCase</code>:
+     * every character of <code>delimit</code> is a delimiter, and the words
+     * are joined by <code>delimit</code>.
+     *
+     * @param changeOption The option to modify secondary letters.
+     * @param delimit The delimiter characters.
+     */
+    public TitleCaseTransformer(LetterCase changeOption, String delimit) {
+        this(changeOption, split(delimit), delimit);
+    }
+
+    /**
+     * Constructor with delimiters of any length.
+     *
+     * @param changeOption The option to modify secondary letters.
+     * @param delimiters The delimiters, none empty or longer than
+     *        <code>MAX_DELIMITER_LENGTH</code>.
+     * @param separator The text written between words.
+     */
+    public TitleCaseTransformer(LetterCase changeOption, String[] delimiters, String separator) {
+        if(changeOption == null)
+            throw new IllegalArgumentException("changeOption must be one of the following: IGNORE, LOWERCASE, UPPERCASE");
+        this.changeOption = changeOption;
+        this.separator = separator.toCharArray();
+
+        List<char[]> list = new ArrayList<char[]>();
+        for(int i = 0; i < delimiters.length; i++) {
+            int length = delimiters[i].length();
+            if(length == 0 || length > MAX_DELIMITER_LENGTH)
+                throw new IllegalArgumentException("Delimiter length must be from 1 to " + MAX_DELIMITER_LENGTH + ": " + length);
+            int at = 0;
+            while(at < list.size() && list.get(at).length >= length) {
+                at++;
+            }
+            list.add(at, delimiters[i].toCharArray());
+        }
+        this.delimiters = list.toArray(new char[list.size()][]);
+
+        for(int i = 0; i < this.delimiters.length; i++) {
+            char[] d = this.delimiters[i];
+            for(int j = 0; j < d.length; j++) {
+                if(d[j] < 256) {
+                    inDelimiter[d[j]] = true;
+                    if(j == 0)
+                        startsDelimiter[d[j]] = true;
+                } else if(highChars.indexOf(String.valueOf(d[j])) < 0) {
+                    highChars.append(d[j]);
+                }
+            }
+        }
+    }
+
+    private static String[] split(String delimit) {
+        String[] s = new String[delimit.length()];
+        for(int i = 0; i < s.length; i++) {
+            s[i] = delimit.substring(i, i + 1);
+        }
+        return s;
+    }
+
+    /**
+     * Returns the transformed <code>str</code>.
+     *
+     * @param str The <code>String</code> to be manipulated.
+     * @return The title cased text.
+     */
+    public String transform(String str) {
+        char[] a = str.toCharArray();
+        Output out = new Output(a.length + 16);
+        run(a, 0, a.length, true, new State(), out);
+        return new String(out.a, 0, out.n);
+    }
+
+    /**
+     * Transforms everything read from <code>in</code> to <code>out</code>,
+     * one buffer at a time. Neither stream is closed.
+     *
+     * @param in The text to transform.
+     * @param out The stream for the title cased text.
+     * @throws IOException If either stream fails.
+     */
+    public void transform(Reader in, Writer out) throws IOException {
+        CharBuffer buf = CharBuffer.allocate(CHUNK_SIZE);
+        Output o = new Output(CHUNK_SIZE + 16);
+        State state = new State();
+        boolean end = false;
+        while(!end) {
+            end = in.read(buf) < 0;
+            buf.flip();
+            o.n = 0;
+            int used = run(buf.array(), buf.position(), buf.limit(), end, state, o);
+            buf.position(used);
+            buf.compact();
+            out.write(o.a, 0, o.n);
+        }
+    }
+
+    /**
+     * Transforms everything read from <code>in</code> to <code>out</code>,
+     * reading large blocks and transforming the pieces of each block
+     * concurrently. The output is the same as <code>transform</code>'s.
+     * Neither stream is closed.
+     *
+     * @param in The text to transform.
+     * @param out The stream for the title cased text.
+     * @throws IOException If either stream fails.
+     */
+    public void parallelTransform(Reader in, Writer out) throws IOException {
+        ForkJoinPool pool = PoolHolder.POOL;
+        char[] block = new char[BLOCK_SIZE];
+        State state = new State();
+        int carried = 0; // the start of a delimiter left from the last block
+        boolean end = false;
+        while(!end) {
+            int n = carried;
+            while(n < block.length) {
+                int r = in.read(block, n, block.length - n);
+                if(r < 0) {
+                    end = true;
+                    break;
+                }
+                n += r;
+            }
+
+            int[] bounds = splitPoints(block, n, Math.max(1, Math.min(pool.getParallelism() * 2, n / MIN_PIECE_SIZE)));
+            int pieces = bounds.length - 1;
+            State[] states = new State[pieces];
+            Output[] outputs = new Output[pieces];
+            int[] used = new int[pieces];
+            states[0] = state;
+            for(int k = 1; k < pieces; k++) {
+                states[k] = new State();
+                states[k].inWord = true; // a piece starts between two letters of a word
+                states[k].emitted = true;
+            }
+            PieceTask task = new PieceTask(block, bounds, end, states, outputs, used, 0, pieces);
+            if(pieces > 1)
+                pool.invoke(task);
+            else
+                task.compute();
+
+            for(int k = 0; k < pieces; k++) {
+                out.write(outputs[k].a, 0, outputs[k].n);
+            }
+            state = states[pieces - 1];
+            carried = n - used[pieces - 1];
+            System.arraycopy(block, used[pieces - 1], block, 0, carried);
+        }
+    }
+
+    /**
+     * Returns the bounds of up to <code>pieces</code> pieces of the first
+     * <code>n</code> characters of <code>a</code>, each but the first
+     * starting between two characters that belong to no delimiter.
+     */
+    private int[] splitPoints(char[] a, int n, int pieces) {
+        int[] bounds = new int[pieces + 1];
+        int count = 0;
+        for(int k = 1; k < pieces; k++) {
+            int p = Math.max((int) ((long) n * k / pieces), bounds[count] + 1);
+            while(p < n && (isDelimiterChar(a[p - 1]) || isDelimiterChar(a[p]))) {
+                p++;
+            }
+            if(p < n)
+                bounds[++count] = p;
+        }
+        bounds[++count] = n;
+        int[] trimmed = new int[count + 1];
+        System.arraycopy(bounds, 0, trimmed, 0, count + 1);
+        return trimmed;
+    }
+
+    private boolean isDelimiterChar(char c) {
+        return (c < 256) ? inDelimiter[c] : highChars.length() > 0 && highChars.indexOf(String.valueOf(c)) >= 0;
+    }
+
+    private boolean startsDelimiter(char c) {
+        return (c < 256) ? startsDelimiter[c] : highChars.length() > 0 && isHighStart(c);
+    }
+
+    private boolean isHighStart(char c) {
+        for(int i = 0; i < delimiters.length; i++) {
+            if(delimiters[i][0] == c)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the length of the longest delimiter at <code>i</code>, zero if
+     * there is none, or -1 if, unless <code>end</code> is true, a longer one
+     * might still end past <code>to</code>.
+     */
+    private int delimiterAt(char[] a, int i, int to, boolean end) {
+        for(int k = 0; k < delimiters.length; k++) { // longest first
+            char[] d = delimiters[k];
+            if(d[0] != a[i])
+                continue;
+            int j = 1;
+            while(j < d.length && i + j < to && a[i + j] == d[j]) {
+                j++;
+            }
+            if(j == d.length)
+                return j;
+            if(i + j == to && !end)
+                return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * Transforms <code>a</code> from <code>from</code> to <code>to</code>
+     * into <code>out</code> and returns the index after the last character
+     * used. Unless <code>end</code> is true, a delimiter that might go on
+     * past <code>to</code> is left for the next call.
+     */
+    private int run(char[] a, int from, int to, boolean end, State state, Output out) {
+        char[] separator = this.separator;
+        boolean inWord = state.inWord, emitted = state.emitted;
+        int i = from;
+        while(i < to) {
+            char c = a[i];
+            if(startsDelimiter(c)) {
+                int d = delimiterAt(a, i, to, end);
+                if(d < 0)
+                    break;
+                if(d > 0) {
+                    inWord = false;
+                    i += d;
+                    continue;
+                }
+            }
+            if(!inWord) {
+                if(emitted)
+                    out.append(separator);
+                out.append(Character.toUpperCase(c));
+                inWord = true;
+                emitted = true;
+            } else {
+                switch(changeOption) {
+                    case LOWERCASE:
+                        out.append(Character.toLowerCase(c));
+                        break;
+                    case UPPERCASE:
+                        out.append(Character.toUpperCase(c));
+                        break;
+                    default:
+                        out.append(c);
+                }
+            }
+            i++;
+        }
+        state.inWord = inWord;
+        state.emitted = emitted;
+        return i;
+    }
+
+    /**
+     * The state carried from one buffer to the next.
+     */
+    private static class State {
+        boolean inWord; // true after a letter of a word
+
+        boolean emitted; // true once a word has been written
+    }
+
+    /**
+     * A growing array of output characters.
+     */
+    private static class Output {
+        char[] a;
+
+        int n;
+
+        Output(int capacity) {
+            a = new char[capacity];
+        }
+
+        void append(char c) {
+            if(n == a.length)
+                grow(1);
+            a[n++] = c;
+        }
+
+        void append(char[] s) {
+            if(n + s.length > a.length)
+                grow(s.length);
+            System.arraycopy(s, 0, a, n, s.length);
+            n += s.length;
+        }
+
+        private void grow(int extra) {
+            char[] b = new char[Math.max(a.length * 2, n + extra)];
+            System.arraycopy(a, 0, b, 0, n);
+            a = b;
+        }
+    }
+
+    /**
+     * Holds the pool shared by the parallel transforms until it is first
+     * needed.
+     */
+    private static class PoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    /**
+     * Transforms a range of the pieces of a block.
+     */
+    private class PieceTask extends RecursiveAction {
+        private final char[] block;
+        private final int[] bounds, used;
+        private final boolean end;
+        private final State[] states;
+        private final Output[] outputs;
+        private final int lo, hi;
+
+        PieceTask(char[] block, int[] bounds, boolean end, State[] states, Output[] outputs, int[] used, int lo, int hi) {
+            this.block = block;
+            this.bounds = bounds;
+            this.end = end;
+            this.states = states;
+            this.outputs = outputs;
+            this.used = used;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute() {
+            if(hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new PieceTask(block, bounds, end, states, outputs, used, lo, mid),
+                          new PieceTask(block, bounds, end, states, outputs, used, mid, hi));
+                return;
+            }
+
+            int from = bounds[lo], to = bounds[lo + 1];
+            outputs[lo] = new Output(to - from + 16);
+            // only the last piece can end inside a delimiter
+            used[lo] = run(block, from, to, end || lo < states.length - 1, states[lo], outputs[lo]);
+        }
+
+        static final long serialVersionUID = 1L;
+    }
+}
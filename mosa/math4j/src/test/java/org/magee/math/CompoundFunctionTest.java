@@ -0,0 +1,137 @@
+package org.magee.math;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompoundFunctionTest {
+
+    private static double slope(Function f, double x) {
+        double h = 1e-5 * Math.max(1.0, Math.abs(x));
+        return (f.valueAt(x + h) - f.valueAt(x - h)) / (2 * h);
+    }
+
+    private static void assertDerivatives(Function f, double[] xs) {
+        Function d = f.getDerivFunc();
+        Function ad = f.getAntiderivFunc();
+        for(double x : xs) {
+            double y = f.valueAt(x);
+            assertEquals(f + " at " + x, slope(f, x), d.valueAt(x), 1e-5 * Math.max(1.0, Math.abs(d.valueAt(x))));
+            if(ad != null)
+                assertEquals(f + " at " + x, y, slope(ad, x), 1e-5 * Math.max(1.0, Math.abs(y)));
+        }
+    }
+
+    /**
+     * Test for {@link PolyFunction#getAntiderivFunc()}
+     * The antiderivative divides by the new power and constant polynomials keep their value
+     */
+    @Test
+    public void test01() throws Throwable {
+        PolyFunction p = new PolyFunction(new double[] { 3.0, 2.0, 1.0 });
+        assertArrayEquals(new double[] { 1.0, 1.0, 1.0, 0.0 }, p.getAntiderivFunc().getCoeffients(), 0.0);
+        assertEquals(14.0, p.area(0.0, 2.0), 1e-12);
+        assertEquals(5.0, new PolyFunction(new double[] { 5.0 }).valueAt(3.0), 0.0);
+        assertEquals(0.0, new PolyFunction(new double[] { 5.0 }).getDerivFunc().valueAt(3.0), 0.0);
+        assertEquals(0.0, new PolyFunction(3).getDerivFunc().valueAt(2.0), 0.0);
+        assertEquals(0.0, new PolyFunction().getAntiderivFunc().valueAt(2.0), 0.0);
+        assertEquals(0.0, new ConstantFunction().getAntiderivFunc().valueAt(2.0), 0.0);
+    }
+
+    /**
+     * Test for {@link Function#getDerivFunc()} and {@link Function#getAntiderivFunc()}
+     * Every function class and compound tree agrees with finite differences
+     */
+    @Test
+    public void test02() throws Throwable {
+        double[] xs = { 0.3, 1.0, 1.7, 2.5 };
+        Function x = CompoundFunction.power(1.0);
+        Function[] fs = {
+            new ExponentialFunction(3.0), new ExponentialFunction(1.0), new NaturalExpFunction(),
+            new LogFunction(10.0), new LogFunction(Math.E),
+            new RadicalFunction(2.0), new RadicalFunction(-1.0), new RadicalFunction(1.0), new RadicalFunction(-3.0),
+            new ConstantFunction(4.0),
+            CompoundFunction.sum(new LogFunction(2.0), new RadicalFunction(3.0)),
+            CompoundFunction.product(new ExponentialFunction(2.0), new LogFunction(Math.E)),
+            CompoundFunction.quotient(new RadicalFunction(2.0), CompoundFunction.sum(x, new ConstantFunction(1.0))),
+            CompoundFunction.compose(new LogFunction(Math.E), new PolyFunction(new double[] { 1.0, 0.0, 1.0 })),
+            CompoundFunction.compose(new ExponentialFunction(Math.E), new PolyFunction(new double[] { -2.0, 1.0 })),
+            CompoundFunction.product(new ConstantFunction(3.0), CompoundFunction.compose(new RadicalFunction(2.0), new PolyFunction(new double[] { 4.0, 1.0 }))),
+            CompoundFunction.quotient(new LogFunction(3.0), new ConstantFunction(4.0)),
+        };
+        for(Function f : fs) {
+            assertDerivatives(f, xs);
+        }
+        assertNull(CompoundFunction.product(new ExponentialFunction(2.0), new LogFunction(Math.E)).getAntiderivFunc());
+
+        Function f = CompoundFunction.compose(new ExponentialFunction(Math.E), CompoundFunction.product(new ConstantFunction(-1.0), CompoundFunction.power(2.0)));
+        assertNull(f.getAntiderivFunc());
+        assertEquals(Math.sqrt(Math.PI) / 2 * 0.8427007929497149, f.area(0.0, 1.0), 1e-9); // erf(1)
+        assertEquals(Math.log(4.0), new RadicalFunction(-1.0).area(1.0, 4.0), 1e-12);
+    }
+
+    /**
+     * Test for {@link CompoundFunction#sum(Function, Function)} and {@link Function#getDerivFunc()}
+     * Polynomials and constants fold, and derivatives are kept until the function changes
+     */
+    @Test
+    public void test03() throws Throwable {
+        Function p = CompoundFunction.sum(new PolyFunction(new double[] { 1.0, 2.0 }), new ConstantFunction(-2.0));
+        assertEquals(PolyFunction.class, p.getClass());
+        assertEquals("1.0 x", p.toString());
+        assertEquals(ConstantFunction.class, CompoundFunction.product(new ConstantFunction(2.0), new ConstantFunction(3.0)).getClass());
+        assertSame(p, CompoundFunction.product(new ConstantFunction(1.0), p));
+        assertSame(p, CompoundFunction.compose(p, CompoundFunction.power(1.0)));
+        assertEquals(0.0, CompoundFunction.product(new ConstantFunction(), new LogFunction(2.0)).valueAt(5.0), 0.0);
+        Function q = CompoundFunction.compose(new PolyFunction(new double[] { 1.0, 0.0, 0.0 }), new PolyFunction(new double[] { 1.0, 1.0 }));
+        assertArrayEquals(new double[] { 1.0, 2.0, 1.0 }, ((PolyFunction) q).getCoeffients(), 0.0);
+
+        CompoundFunction scaled = (CompoundFunction) CompoundFunction.product(new ConstantFunction(2.0),
+                CompoundFunction.product(new ExponentialFunction(3.0), new ConstantFunction(5.0)));
+        assertEquals(10.0, scaled.getLeft().valueAt(0.0), 0.0);
+        assertEquals(ExponentialFunction.class, scaled.getRight().getClass());
+
+        Function e = new NaturalExpFunction();
+        assertEquals(ExponentialFunction.class, e.getDerivFunc().getClass());
+
+        ExponentialFunction g = new ExponentialFunction(2.0);
+        Function newton = CompoundFunction.compose(g, new PolyFunction(new double[] { 3.0, 0.0 }));
+        Function d = newton.getDerivFunc();
+        for(int i = 0; i < 10; i++) {
+            assertSame(d, newton.getDerivFunc());
+        }
+        Function dg = g.getDerivFunc();
+        assertSame(dg, g.getDerivFunc());
+        g.setBase(5.0);
+        assertNotSame(dg, g.getDerivFunc());
+        assertEquals(Math.log(5.0), g.getDerivFunc().valueAt(0.0), 1e-12);
+        assertTrue(new CompoundFunction().valueAt(1.0) == 0.0);
+    }
+
+    /**
+     * Test for {@link CompoundFunction#getDerivFunc()}
+     * Changing an operand drops the derivatives kept for the functions built on it
+     */
+    @Test
+    public void test04() throws Throwable {
+        ExponentialFunction e = new ExponentialFunction(2.0);
+        Function c = CompoundFunction.product(new PolyFunction(new double[] { 1.0, 0.0 }), e);
+        assertEquals(2.0 + 2.0 * Math.log(2.0), c.getDerivFunc().valueAt(1.0), 1e-12);
+        Function d = c.getDerivFunc();
+        assertSame(d, c.getDerivFunc());
+        e.setBase(3.0);
+        assertEquals(3.0 + 3.0 * Math.log(3.0), c.getDerivFunc().valueAt(1.0), 1e-12);
+        assertNotSame(d, c.getDerivFunc());
+
+        PolyFunction p = new PolyFunction(new double[] { 1.0, 0.0, 0.0 });
+        Function outer = CompoundFunction.compose(new LogFunction(2.0), CompoundFunction.sum(p, e));
+        assertEquals((2.0 + 3.0 * Math.log(3.0)) / (4.0 * Math.log(2.0)), outer.getDerivFunc().valueAt(1.0), 1e-12);
+        p.setCoeffients(new double[] { 2.0, 0.0, 1.0 });
+        assertEquals((4.0 + 3.0 * Math.log(3.0)) / (6.0 * Math.log(2.0)), outer.getDerivFunc().valueAt(1.0), 1e-12);
+    }
+}
@@ -0,0 +1,161 @@
+package org.magee.math;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class PiecewiseFunctionTest {
+
+    /**
+     * 1 below 0, x + 1 up to 2, 3 + ln(x - 1) up to 5, and e^(x - 5) + 3 + ln 4 beyond.
+     */
+    private static PiecewiseFunction tariff() {
+        Function[] pieces = {
+            new ConstantFunction(1.0),
+            new PolyFunction(new double[] { 1.0, 1.0 }),
+            CompoundFunction.sum(new ConstantFunction(3.0), CompoundFunction.compose(new LogFunction(Math.E), new PolyFunction(new double[] { 1.0, -1.0 }))),
+            CompoundFunction.sum(new ConstantFunction(2.0 + Math.log(4.0)), CompoundFunction.compose(new NaturalExpFunction(), new PolyFunction(new double[] { 1.0, -5.0 }))),
+        };
+        return new PiecewiseFunction(pieces, new double[] { 0.0, 2.0, 5.0 });
+    }
+
+    private static double tariffAt(double x) {
+        if(x < 0.0)
+            return 1.0;
+        if(x < 2.0)
+            return x + 1;
+        if(x < 5.0)
+            return 3 + Math.log(x - 1);
+        return Math.exp(x - 5) + 2 + Math.log(4.0);
+    }
+
+    /**
+     * Test for {@link PiecewiseFunction#valueAt(double)}
+     * Each point takes the piece of its interval, a boundary belonging to the piece on its right
+     */
+    @Test
+    public void test01() throws Throwable {
+        PiecewiseFunction f = tariff();
+        for(double x = -3.0; x < 8.0; x += 0.0625) {
+            assertEquals(tariffAt(x), f.valueAt(x), 1e-12);
+        }
+        assertEquals(1.0, f.valueAt(0.0), 0.0);
+        assertEquals(3.0, f.valueAt(2.0), 0.0);
+
+        double[] jet = new double[3];
+        f.jetAt(3.0, jet);
+        assertEquals(0.5, jet[1], 1e-12);
+        assertEquals(-0.25, jet[2], 1e-12);
+        assertEquals(1.0, f.getDerivFunc().valueAt(1.0), 0.0);
+        assertEquals(1.0, f.getDerivFunc().valueAt(5.0), 1e-12);
+
+        Function ad = f.getAntiderivFunc();
+        for(double x = -2.0; x < 7.0; x += 0.25) {
+            assertEquals(f.area(-2.0, x), ad.valueAt(x) - ad.valueAt(-2.0), 1e-9);
+        }
+        assertEquals(12.0 + 5 * Math.log(4.0) + Math.E, f.area(-1.0, 6.0), 1e-9);
+        assertEquals(-f.area(-1.0, 6.0), f.area(6.0, -1.0), 1e-12);
+        assertEquals(2.0, f.area(0.5, 1.5), 1e-12);
+
+        Function single = new PiecewiseFunction(new Function[] { new ConstantFunction(2.0) }, new double[0]);
+        assertEquals(2.0, single.valueAt(1e9), 0.0);
+        assertEquals(6.0, single.area(1.0, 4.0), 0.0);
+        assertNull(new PiecewiseFunction(new Function[] { new ConstantFunction(1.0), new Function() {
+            public String toString() { return "sin x"; }
+            public double valueAt(double x) { return Math.sin(x); }
+            public double area(double x1, double x2) { return Math.cos(x1) - Math.cos(x2); }
+        } }, new double[] { 0.0 }).getDerivFunc());
+        assertEquals("{ f( x ) = 1.0 for x < 0.0; f( x ) = 2.0 for x >= 0.0 }",
+                new PiecewiseFunction(new Function[] { new ConstantFunction(1.0), new ConstantFunction(2.0) }, new double[] { 0.0 }).toString());
+
+        try {
+            new PiecewiseFunction(new Function[] { new ConstantFunction(1.0), new ConstantFunction(2.0) }, new double[] { 0.0, 1.0 });
+            fail();
+        } catch(IllegalArgumentException e) {
+        }
+        try {
+            new PiecewiseFunction(new Function[] { new ConstantFunction(1.0), new ConstantFunction(2.0), new ConstantFunction(3.0) }, new double[] { 1.0, 1.0 });
+            fail();
+        } catch(IllegalArgumentException e) {
+        }
+    }
+
+    /**
+     * Test for {@link PiecewiseFunction#valuesAt(double[], double[])} and {@link PiecewiseFunction#area(double, double)}
+     * Thousands of pieces agree with a linear search, for sorted and unsorted points
+     */
+    @Test
+    public void test02() throws Throwable {
+        int n = 5000;
+        Function[] pieces = new Function[n];
+        double[] bounds = new double[n - 1];
+        for(int i = 0; i < n; i++) {
+            pieces[i] = new PolyFunction(new double[] { (i % 7) - 3.0, i });
+            if(i < n - 1)
+                bounds[i] = i + 0.25 * (i % 3);
+        }
+        PiecewiseFunction f = new PiecewiseFunction(pieces, bounds);
+
+        double[] xs = new double[20000];
+        for(int i = 0; i < xs.length; i++) {
+            xs[i] = -2.0 + i * (n + 4.0) / xs.length;
+        }
+        double[] values = new double[xs.length];
+        f.valuesAt(xs, values);
+        for(int i = 0; i < xs.length; i++) {
+            int piece = 0;
+            while(piece < n - 1 && xs[i] >= bounds[piece]) {
+                piece++;
+            }
+            assertEquals(pieces[piece].valueAt(xs[i]), values[i], 0.0);
+            assertEquals(values[i], f.valueAt(xs[i]), 0.0);
+        }
+
+        double[] shuffled = new double[xs.length];
+        for(int i = 0; i < xs.length; i++) {
+            shuffled[i] = xs[(int) ((i * 7919L) % xs.length)];
+        }
+        double[] first = new double[xs.length];
+        f.valueAndDerivatives(shuffled, values, first, null);
+        for(int i = 0; i < xs.length; i++) {
+            assertEquals(f.valueAt(shuffled[i]), values[i], 0.0);
+        }
+
+        double sum = pieces[0].area(-1.0, bounds[0]);
+        for(int i = 1; i < n - 1; i++) {
+            sum += pieces[i].area(bounds[i - 1], bounds[i]);
+        }
+        sum += pieces[n - 1].area(bounds[n - 2], n + 1.0);
+        assertEquals(sum, f.area(-1.0, n + 1.0), 1e-9 * Math.abs(sum));
+        assertEquals(pieces[10].area(10.0, 10.25) + pieces[11].area(10.25, 11.0), f.area(10.0, 11.0), 1e-12);
+    }
+
+    /**
+     * Test for {@link PiecewiseFunction#area(double, double)}
+     * Changing a piece after construction changes the areas, derivative and antiderivative
+     */
+    @Test
+    public void test03() throws Throwable {
+        PolyFunction middle = new PolyFunction(new double[] { 1.0, 0.0 });
+        ExponentialFunction last = new ExponentialFunction(2.0);
+        PiecewiseFunction f = new PiecewiseFunction(new Function[] { new ConstantFunction(1.0), middle, new ConstantFunction(3.0), last },
+                new double[] { 0.0, 2.0, 4.0 });
+        assertEquals(1.0 + 2.0 + 6.0 + 1.0 / Math.log(2.0) * (32.0 - 16.0), f.area(-1.0, 5.0), 1e-12);
+        assertEquals(1.0, f.getDerivFunc().valueAt(1.0), 0.0);
+        Function ad = f.getAntiderivFunc();
+        assertEquals(2.0 + 6.0, ad.valueAt(4.0) - ad.valueAt(0.0), 1e-12);
+
+        middle.setCoeffients(new double[] { 3.0, 0.0, 1.0 }); // 3 x^2 + 1
+        last.setBase(3.0);
+        assertEquals(1.0 + (8.0 + 2.0) + 6.0 + 1.0 / Math.log(3.0) * (243.0 - 81.0), f.area(-1.0, 5.0), 1e-9);
+        assertEquals(6.0, f.getDerivFunc().valueAt(1.0), 0.0);
+        ad = f.getAntiderivFunc();
+        assertEquals(10.0 + 6.0, ad.valueAt(4.0) - ad.valueAt(0.0), 1e-12);
+        assertEquals(ad.valueAt(2.0), ad.valueAt(Math.nextDown(2.0)), 1e-12);
+        for(double x = -2.0; x < 6.0; x += 0.25) {
+            assertEquals(f.area(-2.0, x), ad.valueAt(x) - ad.valueAt(-2.0), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.magee.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class PolyFunctionTest {
+
+    /**
+     * Test for {@link PolyFunction#valuesAt(double[], double[])}
+     * Batches shared between threads give exactly the values of valueAt
+     */
+    @Test
+    public void test01() throws Throwable {
+        Random random = new Random(50L);
+        double[] c = new double[200];
+        for(int i = 0; i < c.length; i++) {
+            c[i] = random.nextGaussian();
+        }
+        PolyFunction p = new PolyFunction(c);
+        for(int n : new int[] { 0, 7, 3000, 20000 }) {
+            double[] x = new double[n], values = new double[n + 2];
+            for(int i = 0; i < n; i++) {
+                x[i] = 2 * random.nextDouble() - 1;
+            }
+            p.valuesAt(x, values);
+            for(int i = 0; i < n; i++) {
+                assertEquals(Double.doubleToLongBits(p.valueAt(x[i])), Double.doubleToLongBits(values[i]));
+            }
+            assertEquals(0.0, values[n], 0.0);
+        }
+
+        double[] values = new double[2];
+        new PolyFunction().valuesAt(new double[] { 1.0, 2.0 }, values);
+        assertArrayEquals(new double[] { 0.0, 0.0 }, values, 0.0);
+        try {
+            p.valuesAt(new double[3], new double[2]);
+            fail();
+        } catch(IllegalArgumentException e) {
+        }
+    }
+
+    /**
+     * Test for {@link PolyFunction#interpolate(double[], double[])}
+     * Divided differences recover the polynomial through the points
+     */
+    @Test
+    public void test02() throws Throwable {
+        PolyFunction p = PolyFunction.interpolate(new double[] { 3.0, -1.0, 0.0, 2.0 }, new double[] { 23.0, -3.0, -1.0, 9.0 });
+        assertArrayEquals(new double[] { 0.5, 0.5, 2.0, -1.0 }, p.getCoeffients(), 1e-14);
+        assertEquals(3, p.getDegree());
+
+        PolyFunction line = PolyFunction.interpolate(new double[] { 1.0, 2.0, 3.0 }, new double[] { 5.0, 7.0, 9.0 });
+        assertEquals(1, line.getDegree());
+        assertArrayEquals(new double[] { 2.0, 3.0 }, line.getCoeffients(), 1e-14);
+        assertEquals(4.0, PolyFunction.interpolate(new double[] { 9.0 }, new double[] { 4.0 }).valueAt(-3.0), 0.0);
+
+        int n = 30;
+        double[] x = new double[n], y = new double[n];
+        for(int i = 0; i < n; i++) {
+            x[i] = Math.cos(Math.PI * (i + 0.5) / n); // Chebyshev points
+            y[i] = Math.exp(x[i]);
+        }
+        PolyFunction e = PolyFunction.interpolate(x, y);
+        double[] values = new double[n];
+        e.valuesAt(x, values);
+        assertArrayEquals(y, values, 1e-13);
+        assertEquals(Math.exp(0.3), e.valueAt(0.3), 1e-13);
+
+        try {
+            PolyFunction.interpolate(new double[] { 1.0, 2.0, 1.0 }, new double[] { 0.0, 0.0, 0.0 });
+            fail();
+        } catch(IllegalArgumentException ex) {
+        }
+        try {
+            PolyFunction.interpolate(new double[] { 1.0, 2.0 }, new double[] { 0.0 });
+            fail();
+        } catch(IllegalArgumentException ex) {
+        }
+        try {
+            PolyFunction.interpolate(new double[] { 1.0, Double.NaN, 3.0 }, new double[] { 1.0, 2.0, 3.0 });
+            fail();
+        } catch(IllegalArgumentException ex) {
+        }
+        try {
+            PolyFunction.interpolate(new double[] { Double.NEGATIVE_INFINITY, 0.0 }, new double[] { 1.0, 2.0 });
+            fail();
+        } catch(IllegalArgumentException ex) {
+        }
+
+        PolyFunction zero = PolyFunction.interpolate(new double[] { 1.0, 2.0, 3.0 }, new double[] { 0.0, 0.0, 0.0 });
+        assertEquals(0, zero.getDegree());
+        assertEquals(0.0, zero.valueAt(7.0), 0.0);
+        assertEquals(0.0, PolyFunction.interpolate(new double[] { 5.0 }, new double[] { 0.0 }).valueAt(1.0), 0.0);
+    }
+
+    /**
+     * Test for {@link PolyFunction#getDerivFunc()}
+     * The derivative is kept for repeated calls and found again when the polynomial changes
+     */
+    @Test
+    public void test03() throws Throwable {
+        PolyFunction q = new PolyFunction(new double[] { 1.0, 0.0, 0.0 });
+        PolyFunction d = q.getDerivFunc();
+        assertSame(d, q.getDerivFunc());
+        assertEquals(2.0, d.valueAt(1.0), 0.0);
+        PolyFunction a = q.getAntiderivFunc();
+        assertSame(a, q.getAntiderivFunc());
+        assertEquals(1.0 / 3.0, q.area(0.0, 1.0), 1e-15);
+
+        q.setCoeffients(new double[] { 3.0, 0.0, 1.0 });
+        assertNotSame(d, q.getDerivFunc());
+        assertEquals(6.0, q.getDerivFunc().valueAt(1.0), 0.0);
+        assertEquals(2.0, d.valueAt(1.0), 0.0);
+        assertEquals(2.0, q.area(0.0, 1.0), 1e-15);
+        assertSame(q.getDerivFunc(), q.getDerivFunc());
+    }
+}
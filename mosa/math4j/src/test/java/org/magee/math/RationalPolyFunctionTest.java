@@ -0,0 +1,139 @@
+package org.magee.math;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RationalPolyFunctionTest {
+
+    /**
+     * The product of (x - r) over the roots r.
+     */
+    private static RationalPolyFunction fromRoots(long... roots) {
+        BigInteger[] c = { BigInteger.ONE };
+        for(long r : roots) {
+            BigInteger[] next = new BigInteger[c.length + 1];
+            Arrays.fill(next, BigInteger.ZERO);
+            for(int i = 0; i < c.length; i++) {
+                next[i] = next[i].add(c[i]);
+                next[i + 1] = next[i + 1].subtract(c[i].multiply(BigInteger.valueOf(r)));
+            }
+            c = next;
+        }
+        return new RationalPolyFunction(c, BigInteger.ONE);
+    }
+
+    /**
+     * Test for {@link RationalPolyFunction#squareFreeFactors()}
+     * Exact coeffients, square-free decomposition and root counts by Sturm sequences
+     */
+    @Test
+    public void test01() throws Throwable {
+        RationalPolyFunction p = RationalPolyFunction.valueOf(new Rational[] { new Rational(1, 2), new Rational(-1, 3), new Rational(2, 4) });
+        assertEquals(BigInteger.valueOf(6), p.getDenominator());
+        assertEquals("1/2 x^2 + -1/3 x + 1/2", p.toString());
+        assertEquals(0.5 * 4 - 2.0 / 3 + 0.5, p.valueAt(2.0), 1e-15);
+        assertEquals(0, p.countRealRoots());
+        assertEquals(new RationalPolyFunction(new BigInteger[] { BigInteger.valueOf(3), BigInteger.valueOf(-2), BigInteger.valueOf(3) }, BigInteger.valueOf(6)), p);
+        assertEquals(1.0 / 6 - 1.0 / 6 + 0.5, p.area(0.0, 1.0), 1e-15);
+        assertEquals("1 x + -1/3", p.getDerivFunc().toString());
+        assertEquals(2.0 / 3.0, RationalPolyFunction.valueOf(new Rational[] { new Rational(2, 3) }).valueAt(0.0), 0.0);
+        assertEquals(1.0 / 7.0 + 2.0 / 3.0, RationalPolyFunction.valueOf(new Rational[] { new Rational(1, 7), new Rational(2, 3) }).valueAt(1.0), 0.0);
+
+        // (x - 1)^3 (x + 2)^2 (x - 5)
+        RationalPolyFunction q = fromRoots(1, 1, 1, -2, -2, 5);
+        RationalPolyFunction[] f = q.squareFreeFactors();
+        assertEquals(3, f.length);
+        assertEquals(new RationalPolyFunction(new long[] { 1, -5 }), f[0]);
+        assertEquals(new RationalPolyFunction(new long[] { 1, 2 }), f[1]);
+        assertEquals(new RationalPolyFunction(new long[] { 1, -1 }), f[2]);
+        assertEquals(fromRoots(-2, 1, 5), q.squareFreePart());
+        assertEquals(3, q.countRealRoots());
+        assertEquals(1, q.countRealRoots(-2.0, 1.0)); // the interval is open below and closed above
+        assertEquals(2, q.countRealRoots(-2.5, 1.0));
+        assertEquals(1, q.countRealRoots(Double.NEGATIVE_INFINITY, -1.0));
+        assertEquals(1, q.countRealRoots(4.5, Double.POSITIVE_INFINITY));
+        assertEquals(0, q.countRealRoots(1.0, 4.999999999999999));
+
+        // x^4 - 10 x^2 + 1 has the four roots +-sqrt 2 +- sqrt 3
+        RationalPolyFunction r = new RationalPolyFunction(new long[] { 1, 0, -10, 0, 1 });
+        assertEquals(5, r.getSturmSequence().length);
+        assertEquals(4, r.countRealRoots());
+        assertEquals(2, r.countRealRoots(0.0, 4.0));
+        assertEquals(0, new RationalPolyFunction(new long[] { 1, 0, 1 }).countRealRoots());
+        assertEquals(0, new RationalPolyFunction(new long[] { 7 }).countRealRoots());
+        assertEquals(0, new RationalPolyFunction(new long[] { 7 }).squareFreeFactors().length);
+        try {
+            new RationalPolyFunction(new long[] { 0, 0 }).countRealRoots();
+            fail();
+        } catch(ArithmeticException e) {
+        }
+    }
+
+    /**
+     * Test for {@link RationalPolyFunction#isolateRealRoots()}
+     * Close and repeated roots are isolated once each and refined with a certificate
+     */
+    @Test
+    public void test02() throws Throwable {
+        // roots 1 and 1 + 10^-12, which floating point eigenvalues merge or lose
+        BigInteger a = BigInteger.TEN.pow(12);
+        BigInteger[] c = { a, a.multiply(BigInteger.valueOf(-2)).subtract(BigInteger.ONE), a.add(BigInteger.ONE) };
+        RationalPolyFunction close = new RationalPolyFunction(c, a);
+        RationalPolyFunction.Interval[] roots = close.isolateRealRoots();
+        assertEquals(2, roots.length);
+        assertTrue(roots[0].isExact());
+        assertEquals(0, roots[0].getLower().compareTo(BigDecimal.ONE));
+        assertTrue(roots[1].getLower().compareTo(BigDecimal.ONE) >= 0);
+        RationalPolyFunction.Interval narrow = close.refine(roots[1], 1e-20);
+        assertTrue(narrow.getUpper().subtract(narrow.getLower()).compareTo(new BigDecimal(1e-20)) <= 0);
+        assertTrue(narrow.getLower().compareTo(new BigDecimal("1.000000000001")) <= 0);
+        assertTrue(narrow.getUpper().compareTo(new BigDecimal("1.000000000001")) >= 0);
+
+        // x^4 - 10 x^2 + 1, whose roots sqrt 3 - sqrt 2 lose digits when found as a difference
+        double[] expected = { -3.1462643699419726, -0.31783724519578224, 0.31783724519578224, 3.1462643699419726 };
+        double[] found = new RationalPolyFunction(new long[] { 1, 0, -10, 0, 1 }).getRealRoots();
+        assertEquals(4, found.length);
+        for(int i = 0; i < 4; i++) {
+            assertEquals(expected[i], found[i], 2 * Math.ulp(expected[i]));
+        }
+
+        // Wilkinson's polynomial of degree 20 and its square
+        long[] roots20 = new long[20];
+        for(int i = 0; i < 20; i++) {
+            roots20[i] = i + 1;
+        }
+        RationalPolyFunction w = fromRoots(roots20);
+        found = w.getRealRoots();
+        assertEquals(20, found.length);
+        for(int i = 0; i < 20; i++) {
+            assertEquals(i + 1, found[i], 2 * Math.ulp(i + 1.0));
+        }
+        BigInteger[] n = w.getNumerators();
+        BigInteger[] squared = new BigInteger[2 * n.length - 1];
+        Arrays.fill(squared, BigInteger.ZERO);
+        for(int i = 0; i < n.length; i++) {
+            for(int j = 0; j < n.length; j++) {
+                squared[i + j] = squared[i + j].add(n[i].multiply(n[j]));
+            }
+        }
+        RationalPolyFunction w2 = new RationalPolyFunction(squared, BigInteger.ONE);
+        assertEquals(20, w2.isolateRealRoots().length);
+        assertEquals(2, w2.squareFreeFactors().length);
+        assertEquals(w, w2.squareFreeFactors()[1]);
+
+        PolyFunction cubic = new PolyFunction(new double[] { 1.0, 0.0, -2.0, -5.0 });
+        found = cubic.toRational().getRealRoots();
+        assertEquals(1, found.length);
+        assertEquals(2.0945514815423265, found[0], 1e-15);
+        assertFalse(cubic.toRational().isolateRealRoots()[0].isExact());
+        assertEquals(0, new RationalPolyFunction(new long[] { 1, 0, 1 }).isolateRealRoots().length);
+    }
+}
@@ -0,0 +1,134 @@
+package org.magee.math;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SplineFunctionTest {
+
+    private static double[] grid(double a, double b, int n) {
+        double[] xs = new double[n];
+        for(int i = 0; i < n; i++) {
+            xs[i] = a + (b - a) * i / (n - 1);
+        }
+        return xs;
+    }
+
+    private static double[] sines(double[] xs) {
+        double[] ys = new double[xs.length];
+        for(int i = 0; i < xs.length; i++) {
+            ys[i] = Math.sin(xs[i]);
+        }
+        return ys;
+    }
+
+    /**
+     * Test for {@link SplineFunction#valueAt(double)}
+     * Every kind of spline passes through the points, and cubics are reproduced exactly
+     */
+    @Test
+    public void test01() throws Throwable {
+        double[] xs = { 0.0, 0.5, 1.5, 2.0, 3.5, 4.0 };
+        PolyFunction cubic = new PolyFunction(new double[] { 1.0, -2.0, 0.5, 3.0 });
+        double[] ys = new double[xs.length];
+        for(int i = 0; i < xs.length; i++) {
+            ys[i] = cubic.valueAt(xs[i]);
+        }
+        Function d = cubic.getDerivFunc();
+        SplineFunction clamped = SplineFunction.clamped(xs, ys, d.valueAt(0.0), d.valueAt(4.0));
+        SplineFunction natural = new SplineFunction(xs, ys);
+        SplineFunction monotone = SplineFunction.monotone(xs, ys);
+        assertFalse(clamped.isUniform());
+        for(int i = 0; i < xs.length; i++) {
+            assertEquals(ys[i], natural.valueAt(xs[i]), 1e-12);
+            assertEquals(ys[i], monotone.valueAt(xs[i]), 1e-12);
+        }
+        double[] jet = new double[3];
+        for(double x = -0.5; x < 4.5; x += 0.125) {
+            assertEquals(cubic.valueAt(x), clamped.valueAt(x), 1e-10);
+            clamped.jetAt(x, jet);
+            assertEquals(d.valueAt(x), jet[1], 1e-9);
+            assertEquals(d.getDerivFunc().valueAt(x), jet[2], 1e-9);
+            assertEquals(jet[1], clamped.getDerivFunc().valueAt(x), 1e-12);
+        }
+        for(double x = 4.25; x > -0.5; x -= 0.3) { // walking backwards moves the hint
+            assertEquals(cubic.valueAt(x), clamped.valueAt(x), 1e-10);
+        }
+        assertEquals(cubic.area(0.3, 3.7), clamped.area(0.3, 3.7), 1e-10);
+        assertEquals(-cubic.area(0.0, 4.0), clamped.area(4.0, 0.0), 1e-10);
+
+        SplineFunction line = new SplineFunction(new double[] { 1.0, 3.0 }, new double[] { 2.0, 6.0 });
+        assertEquals(4.0, line.valueAt(2.0), 0.0);
+        assertEquals(8.0, line.area(1.0, 3.0), 0.0);
+        assertEquals(0.0, natural.getDerivFunc().getDerivFunc().valueAt(0.0), 1e-12);
+
+        try {
+            new SplineFunction(new double[] { 0.0, 1.0, 1.0 }, new double[3]);
+            fail();
+        } catch(IllegalArgumentException e) {
+        }
+        try {
+            SplineFunction.monotone(new double[] { 0.0 }, new double[1]);
+            fail();
+        } catch(IllegalArgumentException e) {
+        }
+    }
+
+    /**
+     * Test for {@link SplineFunction#monotone(double[], double[])}
+     * The monotone spline never overshoots steps in the data, where the natural spline does
+     */
+    @Test
+    public void test02() throws Throwable {
+        double[] xs = { 0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0 };
+        double[] ys = { 0.0, 0.0, 0.1, 5.0, 5.0, 5.1, 10.0 };
+        SplineFunction monotone = SplineFunction.monotone(xs, ys);
+        SplineFunction natural = new SplineFunction(xs, ys);
+        assertTrue(monotone.isUniform());
+        double last = monotone.valueAt(0.0), lowest = 0.0;
+        for(double x = 0.0; x <= 6.0; x += 0.01) {
+            double y = monotone.valueAt(x);
+            assertTrue(y >= last - 1e-12);
+            assertTrue(monotone.getDerivFunc().valueAt(x) >= -1e-12);
+            last = y;
+            lowest = Math.min(lowest, natural.valueAt(x));
+        }
+        assertTrue(lowest < -0.1);
+        assertEquals(0.0, monotone.valueAt(0.5), 0.0);
+    }
+
+    /**
+     * Test for {@link SplineFunction#area(double, double)}
+     * Large uniform and uneven grids agree with the sampled function and with each other
+     */
+    @Test
+    public void test03() throws Throwable {
+        int n = 100001;
+        double[] xs = grid(0.0, 20.0, n);
+        SplineFunction uniform = new SplineFunction(xs, sines(xs));
+        assertTrue(uniform.isUniform());
+
+        double[] uneven = new double[n];
+        for(int i = 0; i < n; i++) {
+            double t = (double) i / (n - 1);
+            uneven[i] = 20.0 * t * t;
+        }
+        SplineFunction search = SplineFunction.clamped(uneven, sines(uneven), 1.0, Math.cos(20.0));
+        assertFalse(search.isUniform());
+
+        for(double x = 0.0123; x < 20.0; x += 0.3789) {
+            assertEquals(Math.sin(x), uniform.valueAt(x), 1e-12);
+            assertEquals(Math.sin(x), search.valueAt(x), 1e-9);
+            assertEquals(Math.cos(x), uniform.getDerivFunc().valueAt(x), 1e-9);
+            assertEquals(Math.cos(0.5) - Math.cos(x), uniform.area(0.5, x), 1e-12);
+            assertEquals(Math.cos(0.5) - Math.cos(x), search.area(0.5, x), 1e-9);
+        }
+        assertEquals(Math.sin(20.0), uniform.valueAt(20.0), 1e-15);
+        assertEquals(uniform.valueAt(19.999), search.valueAt(19.999), 1e-9);
+        assertTrue(Double.isNaN(search.valueAt(Double.NaN)));
+        assertEquals("spline of 100001 knots on [0.0, 20.0]", uniform.toString());
+    }
+}
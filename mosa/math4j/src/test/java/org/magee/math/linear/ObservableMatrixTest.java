@@ -0,0 +1,197 @@
+package org.magee.math.linear;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ObservableMatrixTest {
+
+    private static ObservableMatrix random(long seed, int n) {
+        Random random = new Random(seed);
+        ObservableMatrix m = new ObservableMatrix(n, n);
+        for(int i = 0; i < n; i++) {
+            for(int j = 0; j < n; j++) {
+                m.set(i, j, random.nextGaussian() + (i == j ? n : 0));
+            }
+        }
+        m.commit();
+        return m;
+    }
+
+    /**
+     * Test for {@link ObservableMatrix#commit()}
+     * Edits are coalesced into one event and an edit undone before the commit is dropped
+     */
+    @Test
+    public void test01() throws Throwable {
+        ObservableMatrix m = new ObservableMatrix(4, 5);
+        final List<MatrixChangeEvent> events = new ArrayList<MatrixChangeEvent>();
+        m.addMatrixChangeListener(new MatrixChangeListener() {
+            public void matrixChanged(MatrixChangeEvent e) {
+                events.add(e);
+            }
+        });
+        m.set(1, 2, 3.0);
+        m.set(1, 2, 5.0);
+        m.set(3, 4, 1.0);
+        m.set(0, 0, 7.0);
+        m.set(0, 0, 0.0);
+        MatrixChangeEvent e = m.commit();
+        assertEquals(1, events.size());
+        assertEquals(2, e.getChangeCount());
+        assertEquals(5.0, e.getDelta(0), 0.0);
+        assertEquals(1, e.getFirstRow());
+        assertEquals(3, e.getLastRow());
+        assertEquals(2, e.getFirstColumn());
+        assertEquals(4, e.getLastColumn());
+        assertFalse(e.getDirtyRows().get(2));
+        assertNull(m.commit());
+        assertEquals(1, events.size());
+    }
+
+    /**
+     * Test for {@link ObservableMatrix#commitLater()}
+     * A burst of debounced commits sends a single event
+     */
+    @Test
+    public void test02() throws Throwable {
+        ObservableMatrix m = new ObservableMatrix(3, 3);
+        m.setCommitDelay(50);
+        final List<MatrixChangeEvent> events = new ArrayList<MatrixChangeEvent>();
+        m.addMatrixChangeListener(new MatrixChangeListener() {
+            public void matrixChanged(MatrixChangeEvent e) {
+                synchronized(events) {
+                    events.add(e);
+                }
+            }
+        });
+        for(int k = 0; k < 9; k++) {
+            m.set(k / 3, k % 3, k + 1);
+            m.commitLater();
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while(m.isDirty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        synchronized(events) {
+            assertEquals(1, events.size());
+            assertEquals(9, events.get(0).getChangeCount());
+        }
+    }
+
+    /**
+     * Test for {@link InverseComputation}, {@link DeterminantComputation} and {@link SolveComputation}
+     * Single element edits are folded in by Sherman-Morrison without a new factorization
+     */
+    @Test
+    public void test03() throws Throwable {
+        int n = 40;
+        ObservableMatrix m = random(32L, n);
+        double[] b = new double[n];
+        for(int i = 0; i < n; i++) {
+            b[i] = i - 3.5;
+        }
+        InverseComputation inverse = new InverseComputation(m);
+        DeterminantComputation determinant = new DeterminantComputation(m);
+        SolveComputation solve = new SolveComputation(m, b);
+        inverse.get();
+        determinant.get();
+        solve.get();
+
+        Random random = new Random(3L);
+        for(int k = 0; k < 20; k++) {
+            m.set(random.nextInt(n), random.nextInt(n), random.nextGaussian());
+            if(k % 2 == 1)
+                m.commit();
+        }
+        assertFalse(inverse.isStale());
+        assertFalse(determinant.isStale());
+        assertFalse(solve.isStale());
+
+        LUDecomposition lu = new LUDecomposition(m.copy());
+        assertArrayEquals(lu.inverse().toRowPackedArray(), inverse.get().toRowPackedArray(), 1e-10);
+        assertEquals(lu.det(), determinant.getDeterminant(), Math.abs(lu.det()) * 1e-10);
+        assertArrayEquals(lu.solve(b), solve.getSolution(), 1e-10);
+        assertArrayEquals(solve.getSolution(), solve.get().getSolution(), 0.0);
+        assertEquals(1, inverse.getRecomputations());
+        assertEquals(1, determinant.getRecomputations());
+        assertEquals(1, solve.getRecomputations());
+    }
+
+    /**
+     * Test for {@link EigenvalueComputation}
+     * Results that cannot be updated are recomputed only when read
+     */
+    @Test
+    public void test04() throws Throwable {
+        ObservableMatrix m = random(4L, 10);
+        EigenvalueComputation eigen = new EigenvalueComputation(m);
+        eigen.get();
+        for(int k = 0; k < 5; k++) {
+            m.set(k, k, k);
+            m.commit();
+        }
+        assertTrue(eigen.isStale());
+        assertEquals(1, eigen.getRecomputations());
+        double[] expected = new EigenvalueDecomposition(m.copy()).getRealEigenvalues();
+        assertArrayEquals(expected, eigen.get().getRealEigenvalues(), 0.0);
+        assertEquals(2, eigen.getRecomputations());
+    }
+
+    /**
+     * Test for {@link SolveComputation}
+     * A long run of edits stays close to a fresh solve, refreshing every MAX_UPDATES changes and at nearly singular ones
+     */
+    @Test
+    public void test05() throws Throwable {
+        int n = 30;
+        ObservableMatrix m = random(35L, n);
+        double[] b = new double[n];
+        for(int i = 0; i < n; i++) {
+            b[i] = 1.0 - 0.25 * i;
+        }
+        SolveComputation solve = new SolveComputation(m, b);
+        DeterminantComputation determinant = new DeterminantComputation(m);
+        solve.get();
+        determinant.get();
+
+        Random random = new Random(5L);
+        int steps = 10 * DerivedComputation.MAX_UPDATES + 5;
+        for(int k = 0; k < steps; k++) {
+            int i = random.nextInt(n), j = random.nextInt(n);
+            m.set(i, j, m.get(i, j) + random.nextGaussian());
+            m.commit();
+            double[] x = solve.getSolution();
+            determinant.get();
+            if(k % 16 == 15) {
+                LUDecomposition lu = new LUDecomposition(m.copy());
+                assertArrayEquals(lu.solve(b), x, 1e-11);
+                assertEquals(lu.det(), determinant.getDeterminant(), Math.abs(lu.det()) * 1e-11);
+            }
+        }
+        // MAX_UPDATES changes are folded in, and the one after them starts again
+        assertEquals(1 + steps / (DerivedComputation.MAX_UPDATES + 1), solve.getRecomputations());
+        assertEquals(1 + steps / (DerivedComputation.MAX_UPDATES + 1), determinant.getRecomputations());
+
+        ObservableMatrix identity = new ObservableMatrix(2, 2);
+        identity.set(0, 0, 1.0);
+        identity.set(1, 1, 1.0);
+        identity.commit();
+        SolveComputation nearlySingular = new SolveComputation(identity, new double[] { 1.0, 1.0 });
+        nearlySingular.get();
+        identity.set(0, 0, 1e-9); // 1 + delta * inv(0, 0) is 1e-9
+        identity.commit();
+        assertTrue(nearlySingular.isStale());
+        assertArrayEquals(new double[] { 1e9, 1.0 }, nearlySingular.getSolution(), 1e-6);
+        assertEquals(2, nearlySingular.getRecomputations());
+    }
+}
@@ -0,0 +1,102 @@
+package org.magee.math.linear;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SparseMatrixTest {
+
+    /**
+     * Builds the five point Laplacian on a grid x grid mesh, with an optional
+     * convection term that makes it unsymmetric
+     */
+    private static SparseMatrixBuilder laplacian(int grid, double convection) {
+        int n = grid * grid;
+        SparseMatrixBuilder builder = new SparseMatrixBuilder(n, n);
+        for(int i = 0; i < grid; i++) {
+            for(int j = 0; j < grid; j++) {
+                int k = i * grid + j;
+                builder.add(k, k, 4.0);
+                if(i > 0)
+                    builder.add(k, k - grid, -1.0 - convection);
+                if(i < grid - 1)
+                    builder.add(k, k + grid, -1.0 + convection);
+                if(j > 0)
+                    builder.add(k, k - 1, -1.0);
+                if(j < grid - 1)
+                    builder.add(k, k + 1, -1.0);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Test for {@link SparseMatrixBuilder#toCSR()} and {@link SparseMatrixBuilder#toCSC()}
+     * Duplicate triplets are summed and both formats multiply like the dense matrix
+     */
+    @Test
+    public void test01() throws Throwable {
+        SparseMatrixBuilder builder = new SparseMatrixBuilder(3, 4);
+        builder.add(2, 3, 1.0).add(0, 1, 2.0).add(2, 3, 4.0).add(1, 0, -1.0).add(0, 0, 3.0);
+        CSRMatrix csr = builder.toCSR();
+        CSCMatrix csc = builder.toCSC();
+        assertEquals(4, csr.getNonZeroCount());
+        assertEquals(5.0, csr.get(2, 3), 0.0);
+        assertEquals(0.0, csr.get(1, 1), 0.0);
+        assertEquals(5.0, csc.get(2, 3), 0.0);
+
+        double[] x = { 1.0, -2.0, 0.5, 3.0 };
+        double[] expected = csr.toDense().times(x);
+        assertArrayEquals(expected, csr.times(x), 0.0);
+        assertArrayEquals(expected, csc.times(x), 0.0);
+        assertArrayEquals(expected, csc.toCSR().times(x), 0.0);
+        assertArrayEquals(csr.transpose().times(expected), csc.transposeTimes(expected), 0.0);
+    }
+
+    /**
+     * Test for {@link CSRMatrix#apply(double[], double[])}
+     * A product big enough to run in parallel must match the dense product
+     */
+    @Test
+    public void test02() throws Throwable {
+        CSRMatrix a = laplacian(120, 0.3).toCSR();
+        assertTrue(a.getNonZeroCount() > CSRMatrix.PARALLEL_THRESHOLD);
+        Random random = new Random(30L);
+        double[] x = new double[a.getColumnDimension()];
+        for(int i = 0; i < x.length; i++) {
+            x[i] = random.nextGaussian();
+        }
+        assertArrayEquals(a.toCSC().times(x), a.times(x), 1e-12);
+    }
+
+    /**
+     * Test for {@link ConjugateGradient}, {@link BiCGStab} and {@link GMRES}
+     * with each preconditioner
+     */
+    @Test
+    public void test03() throws Throwable {
+        CSRMatrix symmetric = laplacian(30, 0.0).toCSR();
+        CSRMatrix unsymmetric = laplacian(30, 0.4).toCSR();
+        double[] x = new double[symmetric.getRowDimension()];
+        for(int i = 0; i < x.length; i++) {
+            x[i] = Math.sin(i);
+        }
+
+        IterativeSolver[] solvers = { new ConjugateGradient(), new BiCGStab(), new GMRES(20) };
+        for(int s = 0; s < solvers.length; s++) {
+            CSRMatrix a = (s == 0) ? symmetric : unsymmetric;
+            double[] b = a.times(x);
+            Preconditioner[] preconditioners = { null, new JacobiPreconditioner(a), new ILU0Preconditioner(a) };
+            for(int p = 0; p < preconditioners.length; p++) {
+                solvers[s].setPreconditioner(preconditioners[p]);
+                double[] solution = solvers[s].solve(a, b);
+                assertTrue(solvers[s].hasConverged());
+                assertArrayEquals(x, solution, 1e-6);
+            }
+        }
+    }
+}
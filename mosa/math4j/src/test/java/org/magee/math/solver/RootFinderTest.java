@@ -0,0 +1,96 @@
+package org.magee.math.solver;
+
+import org.junit.Test;
+
+import org.magee.math.CompoundFunction;
+import org.magee.math.ConstantFunction;
+import org.magee.math.ExponentialFunction;
+import org.magee.math.Function;
+import org.magee.math.LogFunction;
+import org.magee.math.PolyFunction;
+import org.magee.math.RadicalFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RootFinderTest {
+
+    private static RootFinder[] finders() {
+        return new RootFinder[] { new BrentRootFinder(), new IllinoisRootFinder(), new NewtonRootFinder() };
+    }
+
+    /**
+     * sin x, which has no symbolic derivative.
+     */
+    private static Function sine() {
+        return new Function() {
+            public String toString() { return "sin x"; }
+            public double valueAt(double x) { return Math.sin(x); }
+            public double area(double x1, double x2) { return Math.cos(x1) - Math.cos(x2); }
+        };
+    }
+
+    /**
+     * Test for {@link RootFinder#findRoot(Function, double, double)}
+     * Every method finds the root of polynomial, transcendental and derivative free functions
+     */
+    @Test
+    public void test01() throws Throwable {
+        Function cubic = new PolyFunction(new double[] { 1.0, 0.0, -2.0, -5.0 }); // Wallis' example
+        Function transcendental = CompoundFunction.difference(new ExponentialFunction(Math.E), new PolyFunction(new double[] { -3.0, 4.0 }));
+        Function log = CompoundFunction.sum(new LogFunction(Math.E), new RadicalFunction(1.0));
+        for(RootFinder finder : finders()) {
+            assertEquals(2.0945514815423265, finder.findRoot(cubic, 2.0, 3.0), 1e-12);
+            assertTrue(finder.getEvaluations() < 20);
+            double r = finder.findRoot(transcendental, -1.0, 3.0);
+            assertEquals(0.0, transcendental.valueAt(r), 1e-10);
+            r = finder.findRoot(log, 0.1, 2.0);
+            assertEquals(0.5671432904097838, r, 1e-12); // the omega constant
+            assertEquals(Math.PI, finder.findRoot(sine(), 3.0, 4.0), 1e-12);
+            assertEquals(1.0, finder.findRoot(new PolyFunction(new double[] { 1.0, -1.0 }), 1.0, 2.0), 0.0);
+            try {
+                finder.findRoot(cubic, 3.0, 4.0);
+                fail();
+            } catch(IllegalArgumentException e) {
+            }
+        }
+
+        NewtonRootFinder newton = new NewtonRootFinder();
+        assertEquals(Math.sqrt(2.0), newton.findRoot(new PolyFunction(new double[] { 1.0, 0.0, -2.0 }), 1.0), 1e-15);
+        assertTrue(newton.getEvaluations() <= 14);
+        try {
+            newton.findRoot(new PolyFunction(new double[] { 1.0, 0.0, 1.0 }), 0.0);
+            fail();
+        } catch(ArithmeticException e) {
+        }
+        try {
+            newton.setMaxEvaluations(10);
+            newton.findRoot(new PolyFunction(new double[] { 1.0, 0.0, 1.0 }), 0.5);
+            fail();
+        } catch(ArithmeticException e) {
+        }
+    }
+
+    /**
+     * Test for {@link RootFinder#findAllRoots(Function, double, double, int)}
+     * Scanning in parallel finds every crossing, including roots on the grid
+     */
+    @Test
+    public void test02() throws Throwable {
+        for(RootFinder finder : finders()) {
+            double[] roots = finder.findAllRoots(sine(), -0.5, 100.0, 5000);
+            assertEquals(32, roots.length);
+            for(int i = 0; i < roots.length; i++) {
+                assertEquals(i * Math.PI, roots[i], 1e-11);
+            }
+            assertTrue(finder.getEvaluations() > 5000);
+
+            roots = finder.findAllRoots(new PolyFunction(new double[] { 1.0, 0.0, -1.0 }), -1.0, 1.0, 4);
+            assertEquals(2, roots.length);
+            assertEquals(-1.0, roots[0], 0.0);
+            assertEquals(1.0, roots[1], 0.0);
+            assertEquals(0, finder.findAllRoots(new ConstantFunction(1.0), 0.0, 1.0, 100).length);
+        }
+    }
+}
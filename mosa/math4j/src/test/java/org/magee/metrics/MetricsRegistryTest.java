@@ -0,0 +1,97 @@
+package org.magee.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.junit.Test;
+
+import org.magee.math.PolyFunction;
+import org.magee.math.solver.BrentRootFinder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsRegistryTest {
+
+    /**
+     * Test for {@link LatencyHistogram#getPercentile(double)}
+     * Buckets hold small values exactly and larger ones to within one part in 32
+     */
+    @Test
+    public void test01() throws Throwable {
+        for(long v : new long[] { 0L, 1L, 31L, 32L, 33L, 1000L, 123456789L, Long.MAX_VALUE }) {
+            int i = LatencyHistogram.bucketOf(v);
+            assertTrue(v <= LatencyHistogram.highestOf(i));
+            assertTrue(i == 0 || v > LatencyHistogram.highestOf(i - 1));
+            assertTrue(LatencyHistogram.highestOf(i) - v <= v / 32);
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestOf(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0L, h.getPercentile(0.99));
+        for(long v = 1; v <= 10000; v++) {
+            h.record(v * 1000);
+        }
+        h.record(-5L);
+        assertEquals(10001L, h.getCount());
+        LatencyHistogram.Snapshot s = h.snapshot();
+        assertEquals(10001L, s.getCount());
+        assertEquals(10000000L, s.getMax());
+        assertEquals(5000000.0, s.getMedian(), 5000000.0 / 32);
+        assertEquals(9900000.0, s.getP99(), 9900000.0 / 32);
+        assertEquals(5000500.0 * 10000 / 10001, s.getMean(), 1e-6);
+        assertEquals(0L, h.getPercentile(0.0));
+        assertEquals(10000000L, h.getPercentile(1.0));
+        h.reset();
+        assertEquals(0L, h.snapshot().getMax());
+    }
+
+    /**
+     * Test for {@link MetricsRegistry#registerMBean(String)}
+     * Metrics of a class are shared by name, and JMX shows them as tables
+     */
+    @Test
+    public void test02() throws Throwable {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter c = registry.counter(PolyFunction.class, "valueAt");
+        assertSame(c, registry.counter(PolyFunction.class, "valueAt"));
+        assertSame(c, registry.counter("org.magee.math.PolyFunction.valueAt"));
+        c.add(41L);
+        c.increment();
+        registry.histogram(BrentRootFinder.class, "findRoot").record(2000L);
+        assertEquals(Long.valueOf(42L), registry.getCounters().get("org.magee.math.PolyFunction.valueAt"));
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = registry.registerMBean("test");
+        try {
+            TabularData counters = (TabularData) server.getAttribute(name, "Counters");
+            CompositeData row = counters.get(new Object[] { "org.magee.math.PolyFunction.valueAt" });
+            assertEquals(42L, row.get("value"));
+            TabularData histograms = (TabularData) server.getAttribute(name, "Histograms");
+            CompositeData snapshot = (CompositeData) histograms.get(new Object[] { "org.magee.math.solver.BrentRootFinder.findRoot" }).get("value");
+            assertEquals(1L, snapshot.get("count"));
+            assertEquals(2000L, snapshot.get("max"));
+
+            server.invoke(name, "reset", new Object[0], new String[0]);
+            assertEquals(0L, c.get());
+        } finally {
+            server.unregisterMBean(name);
+        }
+
+        assertFalse(Metrics.ENABLED);
+        assertEquals(0L, Metrics.start());
+        Metrics.setRegistry(registry);
+        Metrics.count(PolyFunction.class, "valueAt", 5L);
+        assertEquals(0L, c.get());
+        assertNotNull(Metrics.getRegistry());
+        assertEquals(0.5, new BrentRootFinder().findRoot(new PolyFunction(new double[] { 2.0, -1.0 }), 0.0, 1.0), 1e-12);
+        assertEquals(Long.valueOf(0L), registry.getCounters().get("org.magee.math.PolyFunction.valueAt"));
+    }
+}
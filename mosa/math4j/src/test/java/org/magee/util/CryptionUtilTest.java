@@ -0,0 +1,60 @@
+package org.magee.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class CryptionUtilTest {
+
+    /**
+     * Test for {@link CryptionUtil#encrypt(String, String)} and {@link CryptionUtil#decrypt(String, String)}
+     * Messages of any length round trip and keep the salted hexadecimal block format
+     */
+    @Test
+    public void test01() throws Throwable {
+        StringBuffer sb = new StringBuffer();
+        for(int i = 0; i < 1000; i++) {
+            String s = sb.toString();
+            String encrypted = CryptionUtil.encrypt(s, "key");
+            assertEquals(CryptionUtil.encryptedLength(s.length()), encrypted.length());
+            assertEquals(s, CryptionUtil.decrypt(encrypted, "key"));
+            sb.append((char) (32 + i % 95));
+        }
+        // salt 0x2a, 'h' ^ 0x2a ^ 'k' = 0x29, 'i' ^ 0x2a ^ 'k' = 0x28
+        assertEquals("hi", CryptionUtil.decrypt("2a2928", "k"));
+        assertEquals(2 * (CryptionUtil.BLOCK_SIZE + 1), CryptionUtil.encrypt(sb.substring(0, CryptionUtil.BLOCK_SIZE), "k").length());
+    }
+
+    /**
+     * Test for {@link CryptionUtil#encrypt(java.io.InputStream, java.io.OutputStream, String)}
+     * Streams larger than a buffer decrypt to the same bytes as the buffer methods
+     */
+    @Test
+    public void test02() throws Throwable {
+        byte[] data = new byte[300000];
+        new Random(35L).nextBytes(data);
+        ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+        CryptionUtil.encrypt(new ByteArrayInputStream(data), encrypted, "secret");
+        assertEquals(CryptionUtil.encryptedLength(data.length), encrypted.size());
+
+        ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+        CryptionUtil.decrypt(new ByteArrayInputStream(encrypted.toByteArray()), decrypted, "secret");
+        assertArrayEquals(data, decrypted.toByteArray());
+
+        ByteBuffer src = ByteBuffer.allocateDirect(encrypted.size());
+        src.put(encrypted.toByteArray()).flip();
+        ByteBuffer dst = ByteBuffer.allocateDirect(data.length);
+        CryptionUtil.decrypt(src, dst, "secret");
+        assertEquals(0, dst.remaining());
+        dst.flip();
+        byte[] back = new byte[data.length];
+        dst.get(back);
+        assertArrayEquals(data, back);
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.cli;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of {@link CommandLineParser#parse(Options, String[], boolean)}
+ * for each parser over the following inputs:
+ * <ul>
+ *   <li><b>small</b>: a handful of short, long and argument options.</li>
+ *   <li><b>large</b>: {@link #SIZE} long options, each given with a value.</li>
+ *   <li><b>burst</b>: one token bursting {@link #SIZE} single character flags.</li>
+ *   <li><b>values</b>: one option followed by {@link #SIZE} values.</li>
+ * </ul>
+ * The arguments are parsed with <code>stopAtNonOption</code> set so that
+ * parsers which do not burst tokens stop instead of failing.
+ *
+ * @version $Revision$, $Date$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark
+{
+    /** the number of options, flags or values in the larger inputs */
+    public static final int SIZE = 5000;
+
+    @Param({"basic", "gnu", "posix"})
+    public String parserName;
+
+    @Param({"small", "large", "burst", "values"})
+    public String input;
+
+    private CommandLineParser parser;
+
+    private Options options;
+
+    private String[] arguments;
+
+    @Setup
+    public void setUp()
+    {
+        if ("basic".equals(parserName))
+        {
+            parser = new BasicParser();
+        }
+        else if ("gnu".equals(parserName))
+        {
+            parser = new GnuParser();
+        }
+        else
+        {
+            parser = new PosixParser();
+        }
+
+        if ("small".equals(input))
+        {
+            options = new Options();
+            options.addOption("a", "all", false, "do not hide entries");
+            options.addOption("b", "block-size", true, "use SIZE-byte blocks");
+            options.addOption("f", "file", true, "the file to use");
+            options.addOption("v", "verbose", false, "be extra verbose");
+            arguments = new String[] { "-a", "-b", "1024", "--verbose", "--file=build.xml", "target" };
+        }
+        else if ("large".equals(input))
+        {
+            options = createOptions(SIZE, true);
+            arguments = new String[SIZE * 2];
+            for (int i = 0; i < SIZE; i++)
+            {
+                arguments[2 * i] = "--option" + i;
+                arguments[2 * i + 1] = "value" + i;
+            }
+        }
+        else if ("burst".equals(input))
+        {
+            options = new Options();
+            StringBuffer burst = new StringBuffer("-");
+            for (char c = 'a'; c <= 'z'; c++)
+            {
+                options.addOption(String.valueOf(c), false, "flag " + c);
+            }
+            for (int i = 0; i < SIZE; i++)
+            {
+                burst.append((char) ('a' + i % 26));
+            }
+            arguments = new String[] { burst.toString() };
+        }
+        else
+        {
+            options = new Options();
+            Option values = new Option("v", "values", true, "many values");
+            values.setArgs(Option.UNLIMITED_VALUES);
+            options.addOption(values);
+            arguments = new String[SIZE + 1];
+            arguments[0] = "-v";
+            for (int i = 0; i < SIZE; i++)
+            {
+                arguments[i + 1] = "value" + i;
+            }
+        }
+    }
+
+    @Benchmark
+    public CommandLine parse() throws ParseException
+    {
+        return parser.parse(options, arguments, true);
+    }
+
+    /**
+     * Creates <code>count</code> options named <code>o0, o1, ...</code> whose
+     * long names are <code>option0, option1, ...</code>.
+     */
+    static Options createOptions(int count, boolean hasArg)
+    {
+        Options options = new Options();
+        for (int i = 0; i < count; i++)
+        {
+            options.addOption("o" + i, "option" + i, hasArg, "the description of option number " + i);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * PolyFunctionBenchmark.java Benchmarks for evaluating and solving polynomials.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math;
+
+// import other packages
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures <code>PolyFunction</code> evaluation and root finding for
+ * polynomials of increasing degree.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolyFunctionBenchmark {
+
+    @Param({"2", "5", "10", "25", "50"})
+    public int degree;
+
+    private PolyFunction poly;
+
+    private double x;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(degree);
+        double[] coefs = new double[degree + 1];
+        coefs[0] = 1.0 + random.nextDouble(); // keep the leading coeffient non-zero
+        for(int i = 1; i < coefs.length; i++) {
+            coefs[i] = random.nextDouble() * 2.0 - 1.0;
+        }
+        poly = new PolyFunction(coefs);
+        x = random.nextDouble();
+    }
+
+    @Benchmark
+    public double valueAt() {
+        return poly.valueAt(x);
+    }
+
+    @Benchmark
+    public Complex[] getComplexRoots() {
+        return poly.getComplexRoots();
+    }
+
+    @Benchmark
+    public double[] getRealRoots() {
+        return poly.getRealRoots();
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * RationalBenchmark.java Benchmarks for rational arithmetic.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math;
+
+// import other packages
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures <code>Rational</code> arithmetic. The size is the number of decimal
+ * digits in the numerators and denominators, which bounds the work done by
+ * <code>reduce</code>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RationalBenchmark {
+
+    @Param({"2", "4", "6", "8"})
+    public int digits;
+
+    private Rational a, b;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(digits);
+        long low = (long) Math.pow(10, digits - 1), range = 9 * low;
+        a = new Rational(low + (long) (random.nextDouble() * range), low + (long) (random.nextDouble() * range));
+        b = new Rational(low + (long) (random.nextDouble() * range), low + (long) (random.nextDouble() * range));
+    }
+
+    @Benchmark
+    public Rational add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public Rational subtract() {
+        return a.subtract(b);
+    }
+
+    @Benchmark
+    public Rational multiply() {
+        return a.multiply(b);
+    }
+
+    @Benchmark
+    public Rational divide() {
+        return a.divide(b);
+    }
+
+    @Benchmark
+    public Rational reduce() {
+        return a.reduce();
+    }
+}
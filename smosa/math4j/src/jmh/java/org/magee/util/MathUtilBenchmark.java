@@ -0,0 +1,84 @@
+/**
+ * MathUtilBenchmark.java Benchmarks for factoring, primality and rationalization.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.util;
+
+// import other packages
+import java.util.concurrent.TimeUnit;
+
+import org.magee.math.Rational;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the number theory methods of <code>MathUtil</code>. Primes are the
+ * worst case for <code>factor</code> because trial division runs to the
+ * square root; the smooth number is the best case.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathUtilBenchmark {
+
+    @State(Scope.Thread)
+    public static class Numbers {
+        /**
+         * 2^40, then primes of 7, 10 and 13 digits.
+         */
+        @Param({"1099511627776", "1000003", "1000000007", "1000000000039"})
+        public long number;
+    }
+
+    @State(Scope.Thread)
+    public static class Decimals {
+        /**
+         * Decimals whose continued fractions are short, medium and long.
+         */
+        @Param({"0.75", "0.3333333333", "3.14159265358979"})
+        public double decimal;
+    }
+
+    @Benchmark
+    public long[] factor(Numbers n) {
+        return MathUtil.factor(n.number);
+    }
+
+    @Benchmark
+    public boolean isPrime(Numbers n) {
+        return MathUtil.isPrime(n.number);
+    }
+
+    @Benchmark
+    public Rational rationalize(Decimals d) {
+        return MathUtil.rationalize(d.decimal);
+    }
+}
@@ -78,6 +78,14 @@ package org.magee.math;
 
  * @version 1.0,November 6, 2005
 
+ * @version 1.1, October 19, 2026 Symbolic derivative and antiderivative.
+
+ * @version 1.2, October 19, 2026 Added jetAt.
+
+ * @version 1.3, October 19, 2026 Added toImmutable.
+
+ * @version 1.4, October 19, 2026 NaturalExpFunction moved to its own file.
+
  */
 
 
@@ -166,10 +174,28 @@ public class ExponentialFunction extends Function {
 
         this.base = base;
 
+        changed();
+
     }
 
     
 
+    /**
+
+     * Returns an immutable copy of this function, which may be shared
+
+     * between threads while this one is changed.
+
+     */
+
+    public ImmutableExponentialFunction toImmutable() {
+
+        return new ImmutableExponentialFunction(getBase());
+
+    }
+
+
+
     /**
 
      * Evaluates the value of the function at x.
@@ -254,42 +280,74 @@ public class ExponentialFunction extends Function {
 
 
 
-    @Override
+    /**
+
+     * Writes the value of the function at x and its first two derivatives,
+
+     * ln base * base ^ x and ln base ^ 2 * base ^ x, to <code>jet</code>.
+
+     * 
 
-    public Function getDerivFunc() {
+     * @param x The value to evaluate the function at.
 
-        // TODO Auto-generated method stub
+     * @param jet The array of at least three elements to write to.
 
-        return null;
+     */
+
+    public void jetAt(double x, double[] jet) {
+
+        double y = Math.pow(base, x);
+
+        double lnBase = Math.log(base);
+
+        jet[0] = y;
+
+        jet[1] = y * lnBase;
+
+        jet[2] = y * lnBase * lnBase;
 
     }
 
 
 
-    @Override
+    /**
+
+     * Finds the derivative of this function, ln base * base ^ x.
+
+     * 
+
+     * @return A function that is the derivative of <code>this</code>.
 
-    public Function getAntiderivFunc() {
+     */
 
-        // TODO Auto-generated method stub
+    protected Function deriveFunc() {
 
-        return null;
+        return CompoundFunction.product(new ConstantFunction(Math.log(base)), new ExponentialFunction(base));
 
     }
 
-}
 
 
+    /**
 
-final class NaturalExpFunction extends ExponentialFunction {
+     * Finds the antiderivative of this function, base ^ x / ln base, or x
 
-    static final long serialVersionUID = 1L;
+     * when the base is one.
 
-    
+     * 
 
-    public NaturalExpFunction() {
+     * @return A function that is the antiderivative of <code>this</code>.
 
-        super(Math.E);
+     */
+
+    protected Function integrateFunc() {
+
+        if(base == 1.0)
+
+            return CompoundFunction.power(1.0);
+
+        return CompoundFunction.product(new ConstantFunction(1 / Math.log(base)), new ExponentialFunction(base));
 
     }
 
-}
\ No newline at end of file
+}
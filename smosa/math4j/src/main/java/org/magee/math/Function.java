@@ -28,15 +28,47 @@ import java.io.Serializable;
 /**
  * The <code>Function</code> class is the foundation for a function form
  * class.
+ * <p>
+ * 
+ * The derivative and antiderivative of a function are found once, by
+ * <code>deriveFunc</code> and <code>integrateFunc</code>, and kept, so code
+ * that asks for the derivative on every step of an iteration is given the
+ * same tree each time. A subclass whose value can be changed calls
+ * <code>changed</code> to drop them, and a function built from other
+ * functions adds their <code>stamp</code> to its own, so that changing an
+ * operand drops what was found for the functions built on it.
+ * <p>
+ * 
+ * The value and the first two derivatives at a point can also be found
+ * together by <code>jetAt</code>, which carries them through a tree of
+ * functions in forward mode, as hyper-dual numbers would, instead of
+ * building the derivative trees; the array methods
+ * <code>valueAndDerivative</code> and <code>valueAndDerivatives</code>
+ * write many points into arrays the caller owns.
  * 
  * @author Anthony W. Magee
  * @version 1.0, February 2, 2002
+ * @version 1.1, October 19, 2026 The derivative and antiderivative are
+ *          kept once found.
+ * @version 1.2, October 19, 2026 Forward mode derivatives by
+ *          <code>jetAt</code>.
+ * @version 1.3, October 19, 2026 Bulk evaluation by <code>valuesAt</code>.
+ * @version 1.4, October 19, 2026 Derivatives kept for a function are found
+ *          again when one of its operands changes.
  */
 
 /*
  * version changes
  */
 public abstract class Function implements Serializable {
+    static final long serialVersionUID = -4139702861919267081L;
+
+    // private members
+    private transient volatile Found derivFunc; // the derivative, once found
+
+    private transient volatile Found antiderivFunc; // the antiderivative, once found
+
+    private transient volatile long version; // how many times this function has changed
 
     /**
      * Returns a string representation of this function.
@@ -61,12 +93,176 @@ public abstract class Function implements Serializable {
     public abstract double area(double x1, double x2);
     
     /**
-     * Gets the derivative of this function.
+     * Gets the derivative of this function. The function returned is shared
+     * by every caller and must not be changed.
+     * 
+     * @return The derivative, or null if it cannot be found.
      */
-    public abstract Function getDerivFunc();
+    public Function getDerivFunc() {
+        long stamp = stamp();
+        Found d = derivFunc;
+        if(d == null || d.stamp != stamp)
+            derivFunc = d = new Found(deriveFunc(), stamp);
+        return d.function;
+    }
     
     /**
-     * Gets the antiderivative of this function.
+     * Gets the antiderivative of this function. The function returned is
+     * shared by every caller and must not be changed.
+     * 
+     * @return The antiderivative, or null if it has no closed form.
+     */
+    public Function getAntiderivFunc() {
+        long stamp = stamp();
+        Found d = antiderivFunc;
+        if(d == null || d.stamp != stamp)
+            antiderivFunc = d = new Found(integrateFunc(), stamp);
+        return d.function;
+    }
+
+    /**
+     * Writes the value of this function at every element of <code>x</code>
+     * into the same element of <code>values</code>. Subclasses that can
+     * share work between points, such as the search for a segment, override
+     * this.
+     * 
+     * @param x The values to evaluate the function at.
+     * @param values The array for the values, as long as <code>x</code>.
+     */
+    public void valuesAt(double[] x, double[] values) {
+        if(values.length < x.length)
+            throw new IllegalArgumentException("Output array is shorter than the input");
+        for(int i = 0; i < x.length; i++) {
+            values[i] = valueAt(x[i]);
+        }
+    }
+
+    /**
+     * Writes the value of this function at <code>x</code> and its first and
+     * second derivatives there to <code>jet[0]</code>, <code>jet[1]</code>
+     * and <code>jet[2]</code>. Subclasses compute all three in one pass; this
+     * implementation uses <code>getDerivFunc</code> if there is a derivative
+     * and central differences if not.
+     * 
+     * @param x The value to evaluate the function at.
+     * @param jet The array of at least three elements to write to.
+     */
+    public void jetAt(double x, double[] jet) {
+        Function d = getDerivFunc();
+        Function dd = (d == null) ? null : d.getDerivFunc();
+        jet[0] = valueAt(x);
+        if(dd != null) {
+            jet[1] = d.valueAt(x);
+            jet[2] = dd.valueAt(x);
+            return;
+        }
+        double h = 6.0554544523933395e-6 * Math.max(1.0, Math.abs(x)); // the cube root of the double epsilon
+        double yl = valueAt(x - h), yr = valueAt(x + h);
+        jet[1] = (d != null) ? d.valueAt(x) : (yr - yl) / (2 * h);
+        jet[2] = (yr - 2 * jet[0] + yl) / (h * h);
+    }
+
+    /**
+     * Returns the value of this function at <code>x</code> and its
+     * derivative there, found together by <code>jetAt</code>.
+     * 
+     * @param x The value to evaluate the function at.
+     * @return The array {f(x), f'(x)}.
      */
-    public abstract Function getAntiderivFunc();
+    public double[] valueAndDerivative(double x) {
+        double[] jet = new double[3];
+        jetAt(x, jet);
+        return new double[] { jet[0], jet[1] };
+    }
+
+    /**
+     * Writes the value of this function and its derivative at every element
+     * of <code>x</code> into the same element of <code>values</code> and
+     * <code>derivatives</code>.
+     * 
+     * @param x The values to evaluate the function at.
+     * @param values The array for the values, as long as <code>x</code>.
+     * @param derivatives The array for the derivatives, as long as
+     *        <code>x</code>.
+     */
+    public void valueAndDerivative(double[] x, double[] values, double[] derivatives) {
+        valueAndDerivatives(x, values, derivatives, null);
+    }
+
+    /**
+     * Writes the value of this function and its first and second
+     * derivatives at every element of <code>x</code> into the same element
+     * of the output arrays.
+     * 
+     * @param x The values to evaluate the function at.
+     * @param values The array for the values, as long as <code>x</code>.
+     * @param first The array for the first derivatives, as long as
+     *        <code>x</code>.
+     * @param second The array for the second derivatives, as long as
+     *        <code>x</code>, or null if they are not wanted.
+     */
+    public void valueAndDerivatives(double[] x, double[] values, double[] first, double[] second) {
+        if(values.length < x.length || first.length < x.length || (second != null && second.length < x.length))
+            throw new IllegalArgumentException("Output arrays are shorter than the input");
+        double[] jet = new double[3];
+        for(int i = 0; i < x.length; i++) {
+            jetAt(x[i], jet);
+            values[i] = jet[0];
+            first[i] = jet[1];
+            if(second != null)
+                second[i] = jet[2];
+        }
+    }
+
+    /**
+     * Finds the derivative of this function for <code>getDerivFunc</code>.
+     * 
+     * @return The derivative, or null if it cannot be found.
+     */
+    protected Function deriveFunc() {
+        return null;
+    }
+
+    /**
+     * Finds the antiderivative of this function for
+     * <code>getAntiderivFunc</code>.
+     * 
+     * @return The antiderivative, or null if it has no closed form.
+     */
+    protected Function integrateFunc() {
+        return null;
+    }
+
+    /**
+     * Drops the derivative and antiderivative kept for this function. A
+     * subclass calls this whenever its value changes.
+     */
+    protected void changed() {
+        version++;
+        derivFunc = null;
+        antiderivFunc = null;
+    }
+
+    /**
+     * Returns a number that grows whenever this function changes. A function
+     * made of other functions adds their stamps to this one's, so that it
+     * grows when any of them changes.
+     */
+    protected long stamp() {
+        return version;
+    }
+
+    /**
+     * A function found for this one and the stamp of this one when it was
+     * found, kept together so that they are read together.
+     */
+    private static final class Found {
+        final Function function;
+        final long stamp;
+
+        Found(Function function, long stamp) {
+            this.function = function;
+            this.stamp = stamp;
+        }
+    }
 }
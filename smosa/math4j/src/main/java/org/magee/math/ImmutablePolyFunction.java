@@ -0,0 +1,375 @@
+/**
+ * ImmutablePolyFunction.java A class for defining a polynomial that cannot be changed.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math;
+
+// import other packages
+import java.util.Arrays;
+
+/**
+ * The <code>ImmutablePolyFunction</code> class defines a polynomial
+ * function, as <code>PolyFunction</code> does, whose coeffients cannot be
+ * changed once it is built.
+ * <p>
+ *
+ * Its fields are final and its array of coeffients is never written after
+ * construction, so one instance may be shared by any number of threads
+ * without locks or copies, even when it is handed over without
+ * synchronization. Instead of setters there are <code>with</code> methods,
+ * which return a new polynomial and leave this one alone, and a
+ * <code>Builder</code> for putting one together term by term. Because the
+ * array is never written, polynomials may share it: a polynomial cut down
+ * to a lower degree uses the array of the original, and a builder hands its
+ * array to the polynomial it builds and copies it only if it is changed
+ * again.
+ * <p>
+ *
+ * The coeffients are stored lowest power first, and the polynomial never
+ * has a zero leading coeffient.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public final class ImmutablePolyFunction extends Function {
+    static final long serialVersionUID = 1L;
+
+    // private members
+    private final double[] coefs; // the coeffients, lowest power first, perhaps shared
+
+    private final int length; // the number of coeffients used, none if zero
+
+    /**
+     * Constructor that creates the polynomial with the coeffients
+     * <code>coefs</code>, highest power first, as in
+     * <code>PolyFunction</code>.
+     *
+     * @param coefs The coeffients of the polynomial function.
+     */
+    public ImmutablePolyFunction(double[] coefs) {
+        double[] ascending = new double[coefs.length];
+        for(int i = 0; i < coefs.length; i++) {
+            ascending[i] = coefs[coefs.length - 1 - i];
+        }
+        this.coefs = ascending;
+        this.length = trim(ascending, ascending.length);
+    }
+
+    /**
+     * Creates a polynomial on the first <code>length</code> elements of
+     * <code>coefs</code>, which must never be written again.
+     */
+    private ImmutablePolyFunction(double[] coefs, int length) {
+        this.coefs = coefs;
+        this.length = trim(coefs, length);
+    }
+
+    /**
+     * Returns how many of the first <code>length</code> coeffients are left
+     * when the zeros of the highest powers are dropped.
+     */
+    private static int trim(double[] coefs, int length) {
+        while(length > 0 && coefs[length - 1] == 0.0) {
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * Returns a builder for a polynomial.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the degree of the polynomial.
+     */
+    public int getDegree() {
+        return Math.max(length - 1, 0);
+    }
+
+    /**
+     * Returns the coeffient of x<sup><code>power</code></sup>, zero beyond
+     * the degree.
+     *
+     * @param power A power of x, not negative.
+     */
+    public double getCoeffient(int power) {
+        if(power < 0)
+            throw new IllegalArgumentException("Negative power " + power);
+        return (power < length) ? coefs[power] : 0.0;
+    }
+
+    /**
+     * Returns a copy of the coeffients, highest power first, as
+     * <code>PolyFunction.getCoeffients</code> does.
+     */
+    public double[] getCoeffients() {
+        double[] c = new double[length];
+        for(int i = 0; i < length; i++) {
+            c[i] = coefs[length - 1 - i];
+        }
+        return c;
+    }
+
+    /**
+     * Returns this polynomial with the coeffient of
+     * x<sup><code>power</code></sup> set to <code>c</code>.
+     *
+     * @param power A power of x, not negative.
+     * @param c The new coeffient.
+     * @return A new polynomial, or this one if the coeffient is unchanged.
+     */
+    public ImmutablePolyFunction withCoeffient(int power, double c) {
+        if(getCoeffient(power) == c)
+            return this;
+        double[] copy = Arrays.copyOf(coefs, Math.max(length, power + 1));
+        copy[power] = c;
+        return new ImmutablePolyFunction(copy, copy.length);
+    }
+
+    /**
+     * Returns this polynomial without the powers of x above
+     * <code>degree</code>. The result shares the coeffients of this one.
+     *
+     * @param degree The highest power to keep, not negative.
+     * @return A new polynomial, or this one if its degree is not higher.
+     */
+    public ImmutablePolyFunction withDegree(int degree) {
+        if(degree < 0)
+            throw new IllegalArgumentException("Negative degree " + degree);
+        if(degree + 1 >= length)
+            return this;
+        return new ImmutablePolyFunction(coefs, degree + 1);
+    }
+
+    /**
+     * Returns this polynomial with every coeffient multiplied by
+     * <code>factor</code>.
+     *
+     * @param factor The factor.
+     * @return A new polynomial, or this one if the factor is one.
+     */
+    public ImmutablePolyFunction withScale(double factor) {
+        if(factor == 1.0)
+            return this;
+        double[] copy = new double[length];
+        for(int i = 0; i < length; i++) {
+            copy[i] = coefs[i] * factor;
+        }
+        return new ImmutablePolyFunction(copy, length);
+    }
+
+    /**
+     * Returns a <code>PolyFunction</code> with the same coeffients, for the
+     * methods such as <code>getRealRoots</code> that only it has.
+     */
+    public PolyFunction toPolyFunction() {
+        return (length == 0) ? new PolyFunction() : new PolyFunction(getCoeffients());
+    }
+
+    /**
+     * Evaluates the value of the function at x by Horner's rule.
+     *
+     * @param x The value to evaluate the function at.
+     * @return The y value.
+     */
+    public double valueAt(double x) {
+        double value = 0.0;
+        for(int i = length - 1; i >= 0; i--) {
+            value = value * x + coefs[i];
+        }
+        return value;
+    }
+
+    /**
+     * Writes the value and first two derivatives of the polynomial at x to
+     * <code>jet</code>, all in one pass of Horner's rule.
+     *
+     * @param x The value to evaluate the function at.
+     * @param jet The array of at least three elements to write to.
+     */
+    public void jetAt(double x, double[] jet) {
+        double p0 = 0.0, p1 = 0.0, p2 = 0.0;
+        for(int i = length - 1; i >= 0; i--) {
+            p2 = p2 * x + p1;
+            p1 = p1 * x + p0;
+            p0 = p0 * x + coefs[i];
+        }
+        jet[0] = p0;
+        jet[1] = p1;
+        jet[2] = 2 * p2;
+    }
+
+    /**
+     * Evaluates the area under the curve from <code>x1</code> to
+     * <code>x2</code>.
+     *
+     * @param x1 Lower bound.
+     * @param x2 Upper bound.
+     * @return The total area under the curve.
+     */
+    public double area(double x1, double x2) {
+        Function ad = getAntiderivFunc();
+        return ad.valueAt(x2) - ad.valueAt(x1);
+    }
+
+    public ImmutablePolyFunction getDerivFunc() {
+        return (ImmutablePolyFunction) super.getDerivFunc();
+    }
+
+    public ImmutablePolyFunction getAntiderivFunc() {
+        return (ImmutablePolyFunction) super.getAntiderivFunc();
+    }
+
+    protected ImmutablePolyFunction deriveFunc() {
+        double[] d = new double[Math.max(length - 1, 0)];
+        for(int i = 0; i < d.length; i++) {
+            d[i] = coefs[i + 1] * (i + 1);
+        }
+        return new ImmutablePolyFunction(d, d.length);
+    }
+
+    protected ImmutablePolyFunction integrateFunc() {
+        double[] ad = new double[length + 1];
+        for(int i = 1; i < ad.length; i++) {
+            ad[i] = coefs[i - 1] / i;
+        }
+        return new ImmutablePolyFunction(ad, ad.length);
+    }
+
+    /**
+     * Returns whether <code>o</code> is a polynomial with the same
+     * coeffients.
+     */
+    public boolean equals(Object o) {
+        if(!(o instanceof ImmutablePolyFunction))
+            return false;
+        ImmutablePolyFunction p = (ImmutablePolyFunction) o;
+        if(p.length != length)
+            return false;
+        for(int i = 0; i < length; i++) {
+            if(Double.doubleToLongBits(p.coefs[i]) != Double.doubleToLongBits(coefs[i]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code of the coeffients.
+     */
+    public int hashCode() {
+        int h = 1;
+        for(int i = 0; i < length; i++) {
+            long bits = Double.doubleToLongBits(coefs[i]);
+            h = 31 * h + (int) (bits ^ (bits >>> 32));
+        }
+        return h;
+    }
+
+    /**
+     * Returns a string representation of the polynomial function without
+     * zeros, as <code>PolyFunction</code> writes it.
+     */
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        for(int i = length - 1; i >= 0; i--) {
+            if(coefs[i] == 0.0)
+                continue;
+            if(s.length() > 0)
+                s.append(" + ");
+            s.append(coefs[i]);
+            if(i > 1)
+                s.append(" x^").append(i);
+            else if(i == 1)
+                s.append(" x");
+        }
+        return (length == 0) ? "0" : s.toString();
+    }
+
+    /**
+     * The <code>Builder</code> class puts a polynomial together one
+     * coeffient at a time. It gives its array to the polynomial it builds,
+     * and copies the array before it is written again, so that building
+     * costs no copy and the polynomial is never changed. A builder is not
+     * thread safe.
+     */
+    public static final class Builder {
+
+        // private members
+        private double[] coefs = new double[4]; // the coeffients, lowest power first
+
+        private int length; // one more than the highest power set
+
+        private boolean shared; // whether coefs belongs to a built polynomial
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the coeffient of x<sup><code>power</code></sup>.
+         *
+         * @param power A power of x, not negative.
+         * @param c The coeffient.
+         * @return This builder.
+         */
+        public Builder coeffient(int power, double c) {
+            if(power < 0)
+                throw new IllegalArgumentException("Negative power " + power);
+            if(shared || power >= coefs.length) {
+                coefs = Arrays.copyOf(coefs, Math.max(coefs.length, Math.max(power + 1, 2 * length)));
+                shared = false;
+            }
+            coefs[power] = c;
+            length = Math.max(length, power + 1);
+            return this;
+        }
+
+        /**
+         * Sets every coeffient, highest power first, as in
+         * <code>PolyFunction</code>.
+         *
+         * @param c The coeffients.
+         * @return This builder.
+         */
+        public Builder coeffients(double... c) {
+            coefs = new double[Math.max(c.length, 1)];
+            for(int i = 0; i < c.length; i++) {
+                coefs[i] = c[c.length - 1 - i];
+            }
+            length = c.length;
+            shared = false;
+            return this;
+        }
+
+        /**
+         * Builds the polynomial set so far.
+         */
+        public ImmutablePolyFunction build() {
+            shared = true;
+            return new ImmutablePolyFunction(coefs, length);
+        }
+    }
+}
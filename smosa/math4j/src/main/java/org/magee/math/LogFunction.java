@@ -37,6 +37,9 @@ package org.magee.math;
  * 
  * @author Anthony W. Magee
  * @version 1.1, November 5, 2005
+ * @version 1.2, October 19, 2026 Symbolic derivative and antiderivative.
+ * @version 1.3, October 19, 2026 Added jetAt.
+ * @version 1.4, October 19, 2026 Added toImmutable.
  */
 
 /*
@@ -81,6 +84,15 @@ public class LogFunction extends Function {
      */
     public void setBase(double base) {
         this.base = base;
+        changed();
+    }
+
+    /**
+     * Returns an immutable copy of this function, which may be shared
+     * between threads while this one is changed.
+     */
+    public ImmutableLogFunction toImmutable() {
+        return new ImmutableLogFunction(base);
     }
 
     /**
@@ -107,22 +119,38 @@ public class LogFunction extends Function {
         return (-x + x * Math.log(x)) / Math.log(base);
     }
     
+    /**
+     * Writes the value of the function at x and its first two derivatives,
+     * 1 / (x ln base) and -1 / (x^2 ln base), to <code>jet</code>.
+     * 
+     * @param x The value to evaluate the function at.
+     * @param jet The array of at least three elements to write to.
+     */
+    public void jetAt(double x, double[] jet) {
+        double lnBase = Math.log(base);
+        double d = 1 / (x * lnBase);
+        jet[0] = Math.log(x) / lnBase;
+        jet[1] = d;
+        jet[2] = -d / x;
+    }
+
     /** 
-     * Finds the derivative of this function.
+     * Finds the derivative of this function, 1 / (x ln base).
      * 
      * @return A function that is the derivative of <code>this</code>.
      */
-    public Function getDerivFunc() {
-        return null;
+    protected Function deriveFunc() {
+        return CompoundFunction.product(new ConstantFunction(1 / Math.log(base)), CompoundFunction.power(-1.0));
     }
 
     /** 
-     * Finds the antiderivative of this function.
+     * Finds the antiderivative of this function, x log x - x / ln base.
      * 
      * @return A function that is the antiderivative of <code>this</code>.
      */
-    public Function getAntiderivFunc() {
-        return null;
+    protected Function integrateFunc() {
+        Function xLog = CompoundFunction.product(CompoundFunction.power(1.0), new LogFunction(base));
+        return CompoundFunction.sum(xLog, new PolyFunction(new double[] { -1 / Math.log(base), 0.0 }));
     }
 
     /**
@@ -0,0 +1,40 @@
+/**
+ * NaturalExpFunction.java A class for the exponential function of base e.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ * 
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math;
+
+/**
+ * The <code>NaturalExpFunction</code> class is the exponential function
+ * e ^ x.
+ * 
+ * @author Anthony W. Magee
+ * @version 1.0, November 6, 2005
+ * @version 1.1, October 19, 2026 Moved out of ExponentialFunction.java into
+ *          its own file.
+ */
+final class NaturalExpFunction extends ExponentialFunction {
+    static final long serialVersionUID = 1L;
+
+    public NaturalExpFunction() {
+        super(Math.E);
+    }
+}
@@ -0,0 +1,877 @@
+/**
+ * RationalPolyFunction.java A class for defining a polynomial with exact rational coeffients.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math;
+
+// import other packages
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.magee.metrics.Metrics;
+
+/**
+ * The <code>RationalPolyFunction</code> class defines a polynomial whose
+ * coeffients are exact rational numbers, and finds its real roots with a
+ * certificate instead of by floating point eigenvalues.
+ * <p>
+ *
+ * The coeffients are kept as integer numerators, lowest power first, over
+ * one positive common denominator, in lowest terms, so that the arithmetic
+ * that matters is on integers. A polynomial is never changed once made.
+ * <p>
+ *
+ * The real roots are those of the square-free part, the polynomial divided
+ * by its greatest common divisor with its derivative, which has every root
+ * of this one once. Its Sturm sequence, found once by pseudo-remainders
+ * made primitive so that the integers stay small, counts the distinct roots
+ * in any interval exactly from the signs of the sequence at the two ends,
+ * which are found in integers at dyadic points. <code>isolateRealRoots</code>
+ * halves the interval inside the Cauchy bound until each piece holds one
+ * root, forking the halves on a fork/join pool; <code>refine</code> then
+ * narrows a piece by a Newton step in doubles, accepted only when the signs
+ * at both sides of the guess prove the root is between them, falling back
+ * to halving when it is not. A root at a point where the halving lands is
+ * reported exactly.
+ *
+ * @version 1.0, October 19, 2026
+ * @version 1.1, October 19, 2026 Coeffients are divided to 34 digits before
+ *          they are rounded to doubles.
+ */
+
+/*
+ * version changes
+ * 1.1 DECIMAL128 quotients, since 16 digits do not fix a double
+ */
+public final class RationalPolyFunction extends Function {
+    static final long serialVersionUID = 1L;
+
+    private static final BigDecimal HALF = BigDecimal.valueOf(5L, 1);
+
+    // private members
+    private final BigInteger[] coefs; // the numerators, lowest power first, without a zero leading one
+
+    private final BigInteger denominator; // the common denominator, positive
+
+    private final double[] approx; // the nearest doubles to the coeffients, lowest power first
+
+    private transient volatile Sturm sturm; // the square-free part and its Sturm sequence, once found
+
+    /**
+     * Constructor that creates the polynomial with the integer coeffients
+     * <code>coefs</code>, highest power first, as in <code>PolyFunction</code>.
+     *
+     * @param coefs The coeffients of the polynomial function.
+     */
+    public RationalPolyFunction(long[] coefs) {
+        this(toBig(coefs), BigInteger.ONE);
+    }
+
+    /**
+     * Overloaded constructor that creates the polynomial whose coeffients
+     * are <code>coefs</code>, highest power first, over
+     * <code>denominator</code>.
+     *
+     * @param coefs The numerators of the coeffients.
+     * @param denominator The denominator of every coeffient, not zero.
+     */
+    public RationalPolyFunction(BigInteger[] coefs, BigInteger denominator) {
+        this(denominator, reverse(coefs));
+    }
+
+    /**
+     * Creates the polynomial with the numerators <code>ascending</code>,
+     * lowest power first, over <code>denominator</code>, taking the array.
+     */
+    private RationalPolyFunction(BigInteger denominator, BigInteger[] ascending) {
+        if(denominator.signum() == 0)
+            throw new IllegalArgumentException("Zero denominator");
+        BigInteger[] a = trim(ascending);
+        BigInteger d = denominator;
+        BigInteger g = content(a).gcd(d);
+        if(d.signum() < 0)
+            g = g.negate();
+        if(!g.equals(BigInteger.ONE)) {
+            for(int i = 0; i < a.length; i++) {
+                a[i] = a[i].divide(g);
+            }
+            d = d.divide(g);
+        }
+        this.coefs = a;
+        this.denominator = d;
+        this.approx = new double[a.length];
+        BigDecimal bd = new BigDecimal(d);
+        for(int i = 0; i < a.length; i++) {
+            approx[i] = new BigDecimal(a[i]).divide(bd, MathContext.DECIMAL128).doubleValue();
+        }
+    }
+
+    /**
+     * Creates the polynomial with the coeffients <code>coefs</code>, highest
+     * power first, over the least common multiple of their denominators.
+     *
+     * @param coefs The coeffients of the polynomial function.
+     * @return The polynomial.
+     */
+    public static RationalPolyFunction valueOf(Rational[] coefs) {
+        BigInteger lcm = BigInteger.ONE;
+        for(Rational r : coefs) {
+            if(r.denominator == 0L)
+                throw new IllegalArgumentException("Zero denominator");
+            BigInteger d = BigInteger.valueOf(r.denominator).abs();
+            lcm = lcm.divide(lcm.gcd(d)).multiply(d);
+        }
+        BigInteger[] n = new BigInteger[coefs.length];
+        for(int i = 0; i < coefs.length; i++) {
+            BigInteger d = BigInteger.valueOf(coefs[i].denominator);
+            n[i] = BigInteger.valueOf(coefs[i].numerator).multiply(lcm.divide(d.abs())).multiply(BigInteger.valueOf(d.signum()));
+        }
+        return new RationalPolyFunction(n, lcm);
+    }
+
+    /**
+     * Creates the polynomial with exactly the coeffients of
+     * <code>p</code>, every double being a rational number.
+     *
+     * @param p The polynomial.
+     * @return The polynomial with rational coeffients.
+     */
+    public static RationalPolyFunction valueOf(PolyFunction p) {
+        double[] c = p.getCoeffients();
+        BigDecimal[] d = new BigDecimal[c.length];
+        int scale = 0;
+        for(int i = 0; i < c.length; i++) {
+            if(Double.isNaN(c[i]) || Double.isInfinite(c[i]))
+                throw new IllegalArgumentException("Coeffient " + c[i] + " is not finite");
+            d[i] = new BigDecimal(c[i]);
+            scale = Math.max(scale, d[i].scale());
+        }
+        BigInteger[] n = new BigInteger[c.length];
+        for(int i = 0; i < c.length; i++) {
+            n[i] = d[i].setScale(scale).unscaledValue();
+        }
+        return new RationalPolyFunction(n, BigInteger.TEN.pow(scale));
+    }
+
+    private static BigInteger[] toBig(long[] a) {
+        BigInteger[] b = new BigInteger[a.length];
+        for(int i = 0; i < a.length; i++) {
+            b[i] = BigInteger.valueOf(a[i]);
+        }
+        return b;
+    }
+
+    private static BigInteger[] reverse(BigInteger[] a) {
+        BigInteger[] b = new BigInteger[a.length];
+        for(int i = 0; i < a.length; i++) {
+            b[i] = a[a.length - 1 - i];
+        }
+        return b;
+    }
+
+    /**
+     * Returns the degree of the polynomial, zero for a constant.
+     */
+    public int getDegree() {
+        return Math.max(coefs.length - 1, 0);
+    }
+
+    /**
+     * Returns the numerators of the coeffients, highest power first, as
+     * <code>PolyFunction.getCoeffients</code> orders them.
+     */
+    public BigInteger[] getNumerators() {
+        return reverse(coefs);
+    }
+
+    /**
+     * Returns the positive denominator common to every coeffient.
+     */
+    public BigInteger getDenominator() {
+        return denominator;
+    }
+
+    /**
+     * Returns whether this is the zero polynomial.
+     */
+    public boolean isZero() {
+        return coefs.length == 0;
+    }
+
+    /**
+     * Evaluates the value of the function at x by Horner's rule on the
+     * nearest doubles to the coeffients.
+     *
+     * @param x The value to evaluate the function at.
+     * @return The y value.
+     */
+    public double valueAt(double x) {
+        double value = 0.0;
+        for(int i = approx.length - 1; i >= 0; i--) {
+            value = value * x + approx[i];
+        }
+        return value;
+    }
+
+    /**
+     * Returns the sign of the value of the function at <code>x</code>,
+     * found exactly.
+     *
+     * @param x The value to evaluate the function at.
+     * @return -1, 0 or 1.
+     */
+    public int signAt(BigDecimal x) {
+        return signAt(coefs, x);
+    }
+
+    /**
+     * Evaluates the area under the curve from <code>x1</code> to
+     * <code>x2</code>.
+     *
+     * @param x1 Lower bound.
+     * @param x2 Upper bound.
+     * @return The total area under the curve.
+     */
+    public double area(double x1, double x2) {
+        Function ad = getAntiderivFunc();
+        return ad.valueAt(x2) - ad.valueAt(x1);
+    }
+
+    public RationalPolyFunction getDerivFunc() {
+        return (RationalPolyFunction) super.getDerivFunc();
+    }
+
+    public RationalPolyFunction getAntiderivFunc() {
+        return (RationalPolyFunction) super.getAntiderivFunc();
+    }
+
+    protected RationalPolyFunction deriveFunc() {
+        return new RationalPolyFunction(denominator, derivative(coefs));
+    }
+
+    protected RationalPolyFunction integrateFunc() {
+        BigInteger lcm = BigInteger.ONE;
+        for(int i = 1; i <= coefs.length; i++) {
+            BigInteger k = BigInteger.valueOf(i);
+            lcm = lcm.divide(lcm.gcd(k)).multiply(k);
+        }
+        BigInteger[] ad = new BigInteger[coefs.length + 1];
+        ad[0] = BigInteger.ZERO;
+        for(int i = 1; i < ad.length; i++) {
+            ad[i] = coefs[i - 1].multiply(lcm.divide(BigInteger.valueOf(i)));
+        }
+        return new RationalPolyFunction(denominator.multiply(lcm), ad);
+    }
+
+    /**
+     * Returns the square-free part of this polynomial: the primitive
+     * polynomial with a positive leading coeffient that has the roots of
+     * this one, each once.
+     */
+    public RationalPolyFunction squareFreePart() {
+        checkNotZero();
+        return new RationalPolyFunction(BigInteger.ONE, sturm().sequence[0].clone());
+    }
+
+    /**
+     * Returns the square-free decomposition of this polynomial: the
+     * primitive polynomials f<sub>1</sub>, f<sub>2</sub>, ... with no common
+     * factors and no repeated roots such that this polynomial is a constant
+     * times f<sub>1</sub> f<sub>2</sub><sup>2</sup> f<sub>3</sub><sup>3</sup>
+     * ... Element i of the result is f<sub>i + 1</sub>, which is the
+     * constant one if no root has multiplicity i + 1.
+     */
+    public RationalPolyFunction[] squareFreeFactors() {
+        checkNotZero();
+        List<RationalPolyFunction> factors = new ArrayList<RationalPolyFunction>();
+        BigInteger[] b = gcd(coefs, derivative(coefs));
+        BigInteger[] c = divide(primitive(coefs), b);
+        while(c.length > 1) { // Musser's algorithm
+            BigInteger[] y = gcd(b, c);
+            factors.add(new RationalPolyFunction(BigInteger.ONE, divide(c, y)));
+            b = divide(b, y);
+            c = y;
+        }
+        return factors.toArray(new RationalPolyFunction[factors.size()]);
+    }
+
+    /**
+     * Returns the Sturm sequence of the square-free part of this
+     * polynomial, each member a positive multiple of the one Sturm defined.
+     */
+    public RationalPolyFunction[] getSturmSequence() {
+        checkNotZero();
+        BigInteger[][] s = sturm().sequence;
+        RationalPolyFunction[] p = new RationalPolyFunction[s.length];
+        for(int i = 0; i < s.length; i++) {
+            p[i] = new RationalPolyFunction(BigInteger.ONE, s[i].clone());
+        }
+        return p;
+    }
+
+    /**
+     * Returns the number of distinct real roots.
+     */
+    public int countRealRoots() {
+        checkNotZero();
+        BigInteger[][] s = sturm().sequence;
+        return variations(s, -1) - variations(s, 1);
+    }
+
+    /**
+     * Returns the number of distinct real roots greater than <code>a</code>
+     * and not greater than <code>b</code>, found exactly.
+     *
+     * @param a The lower end, which may be negative infinity.
+     * @param b The upper end, which may be positive infinity.
+     * @return The number of roots in (a, b].
+     */
+    public int countRealRoots(double a, double b) {
+        if(Double.isNaN(a) || Double.isNaN(b) || a > b)
+            throw new IllegalArgumentException("Not an interval (" + a + ", " + b + "]");
+        checkNotZero();
+        BigInteger[][] s = sturm().sequence;
+        int va = Double.isInfinite(a) ? variations(s, (a < 0) ? -1 : 1) : variations(s, new BigDecimal(a));
+        int vb = Double.isInfinite(b) ? variations(s, (b < 0) ? -1 : 1) : variations(s, new BigDecimal(b));
+        return va - vb;
+    }
+
+    /**
+     * Finds disjoint intervals that each hold one distinct real root, in
+     * increasing order, searching the halves of the range in parallel.
+     *
+     * @return The isolating intervals.
+     */
+    public Interval[] isolateRealRoots() {
+        return isolate(false);
+    }
+
+    /**
+     * Determines the distinct real roots of the function, each to the
+     * nearest double or the one next to it.
+     *
+     * @return The roots in increasing order.
+     */
+    public double[] getRealRoots() {
+        Interval[] r = isolate(true);
+        double[] roots = new double[r.length];
+        for(int i = 0; i < r.length; i++) {
+            roots[i] = r[i].lower.add(r[i].upper).multiply(HALF).doubleValue();
+        }
+        return roots;
+    }
+
+    private Interval[] isolate(boolean precise) {
+        checkNotZero();
+        long start = Metrics.start();
+        Sturm s = sturm();
+        BigDecimal bound = new BigDecimal(BigInteger.ONE.shiftLeft(s.boundBits));
+        BigDecimal lo = bound.negate();
+        IsolateTask task = new IsolateTask(s, lo, bound, variations(s.sequence, lo), variations(s.sequence, bound), precise);
+        if(s.sequence[0].length > 2)
+            PoolHolder.POOL.invoke(task);
+        else
+            task.compute();
+        Metrics.stop(RationalPolyFunction.class, "isolateRealRoots", start);
+        return task.roots.toArray(new Interval[task.roots.size()]);
+    }
+
+    /**
+     * Narrows an interval that holds one root of this polynomial, as
+     * <code>isolateRealRoots</code> gives, to a width of no more than
+     * <code>tolerance</code>.
+     *
+     * @param root An interval from <code>isolateRealRoots</code>.
+     * @param tolerance The greatest width of the result, positive.
+     * @return A new interval that holds the same root, or one point if the
+     *         root was found exactly.
+     */
+    public Interval refine(Interval root, double tolerance) {
+        if(!(tolerance > 0.0) || Double.isInfinite(tolerance))
+            throw new IllegalArgumentException("Tolerance must be positive and finite: " + tolerance);
+        checkNotZero();
+        return refine(sturm(), root, new BigDecimal(tolerance));
+    }
+
+    private static Interval refine(Sturm s, Interval root, BigDecimal tolerance) {
+        if(root.isExact())
+            return root;
+        BigInteger[] p = s.sequence[0];
+        BigDecimal lo = root.lower, hi = root.upper;
+        int signHi = signAt(p, hi); // the sign on the interval above the root
+        if(signHi == 0)
+            return new Interval(hi, hi);
+        boolean guessing = true;
+        while(hi.subtract(lo).compareTo(tolerance) > 0) {
+            if(guessing) { // a Newton step in doubles, kept only if the signs prove it
+                double x = s.newton(lo.add(hi).multiply(HALF).doubleValue());
+                guessing = false;
+                if(!Double.isNaN(x) && !Double.isInfinite(x)) {
+                    BigDecimal g = new BigDecimal(x);
+                    BigDecimal step = tolerance.multiply(HALF).multiply(HALF).max(new BigDecimal(4 * Math.ulp(x)));
+                    BigDecimal a = g.subtract(step), b = g.add(step);
+                    if(a.compareTo(lo) > 0 && b.compareTo(hi) < 0) {
+                        int sa = signAt(p, a), sb = signAt(p, b);
+                        if(sa == 0)
+                            return new Interval(a, a);
+                        if(sb == 0)
+                            return new Interval(b, b);
+                        if(sb == signHi && sa != signHi) {
+                            lo = a;
+                            hi = b;
+                            guessing = true;
+                            continue;
+                        }
+                    }
+                }
+            }
+            BigDecimal mid = lo.add(hi).multiply(HALF);
+            int sign = signAt(p, mid);
+            if(sign == 0)
+                return new Interval(mid, mid);
+            if(sign == signHi)
+                hi = mid;
+            else
+                lo = mid;
+        }
+        return new Interval(lo, hi);
+    }
+
+    /**
+     * Narrows an interval until its ends are the same double or neighbours.
+     */
+    private static Interval refineToDouble(Sturm s, Interval root) {
+        Interval r = root;
+        while(!r.isExact()) {
+            double mid = r.lower.add(r.upper).multiply(HALF).doubleValue();
+            BigDecimal ulp = new BigDecimal(Math.max(Math.ulp(mid), Double.MIN_VALUE));
+            if(r.upper.subtract(r.lower).compareTo(ulp) <= 0)
+                break;
+            r = refine(s, r, ulp);
+        }
+        return r;
+    }
+
+    private void checkNotZero() {
+        if(coefs.length == 0)
+            throw new ArithmeticException("Every number is a root of the zero polynomial");
+    }
+
+    /**
+     * Returns the square-free part and its Sturm sequence, finding them the
+     * first time.
+     */
+    private Sturm sturm() {
+        Sturm s = sturm;
+        if(s == null)
+            sturm = s = new Sturm(coefs);
+        return s;
+    }
+
+    /**
+     * Returns whether <code>o</code> is a polynomial with the same
+     * coeffients.
+     */
+    public boolean equals(Object o) {
+        if(!(o instanceof RationalPolyFunction))
+            return false;
+        RationalPolyFunction p = (RationalPolyFunction) o;
+        return p.denominator.equals(denominator) && Arrays.equals(p.coefs, coefs);
+    }
+
+    /**
+     * Returns a hash code of the coeffients.
+     */
+    public int hashCode() {
+        return 31 * Arrays.hashCode(coefs) + denominator.hashCode();
+    }
+
+    /**
+     * Returns a string representation of the polynomial function without
+     * zeros, as <code>ImmutablePolyFunction</code> writes it, with each
+     * coeffient in lowest terms.
+     */
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        for(int i = coefs.length - 1; i >= 0; i--) {
+            if(coefs[i].signum() == 0)
+                continue;
+            if(s.length() > 0)
+                s.append(" + ");
+            BigInteger g = coefs[i].gcd(denominator);
+            s.append(coefs[i].divide(g));
+            if(!denominator.equals(g))
+                s.append("/").append(denominator.divide(g));
+            if(i > 1)
+                s.append(" x^").append(i);
+            else if(i == 1)
+                s.append(" x");
+        }
+        return (coefs.length == 0) ? "0" : s.toString();
+    }
+
+    /*
+     * Integer polynomials, lowest power first, without zero leading
+     * coeffients; the zero polynomial has no coeffients.
+     */
+
+    private static BigInteger[] trim(BigInteger[] a) {
+        int n = a.length;
+        while(n > 0 && a[n - 1].signum() == 0) {
+            n--;
+        }
+        return (n == a.length) ? a : Arrays.copyOf(a, n);
+    }
+
+    private static BigInteger content(BigInteger[] a) {
+        BigInteger g = BigInteger.ZERO;
+        for(int i = 0; i < a.length && !g.equals(BigInteger.ONE); i++) {
+            g = g.gcd(a[i]);
+        }
+        return g;
+    }
+
+    /**
+     * Returns <code>a</code> divided by its content, with a positive leading
+     * coeffient.
+     */
+    private static BigInteger[] primitive(BigInteger[] a) {
+        if(a.length == 0)
+            return a;
+        BigInteger g = content(a);
+        if(a[a.length - 1].signum() < 0)
+            g = g.negate();
+        BigInteger[] p = new BigInteger[a.length];
+        for(int i = 0; i < a.length; i++) {
+            p[i] = a[i].divide(g);
+        }
+        return p;
+    }
+
+    private static BigInteger[] derivative(BigInteger[] a) {
+        BigInteger[] d = new BigInteger[Math.max(a.length - 1, 0)];
+        for(int i = 0; i < d.length; i++) {
+            d[i] = a[i + 1].multiply(BigInteger.valueOf(i + 1));
+        }
+        return d;
+    }
+
+    /**
+     * Returns a remainder of <code>a</code> divided by <code>b</code> that
+     * is a positive multiple of the true one, found in integers by
+     * multiplying <code>a</code> by the leading coeffient of
+     * <code>b</code> where a step needs it.
+     */
+    private static BigInteger[] remainder(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] r = a.clone();
+        int db = b.length - 1, n = r.length;
+        BigInteger lead = b[db];
+        boolean negative = false;
+        while(n - 1 >= db) {
+            BigInteger c = r[n - 1];
+            int shift = n - 1 - db;
+            BigInteger g = c.gcd(lead);
+            BigInteger m = lead.divide(g), f = c.divide(g); // r = m r - f x^shift b
+            if(!m.equals(BigInteger.ONE)) {
+                for(int i = 0; i < n - 1; i++) {
+                    r[i] = r[i].multiply(m);
+                }
+                negative ^= m.signum() < 0;
+            }
+            for(int i = 0; i < db; i++) {
+                r[i + shift] = r[i + shift].subtract(f.multiply(b[i]));
+            }
+            r[n - 1] = BigInteger.ZERO;
+            while(n > 0 && r[n - 1].signum() == 0) {
+                n--;
+            }
+        }
+        r = Arrays.copyOf(r, n);
+        if(negative) {
+            for(int i = 0; i < n; i++) {
+                r[i] = r[i].negate();
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Returns the greatest common divisor of <code>a</code> and
+     * <code>b</code>, primitive with a positive leading coeffient, by the
+     * primitive remainder sequence.
+     */
+    private static BigInteger[] gcd(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] u = primitive(a), v = primitive(b);
+        if(u.length < v.length) {
+            BigInteger[] t = u;
+            u = v;
+            v = t;
+        }
+        while(v.length > 0) {
+            BigInteger[] r = primitive(remainder(u, v));
+            u = v;
+            v = r;
+        }
+        return u;
+    }
+
+    /**
+     * Returns <code>a</code> divided by <code>b</code>, which must divide it
+     * exactly in integers.
+     */
+    private static BigInteger[] divide(BigInteger[] a, BigInteger[] b) {
+        int db = b.length - 1;
+        if(a.length - 1 < db)
+            return new BigInteger[0];
+        BigInteger[] r = a.clone();
+        BigInteger[] q = new BigInteger[a.length - db];
+        for(int k = q.length - 1; k >= 0; k--) {
+            q[k] = r[k + db].divide(b[db]);
+            for(int i = 0; i <= db; i++) {
+                r[k + i] = r[k + i].subtract(q[k].multiply(b[i]));
+            }
+        }
+        return trim(q);
+    }
+
+    /**
+     * Returns the sign of <code>a</code> at the exact point <code>x</code>,
+     * from the integer a(p / q) q<sup>n</sup> with q positive.
+     */
+    private static int signAt(BigInteger[] a, BigDecimal x) {
+        if(a.length == 0)
+            return 0;
+        BigInteger p, q;
+        if(x.scale() <= 0) {
+            p = x.toBigIntegerExact();
+            q = BigInteger.ONE;
+        } else {
+            p = x.unscaledValue();
+            q = BigInteger.TEN.pow(x.scale());
+        }
+        BigInteger value = a[a.length - 1], power = q;
+        for(int i = a.length - 2; i >= 0; i--) {
+            value = value.multiply(p).add(a[i].multiply(power));
+            power = power.multiply(q);
+        }
+        return value.signum();
+    }
+
+    /**
+     * Returns the number of changes of sign along the sequence at
+     * <code>x</code>, skipping zeros.
+     */
+    private static int variations(BigInteger[][] sequence, BigDecimal x) {
+        int changes = 0, last = 0;
+        for(BigInteger[] s : sequence) {
+            int sign = signAt(s, x);
+            if(sign != 0) {
+                if(last != 0 && sign != last)
+                    changes++;
+                last = sign;
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Returns the number of changes of sign along the sequence at positive
+     * infinity if <code>direction</code> is 1, or negative infinity if it is
+     * -1.
+     */
+    private static int variations(BigInteger[][] sequence, int direction) {
+        int changes = 0, last = 0;
+        for(BigInteger[] s : sequence) {
+            int sign = s[s.length - 1].signum();
+            if(direction < 0 && s.length % 2 == 0) // odd degree
+                sign = -sign;
+            if(last != 0 && sign != last)
+                changes++;
+            last = sign;
+        }
+        return changes;
+    }
+
+    /**
+     * The square-free part of a polynomial, its Sturm sequence, a bound on
+     * the size of its roots and its coeffients as doubles for guessing.
+     */
+    private static final class Sturm {
+        final BigInteger[][] sequence; // the square-free part first
+
+        final int boundBits; // every root is smaller than 2^boundBits
+
+        final double[] monic; // the square-free part over its leading coeffient, as doubles
+
+        Sturm(BigInteger[] coefs) {
+            BigInteger[] p = divide(primitive(coefs), gcd(coefs, derivative(coefs)));
+            List<BigInteger[]> s = new ArrayList<BigInteger[]>();
+            s.add(p);
+            if(p.length > 1) {
+                BigInteger[] u = p, v = primitive(derivative(p));
+                while(v.length > 0) {
+                    s.add(v);
+                    BigInteger[] r = remainder(u, v);
+                    for(int i = 0; i < r.length; i++) {
+                        r[i] = r[i].negate();
+                    }
+                    BigInteger g = content(r);
+                    for(int i = 0; i < r.length; i++) {
+                        r[i] = r[i].divide(g);
+                    }
+                    u = v;
+                    v = r;
+                }
+            }
+            this.sequence = s.toArray(new BigInteger[s.size()][]);
+
+            int lead = p[p.length - 1].bitLength(), bits = 0;
+            for(int i = 0; i < p.length - 1; i++) {
+                bits = Math.max(bits, p[i].bitLength() - lead + 2); // 1 + |p(i) / lead| < 2^bits
+            }
+            this.boundBits = Math.max(bits, 1);
+
+            this.monic = new double[p.length];
+            BigDecimal l = new BigDecimal(p[p.length - 1]);
+            for(int i = 0; i < p.length; i++) {
+                monic[i] = new BigDecimal(p[i]).divide(l, MathContext.DECIMAL128).doubleValue();
+            }
+        }
+
+        /**
+         * Takes a few Newton steps in doubles from <code>x</code> toward a
+         * root of the square-free part.
+         */
+        double newton(double x) {
+            for(int k = 0; k < 4; k++) {
+                double p0 = 0.0, p1 = 0.0;
+                for(int i = monic.length - 1; i >= 0; i--) {
+                    p1 = p1 * x + p0;
+                    p0 = p0 * x + monic[i];
+                }
+                if(p1 == 0.0)
+                    return Double.NaN;
+                x -= p0 / p1;
+            }
+            return x;
+        }
+    }
+
+    /**
+     * An interval that holds one real root: open between two different
+     * ends, or a single point that is the root.
+     */
+    public static final class Interval implements Serializable {
+        static final long serialVersionUID = 1L;
+
+        // private members
+        private final BigDecimal lower, upper; // the ends, exact
+
+        Interval(BigDecimal lower, BigDecimal upper) {
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+        /**
+         * Returns the lower end, exactly.
+         */
+        public BigDecimal getLower() {
+            return lower;
+        }
+
+        /**
+         * Returns the upper end, exactly.
+         */
+        public BigDecimal getUpper() {
+            return upper;
+        }
+
+        /**
+         * Returns whether the root was found exactly, as both ends.
+         */
+        public boolean isExact() {
+            return lower.compareTo(upper) == 0;
+        }
+
+        /**
+         * Returns a string representation of the interval.
+         */
+        public String toString() {
+            return isExact() ? "{" + lower.toPlainString() + "}" : "(" + lower.toPlainString() + ", " + upper.toPlainString() + ")";
+        }
+    }
+
+    /**
+     * Holds the pool shared by the isolating tasks until it is first
+     * needed.
+     */
+    private static class PoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    /**
+     * Isolates the roots in (lo, hi], given the numbers of sign changes of
+     * the Sturm sequence at the ends, halving in parallel.
+     */
+    private static class IsolateTask extends RecursiveAction {
+        static final long serialVersionUID = 1L;
+
+        private final Sturm s;
+        private final BigDecimal lo, hi;
+        private final int vLo, vHi;
+        private final boolean precise;
+        List<Interval> roots = new ArrayList<Interval>(); // the isolated roots, in order
+
+        IsolateTask(Sturm s, BigDecimal lo, BigDecimal hi, int vLo, int vHi, boolean precise) {
+            this.s = s;
+            this.lo = lo;
+            this.hi = hi;
+            this.vLo = vLo;
+            this.vHi = vHi;
+            this.precise = precise;
+        }
+
+        protected void compute() {
+            int count = vLo - vHi;
+            if(count == 0)
+                return;
+            if(count == 1) {
+                Interval r = (signAt(s.sequence[0], hi) == 0) ? new Interval(hi, hi) : new Interval(lo, hi);
+                roots.add(precise ? refineToDouble(s, r) : r);
+                return;
+            }
+            BigDecimal mid = lo.add(hi).multiply(HALF);
+            int vMid = variations(s.sequence, mid);
+            IsolateTask left = new IsolateTask(s, lo, mid, vLo, vMid, precise);
+            IsolateTask right = new IsolateTask(s, mid, hi, vMid, vHi, precise);
+            invokeAll(left, right);
+            roots = left.roots;
+            roots.addAll(right.roots);
+        }
+    }
+}
@@ -0,0 +1,406 @@
+/**
+ * SplineFunction.java A class for defining a cubic spline through sample points.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math;
+
+// import other packages
+import java.util.Arrays;
+
+/**
+ * The <code>SplineFunction</code> class defines a piecewise cubic function
+ * through sample points (x<sub>i</sub>, y<sub>i</sub>), such as a measured
+ * curve.
+ * <p>
+ *
+ * There are three kinds of spline. The <code>natural</code> spline has a
+ * zero second derivative at both ends, the <code>clamped</code> spline has
+ * the given first derivatives there, and both have a continuous second
+ * derivative, found by solving one tridiagonal system in O(n) time. The
+ * <code>monotone</code> spline is the Fritsch-Carlson Hermite cubic, which
+ * is only once differentiable but never overshoots the data, so it rises
+ * wherever the samples rise.
+ * <p>
+ *
+ * The piece on [x<sub>i</sub>, x<sub>i+1</sub>] is kept as the four
+ * coefficients of a + bt + ct<sup>2</sup> + dt<sup>3</sup>, t = x -
+ * x<sub>i</sub>, next to each other in one array. When the knots are evenly
+ * spaced the piece of a point is found in constant time by scaling;
+ * otherwise it is found by binary search, after checking the piece found by
+ * the last lookup and its neighbours, so that walking along the curve costs
+ * constant time too. The area comes from a running sum of the areas of the
+ * pieces, and the derivative is the spline of the derivatives of the
+ * pieces. Beyond the ends the first and last pieces are extended.
+ * <p>
+ *
+ * A spline cannot be changed once built and may be evaluated from several
+ * threads at once.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class SplineFunction extends Function {
+    static final long serialVersionUID = 1L;
+
+    /**
+     * How far, relative to the spacing, a knot may lie from the even grid
+     * and still be found by scaling.
+     */
+    private static final double UNIFORM_TOLERANCE = 1e-6;
+
+    // private members
+    private final double[] xs; // the knots, increasing
+
+    private final double[] coefs; // a, b, c and d of each piece in turn
+
+    private final double[] areas; // the area from xs[0] to each knot
+
+    private final boolean uniform; // whether the knots are evenly spaced
+
+    private final double scale; // the number of pieces per unit of x, if uniform
+
+    private transient int hint; // the piece found by the last lookup
+
+    /**
+     * Constructor that creates the natural spline through the points
+     * (<code>xs[i]</code>, <code>ys[i]</code>).
+     *
+     * @param xs The knots, strictly increasing.
+     * @param ys The values at the knots.
+     */
+    public SplineFunction(double[] xs, double[] ys) {
+        this(check(xs, ys), ys, false, 0.0, 0.0);
+    }
+
+    /**
+     * Creates the natural or clamped spline on a copy of the knots.
+     */
+    private SplineFunction(double[] knots, double[] ys, boolean clamped, double start, double end) {
+        this(knots, coefficients(knots, ys, clamped, start, end), isEven(knots));
+    }
+
+    /**
+     * Creates a spline from its knots and the coefficients of its pieces.
+     */
+    private SplineFunction(double[] xs, double[] coefs, boolean uniform) {
+        int n = xs.length;
+        this.xs = xs;
+        this.coefs = coefs;
+        this.uniform = uniform;
+        this.scale = (n - 1) / (xs[n - 1] - xs[0]);
+        this.areas = new double[n];
+        for(int i = 0; i < n - 1; i++) {
+            double h = xs[i + 1] - xs[i];
+            int k = 4 * i;
+            areas[i + 1] = areas[i] + h * (coefs[k] + h * (coefs[k + 1] / 2 + h * (coefs[k + 2] / 3 + h * coefs[k + 3] / 4)));
+        }
+    }
+
+    /**
+     * Returns whether the knots are close enough to an even grid to be
+     * found by scaling.
+     */
+    private static boolean isEven(double[] xs) {
+        int n = xs.length;
+        double step = (xs[n - 1] - xs[0]) / (n - 1);
+        for(int i = 1; i < n - 1; i++) {
+            if(!(Math.abs(xs[i] - (xs[0] + i * step)) <= UNIFORM_TOLERANCE * step))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Creates the natural spline through the points (<code>xs[i]</code>,
+     * <code>ys[i]</code>), whose second derivative is zero at both ends.
+     *
+     * @param xs The knots, strictly increasing.
+     * @param ys The values at the knots.
+     * @return The spline.
+     */
+    public static SplineFunction natural(double[] xs, double[] ys) {
+        return new SplineFunction(xs, ys);
+    }
+
+    /**
+     * Creates the clamped spline through the points (<code>xs[i]</code>,
+     * <code>ys[i]</code>) with the given slopes at the ends.
+     *
+     * @param xs The knots, strictly increasing.
+     * @param ys The values at the knots.
+     * @param start The derivative at the first knot.
+     * @param end The derivative at the last knot.
+     * @return The spline.
+     */
+    public static SplineFunction clamped(double[] xs, double[] ys, double start, double end) {
+        return new SplineFunction(check(xs, ys), ys, true, start, end);
+    }
+
+    /**
+     * Creates the monotone spline through the points (<code>xs[i]</code>,
+     * <code>ys[i]</code>), which rises and falls only where the samples do.
+     *
+     * @param xs The knots, strictly increasing.
+     * @param ys The values at the knots.
+     * @return The spline.
+     */
+    public static SplineFunction monotone(double[] xs, double[] ys) {
+        double[] knots = check(xs, ys);
+        int n = knots.length;
+        double[] delta = new double[n - 1];
+        for(int i = 0; i < n - 1; i++) {
+            delta[i] = (ys[i + 1] - ys[i]) / (knots[i + 1] - knots[i]);
+        }
+
+        double[] m = new double[n]; // the slopes at the knots
+        m[0] = delta[0];
+        m[n - 1] = delta[n - 2];
+        for(int i = 1; i < n - 1; i++) {
+            m[i] = (delta[i - 1] * delta[i] <= 0.0) ? 0.0 : (delta[i - 1] + delta[i]) / 2;
+        }
+        for(int i = 0; i < n - 1; i++) { // limit the slopes so that no piece overshoots
+            if(delta[i] == 0.0) {
+                m[i] = 0.0;
+                m[i + 1] = 0.0;
+                continue;
+            }
+            double alpha = m[i] / delta[i], beta = m[i + 1] / delta[i];
+            double r = alpha * alpha + beta * beta;
+            if(r > 9.0) {
+                double tau = 3 / Math.sqrt(r);
+                m[i] = tau * alpha * delta[i];
+                m[i + 1] = tau * beta * delta[i];
+            }
+        }
+
+        double[] coefs = new double[4 * (n - 1)];
+        for(int i = 0; i < n - 1; i++) {
+            double h = knots[i + 1] - knots[i];
+            int k = 4 * i;
+            coefs[k] = ys[i];
+            coefs[k + 1] = m[i];
+            coefs[k + 2] = (3 * delta[i] - 2 * m[i] - m[i + 1]) / h;
+            coefs[k + 3] = (m[i] + m[i + 1] - 2 * delta[i]) / (h * h);
+        }
+        return new SplineFunction(knots, coefs, isEven(knots));
+    }
+
+    /**
+     * Checks the sample points and returns a copy of the knots.
+     */
+    private static double[] check(double[] xs, double[] ys) {
+        if(xs.length != ys.length)
+            throw new IllegalArgumentException("Lengths differ: " + xs.length + " knots and " + ys.length + " values");
+        if(xs.length < 2)
+            throw new IllegalArgumentException("A spline needs at least two knots");
+        for(int i = 0; i < xs.length; i++) {
+            if(Double.isNaN(ys[i]) || Double.isInfinite(ys[i]) || Double.isInfinite(xs[i]))
+                throw new IllegalArgumentException("Point " + i + " is not finite");
+            if(i > 0 && !(xs[i] > xs[i - 1]))
+                throw new IllegalArgumentException("Knots are not increasing at " + i);
+        }
+        return xs.clone();
+    }
+
+    /**
+     * Finds the coefficients of the natural or clamped spline from its
+     * second derivatives at the knots, which solve a tridiagonal system.
+     */
+    private static double[] coefficients(double[] xs, double[] ys, boolean clamped, double start, double end) {
+        int n = xs.length;
+        double[] h = new double[n - 1];
+        double[] delta = new double[n - 1];
+        for(int i = 0; i < n - 1; i++) {
+            h[i] = xs[i + 1] - xs[i];
+            delta[i] = (ys[i + 1] - ys[i]) / h[i];
+        }
+
+        // row i reads sub[i] M[i - 1] + diag[i] M[i] + h[i] M[i + 1] = rhs[i]
+        double[] diag = new double[n];
+        double[] rhs = new double[n];
+        double[] m = new double[n];
+        if(clamped) {
+            diag[0] = 2 * h[0];
+            rhs[0] = 6 * (delta[0] - start);
+            diag[n - 1] = 2 * h[n - 2];
+            rhs[n - 1] = 6 * (end - delta[n - 2]);
+        } else {
+            diag[0] = 1.0;
+            diag[n - 1] = 1.0;
+        }
+        for(int i = 1; i < n - 1; i++) {
+            diag[i] = 2 * (h[i - 1] + h[i]);
+            rhs[i] = 6 * (delta[i] - delta[i - 1]);
+        }
+
+        // Thomas' algorithm; the natural end rows have no off-diagonal terms
+        for(int i = 1; i < n; i++) {
+            double sub = (i < n - 1 || clamped) ? h[i - 1] : 0.0;
+            double upper = (i > 1 || clamped) ? h[i - 1] : 0.0;
+            double w = sub / diag[i - 1];
+            diag[i] -= w * upper;
+            rhs[i] -= w * rhs[i - 1];
+        }
+        m[n - 1] = rhs[n - 1] / diag[n - 1];
+        for(int i = n - 2; i >= 0; i--) {
+            double upper = (i > 0 || clamped) ? h[i] : 0.0;
+            m[i] = (rhs[i] - upper * m[i + 1]) / diag[i];
+        }
+
+        double[] coefs = new double[4 * (n - 1)];
+        for(int i = 0; i < n - 1; i++) {
+            int k = 4 * i;
+            coefs[k] = ys[i];
+            coefs[k + 1] = delta[i] - h[i] * (2 * m[i] + m[i + 1]) / 6;
+            coefs[k + 2] = m[i] / 2;
+            coefs[k + 3] = (m[i + 1] - m[i]) / (6 * h[i]);
+        }
+        return coefs;
+    }
+
+    /**
+     * Returns a copy of the knots of this spline.
+     */
+    public double[] getKnots() {
+        return xs.clone();
+    }
+
+    /**
+     * Returns whether the knots are evenly spaced, so that a piece is found
+     * in constant time.
+     */
+    public boolean isUniform() {
+        return uniform;
+    }
+
+    /**
+     * Returns the index of the piece that holds <code>x</code>, the first or
+     * last piece if <code>x</code> lies beyond the knots.
+     */
+    private int pieceOf(double x) {
+        int last = xs.length - 2;
+        int i;
+        if(uniform) {
+            double s = (x - xs[0]) * scale;
+            i = (s <= 0.0) ? 0 : (s >= last) ? last : (int) s; // NaN falls in the first piece
+            if(i > 0 && x < xs[i]) // the knots may lie slightly off the grid
+                i--;
+            else if(i < last && x >= xs[i + 1])
+                i++;
+            return i;
+        }
+
+        i = hint;
+        if(x >= xs[i]) {
+            if(i == last || x < xs[i + 1])
+                return i;
+            if(i + 1 == last || x < xs[i + 2])
+                return hint = i + 1;
+        } else if(i == 0) {
+            return 0;
+        } else if(x >= xs[i - 1]) {
+            return hint = i - 1;
+        }
+        i = Arrays.binarySearch(xs, x);
+        if(i < 0)
+            i = -i - 2;
+        return hint = Math.max(0, Math.min(i, last));
+    }
+
+    /**
+     * Evaluates the value of the function at x.
+     *
+     * @param x The value to evaluate the function at.
+     * @return The y value.
+     */
+    public double valueAt(double x) {
+        int i = pieceOf(x);
+        int k = 4 * i;
+        double t = x - xs[i];
+        return coefs[k] + t * (coefs[k + 1] + t * (coefs[k + 2] + t * coefs[k + 3]));
+    }
+
+    /**
+     * Writes the value of the function at x and its first two derivatives to
+     * <code>jet</code>, looking up the piece once.
+     *
+     * @param x The value to evaluate the function at.
+     * @param jet The array of at least three elements to write to.
+     */
+    public void jetAt(double x, double[] jet) {
+        int i = pieceOf(x);
+        int k = 4 * i;
+        double t = x - xs[i];
+        double b = coefs[k + 1], c = coefs[k + 2], d = coefs[k + 3];
+        jet[0] = coefs[k] + t * (b + t * (c + t * d));
+        jet[1] = b + t * (2 * c + t * 3 * d);
+        jet[2] = 2 * c + t * 6 * d;
+    }
+
+    /**
+     * Returns the area under the curve from the first knot to
+     * <code>x</code>.
+     */
+    private double integral(double x) {
+        int i = pieceOf(x);
+        int k = 4 * i;
+        double t = x - xs[i];
+        return areas[i] + t * (coefs[k] + t * (coefs[k + 1] / 2 + t * (coefs[k + 2] / 3 + t * coefs[k + 3] / 4)));
+    }
+
+    /**
+     * Evaluates the area under the curve from <code>x1</code> to
+     * <code>x2</code>.
+     *
+     * @param x1 Lower bound.
+     * @param x2 Upper bound.
+     * @return The total area under the curve.
+     */
+    public double area(double x1, double x2) {
+        return integral(x2) - integral(x1);
+    }
+
+    /**
+     * Finds the derivative of this function, the spline on the same knots
+     * whose pieces are the derivatives of these.
+     *
+     * @return A function that is the derivative of <code>this</code>.
+     */
+    protected Function deriveFunc() {
+        double[] d = new double[coefs.length];
+        for(int k = 0; k < coefs.length; k += 4) {
+            d[k] = coefs[k + 1];
+            d[k + 1] = 2 * coefs[k + 2];
+            d[k + 2] = 3 * coefs[k + 3];
+        }
+        return new SplineFunction(xs, d, uniform);
+    }
+
+    /**
+     * Returns a string representation of this spline.
+     */
+    public String toString() {
+        return "spline of " + xs.length + " knots on [" + xs[0] + ", " + xs[xs.length - 1] + "]";
+    }
+}
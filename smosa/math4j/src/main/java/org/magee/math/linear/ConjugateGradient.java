@@ -0,0 +1,73 @@
+/**
+ * ConjugateGradient.java A class for the conjugate gradient method.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+/**
+ * The <code>ConjugateGradient</code> class solves systems whose matrix is
+ * symmetric and positive definite by the (preconditioned) conjugate gradient
+ * method. Each iteration costs one matrix-vector product, one
+ * preconditioner solve and four vectors of storage. The preconditioner must
+ * be symmetric and positive definite too.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class ConjugateGradient extends IterativeSolver {
+
+    protected void iterate(LinearOperator a, double[] b, double[] x, double normB) {
+        int n = b.length;
+        double[] r = new double[n], z = new double[n], p = new double[n], q = new double[n];
+        residual(a, b, x, r);
+        residual = norm(r) / normB;
+        if(residual <= tolerance)
+            return;
+
+        precondition(r, z);
+        System.arraycopy(z, 0, p, 0, n);
+        double rho = dot(r, z);
+        while(iterations < maxIterations) {
+            iterations++;
+            a.apply(p, q);
+            double pq = dot(p, q);
+            if(pq <= 0.0)
+                throw new ArithmeticException("Matrix is not positive definite.");
+            double alpha = rho / pq;
+            axpy(alpha, p, x);
+            axpy(-alpha, q, r);
+            residual = norm(r) / normB;
+            if(residual <= tolerance)
+                return;
+
+            precondition(r, z);
+            double rhoNext = dot(r, z);
+            double beta = rhoNext / rho;
+            rho = rhoNext;
+            for(int i = 0; i < n; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+    }
+}
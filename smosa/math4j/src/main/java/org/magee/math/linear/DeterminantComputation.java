@@ -0,0 +1,98 @@
+/**
+ * DeterminantComputation.java A class that keeps the determinant of an observable matrix.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+/**
+ * The <code>DeterminantComputation</code> class keeps the determinant of a
+ * square <code>ObservableMatrix</code>. Alongside the determinant it keeps
+ * the inverse, so a commit of a few element changes is folded in by the
+ * matrix determinant lemma, det(A + delta * e(i) * e(j)') = det(A) * (1 +
+ * delta * inv(j, i)), with a Sherman-Morrison update of the inverse for the
+ * next change. A singular matrix, or a large commit, is recomputed lazily
+ * by LU decomposition.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class DeterminantComputation extends DerivedComputation<DeterminantComputation.State> {
+
+    /**
+     * Constructor that follows <code>source</code>.
+     *
+     * @param source A square matrix.
+     */
+    public DeterminantComputation(ObservableMatrix source) {
+        super(source);
+    }
+
+    /**
+     * Returns the determinant of the committed matrix.
+     */
+    public double getDeterminant() {
+        return get().determinant;
+    }
+
+    protected State compute(DenseMatrix a) {
+        LUDecomposition lu = new LUDecomposition(a);
+        double det = lu.det();
+        return new State(det, (det == 0.0) ? null : lu.inverse().toRowPackedArray());
+    }
+
+    protected State update(State state, MatrixChangeEvent e) {
+        if(state.inverse == null || !isSmallUpdate(e))
+            return null;
+        int n = e.getRowDimension();
+        double[] inv = state.inverse.clone();
+        double det = state.determinant;
+        for(int k = 0; k < e.getChangeCount(); k++) {
+            double factor = shermanMorrison(inv, n, e.getChangedRow(k), e.getChangedColumn(k), e.getDelta(k));
+            if(Double.isNaN(factor))
+                return null;
+            det *= factor;
+        }
+        return new State(det, inv);
+    }
+
+    /**
+     * The determinant together with the inverse used to update it.
+     */
+    public static class State {
+        final double determinant;
+        final double[] inverse; // row packed, or null if singular
+
+        State(double determinant, double[] inverse) {
+            this.determinant = determinant;
+            this.inverse = inverse;
+        }
+
+        /**
+         * Returns the determinant.
+         */
+        public double getDeterminant() {
+            return determinant;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * EigenvalueComputation.java A class that keeps the eigenvalues of an observable matrix.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+/**
+ * The <code>EigenvalueComputation</code> class keeps the eigenvalues of a
+ * square <code>ObservableMatrix</code>. There is no cheap exact update of
+ * the eigenvalues for a change of one element, so every commit drops them
+ * and they are recomputed only when next read; a run of edits between two
+ * reads costs one decomposition.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class EigenvalueComputation extends DerivedComputation<EigenvalueDecomposition> {
+
+    /**
+     * Constructor that follows <code>source</code>.
+     *
+     * @param source A square matrix.
+     */
+    public EigenvalueComputation(ObservableMatrix source) {
+        super(source);
+    }
+
+    protected EigenvalueDecomposition compute(DenseMatrix a) {
+        return new EigenvalueDecomposition(a);
+    }
+}
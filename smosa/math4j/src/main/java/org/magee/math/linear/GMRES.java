@@ -0,0 +1,157 @@
+/**
+ * GMRES.java A class for the restarted generalized minimal residual method.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.util.Arrays;
+
+/**
+ * The <code>GMRES</code> class solves general square systems by the
+ * restarted generalized minimal residual method with right
+ * preconditioning. Each cycle builds an orthonormal Krylov basis of up to
+ * <code>restart</code> vectors by modified Gram-Schmidt and picks the
+ * combination with the smallest residual, using Givens rotations to keep
+ * the small least squares problem triangular.
+ * <p>
+ *
+ * Every iteration counts as one matrix-vector product. Storage grows by one
+ * vector per iteration up to the restart length, so a longer restart
+ * converges in fewer iterations at the price of memory and orthogonalization
+ * work.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class GMRES extends IterativeSolver {
+
+    // private members
+    private final int restart; // the largest Krylov basis before a restart
+
+    /**
+     * Default constructor that restarts every 30 iterations.
+     */
+    public GMRES() {
+        this(30);
+    }
+
+    /**
+     * Overloaded constructor with the restart length.
+     *
+     * @param restart The number of iterations between restarts.
+     */
+    public GMRES(int restart) {
+        if(restart < 1)
+            throw new IllegalArgumentException("Restart length must be positive: " + restart);
+        this.restart = restart;
+    }
+
+    /**
+     * Returns the number of iterations between restarts.
+     */
+    public int getRestart() {
+        return restart;
+    }
+
+    protected void iterate(LinearOperator a, double[] b, double[] x, double normB) {
+        int n = b.length;
+        int m = Math.min(restart, n);
+        double[][] v = new double[m + 1][];
+        double[][] h = new double[m + 1][m]; // the Hessenberg matrix, by row
+        double[] cs = new double[m], sn = new double[m], g = new double[m + 1];
+        double[] r = new double[n], w = new double[n], z = new double[n];
+
+        residual(a, b, x, r);
+        double beta = norm(r);
+        residual = beta / normB;
+        while(residual > tolerance && iterations < maxIterations) {
+            v[0] = new double[n];
+            for(int i = 0; i < n; i++) {
+                v[0][i] = r[i] / beta;
+            }
+            Arrays.fill(g, 0.0);
+            g[0] = beta;
+
+            int k = 0;
+            while(k < m && iterations < maxIterations) {
+                iterations++;
+                precondition(v[k], z);
+                a.apply(z, w);
+                for(int j = 0; j <= k; j++) {
+                    h[j][k] = dot(w, v[j]);
+                    axpy(-h[j][k], v[j], w);
+                }
+                h[k + 1][k] = norm(w);
+
+                // apply the earlier rotations to the new column, then make one for it
+                for(int j = 0; j < k; j++) {
+                    double t = cs[j] * h[j][k] + sn[j] * h[j + 1][k];
+                    h[j + 1][k] = -sn[j] * h[j][k] + cs[j] * h[j + 1][k];
+                    h[j][k] = t;
+                }
+                double d = QRDecomposition.hypot(h[k][k], h[k + 1][k]);
+                if(d == 0.0)
+                    throw new ArithmeticException("GMRES broke down: the Krylov space is singular.");
+                cs[k] = h[k][k] / d;
+                sn[k] = h[k + 1][k] / d;
+                double next = h[k + 1][k];
+                h[k][k] = d;
+                h[k + 1][k] = 0.0;
+                g[k + 1] = -sn[k] * g[k];
+                g[k] = cs[k] * g[k];
+                k++;
+
+                residual = Math.abs(g[k]) / normB;
+                if(residual <= tolerance || next == 0.0)
+                    break;
+                v[k] = new double[n];
+                for(int i = 0; i < n; i++) {
+                    v[k][i] = w[i] / next;
+                }
+            }
+
+            // solve the triangular system and update x by the preconditioned basis
+            double[] y = new double[k];
+            for(int i = k - 1; i >= 0; i--) {
+                double sum = g[i];
+                for(int j = i + 1; j < k; j++) {
+                    sum -= h[i][j] * y[j];
+                }
+                y[i] = sum / h[i][i];
+            }
+            Arrays.fill(w, 0.0);
+            for(int j = 0; j < k; j++) {
+                axpy(y[j], v[j], w);
+            }
+            precondition(w, z);
+            axpy(1.0, z, x);
+
+            // the true residual guards against drift in the rotated one
+            residual(a, b, x, r);
+            beta = norm(r);
+            residual = beta / normB;
+        }
+    }
+}
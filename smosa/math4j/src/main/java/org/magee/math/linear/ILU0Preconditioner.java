@@ -0,0 +1,130 @@
+/**
+ * ILU0Preconditioner.java A class for the incomplete LU preconditioner.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The <code>ILU0Preconditioner</code> class approximates a sparse matrix by
+ * an incomplete LU factorization with no fill: L and U keep exactly the
+ * sparsity pattern of the matrix, and every update that would fall outside
+ * it is dropped.
+ * <p>
+ *
+ * The factors share the row pointers and column indices of the matrix and
+ * need one extra array of values, so the preconditioner costs no more
+ * memory than the matrix. L has a unit diagonal and is stored below the
+ * diagonal; U is stored on and above it.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class ILU0Preconditioner implements Preconditioner, Serializable {
+    static final long serialVersionUID = 1L;
+
+    // private members
+    private final int n; // the dimension of the matrix
+
+    private final int[] rowPointer, columnIndex; // shared with the matrix
+
+    private final double[] lu; // the values of both factors
+
+    private final int[] diagonal; // the position of each diagonal element
+
+    /**
+     * Constructor that factors <code>a</code>.
+     *
+     * @param a A square matrix that stores every diagonal element.
+     * @throws ArithmeticException
+     */
+    public ILU0Preconditioner(CSRMatrix a) {
+        if(a.getRowDimension() != a.getColumnDimension())
+            throw new IllegalArgumentException("Matrix must be square.");
+        n = a.getRowDimension();
+        rowPointer = a.rowPointer();
+        columnIndex = a.columnIndex();
+        lu = a.values().clone();
+        diagonal = new int[n];
+
+        int[] position = new int[n]; // where each column sits in the current row
+        Arrays.fill(position, -1);
+        for(int i = 0; i < n; i++) {
+            int start = rowPointer[i], end = rowPointer[i + 1];
+            diagonal[i] = -1;
+            for(int k = start; k < end; k++) {
+                position[columnIndex[k]] = k;
+                if(columnIndex[k] == i)
+                    diagonal[i] = k;
+            }
+            if(diagonal[i] < 0)
+                throw new ArithmeticException("Row " + i + " has no diagonal element.");
+
+            // eliminate with each earlier row named in this row
+            for(int k = start; k < end && columnIndex[k] < i; k++) {
+                int j = columnIndex[k];
+                double factor = lu[k] / lu[diagonal[j]];
+                lu[k] = factor;
+                for(int m = diagonal[j] + 1; m < rowPointer[j + 1]; m++) {
+                    int p = position[columnIndex[m]];
+                    if(p >= 0)
+                        lu[p] -= factor * lu[m];
+                }
+            }
+            if(lu[diagonal[i]] == 0.0)
+                throw new ArithmeticException("Zero pivot in row " + i + ".");
+
+            for(int k = start; k < end; k++) {
+                position[columnIndex[k]] = -1;
+            }
+        }
+    }
+
+    /**
+     * Solves L*U*<code>z</code> = <code>r</code> by forward and back
+     * substitution.
+     *
+     * @param r The right hand side.
+     * @param z A vector to hold the solution.
+     */
+    public void apply(double[] r, double[] z) {
+        for(int i = 0; i < n; i++) {
+            double sum = r[i];
+            for(int k = rowPointer[i]; k < diagonal[i]; k++) {
+                sum -= lu[k] * z[columnIndex[k]];
+            }
+            z[i] = sum;
+        }
+        for(int i = n - 1; i >= 0; i--) {
+            double sum = z[i];
+            for(int k = diagonal[i] + 1; k < rowPointer[i + 1]; k++) {
+                sum -= lu[k] * z[columnIndex[k]];
+            }
+            z[i] = sum / lu[diagonal[i]];
+        }
+    }
+}
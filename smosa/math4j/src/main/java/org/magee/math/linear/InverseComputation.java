@@ -0,0 +1,74 @@
+/**
+ * InverseComputation.java A class that keeps the inverse of an observable matrix.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+/**
+ * The <code>InverseComputation</code> class keeps the inverse of a square
+ * <code>ObservableMatrix</code>. A commit that changes only a few elements
+ * is folded in with one Sherman-Morrison update per element; anything
+ * larger, or any update that would divide by nearly zero, leaves the
+ * inverse to be recomputed by LU decomposition when it is next read.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class InverseComputation extends DerivedComputation<DenseMatrix> {
+
+    /**
+     * Constructor that follows <code>source</code>.
+     *
+     * @param source A square matrix.
+     */
+    public InverseComputation(ObservableMatrix source) {
+        super(source);
+    }
+
+    /**
+     * Returns the inverse of the committed matrix. The matrix returned is
+     * shared, so copy it before changing it.
+     *
+     * @throws ArithmeticException if the matrix is singular.
+     */
+    public DenseMatrix get() {
+        return super.get();
+    }
+
+    protected DenseMatrix compute(DenseMatrix a) {
+        return new LUDecomposition(a).inverse();
+    }
+
+    protected DenseMatrix update(DenseMatrix inverse, MatrixChangeEvent e) {
+        if(!isSmallUpdate(e))
+            return null;
+        int n = e.getRowDimension();
+        double[] inv = inverse.toRowPackedArray();
+        for(int k = 0; k < e.getChangeCount(); k++) {
+            if(Double.isNaN(shermanMorrison(inv, n, e.getChangedRow(k), e.getChangedColumn(k), e.getDelta(k))))
+                return null;
+        }
+        return new DenseMatrix(n, n, inv);
+    }
+}
@@ -0,0 +1,303 @@
+/**
+ * LUDecomposition.java A class for the LU decomposition of a dense matrix.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.io.Serializable;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The <code>LUDecomposition</code> class factors a square matrix A into
+ * P * A = L * U with partial pivoting, where L is unit lower triangular and U
+ * is upper triangular.
+ * <p>
+ *
+ * The factors are stored together in one row-major array. Elimination is
+ * right looking, so every update walks contiguous rows, and the trailing
+ * update of a large matrix is shared between every available processor.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class LUDecomposition implements Serializable {
+    static final long serialVersionUID = 1L;
+
+    /**
+     * Trailing updates with fewer rows than this are done on one thread.
+     */
+    private static final int PARALLEL_ROWS = 256;
+
+    // private members
+    private final double[] lu; // L below the diagonal and U on and above it
+
+    private final int n; // the dimension of the matrix
+
+    private final int[] pivot; // row i of P * A is row pivot[i] of A
+
+    private int pivotSign = 1; // the sign of the permutation
+
+    /**
+     * Constructor that factors the square matrix <code>a</code>. The matrix
+     * itself is not changed.
+     *
+     * @param a The matrix to factor.
+     */
+    public LUDecomposition(DenseMatrix a) {
+        if(a.getRowDimension() != a.getColumnDimension())
+            throw new IllegalArgumentException("Matrix must be square.");
+        n = a.getRowDimension();
+        lu = a.toRowPackedArray();
+        pivot = new int[n];
+        for(int i = 0; i < n; i++) {
+            pivot[i] = i;
+        }
+
+        for(int k = 0; k < n; k++) {
+            // find the pivot
+            int p = k;
+            double max = Math.abs(lu[k * n + k]);
+            for(int i = k + 1; i < n; i++) {
+                double v = Math.abs(lu[i * n + k]);
+                if(v > max) {
+                    max = v;
+                    p = i;
+                }
+            }
+            if(p != k) {
+                swapRows(p, k);
+                int temp = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = temp;
+                pivotSign = -pivotSign;
+            }
+
+            double diag = lu[k * n + k];
+            if(diag == 0.0)
+                continue; // singular, the column is already eliminated
+
+            EliminateTask task = new EliminateTask(lu, n, k, k + 1, n);
+            if(n - k - 1 < PARALLEL_ROWS)
+                task.compute();
+            else
+                DenseMatrix.Pool.POOL.invoke(task);
+        }
+    }
+
+    /**
+     * Determines if the matrix is nonsingular.
+     *
+     * @return true if U, and so the matrix, has no zero on its diagonal.
+     */
+    public boolean isNonsingular() {
+        for(int k = 0; k < n; k++) {
+            if(lu[k * n + k] == 0.0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Computes the determinant of the matrix.
+     */
+    public double det() {
+        double d = pivotSign;
+        for(int k = 0; k < n; k++) {
+            d *= lu[k * n + k];
+        }
+        return d;
+    }
+
+    /**
+     * Returns the unit lower triangular factor L.
+     */
+    public DenseMatrix getL() {
+        DenseMatrix l = new DenseMatrix(n, n);
+        for(int i = 0; i < n; i++) {
+            for(int j = 0; j < i; j++) {
+                l.set(i, j, lu[i * n + j]);
+            }
+            l.set(i, i, 1.0);
+        }
+        return l;
+    }
+
+    /**
+     * Returns the upper triangular factor U.
+     */
+    public DenseMatrix getU() {
+        DenseMatrix u = new DenseMatrix(n, n);
+        for(int i = 0; i < n; i++) {
+            for(int j = i; j < n; j++) {
+                u.set(i, j, lu[i * n + j]);
+            }
+        }
+        return u;
+    }
+
+    /**
+     * Returns the row permutation: row i of P * A is row
+     * <code>getPivot()[i]</code> of A.
+     */
+    public int[] getPivot() {
+        return pivot.clone();
+    }
+
+    /**
+     * Solves A * x = b.
+     *
+     * @param b The right hand side, one element per row.
+     * @return The solution x.
+     * @throws ArithmeticException if the matrix is singular.
+     */
+    public double[] solve(double[] b) {
+        if(b.length != n)
+            throw new IllegalArgumentException("Vector length " + b.length + " does not match " + n + " rows.");
+        if(!isNonsingular())
+            throw new ArithmeticException("Matrix is singular.");
+
+        double[] x = new double[n];
+        for(int i = 0; i < n; i++) {
+            x[i] = b[pivot[i]];
+        }
+        for(int i = 0; i < n; i++) { // forward substitution with L
+            double sum = x[i];
+            for(int j = 0; j < i; j++) {
+                sum -= lu[i * n + j] * x[j];
+            }
+            x[i] = sum;
+        }
+        for(int i = n - 1; i >= 0; i--) { // back substitution with U
+            double sum = x[i];
+            for(int j = i + 1; j < n; j++) {
+                sum -= lu[i * n + j] * x[j];
+            }
+            x[i] = sum / lu[i * n + i];
+        }
+        return x;
+    }
+
+    /**
+     * Solves A * X = B for every column of <code>b</code>.
+     *
+     * @param b The right hand sides, one row per row of A.
+     * @return The solution X.
+     * @throws ArithmeticException if the matrix is singular.
+     */
+    public DenseMatrix solve(DenseMatrix b) {
+        if(b.getRowDimension() != n)
+            throw new IllegalArgumentException("Matrix row dimensions must agree.");
+        if(!isNonsingular())
+            throw new ArithmeticException("Matrix is singular.");
+
+        int m = b.getColumnDimension();
+        double[] x = new double[n * m];
+        for(int i = 0; i < n; i++) {
+            System.arraycopy(b.array(), b.offset() + pivot[i] * b.stride(), x, i * m, m);
+        }
+        for(int k = 0; k < n; k++) { // forward substitution, row at a time
+            for(int i = k + 1; i < n; i++) {
+                double l = lu[i * n + k];
+                if(l != 0.0) {
+                    for(int j = 0; j < m; j++) {
+                        x[i * m + j] -= l * x[k * m + j];
+                    }
+                }
+            }
+        }
+        for(int k = n - 1; k >= 0; k--) { // back substitution, row at a time
+            double diag = lu[k * n + k];
+            for(int j = 0; j < m; j++) {
+                x[k * m + j] /= diag;
+            }
+            for(int i = 0; i < k; i++) {
+                double u = lu[i * n + k];
+                if(u != 0.0) {
+                    for(int j = 0; j < m; j++) {
+                        x[i * m + j] -= u * x[k * m + j];
+                    }
+                }
+            }
+        }
+        return new DenseMatrix(n, m, x);
+    }
+
+    /**
+     * Computes the inverse of the matrix.
+     *
+     * @throws ArithmeticException if the matrix is singular.
+     */
+    public DenseMatrix inverse() {
+        return solve(DenseMatrix.identity(n));
+    }
+
+    private void swapRows(int a, int b) {
+        int ra = a * n, rb = b * n;
+        for(int j = 0; j < n; j++) {
+            double temp = lu[ra + j];
+            lu[ra + j] = lu[rb + j];
+            lu[rb + j] = temp;
+        }
+    }
+
+    /**
+     * Eliminates column k from a band of rows below the pivot row.
+     */
+    private static class EliminateTask extends RecursiveAction {
+        private final double[] lu;
+        private final int n, k, rowFrom, rowTo;
+
+        EliminateTask(double[] lu, int n, int k, int rowFrom, int rowTo) {
+            this.lu = lu;
+            this.n = n;
+            this.k = k;
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+        }
+
+        protected void compute() {
+            if(rowTo - rowFrom > PARALLEL_ROWS / 4 && getPool() != null) {
+                int mid = (rowFrom + rowTo) >>> 1;
+                invokeAll(new EliminateTask(lu, n, k, rowFrom, mid), new EliminateTask(lu, n, k, mid, rowTo));
+                return;
+            }
+
+            int pk = k * n;
+            double diag = lu[pk + k];
+            for(int i = rowFrom; i < rowTo; i++) {
+                int ik = i * n;
+                double l = lu[ik + k] / diag;
+                lu[ik + k] = l;
+                if(l != 0.0) {
+                    for(int j = k + 1; j < n; j++) {
+                        lu[ik + j] -= l * lu[pk + j];
+                    }
+                }
+            }
+        }
+
+        static final long serialVersionUID = 1L;
+    }
+}
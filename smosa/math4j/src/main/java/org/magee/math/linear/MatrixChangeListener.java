@@ -0,0 +1,48 @@
+/**
+ * MatrixChangeListener.java An interface for listeners to an observable matrix.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.util.EventListener;
+
+/**
+ * The <code>MatrixChangeListener</code> interface is told about each commit
+ * of an <code>ObservableMatrix</code>.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public interface MatrixChangeListener extends EventListener {
+
+    /**
+     * Called once for every commit that changed the matrix. Listeners are
+     * called in the order they were added, one commit at a time, on the
+     * thread that made the commit.
+     *
+     * @param e The description of what changed.
+     */
+    public void matrixChanged(MatrixChangeEvent e);
+}
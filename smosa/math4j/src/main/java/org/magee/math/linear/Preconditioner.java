@@ -0,0 +1,46 @@
+/**
+ * Preconditioner.java An interface for preconditioners of iterative solvers.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+/**
+ * The <code>Preconditioner</code> interface describes an approximation M of
+ * a matrix A whose systems M*z = r are cheap to solve. An iterative solver
+ * given a good preconditioner needs far fewer products with A.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public interface Preconditioner {
+
+    /**
+     * Solves M*<code>z</code> = <code>r</code>, writing over
+     * <code>z</code>. The two arrays must not be the same.
+     *
+     * @param r The right hand side.
+     * @param z A vector to hold the solution.
+     */
+    public void apply(double[] r, double[] z);
+}
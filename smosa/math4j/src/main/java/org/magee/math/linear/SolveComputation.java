@@ -0,0 +1,118 @@
+/**
+ * SolveComputation.java A class that keeps the solution of a system built on an observable matrix.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+/**
+ * The <code>SolveComputation</code> class keeps the solution x of A*x = b
+ * for a square <code>ObservableMatrix</code> A and a fixed right hand side
+ * b. It keeps the inverse as well, so a commit of a few element changes
+ * updates both by Sherman-Morrison: after A(i, j) changes by delta, x
+ * becomes x - inv(:, i) * delta * x(j) / (1 + delta * inv(j, i)), which is
+ * O(n) for x and O(n^2) for the inverse. Anything larger is recomputed
+ * lazily by LU decomposition.
+ *
+ * @version 1.0, October 19, 2026
+ * @version 1.1, October 19, 2026 The state returned by get gives its
+ *          solution.
+ */
+
+/*
+ * version changes
+ * 1.1 State.getSolution
+ */
+public class SolveComputation extends DerivedComputation<SolveComputation.State> {
+
+    // private members
+    private final double[] b; // the right hand side
+
+    /**
+     * Constructor that follows <code>source</code>.
+     *
+     * @param source A square matrix.
+     * @param b The right hand side, which is copied.
+     */
+    public SolveComputation(ObservableMatrix source, double[] b) {
+        super(source);
+        this.b = b.clone();
+    }
+
+    /**
+     * Returns the solution for the committed matrix as a new array.
+     *
+     * @throws ArithmeticException if the matrix is singular.
+     */
+    public double[] getSolution() {
+        return get().getSolution();
+    }
+
+    protected State compute(DenseMatrix a) {
+        LUDecomposition lu = new LUDecomposition(a);
+        double[] inv = lu.inverse().toRowPackedArray();
+        return new State(lu.solve(b), inv);
+    }
+
+    protected State update(State state, MatrixChangeEvent e) {
+        if(!isSmallUpdate(e))
+            return null;
+        int n = e.getRowDimension();
+        double[] inv = state.inverse.clone();
+        double[] x = state.x.clone();
+        for(int k = 0; k < e.getChangeCount(); k++) {
+            int i = e.getChangedRow(k), j = e.getChangedColumn(k);
+            double delta = e.getDelta(k);
+            double scale = delta * x[j]; // taken before the inverse changes
+            double[] column = new double[n];
+            for(int r = 0; r < n; r++) {
+                column[r] = inv[r * n + i];
+            }
+            double factor = shermanMorrison(inv, n, i, j, delta);
+            if(Double.isNaN(factor))
+                return null;
+            scale /= factor;
+            for(int r = 0; r < n; r++) {
+                x[r] -= column[r] * scale;
+            }
+        }
+        return new State(x, inv);
+    }
+
+    /**
+     * The solution together with the inverse used to update it.
+     */
+    public static class State {
+        final double[] x;
+        final double[] inverse; // row packed
+
+        State(double[] x, double[] inverse) {
+            this.x = x;
+            this.inverse = inverse;
+        }
+
+        /**
+         * Returns the solution as a new array.
+         */
+        public double[] getSolution() {
+            return x.clone();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/**
+ * SparseMatrixBuilder.java A class for assembling a sparse matrix from triplets.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.linear;
+
+// import other packages
+import java.util.Arrays;
+
+/**
+ * The <code>SparseMatrixBuilder</code> class collects the non-zero elements
+ * of a sparse matrix as (row, column, value) triplets in any order and then
+ * compresses them into a <code>CSRMatrix</code> or <code>CSCMatrix</code>.
+ * <p>
+ *
+ * Triplets that name the same element are added together, which is how
+ * finite element and finite difference codes usually assemble a matrix.
+ * Compression sorts the triplets with two stable counting sorts, so it takes
+ * time proportional to the number of triplets plus the dimensions.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class SparseMatrixBuilder {
+
+    // private members
+    private final int rows, cols; // the dimensions of the matrix
+
+    private int[] rowIndex, colIndex; // the position of each triplet
+
+    private double[] values; // the value of each triplet
+
+    private int size; // the number of triplets added so far
+
+    /**
+     * Constructor for a <code>rows</code> by <code>cols</code> matrix.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     */
+    public SparseMatrixBuilder(int rows, int cols) {
+        this(rows, cols, 16);
+    }
+
+    /**
+     * Overloaded constructor with room for <code>capacity</code> triplets
+     * before the storage has to grow.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param capacity The expected number of triplets.
+     */
+    public SparseMatrixBuilder(int rows, int cols, int capacity) {
+        if(rows < 0 || cols < 0)
+            throw new IllegalArgumentException("Matrix dimensions cannot be negative: " + rows + " x " + cols);
+        this.rows = rows;
+        this.cols = cols;
+        capacity = Math.max(capacity, 1);
+        rowIndex = new int[capacity];
+        colIndex = new int[capacity];
+        values = new double[capacity];
+    }
+
+    /**
+     * Adds <code>value</code> to element (<code>row</code>,
+     * <code>col</code>).
+     *
+     * @param row The row index.
+     * @param col The column index.
+     * @param value The amount to add.
+     * @return This builder, so calls can be chained.
+     * @throws ArrayIndexOutOfBoundsException
+     */
+    public SparseMatrixBuilder add(int row, int col, double value) {
+        if(row < 0 || row >= rows || col < 0 || col >= cols)
+            throw new ArrayIndexOutOfBoundsException("Element (" + row + ", " + col + ") is outside a " + rows + " x " + cols + " matrix");
+        if(size == values.length) {
+            int capacity = size + (size >> 1) + 1;
+            rowIndex = Arrays.copyOf(rowIndex, capacity);
+            colIndex = Arrays.copyOf(colIndex, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        rowIndex[size] = row;
+        colIndex[size] = col;
+        values[size] = value;
+        size++;
+        return this;
+    }
+
+    /**
+     * Returns the number of triplets added so far, counting duplicates.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Compresses the triplets into a matrix stored by rows. Columns are
+     * sorted within each row.
+     */
+    public CSRMatrix toCSR() {
+        Compressed c = compress(rowIndex, colIndex, rows, cols);
+        return new CSRMatrix(rows, cols, c.pointer, c.index, c.values);
+    }
+
+    /**
+     * Compresses the triplets into a matrix stored by columns. Rows are
+     * sorted within each column.
+     */
+    public CSCMatrix toCSC() {
+        Compressed c = compress(colIndex, rowIndex, cols, rows);
+        return new CSCMatrix(rows, cols, c.pointer, c.index, c.values);
+    }
+
+    /**
+     * Sorts the triplets by major index and then minor index and sums
+     * duplicates.
+     */
+    private Compressed compress(int[] major, int[] minor, int majorCount, int minorCount) {
+        // stable counting sort by the minor index ...
+        int[] byMinor = countingSort(minor, minorCount, null);
+        // ... then by the major index, which keeps the minor order in each run
+        int[] order = countingSort(major, majorCount, byMinor);
+
+        int[] pointer = new int[majorCount + 1];
+        int[] index = new int[size];
+        double[] sums = new double[size];
+        int nnz = 0;
+        int last = -1, lastMinor = -1;
+        for(int t = 0; t < size; t++) {
+            int k = order[t];
+            if(major[k] == last && minor[k] == lastMinor) {
+                sums[nnz - 1] += values[k];
+            } else {
+                last = major[k];
+                lastMinor = minor[k];
+                index[nnz] = lastMinor;
+                sums[nnz] = values[k];
+                pointer[last + 1]++;
+                nnz++;
+            }
+        }
+        for(int i = 0; i < majorCount; i++) {
+            pointer[i + 1] += pointer[i];
+        }
+        return new Compressed(pointer, Arrays.copyOf(index, nnz), Arrays.copyOf(sums, nnz));
+    }
+
+    /**
+     * Returns the triplet numbers sorted stably by key. When
+     * <code>input</code> is not null only those triplets are sorted, in
+     * their given order.
+     */
+    private int[] countingSort(int[] key, int keyCount, int[] input) {
+        int[] start = new int[keyCount + 1];
+        for(int t = 0; t < size; t++) {
+            start[key[t] + 1]++;
+        }
+        for(int i = 0; i < keyCount; i++) {
+            start[i + 1] += start[i];
+        }
+        int[] reply = new int[size];
+        for(int t = 0; t < size; t++) {
+            int k = (input == null) ? t : input[t];
+            reply[start[key[k]]++] = k;
+        }
+        return reply;
+    }
+
+    /**
+     * The three arrays of a compressed matrix.
+     */
+    private static class Compressed {
+        final int[] pointer, index;
+        final double[] values;
+
+        Compressed(int[] pointer, int[] index, double[] values) {
+            this.pointer = pointer;
+            this.index = index;
+            this.values = values;
+        }
+    }
+}
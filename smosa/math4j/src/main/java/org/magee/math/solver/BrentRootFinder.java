@@ -0,0 +1,98 @@
+/**
+ * BrentRootFinder.java A class for Brent's method of finding roots.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.solver;
+
+// import other packages
+import org.magee.math.Function;
+
+/**
+ * The <code>BrentRootFinder</code> class finds roots by Brent's method,
+ * which takes an inverse quadratic or secant step when it lands well inside
+ * the bracket and makes progress, and bisects when it does not. It
+ * converges superlinearly on smooth functions and never needs more than
+ * about twice the evaluations of bisection on any function.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class BrentRootFinder extends RootFinder {
+
+    protected double search(Function f, double a, double fa, double b, double fb) {
+        double c = a, fc = fa; // the other end of the bracket around b
+        double d = b - a, e = d; // the last step and the one before it
+        while(true) {
+            if((fb > 0.0) == (fc > 0.0)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if(Math.abs(fc) < Math.abs(fb)) { // keep the best estimate in b
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+            double tol = halfTolerance(b);
+            double m = (c - b) / 2;
+            if(Math.abs(m) <= tol || fb == 0.0)
+                return b;
+
+            if(Math.abs(e) >= tol && Math.abs(fa) > Math.abs(fb)) {
+                double p, q, s = fb / fa;
+                if(a == c) { // secant
+                    p = 2 * m * s;
+                    q = 1 - s;
+                } else { // inverse quadratic
+                    double r = fb / fc;
+                    q = fa / fc;
+                    p = s * (2 * m * q * (q - r) - (b - a) * (r - 1));
+                    q = (q - 1) * (r - 1) * (s - 1);
+                }
+                if(p > 0.0)
+                    q = -q;
+                else
+                    p = -p;
+                if(2 * p < Math.min(3 * m * q - Math.abs(tol * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = m;
+                    e = m;
+                }
+            } else {
+                d = m;
+                e = m;
+            }
+            a = b;
+            fa = fb;
+            b += (Math.abs(d) > tol) ? d : (m > 0.0 ? tol : -tol);
+            fb = valueAt(f, b);
+        }
+    }
+}
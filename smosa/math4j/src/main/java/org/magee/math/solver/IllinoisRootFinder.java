@@ -0,0 +1,69 @@
+/**
+ * IllinoisRootFinder.java A class for the Illinois method of finding roots.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.solver;
+
+// import other packages
+import org.magee.math.Function;
+
+/**
+ * The <code>IllinoisRootFinder</code> class finds roots by the Illinois
+ * variant of the method of false position. Each step is the secant through
+ * the ends of the bracket, and an end that is kept for two steps running
+ * has its value halved, which stops one end from sticking and gives
+ * superlinear convergence with a single evaluation per step.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class IllinoisRootFinder extends RootFinder {
+
+    protected double search(Function f, double a, double fa, double b, double fb) {
+        int kept = 0; // the end kept by the last step, -1 for a and 1 for b
+        while(true) {
+            double x = b - fb * (b - a) / (fb - fa);
+            if(!(Math.min(a, b) < x && x < Math.max(a, b)))
+                x = (a + b) / 2; // rounding put the secant on an end
+            double fx = valueAt(f, x);
+            if(fx == 0.0)
+                return x;
+            if((fx > 0.0) == (fb > 0.0)) { // x replaces b and a is kept
+                b = x;
+                fb = fx;
+                if(kept == -1)
+                    fa /= 2;
+                kept = -1;
+            } else { // x replaces a and b is kept
+                a = x;
+                fa = fx;
+                if(kept == 1)
+                    fb /= 2;
+                kept = 1;
+            }
+            if(Math.abs(b - a) <= 2 * halfTolerance(x))
+                return (Math.abs(fa) < Math.abs(fb)) ? a : b;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Minimizer.java An abstract class for finding the minima of a function.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.solver;
+
+// import other packages
+import org.magee.math.CompoundFunction;
+import org.magee.math.ConstantFunction;
+import org.magee.math.Function;
+import org.magee.metrics.Metrics;
+
+/**
+ * The <code>Minimizer</code> class is the base of the methods that find a
+ * minimum of any <code>Function</code> on an interval. A maximum is found
+ * as the minimum of the negated function.
+ * <p>
+ *
+ * A search stops when the interval known to hold the minimum is narrower
+ * than <code>tolerance</code> plus the square root of the machine epsilon
+ * times the abscissa, which is as close as a minimum can be placed from
+ * values of the function, and fails with an
+ * <code>ArithmeticException</code> after <code>maxEvaluations</code>
+ * evaluations. The methods of a single search find a local minimum; if
+ * the function has several on the interval any of them may be found. A
+ * minimizer is not thread safe; the counter and the value describe the
+ * last call.
+ * <p>
+ *
+ * When <code>Metrics</code> are on, each search is timed and its
+ * evaluations counted under the class of the minimizer, and each
+ * evaluation is timed under the class of the function.
+ *
+ * @version 1.0, October 19, 2026
+ * @version 1.1, October 19, 2026 Records metrics.
+ */
+
+/*
+ * version changes
+ */
+public abstract class Minimizer implements Cloneable {
+
+    /**
+     * The square root of the double epsilon.
+     */
+    protected static final double SQRT_EPSILON = 1.4901161193847656e-8;
+
+    // protected members
+    protected double tolerance = 1e-10; // the absolute width of the final interval
+
+    protected int maxEvaluations = 1000; // the evaluation limit of one search
+
+    protected long evaluations; // evaluations done by the last call
+
+    protected double value; // the value at the optimum found by the last call
+
+    /**
+     * Returns the width of interval at which a search stops.
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Sets the width of interval at which a search stops.
+     *
+     * @param tolerance A positive tolerance.
+     */
+    public void setTolerance(double tolerance) {
+        if(!(tolerance > 0.0))
+            throw new IllegalArgumentException("Tolerance must be positive: " + tolerance);
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns the largest number of evaluations one search may take.
+     */
+    public int getMaxEvaluations() {
+        return maxEvaluations;
+    }
+
+    /**
+     * Sets the largest number of evaluations one search may take.
+     *
+     * @param maxEvaluations A positive evaluation limit.
+     */
+    public void setMaxEvaluations(int maxEvaluations) {
+        if(maxEvaluations < 1)
+            throw new IllegalArgumentException("Evaluation limit must be positive: " + maxEvaluations);
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    /**
+     * Returns the number of times the function was evaluated by the last
+     * call, counting a derivative as one.
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Returns the value of the function at the optimum found by the last
+     * call.
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Finds a minimum of <code>f</code> between <code>a</code> and
+     * <code>b</code>.
+     *
+     * @param f The function.
+     * @param a The lower bound.
+     * @param b The upper bound.
+     * @return The abscissa of the minimum.
+     * @throws ArithmeticException If the evaluation limit is reached.
+     */
+    public double minimize(Function f, double a, double b) {
+        if(!(a < b))
+            throw new IllegalArgumentException("Empty interval [" + a + ", " + b + "]");
+        evaluations = 0;
+        long start = Metrics.start();
+        try {
+            return search(f, a, b);
+        } finally {
+            Metrics.stop(getClass(), "minimize", start);
+            Metrics.count(getClass(), "evaluations", evaluations);
+        }
+    }
+
+    /**
+     * Finds a maximum of <code>f</code> between <code>a</code> and
+     * <code>b</code>.
+     *
+     * @param f The function.
+     * @param a The lower bound.
+     * @param b The upper bound.
+     * @return The abscissa of the maximum.
+     * @throws ArithmeticException If the evaluation limit is reached.
+     */
+    public double maximize(Function f, double a, double b) {
+        double x = minimize(CompoundFunction.product(new ConstantFunction(-1.0), f), a, b);
+        value = -value;
+        return x;
+    }
+
+    /**
+     * Narrows [<code>a</code>, <code>b</code>] to a minimum, setting
+     * <code>value</code> to the value there.
+     *
+     * @param f The function.
+     * @param a The lower bound.
+     * @param b The upper bound, greater than <code>a</code>.
+     * @return The abscissa of the minimum.
+     * @throws ArithmeticException If the evaluation limit is reached.
+     */
+    protected abstract double search(Function f, double a, double b);
+
+    /**
+     * Evaluates <code>f</code> at <code>x</code>, counting the evaluation
+     * and failing once the limit is passed.
+     */
+    protected double valueAt(Function f, double x) {
+        if(++evaluations > maxEvaluations)
+            throw new ArithmeticException("No minimum found within " + maxEvaluations + " evaluations");
+        long start = Metrics.start();
+        double y = f.valueAt(x);
+        Metrics.stop(f.getClass(), "valueAt", start);
+        return y;
+    }
+
+    /**
+     * Returns the accuracy to which a minimum near <code>x</code> can be
+     * placed.
+     */
+    protected double accuracy(double x) {
+        return SQRT_EPSILON * Math.abs(x) + tolerance / 3;
+    }
+
+    /**
+     * Returns a copy of this minimizer with its own counter.
+     */
+    protected Minimizer clone() {
+        try {
+            return (Minimizer) super.clone();
+        } catch(CloneNotSupportedException e) {
+            throw new InternalError(e.toString());
+        }
+    }
+}
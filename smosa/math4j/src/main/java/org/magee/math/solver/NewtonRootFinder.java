@@ -0,0 +1,134 @@
+/**
+ * NewtonRootFinder.java A class for Newton's method of finding roots.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.math.solver;
+
+// import other packages
+import org.magee.math.Function;
+import org.magee.metrics.Metrics;
+
+/**
+ * The <code>NewtonRootFinder</code> class finds roots by Newton's method,
+ * using the derivative given by <code>getDerivFunc</code>. Since a
+ * function keeps its derivative, every step of every search on it uses the
+ * same derivative tree.
+ * <p>
+ *
+ * Within a bracket the method is safeguarded: a step that would leave the
+ * bracket or fails to halve it is replaced by bisection, so it converges
+ * quadratically near a simple root and never does worse than bisection.
+ * A function without a derivative is searched by Brent's method instead.
+ * <code>findRoot(Function, double)</code> runs plain Newton iteration from
+ * a single guess, which is fastest but may diverge, and is timed like
+ * the bracketed search when <code>Metrics</code> are on.
+ *
+ * @version 1.0, October 19, 2026
+ * @version 1.1, October 19, 2026 Newton iteration from a guess records
+ *          metrics.
+ */
+
+/*
+ * version changes
+ * 1.1 findRoot(Function, double) is timed and its evaluations counted
+ */
+public class NewtonRootFinder extends BrentRootFinder {
+
+    /**
+     * Finds a root of <code>f</code> by Newton iteration from
+     * <code>x0</code>, stopping when a step is within the tolerance.
+     *
+     * @param f The function, which must have a derivative.
+     * @param x0 The first guess.
+     * @return A root.
+     * @throws IllegalArgumentException If <code>f</code> has no derivative.
+     * @throws ArithmeticException If the derivative vanishes or the
+     *         evaluation limit is reached.
+     */
+    public double findRoot(Function f, double x0) {
+        Function d = f.getDerivFunc();
+        if(d == null)
+            throw new IllegalArgumentException("No derivative for " + f);
+        evaluations = 0;
+        long start = Metrics.start();
+        try {
+            return iterate(f, d, x0);
+        } finally {
+            Metrics.stop(getClass(), "findRoot", start);
+            Metrics.count(getClass(), "evaluations", evaluations);
+        }
+    }
+
+    /**
+     * Takes Newton steps from <code>x</code> until one is within the
+     * tolerance.
+     */
+    private double iterate(Function f, Function d, double x) {
+        while(true) {
+            double fx = valueAt(f, x);
+            if(fx == 0.0)
+                return x;
+            double dx = valueAt(d, x);
+            if(dx == 0.0 || Double.isNaN(dx))
+                throw new ArithmeticException("Derivative is " + dx + " at " + x);
+            double step = fx / dx;
+            x -= step;
+            if(Math.abs(step) <= 2 * halfTolerance(x))
+                return x;
+        }
+    }
+
+    protected double search(Function f, double a, double fa, double b, double fb) {
+        Function d = f.getDerivFunc();
+        if(d == null)
+            return super.search(f, a, fa, b, fb);
+        if(fa > 0.0) { // keep f(lo) < 0 < f(hi)
+            double t = a;
+            a = b;
+            b = t;
+        }
+        double lo = a, hi = b;
+        double x = (lo + hi) / 2;
+        double lastStep = Math.abs(hi - lo), step = lastStep;
+        double fx = valueAt(f, x), dx = valueAt(d, x);
+        while(true) {
+            if(((x - hi) * dx - fx) * ((x - lo) * dx - fx) > 0.0 || Math.abs(2 * fx) > Math.abs(lastStep * dx)) {
+                lastStep = step; // bisect
+                step = (hi - lo) / 2;
+                x = lo + step;
+            } else {
+                lastStep = step;
+                step = fx / dx;
+                x -= step;
+            }
+            if(Math.abs(step) <= halfTolerance(x))
+                return x;
+            fx = valueAt(f, x);
+            if(fx == 0.0)
+                return x;
+            dx = valueAt(d, x);
+            if(fx < 0.0)
+                lo = x;
+            else
+                hi = x;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/**
+ * LatencyHistogram.java A class for recording the distribution of durations.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.metrics;
+
+// import other packages
+import java.beans.ConstructorProperties;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The <code>LatencyHistogram</code> class records durations in nanoseconds
+ * and answers questions such as how long the slowest one percent took.
+ * <p>
+ *
+ * The buckets are laid out as in an HDR histogram: each power of two from
+ * 2<sup>SUB_BITS</sup> up is cut into 2<sup>SUB_BITS</sup> equal buckets, and
+ * the values below are counted exactly, so that a value is known to within
+ * one part in 2<sup>SUB_BITS</sup> from a nanosecond to centuries with a
+ * fixed array of under two thousand counts. The bucket of a value is found
+ * from its leading zeros and a shift, with no search. Recording takes no
+ * lock; a snapshot taken while other threads record may miss their latest
+ * values.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class LatencyHistogram {
+
+    /**
+     * The number of bits of a value kept exactly, so that values are known
+     * to within about three percent.
+     */
+    static final int SUB_BITS = 5;
+
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    // private members
+    private final AtomicLongArray buckets = new AtomicLongArray((64 - SUB_BITS) * SUB_COUNT); // the count of each bucket
+
+    private final LongAdder count = new LongAdder(); // the values recorded
+
+    private final LongAdder total = new LongAdder(); // the sum of the values
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L); // the largest value
+
+    /**
+     * Returns the bucket that holds <code>value</code>.
+     */
+    static int bucketOf(long value) {
+        if(value < SUB_COUNT)
+            return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) (value >>> shift) - SUB_COUNT;
+    }
+
+    /**
+     * Returns the largest value that falls in bucket <code>i</code>.
+     */
+    static long highestOf(int i) {
+        if(i < SUB_COUNT)
+            return i;
+        int shift = i / SUB_COUNT - 1;
+        long sub = i % SUB_COUNT + SUB_COUNT;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds; a negative one, from a clock
+     *        that stepped back, counts as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns the number of durations recorded since the last reset.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the duration that <code>fraction</code> of the durations do
+     * not exceed, rounded up to the end of its bucket.
+     *
+     * @param fraction A fraction from 0 to 1, such as 0.99.
+     * @return The duration in nanoseconds, or 0 if none are recorded.
+     */
+    public long getPercentile(double fraction) {
+        if(!(fraction >= 0.0 && fraction <= 1.0))
+            throw new IllegalArgumentException("Fraction must be from 0 to 1: " + fraction);
+        long[] counts = readBuckets();
+        return percentile(counts, sum(counts), fraction);
+    }
+
+    /**
+     * Returns a copy of the bucket counts.
+     */
+    private long[] readBuckets() {
+        long[] counts = new long[buckets.length()];
+        for(int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the sum of the bucket counts <code>counts</code>.
+     */
+    private static long sum(long[] counts) {
+        long n = 0;
+        for(long c : counts) {
+            n += c;
+        }
+        return n;
+    }
+
+    /**
+     * Returns the percentile of the bucket counts <code>counts</code>, whose
+     * sum is <code>n</code>.
+     */
+    private long percentile(long[] counts, long n, double fraction) {
+        if(n == 0)
+            return 0L;
+        long rank = Math.max(1L, (long) Math.ceil(fraction * n));
+        long seen = 0;
+        for(int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if(seen >= rank)
+                return Math.min(highestOf(i), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * Returns the count, mean, largest value and common percentiles taken
+     * from one reading of the buckets.
+     */
+    public Snapshot snapshot() {
+        long[] counts = readBuckets();
+        long n = sum(counts);
+        double mean = (n == 0) ? 0.0 : (double) total.sum() / n;
+        return new Snapshot(n, mean, max.get(), percentile(counts, n, 0.5), percentile(counts, n, 0.9),
+                percentile(counts, n, 0.99), percentile(counts, n, 0.999));
+    }
+
+    /**
+     * Forgets every duration recorded.
+     */
+    public void reset() {
+        for(int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0L);
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    /**
+     * Returns the snapshot of this histogram as a string.
+     */
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * The <code>Snapshot</code> class holds the figures of a histogram at
+     * one time, in nanoseconds. It is shown by JMX as a composite value.
+     */
+    public static class Snapshot {
+
+        // private members
+        private final long count;
+
+        private final double mean;
+
+        private final long max;
+
+        private final long median, p90, p99, p999;
+
+        /**
+         * Constructor that creates a snapshot from its figures.
+         */
+        @ConstructorProperties({ "count", "mean", "max", "median", "p90", "p99", "p999" })
+        public Snapshot(long count, double mean, long max, long median, long p90, long p99, long p999) {
+            this.count = count;
+            this.mean = mean;
+            this.max = max;
+            this.median = median;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+        }
+
+        /**
+         * Returns the number of durations.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the mean duration.
+         */
+        public double getMean() {
+            return mean;
+        }
+
+        /**
+         * Returns the longest duration.
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Returns the duration half of them do not exceed.
+         */
+        public long getMedian() {
+            return median;
+        }
+
+        /**
+         * Returns the duration 90 percent of them do not exceed.
+         */
+        public long getP90() {
+            return p90;
+        }
+
+        /**
+         * Returns the duration 99 percent of them do not exceed.
+         */
+        public long getP99() {
+            return p99;
+        }
+
+        /**
+         * Returns the duration 99.9 percent of them do not exceed.
+         */
+        public long getP999() {
+            return p999;
+        }
+
+        /**
+         * Returns a string representation of this snapshot.
+         */
+        public String toString() {
+            return "count=" + count + " mean=" + mean + "ns max=" + max + "ns median=" + median + "ns p90=" + p90
+                    + "ns p99=" + p99 + "ns p99.9=" + p999 + "ns";
+        }
+    }
+}
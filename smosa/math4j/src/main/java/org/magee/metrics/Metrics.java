@@ -0,0 +1,135 @@
+/**
+ * Metrics.java A class for recording metrics only when they are switched on.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.metrics;
+
+// import other packages
+import javax.management.JMException;
+
+/**
+ * The <code>Metrics</code> class is where the library records what it does
+ * for anyone watching: how long the evaluations of each kind of
+ * <code>Function</code> take, how long each solver takes and how many
+ * evaluations it needs.
+ * <p>
+ *
+ * Metrics are off unless the system property
+ * <code>org.magee.metrics</code> is <code>true</code> when the class is
+ * loaded. <code>ENABLED</code> is a constant, so when it is false the just
+ * in time compiler drops <code>start</code>, <code>stop</code> and
+ * <code>count</code>, clock readings and all, and instrumented code runs as
+ * fast as if they were not there. When it is true the default registry is
+ * published on the platform MBean server as
+ * <code>org.magee.metrics:type=MetricsRegistry,name="default"</code>.
+ * <p>
+ *
+ * A timed operation reads
+ * <pre>
+ * long start = Metrics.start();
+ * ...
+ * Metrics.stop(getClass(), "operation", start);
+ * </pre>
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public final class Metrics {
+
+    /**
+     * Whether metrics are recorded, fixed when the class is loaded.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("org.magee.metrics");
+
+    // private members
+    private static volatile MetricsRegistry registry = new MetricsRegistry(); // where metrics are recorded
+
+    static {
+        if(ENABLED) {
+            try {
+                registry.registerMBean("default");
+            } catch(JMException e) {
+                // metrics must never stop the library from loading; they are still recorded
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the registry metrics are recorded in.
+     */
+    public static MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Sets the registry metrics are recorded in, such as one that passes them
+     * to another metrics system. It is not published on the MBean server.
+     *
+     * @param registry The registry.
+     */
+    public static void setRegistry(MetricsRegistry registry) {
+        if(registry == null)
+            throw new IllegalArgumentException("Registry is null");
+        Metrics.registry = registry;
+    }
+
+    /**
+     * Returns the time at which a timed operation starts.
+     *
+     * @return The value of <code>System.nanoTime</code>, or 0 if metrics are
+     *         off.
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time since <code>start</code> in the histogram of
+     * <code>operation</code> on <code>type</code>.
+     *
+     * @param type The class timed.
+     * @param operation The name of the operation.
+     * @param start The time the operation started, from <code>start</code>.
+     */
+    public static void stop(Class<?> type, String operation, long start) {
+        if(ENABLED)
+            registry.histogram(type, operation).record(System.nanoTime() - start);
+    }
+
+    /**
+     * Adds <code>n</code> to the counter of <code>operation</code> on
+     * <code>type</code>.
+     *
+     * @param type The class counted.
+     * @param operation The name of the counter.
+     * @param n The number to add.
+     */
+    public static void count(Class<?> type, String operation, long n) {
+        if(ENABLED)
+            registry.counter(type, operation).add(n);
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * MetricsRegistry.java A class for keeping named counters and histograms.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.metrics;
+
+// import other packages
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * The <code>MetricsRegistry</code> class keeps the counters and latency
+ * histograms of a program by name, creating each the first time it is asked
+ * for. The metrics of a class, such as the evaluations of one kind of
+ * <code>Function</code>, are named by the class and an operation,
+ * <code>org.magee.math.PolyFunction.valueAt</code>, and are found through a
+ * table kept for the class, so that asking for them builds no string.
+ * <p>
+ *
+ * A subclass can hand out its own counters and histograms, to pass them on
+ * to another metrics system, and be installed by
+ * <code>Metrics.setRegistry</code>. A registry is itself a JMX MXBean and is
+ * published by <code>registerMBean</code>.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class MetricsRegistry implements MetricsRegistryMXBean {
+
+    // private members
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<String, Counter>(); // the counters by name
+
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<String, LatencyHistogram>(); // the histograms by name
+
+    private final ClassValue<ConcurrentHashMap<String, Counter>> classCounters = new ClassValue<ConcurrentHashMap<String, Counter>>() {
+        protected ConcurrentHashMap<String, Counter> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<String, Counter>();
+        }
+    }; // the counters of each class by operation
+
+    private final ClassValue<ConcurrentHashMap<String, LatencyHistogram>> classHistograms = new ClassValue<ConcurrentHashMap<String, LatencyHistogram>>() {
+        protected ConcurrentHashMap<String, LatencyHistogram> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<String, LatencyHistogram>();
+        }
+    }; // the histograms of each class by operation
+
+    /**
+     * Returns the counter called <code>name</code>.
+     *
+     * @param name The name of the counter.
+     * @return The counter, created if there was none.
+     */
+    public Counter counter(String name) {
+        Counter c = counters.get(name);
+        if(c == null) {
+            c = newCounter(name);
+            Counter old = counters.putIfAbsent(name, c);
+            if(old != null)
+                c = old;
+        }
+        return c;
+    }
+
+    /**
+     * Returns the latency histogram called <code>name</code>.
+     *
+     * @param name The name of the histogram.
+     * @return The histogram, created if there was none.
+     */
+    public LatencyHistogram histogram(String name) {
+        LatencyHistogram h = histograms.get(name);
+        if(h == null) {
+            h = newHistogram(name);
+            LatencyHistogram old = histograms.putIfAbsent(name, h);
+            if(old != null)
+                h = old;
+        }
+        return h;
+    }
+
+    /**
+     * Returns the counter of <code>operation</code> on <code>type</code>.
+     *
+     * @param type The class counted.
+     * @param operation The name of the operation.
+     * @return The counter, created if there was none.
+     */
+    public Counter counter(Class<?> type, String operation) {
+        ConcurrentHashMap<String, Counter> byOperation = classCounters.get(type);
+        Counter c = byOperation.get(operation);
+        if(c == null) {
+            c = counter(type.getName() + "." + operation);
+            byOperation.putIfAbsent(operation, c);
+        }
+        return c;
+    }
+
+    /**
+     * Returns the latency histogram of <code>operation</code> on
+     * <code>type</code>.
+     *
+     * @param type The class timed.
+     * @param operation The name of the operation.
+     * @return The histogram, created if there was none.
+     */
+    public LatencyHistogram histogram(Class<?> type, String operation) {
+        ConcurrentHashMap<String, LatencyHistogram> byOperation = classHistograms.get(type);
+        LatencyHistogram h = byOperation.get(operation);
+        if(h == null) {
+            h = histogram(type.getName() + "." + operation);
+            byOperation.putIfAbsent(operation, h);
+        }
+        return h;
+    }
+
+    /**
+     * Creates the counter called <code>name</code> when it is first asked
+     * for.
+     */
+    protected Counter newCounter(String name) {
+        return new Counter();
+    }
+
+    /**
+     * Creates the histogram called <code>name</code> when it is first asked
+     * for.
+     */
+    protected LatencyHistogram newHistogram(String name) {
+        return new LatencyHistogram();
+    }
+
+    /**
+     * Returns the count of every counter, by name in order.
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> m = new TreeMap<String, Long>();
+        for(Map.Entry<String, Counter> e : counters.entrySet()) {
+            m.put(e.getKey(), e.getValue().get());
+        }
+        return m;
+    }
+
+    /**
+     * Returns a snapshot of every histogram, by name in order.
+     */
+    public Map<String, LatencyHistogram.Snapshot> getHistograms() {
+        Map<String, LatencyHistogram.Snapshot> m = new TreeMap<String, LatencyHistogram.Snapshot>();
+        for(Map.Entry<String, LatencyHistogram> e : histograms.entrySet()) {
+            m.put(e.getKey(), e.getValue().snapshot());
+        }
+        return m;
+    }
+
+    /**
+     * Sets every counter and histogram back to zero. They stay in the
+     * registry, so code holding one keeps recording to it.
+     */
+    public void reset() {
+        for(Counter c : counters.values()) {
+            c.reset();
+        }
+        for(LatencyHistogram h : histograms.values()) {
+            h.reset();
+        }
+    }
+
+    /**
+     * Publishes this registry on the platform MBean server as
+     * <code>org.magee.metrics:type=MetricsRegistry,name=</code><i>name</i>.
+     *
+     * @param name The name to publish under.
+     * @return The object name, for unregistering it.
+     * @throws JMException If the name is taken or cannot be used.
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName("org.magee.metrics:type=MetricsRegistry,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+}
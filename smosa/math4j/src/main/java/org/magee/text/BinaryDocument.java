@@ -50,14 +50,6 @@ package org.magee.text;
 
 // import other packages
 
-import java.util.ArrayList;
-
-
-
-import javax.swing.text.AttributeSet;
-
-import javax.swing.text.BadLocationException;
-
 import javax.swing.text.PlainDocument;
 
 
@@ -78,9 +70,9 @@ import javax.swing.text.PlainDocument;
 
  * (typing or pasting) or by other means (TextComponent.setText()) it is first
 
- * examined to contain only ones and zeroes. If it passes this test then the
+ * checked by a <code>NumberDocumentFilter</code>, which lets it in only if
 
- * string is inserted for the view by the user.
+ * the whole text stays the start of a binary number.
 
  * 
 
@@ -88,6 +80,10 @@ import javax.swing.text.PlainDocument;
 
  * @version 1.0, December 23, 2001
 
+ * @version 1.1, October 19, 2026 Validation moved to a shared
+
+ *          <code>NumberDocumentFilter</code>.
+
  */
 
 
@@ -100,57 +96,17 @@ import javax.swing.text.PlainDocument;
 
 public class BinaryDocument extends PlainDocument {
 
-    /**
-
-     * Implements code for checking the validity of the input.
-
-     */
-
-    public void insertString(int offset, String s, AttributeSet atts) throws BadLocationException {
-
-        if(s != null && s.length() > 0) { // check if there is anything in the
-
-                                            // string to examine
-
-
-
-            boolean isValid = true; // the state of the string
 
-            ArrayList<String> chars = new ArrayList<String>(2);
 
-            chars.add("0");
-
-            chars.add("1");
-
-
-
-            int i = 0;
-
-            while(isValid && i < s.length()) { // to save process time check
-
-                                                // isValid first
-
-                if(!chars.contains(s.substring(i, i + 1))) {
-
-                    isValid = false; // an invalid character was found
-
-                }
-
-                i++;
-
-            }
-
-
-
-            if(isValid) {
+    /**
 
-                super.insertString(offset, s, atts); // a valid string was
+     * Default constructor that installs the binary number filter.
 
-                                                        // inserted
+     */
 
-            }
+    public BinaryDocument() {
 
-        }
+        setDocumentFilter(new NumberDocumentFilter(NumberSyntax.BINARY));
 
     }
 
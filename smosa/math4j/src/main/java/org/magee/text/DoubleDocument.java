@@ -23,10 +23,6 @@
 package org.magee.text;
 
 // import other packages
-import java.util.Arrays;
-
-import javax.swing.text.AttributeSet;
-import javax.swing.text.BadLocationException;
 import javax.swing.text.PlainDocument;
 
 /**
@@ -37,40 +33,26 @@ import javax.swing.text.PlainDocument;
  * The use of this class is implemented by calling setDocument on a text
  * component. When a string is entered into a text area by a keyboard event
  * (typing or pasting) or by other means (TextComponent.setText()) it is first
- * examined to contain only digits. If it passes this test then the string is
- * inserted for the view by the user.
+ * checked by a <code>NumberDocumentFilter</code>, which lets it in only if
+ * the whole text stays the start of a floating point number.
  * 
  * @author Anthony W. Magee, Dr. James Denvir
  * @version 1.0, December 23, 2001
+ * @version 1.1, October 19, 2026 Validation moved to a shared
+ *          <code>NumberDocumentFilter</code>.
  */
 
 /*
  * version changes
  */
 public class DoubleDocument extends PlainDocument {
-    
-    private char[] doub = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '.', '-', 'E'};
-    
+
     /**
-     * implements code for checking the validity of the input
+     * Default constructor that installs the floating point number filter.
      */
-    public void insertString(int offset, String s, AttributeSet atts) throws BadLocationException {
-        if(s != null && s.length() > 0) { // check if there is anything in the string to examine
-            Arrays.sort(doub); // required for binarySearch
-            boolean isValid = true; // the state of the string
-            int i = 0;
-            while(isValid && i < s.length()) { // to save process time check isValid first
-                if(Arrays.binarySearch(doub, s.charAt(i)) < 0) {
-                    isValid = false; // an invalid character was found
-                }
-                i++;
-            }
-            
-            if(isValid) {
-                super.insertString(offset, s, atts); // a valid string  inserted
-            }
-        }
+    public DoubleDocument() {
+        setDocumentFilter(new NumberDocumentFilter(NumberSyntax.DOUBLE));
     }
 
     static final long serialVersionUID = 1L;
-}
\ No newline at end of file
+}
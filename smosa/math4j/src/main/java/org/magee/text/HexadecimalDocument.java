@@ -50,14 +50,6 @@ package org.magee.text;
 
 // import other packages
 
-import java.util.Arrays;
-
-
-
-import javax.swing.text.AttributeSet;
-
-import javax.swing.text.BadLocationException;
-
 import javax.swing.text.PlainDocument;
 
 
@@ -78,9 +70,9 @@ import javax.swing.text.PlainDocument;
 
  * (typing or pasting) or by other means (TextComponent.setText()) it is first
 
- * examined to contain only Hexadecimal values. If it passes this test then the
+ * checked by a <code>NumberDocumentFilter</code>, which lets it in only if
 
- * string is inserted for the view by the user.
+ * the whole text stays the start of a hexadecimal number.
 
  * 
 
@@ -88,6 +80,10 @@ import javax.swing.text.PlainDocument;
 
  * @version 1.0, December 23, 2001
 
+ * @version 1.1, October 19, 2026 Validation moved to a shared
+
+ *          <code>NumberDocumentFilter</code>.
+
  */
 
 
@@ -100,51 +96,17 @@ import javax.swing.text.PlainDocument;
 
 public class HexadecimalDocument extends PlainDocument {
 
-    
-
-    private char[] hex = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
 
-    
 
     /**
 
-     * implements code for checking the validity of the input
+     * Default constructor that installs the hexadecimal number filter.
 
      */
 
-    public void insertString(int offset, String s, AttributeSet atts) throws BadLocationException {
-
-        if(s != null && s.length() > 0) { // check if there is anything in the string to examine
-
-            s = s.toUpperCase();
-
-            Arrays.sort(hex); // required for binarySearch
-
-            boolean isValid = true; // the state of the string
-
-            int i = 0;
-
-            while(isValid && i < s.length()) { // to save process time check isValid first
-
-                if(Arrays.binarySearch(hex, s.charAt(i)) < 0) {
-
-                    isValid = false; // an invalid character was found
-
-                }
-
-                i++;
-
-            }
-
-
-
-            if(isValid) {
-
-                super.insertString(offset, s, atts); // a valid string was inserted
-
-            }
+    public HexadecimalDocument() {
 
-        }
+        setDocumentFilter(new NumberDocumentFilter(NumberSyntax.HEXADECIMAL, true));
 
     }
 
@@ -0,0 +1,158 @@
+/**
+ * ObservableMatrixTableModel.java Class for presenting an <code>ObservableMatrix</code> to a <code>JTable</code>.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.ui;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+import org.magee.math.linear.MatrixChangeEvent;
+import org.magee.math.linear.MatrixChangeListener;
+import org.magee.math.linear.ObservableMatrix;
+
+/**
+ * This class is a table model over an <code>ObservableMatrix</code>. An
+ * edited cell is parsed once, when the editor commits, and written to the
+ * matrix; the commit to the matrix's listeners is debounced with
+ * <code>commitLater</code>, so a run of edits reaches derived results as a
+ * single change event.
+ * <p>
+ *
+ * Changes committed by other code are repainted through the dirty rows of
+ * their event, and the table events are always fired on the event dispatch
+ * thread.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class ObservableMatrixTableModel extends AbstractTableModel implements MatrixChangeListener {
+
+    /**
+     * The matrix presented by this model.
+     */
+    private final ObservableMatrix matrix;
+
+    /**
+     * The dimensions last reported to the table.
+     */
+    private int rows, cols;
+
+    /**
+     * Constructor for a model of the matrix <code>m</code>.
+     *
+     * @param m The matrix to present.
+     */
+    public ObservableMatrixTableModel(ObservableMatrix m) {
+        this.matrix = m;
+        this.rows = m.getRowDimension();
+        this.cols = m.getColumnDimension();
+        m.addMatrixChangeListener(this);
+    }
+
+    /**
+     * Returns the matrix presented by this model.
+     *
+     * @return This model's <code>ObservableMatrix</code> object.
+     */
+    public ObservableMatrix getObservableMatrix() {
+        return matrix;
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColumnCount() {
+        return cols;
+    }
+
+    public String getColumnName(int col) {
+        return Integer.toString(col);
+    }
+
+    public Class<?> getColumnClass(int col) {
+        return Double.class;
+    }
+
+    public boolean isCellEditable(int row, int col) {
+        return true;
+    }
+
+    public Object getValueAt(int row, int col) {
+        // the matrix may already have shrunk before the table hears about it
+        if(row >= matrix.getRowDimension() || col >= matrix.getColumnDimension())
+            return null;
+        return Double.valueOf(matrix.get(row, col));
+    }
+
+    public void setValueAt(Object value, int row, int col) {
+        double d;
+        if(value instanceof Number) {
+            d = ((Number) value).doubleValue();
+        } else {
+            try {
+                d = Double.parseDouble(String.valueOf(value).trim());
+            } catch(NumberFormatException e) {
+                d = Double.NaN;
+            }
+        }
+        matrix.set(row, col, d);
+        matrix.commitLater();
+        fireTableCellUpdated(row, col);
+    }
+
+    public void matrixChanged(final MatrixChangeEvent e) {
+        if(SwingUtilities.isEventDispatchThread()) {
+            repaint(e);
+        } else {
+            SwingUtilities.invokeLater(new Runnable() {
+                public void run() {
+                    repaint(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Tells the table which part of the matrix to repaint.
+     */
+    private void repaint(MatrixChangeEvent e) {
+        if(e.isStructureChange()) {
+            boolean reshaped = e.getRowDimension() != rows || e.getColumnDimension() != cols;
+            rows = e.getRowDimension();
+            cols = e.getColumnDimension();
+            if(reshaped)
+                fireTableStructureChanged();
+            else
+                fireTableDataChanged();
+        } else if(e.getChangeCount() == 1) {
+            fireTableCellUpdated(e.getChangedRow(0), e.getChangedColumn(0));
+        } else {
+            fireTableRowsUpdated(e.getFirstRow(), e.getLastRow());
+        }
+    }
+
+    static final long serialVersionUID = 1L;
+}
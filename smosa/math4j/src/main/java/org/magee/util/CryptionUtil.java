@@ -7,14 +7,41 @@
 package org.magee.util;
 
 // import other packages
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The <code>CryptionUtil</code> class provides some basic encryption
  * functions. It cannot be instantiated.
  * <p>
- * 
+ *
+ * A message is cut into blocks of <code>BLOCK_SIZE</code> characters. Each
+ * block starts with a random salt byte, and every character of the block is
+ * XORed with the salt and with the key, the key starting again at its first
+ * character in every block. The salt and the characters are written as two
+ * hexadecimal digits each, so a full block is
+ * <code>2 * (BLOCK_SIZE + 1)</code> digits long and an empty message is a
+ * lone salt. Characters and key characters are taken as 8 bit values.
+ * <p>
+ *
+ * Besides the <code>String</code> methods, messages can be streamed from an
+ * <code>InputStream</code> to an <code>OutputStream</code> or converted
+ * between <code>ByteBuffer</code>s. Both read a fixed buffer of whole
+ * blocks at a time and encode the blocks through the tables of
+ * <code>RadixCodec</code>; since every block is independent, the blocks of
+ * a large buffer are encrypted or decrypted concurrently.
+ *
  * @author Anthony W. Magee
  * @version 1.0, August 12, 2002
+ * @version 1.1, October 19, 2026 Added stream and buffer encryption; the
+ *          <code>String</code> methods no longer recurse on substrings.
  */
 
 /*
@@ -24,38 +51,314 @@ public class CryptionUtil {
 
     public static final int BLOCK_SIZE = 128;
 
+    /**
+     * The number of digits in a full encrypted block.
+     */
+    private static final int ENCRYPTED_BLOCK_SIZE = (BLOCK_SIZE + 1) * 2;
+
+    /**
+     * The number of blocks read from a stream at a time.
+     */
+    private static final int CHUNK_BLOCKS = 1024;
+
+    /**
+     * Runs of blocks shorter than this are not worth splitting across
+     * threads.
+     */
+    private static final int PARALLEL_BLOCKS = 32;
+
     public static String encrypt(String s, String key) {
-        if(s.length() > BLOCK_SIZE) {
-            int sub = s.length() / BLOCK_SIZE;
-            int temp = Math.round(sub / 2) * BLOCK_SIZE;
-            return encrypt(s.substring(0, temp), key) + encrypt(s.substring(temp), key);
+        byte[] src = new byte[s.length()];
+        for(int i = 0; i < src.length; i++) {
+            src[i] = (byte) s.charAt(i);
         }
+        byte[] dst = new byte[encryptedLength(src.length)];
+        encrypt(src, 0, src.length, keyStream(key), dst, 0);
+        return new String(dst, StandardCharsets.ISO_8859_1);
+    }
 
-        int rand = (int) (Math.random() * 256);
-        StringBuffer returnString = new StringBuffer();
-        returnString.append(MathUtil.longToHex(rand));
+    public static String decrypt(String s, String key) {
+        byte[] src = s.getBytes(StandardCharsets.ISO_8859_1);
+        byte[] dst = new byte[decryptedLength(src.length)];
+        decrypt(src, 0, src.length, keyStream(key), dst, 0);
+        return new String(dst, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Returns the number of digits in the encryption of a message of
+     * <code>length</code> characters.
+     *
+     * @param length The length of the message.
+     * @return The length of its encryption.
+     */
+    public static int encryptedLength(int length) {
+        int blocks = Math.max(1, (length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        return 2 * (length + blocks);
+    }
+
+    /**
+     * Returns the number of characters in the message whose encryption is
+     * <code>length</code> digits long.
+     *
+     * @param length The length of the encryption.
+     * @return The length of the message.
+     * @throws IllegalArgumentException If no encryption has that length.
+     */
+    public static int decryptedLength(int length) {
+        int rem = length % ENCRYPTED_BLOCK_SIZE;
+        if(length == 0 || rem == 1 || rem % 2 != 0)
+            throw new IllegalArgumentException("Not the length of an encrypted message: " + length);
+        return (length / ENCRYPTED_BLOCK_SIZE) * BLOCK_SIZE + (rem == 0 ? 0 : rem / 2 - 1);
+    }
 
-        for(int i = 0; i < s.length(); i++) {
-            returnString.append(MathUtil.longToHex((int) (s.charAt(i)) ^ rand ^ (int) (key.charAt(i % key.length()))));
+    /**
+     * Encrypts everything read from <code>in</code> to <code>out</code>.
+     * Neither stream is closed.
+     *
+     * @param in The message.
+     * @param out The stream for the hexadecimal digits.
+     * @param key The key.
+     * @throws IOException If either stream fails.
+     */
+    public static void encrypt(InputStream in, OutputStream out, String key) throws IOException {
+        byte[] keyStream = keyStream(key);
+        byte[] src = new byte[CHUNK_BLOCKS * BLOCK_SIZE];
+        byte[] dst = new byte[CHUNK_BLOCKS * ENCRYPTED_BLOCK_SIZE];
+        boolean empty = true;
+        int n;
+        while((n = readFully(in, src)) > 0) {
+            out.write(dst, 0, encrypt(src, 0, n, keyStream, dst, 0));
+            empty = false;
+            if(n < src.length)
+                break;
         }
+        if(empty)
+            out.write(dst, 0, encrypt(src, 0, 0, keyStream, dst, 0));
+    }
 
-        return returnString.toString();
+    /**
+     * Decrypts everything read from <code>in</code> to <code>out</code>.
+     * Neither stream is closed.
+     *
+     * @param in The hexadecimal digits of an encrypted message.
+     * @param out The stream for the message.
+     * @param key The key.
+     * @throws IOException If either stream fails or <code>in</code> ends
+     *         inside a salt or a character.
+     * @throws NumberFormatException If <code>in</code> holds anything but
+     *         hexadecimal digits.
+     */
+    public static void decrypt(InputStream in, OutputStream out, String key) throws IOException {
+        byte[] keyStream = keyStream(key);
+        byte[] src = new byte[CHUNK_BLOCKS * ENCRYPTED_BLOCK_SIZE];
+        byte[] dst = new byte[CHUNK_BLOCKS * BLOCK_SIZE];
+        boolean empty = true;
+        int n;
+        while((n = readFully(in, src)) > 0) {
+            if(n % 2 != 0)
+                throw new IOException("Encrypted stream ends inside a block");
+            out.write(dst, 0, decrypt(src, 0, n, keyStream, dst, 0));
+            empty = false;
+            if(n < src.length)
+                break;
+        }
+        if(empty)
+            throw new IOException("Encrypted stream is empty");
     }
 
-    public static String decrypt(String s, String key) {
-        int dataBlockSize = (BLOCK_SIZE + 1) * 2;
-        if(s.length() > dataBlockSize) {
-            int sub = s.length() / dataBlockSize;
-            int temp = Math.round(sub / 2) * dataBlockSize;
-            return decrypt(s.substring(0, temp), key) + decrypt(s.substring(temp), key);
+    /**
+     * Encrypts the remaining bytes of <code>src</code> as one message into
+     * <code>dst</code>. Both positions are advanced past what was converted.
+     *
+     * @param src The message.
+     * @param dst The buffer for the hexadecimal digits, with
+     *        <code>encryptedLength(src.remaining())</code> bytes remaining.
+     * @param key The key.
+     * @throws BufferOverflowException If <code>dst</code> is too small.
+     */
+    public static void encrypt(ByteBuffer src, ByteBuffer dst, String key) {
+        int length = encryptedLength(src.remaining());
+        if(dst.remaining() < length)
+            throw new BufferOverflowException();
+        byte[] keyStream = keyStream(key);
+        if(src.hasArray() && dst.hasArray()) {
+            encrypt(src.array(), src.arrayOffset() + src.position(), src.remaining(), keyStream, dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + length);
+            return;
+        }
+
+        byte[] in = new byte[Math.min(src.remaining(), CHUNK_BLOCKS * BLOCK_SIZE)];
+        byte[] out = new byte[encryptedLength(in.length)];
+        do {
+            int n = Math.min(src.remaining(), in.length);
+            src.get(in, 0, n);
+            dst.put(out, 0, encrypt(in, 0, n, keyStream, out, 0));
+        } while(src.hasRemaining());
+    }
+
+    /**
+     * Decrypts the remaining hexadecimal digits of <code>src</code>, which
+     * must be a whole encrypted message, into <code>dst</code>. Both
+     * positions are advanced past what was converted.
+     *
+     * @param src The encrypted message.
+     * @param dst The buffer for the message, with
+     *        <code>decryptedLength(src.remaining())</code> bytes remaining.
+     * @param key The key.
+     * @throws BufferOverflowException If <code>dst</code> is too small.
+     * @throws IllegalArgumentException If <code>src</code> is not a whole
+     *         message.
+     * @throws NumberFormatException If <code>src</code> holds anything but
+     *         hexadecimal digits.
+     */
+    public static void decrypt(ByteBuffer src, ByteBuffer dst, String key) {
+        int length = decryptedLength(src.remaining());
+        if(dst.remaining() < length)
+            throw new BufferOverflowException();
+        byte[] keyStream = keyStream(key);
+        if(src.hasArray() && dst.hasArray()) {
+            decrypt(src.array(), src.arrayOffset() + src.position(), src.remaining(), keyStream, dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + length);
+            return;
+        }
+
+        byte[] in = new byte[Math.min(src.remaining(), CHUNK_BLOCKS * ENCRYPTED_BLOCK_SIZE)];
+        byte[] out = new byte[CHUNK_BLOCKS * BLOCK_SIZE];
+        do {
+            int n = Math.min(src.remaining(), in.length);
+            src.get(in, 0, n);
+            dst.put(out, 0, decrypt(in, 0, n, keyStream, out, 0));
+        } while(src.hasRemaining());
+    }
+
+    /**
+     * Returns the key repeated over a block.
+     */
+    private static byte[] keyStream(String key) {
+        if(key.length() == 0)
+            throw new IllegalArgumentException("The key is empty");
+        byte[] keyStream = new byte[BLOCK_SIZE];
+        for(int i = 0; i < BLOCK_SIZE; i++) {
+            keyStream[i] = (byte) key.charAt(i % key.length());
+        }
+        return keyStream;
+    }
+
+    /**
+     * Reads from <code>in</code> until <code>buf</code> is full or the
+     * stream ends, and returns the number of bytes read.
+     */
+    private static int readFully(InputStream in, byte[] buf) throws IOException {
+        int n = 0;
+        while(n < buf.length) {
+            int r = in.read(buf, n, buf.length - n);
+            if(r < 0)
+                break;
+            n += r;
+        }
+        return n;
+    }
+
+    /**
+     * Encrypts <code>len</code> bytes of <code>src</code>, starting on a
+     * block boundary, and returns the number of digits written.
+     */
+    private static int encrypt(byte[] src, int off, int len, byte[] keyStream, byte[] dst, int dstOff) {
+        int blocks = Math.max(1, (len + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        run(new BlockTask(true, src, off, len, keyStream, dst, dstOff, 0, blocks));
+        return encryptedLength(len);
+    }
+
+    /**
+     * Decrypts <code>len</code> digits of <code>src</code>, starting on a
+     * block boundary, and returns the number of bytes written.
+     */
+    private static int decrypt(byte[] src, int off, int len, byte[] keyStream, byte[] dst, int dstOff) {
+        int length = decryptedLength(len);
+        int blocks = (len + ENCRYPTED_BLOCK_SIZE - 1) / ENCRYPTED_BLOCK_SIZE;
+        run(new BlockTask(false, src, off, len, keyStream, dst, dstOff, 0, blocks));
+        return length;
+    }
+
+    /**
+     * Runs <code>task</code> in the shared pool if it has enough blocks to
+     * split, or on this thread otherwise.
+     */
+    private static void run(BlockTask task) {
+        if(task.hi - task.lo >= 2 * PARALLEL_BLOCKS && Runtime.getRuntime().availableProcessors() > 1)
+            PoolHolder.POOL.invoke(task);
+        else
+            task.compute();
+    }
+
+    /**
+     * Holds the pool shared by the block tasks until it is first needed.
+     */
+    private static class PoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    /**
+     * Encrypts or decrypts a range of blocks.
+     */
+    private static class BlockTask extends RecursiveAction {
+        private final boolean encrypt;
+        private final byte[] src, keyStream, dst;
+        private final int off, len, dstOff, lo, hi;
+
+        BlockTask(boolean encrypt, byte[] src, int off, int len, byte[] keyStream, byte[] dst, int dstOff, int lo, int hi) {
+            this.encrypt = encrypt;
+            this.src = src;
+            this.off = off;
+            this.len = len;
+            this.keyStream = keyStream;
+            this.dst = dst;
+            this.dstOff = dstOff;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute() {
+            if(hi - lo > PARALLEL_BLOCKS) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new BlockTask(encrypt, src, off, len, keyStream, dst, dstOff, lo, mid),
+                          new BlockTask(encrypt, src, off, len, keyStream, dst, dstOff, mid, hi));
+                return;
+            }
+
+            byte[] block = new byte[BLOCK_SIZE + 1]; // the salt and the masked characters
+            for(int b = lo; b < hi; b++) {
+                if(encrypt)
+                    encryptBlock(b, block);
+                else
+                    decryptBlock(b, block);
+            }
+        }
+
+        private void encryptBlock(int b, byte[] block) {
+            int from = b * BLOCK_SIZE;
+            int n = Math.min(BLOCK_SIZE, len - from);
+            int salt = ThreadLocalRandom.current().nextInt(256);
+            block[0] = (byte) salt;
+            for(int i = 0; i < n; i++) {
+                block[i + 1] = (byte) (src[off + from + i] ^ salt ^ keyStream[i]);
+            }
+            RadixCodec.HEXADECIMAL.encode(block, 0, n + 1, dst, dstOff + b * ENCRYPTED_BLOCK_SIZE);
         }
 
-        int checksum = (int) MathUtil.hexToLong(s.substring(0, 2));
-        StringBuffer returnString = new StringBuffer();
-        for(int i = 2; i < s.length(); i += 2) {
-            returnString.append((char) (MathUtil.hexToLong(s.substring(i, 2 + i)) ^ checksum ^ (int) (key.charAt((i - 2) / 2 % key.length()))));
+        private void decryptBlock(int b, byte[] block) {
+            int from = b * ENCRYPTED_BLOCK_SIZE;
+            int n = Math.min(ENCRYPTED_BLOCK_SIZE, len - from);
+            RadixCodec.HEXADECIMAL.decode(src, off + from, n, block, 0);
+            int salt = block[0];
+            int at = dstOff + b * BLOCK_SIZE;
+            for(int i = 0; i < n / 2 - 1; i++) {
+                dst[at + i] = (byte) (block[i + 1] ^ salt ^ keyStream[i]);
+            }
         }
 
-        return returnString.toString();
+        static final long serialVersionUID = 1L;
     }
-}
\ No newline at end of file
+}
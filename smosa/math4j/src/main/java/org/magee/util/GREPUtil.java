@@ -23,6 +23,8 @@
 package org.magee.util;
 
 // import other packages
+import java.io.File;
+import java.io.IOException;
 import java.util.regex.Pattern;
 
 /**
@@ -30,6 +32,8 @@ import java.util.regex.Pattern;
  * 
  * @author Anthony W. Magee
  * @version 1.0, July 28, 2005
+ * @version 1.1, October 19, 2026 The patterns are compiled once; added
+ *          <code>findAll</code> for bulk extraction from files.
  */
 public class GREPUtil {
 
@@ -39,6 +43,12 @@ public class GREPUtil {
 
     private static final String FLOAT_RE = "[-+]?([0-9]*\\.)?[0-9]+([eE][-+]?[0-9]+)?";
 
+    private static final Pattern IP_PATTERN = Pattern.compile(IP_RE);
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_RE);
+
+    private static final Pattern FLOAT_PATTERN = Pattern.compile(FLOAT_RE);
+
     /**
      * Determines if the search string contains a valid IP address
      * 
@@ -47,7 +57,7 @@ public class GREPUtil {
      *         matcher's IP pattern
      */
     public static boolean validIP(String canidate) {
-        return Pattern.matches(IP_RE, canidate);
+        return IP_PATTERN.matcher(canidate).matches();
     }
 
     /**
@@ -58,7 +68,7 @@ public class GREPUtil {
      *         matcher's Email pattern
      */
     public static boolean validEmail(String canidate) {
-        return Pattern.matches(EMAIL_RE, canidate);
+        return EMAIL_PATTERN.matcher(canidate).matches();
     }
 
     /**
@@ -70,7 +80,21 @@ public class GREPUtil {
      *         matcher's float pattern
      */
     public static boolean validFloat(String canidate) {
-        return Pattern.matches(FLOAT_RE, canidate);
+        return FLOAT_PATTERN.matcher(canidate).matches();
+    }
+
+    /**
+     * Finds every IP address, email address and floating point number in
+     * <code>file</code>. The file is memory-mapped and scanned in parallel
+     * by the <code>PatternScanner</code>s of the three patterns, so the
+     * listener is called from several threads.
+     *
+     * @param file The file to search.
+     * @param listener The thread-safe listener for the matches.
+     * @throws IOException If the file cannot be read.
+     */
+    public static void findAll(File file, MatchListener listener) throws IOException {
+        PatternScanner.scan(file, new PatternScanner[] { PatternScanner.IP, PatternScanner.EMAIL, PatternScanner.FLOAT }, listener);
     }
 
     static final long serialVersionUID = 1L;
@@ -0,0 +1,50 @@
+/**
+ * MatchListener.java An interface for receiving the matches of a
+ * <code>PatternScanner</code>.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.util;
+
+/**
+ * The listener interface for receiving matches found by a
+ * <code>PatternScanner</code>. When a file is scanned in parallel the
+ * listener is called from several threads at once, and matches from
+ * different parts of the file arrive in no particular order, so an
+ * implementation must be thread-safe.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public interface MatchListener {
+
+    /**
+     * Invoked for every match.
+     *
+     * @param scanner The scanner that found the match.
+     * @param start The offset of the first byte of the match.
+     * @param end The offset after the last byte of the match.
+     * @param match The matched text.
+     */
+    public void matchFound(PatternScanner scanner, long start, long end, String match);
+}
@@ -28,6 +28,7 @@ import java.util.ArrayList;
 
 import org.magee.math.Complex;
 import org.magee.math.Rational;
+import org.magee.metrics.Metrics;
 
 // import org.magee.util.*;
 
@@ -43,6 +44,10 @@ import org.magee.math.Rational;
  * 
  * @author Anthony W. Magee &#169 2001
  * @version 1.0, November 28, 2001
+ * @version 1.1, October 19, 2026 Fixed the digit checks of
+ *          <code>binaryToLong</code> and <code>hexToLong</code>; bulk
+ *          conversions moved to <code>RadixCodec</code>.
+ * @version 1.2, October 19, 2026 <code>factor</code> records metrics.
  */
 
 /*
@@ -65,6 +70,7 @@ public class MathUtil {
      * @return An array of longs whose product is <code>num</code>.
      */
     public static long[] factor(long num) {
+        long start = Metrics.start();
         ArrayList<Long> temp = new ArrayList<Long>();
         boolean negativeNum = (num < 0L) ? true : false;
         long factor = 2;
@@ -101,6 +107,7 @@ public class MathUtil {
         for(int i = 0; i < reply.length; i++) {
             reply[i] = ((Long) temp.get(i)).longValue();
         }
+        Metrics.stop(MathUtil.class, "factor", start);
         return reply;
     }
 
@@ -158,7 +165,7 @@ public class MathUtil {
         boolean validBinary = true;
         char[] binArray = bin.toCharArray();
         for(int i = 0; validBinary && i < binArray.length; i++) {
-            if(binArray[i] != '0' || binArray[i] != '1')
+            if(binArray[i] != '0' && binArray[i] != '1')
                 validBinary = false;
         }
         if(validBinary)
@@ -195,7 +202,7 @@ public class MathUtil {
          * num %= (long) Math.pow(16, i); }
          */
 
-        return (num < 16L) ? "0" + Long.toString(num) : Long.toString(num, 16);
+        return (num >= 0L && num < 16L) ? "0" + Long.toString(num, 16) : Long.toString(num, 16);
     }
 
     /**
@@ -247,9 +254,9 @@ public class MathUtil {
         boolean validHex = true;
         char[] hexArray = hex.toCharArray();
         for(int i = 0; validHex && i < hexArray.length; i++) {
-            if(hexArray[i] != '0' || hexArray[i] != '1' || hexArray[i] != '2' || hexArray[i] != '3' || hexArray[i] != '4' ||
-               hexArray[i] != '5' || hexArray[i] != '6' || hexArray[i] != '7' || hexArray[i] != '8' || hexArray[i] != '9' ||
-               hexArray[i] != 'A' || hexArray[i] != 'B' || hexArray[i] != 'C' || hexArray[i] != 'D' || hexArray[i] != 'E' ||
+            if(hexArray[i] != '0' && hexArray[i] != '1' && hexArray[i] != '2' && hexArray[i] != '3' && hexArray[i] != '4' &&
+               hexArray[i] != '5' && hexArray[i] != '6' && hexArray[i] != '7' && hexArray[i] != '8' && hexArray[i] != '9' &&
+               hexArray[i] != 'A' && hexArray[i] != 'B' && hexArray[i] != 'C' && hexArray[i] != 'D' && hexArray[i] != 'E' &&
                hexArray[i] != 'F')
                 validHex = false;
         }
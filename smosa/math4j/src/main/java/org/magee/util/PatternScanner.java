@@ -0,0 +1,506 @@
+/**
+ * PatternScanner.java A class that finds every IP address, email address or
+ * floating point number in large inputs.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.util;
+
+// import other packages
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The <code>PatternScanner</code> class finds every match of one of the
+ * <code>GREPUtil</code> patterns in a buffer or a file without
+ * <code>java.util.regex</code>. Each pattern has a hand-written scanner
+ * that reads every byte once through lookup tables and reports the same
+ * matches, in the same order, as <code>Matcher.find</code> would on the
+ * input read as ISO-8859-1.
+ * <p>
+ *
+ * A file is memory-mapped and cut into chunks that are scanned
+ * concurrently. Every chunk is mapped with an overlap on both sides: a
+ * scanner backs up into the overlap before the chunk to a byte that no
+ * match can contain, where the scan of the whole file would also start
+ * afresh, and reads into the overlap after the chunk to finish a match
+ * that starts in the chunk. Each match is reported by the chunk it starts
+ * in, so the matches of a file are exactly those of a single scan as long
+ * as no run of bytes that could all belong to one match is longer than
+ * the overlap.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public abstract class PatternScanner {
+
+    /**
+     * The number of bytes in a chunk of a scanned file.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 24;
+
+    /**
+     * The number of bytes mapped on each side of a chunk.
+     */
+    public static final int DEFAULT_OVERLAP = 1 << 16;
+
+    // character tables, indexed by unsigned byte
+    private static final boolean[] WORD = new boolean[256]; // \w as seen by \b
+
+    private static final boolean[] DIGIT = new boolean[256];
+
+    private static final boolean[] LETTER = new boolean[256]; // [a-zA-Z]
+
+    private static final boolean[] EMAIL_CHAR = new boolean[256]; // [a-zA-Z0-9._%-]
+
+    static {
+        for(int c = 0; c < 256; c++) {
+            WORD[c] = c == '_' || Character.isLetterOrDigit((char) c);
+            DIGIT[c] = c >= '0' && c <= '9';
+            LETTER[c] = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            EMAIL_CHAR[c] = DIGIT[c] || LETTER[c] || c == '.' || c == '_' || c == '%' || c == '-';
+        }
+    }
+
+    /**
+     * IP addresses, <code>GREPUtil</code>'s IP pattern.
+     */
+    public static final PatternScanner IP = new IPScanner();
+
+    /**
+     * Email addresses, <code>GREPUtil</code>'s email pattern.
+     */
+    public static final PatternScanner EMAIL = new EmailScanner();
+
+    /**
+     * Floating point numbers, <code>GREPUtil</code>'s float pattern.
+     */
+    public static final PatternScanner FLOAT = new FloatScanner();
+
+    // private members
+    private final String name; // the name of the pattern
+
+    /**
+     * Constructor for a pattern called <code>name</code>.
+     */
+    PatternScanner(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of the pattern.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Reports every match in the remaining bytes of <code>in</code>, at
+     * offsets from its position. The position of <code>in</code> is not
+     * changed.
+     *
+     * @param in The bytes to scan.
+     * @param listener The listener for the matches.
+     */
+    public void scan(ByteBuffer in, MatchListener listener) {
+        ByteBuffer slice = in.slice();
+        scan(slice, 0, 0, slice.limit(), slice.limit(), 0L, listener);
+    }
+
+    /**
+     * Reports every match of the scanners in <code>file</code>, scanning
+     * chunks of the default size in parallel.
+     *
+     * @param file The file to scan.
+     * @param scanners The patterns to look for.
+     * @param listener The thread-safe listener for the matches.
+     * @throws IOException If the file cannot be read.
+     */
+    public static void scan(File file, PatternScanner[] scanners, MatchListener listener) throws IOException {
+        scan(file, scanners, listener, DEFAULT_CHUNK_SIZE, DEFAULT_OVERLAP);
+    }
+
+    /**
+     * Reports every match of the scanners in <code>file</code>, scanning
+     * chunks of <code>chunkSize</code> bytes in parallel.
+     *
+     * @param file The file to scan.
+     * @param scanners The patterns to look for.
+     * @param listener The thread-safe listener for the matches.
+     * @param chunkSize The number of bytes in a chunk.
+     * @param overlap The number of bytes mapped on each side of a chunk,
+     *        longer than any expected match.
+     * @throws IOException If the file cannot be read.
+     */
+    public static void scan(File file, PatternScanner[] scanners, MatchListener listener, int chunkSize, int overlap) throws IOException {
+        if(chunkSize <= 0 || overlap <= 0 || (long) chunkSize + 2L * overlap + 1 > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Bad chunk size " + chunkSize + " or overlap " + overlap);
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            long size = channel.size();
+            int chunks = (int) ((size + chunkSize - 1) / chunkSize);
+            ChunkTask task = new ChunkTask(channel, size, scanners, listener, chunkSize, overlap, 0, chunks);
+            try {
+                if(chunks > 1)
+                    PoolHolder.POOL.invoke(task);
+                else
+                    task.compute();
+            } catch(ChunkException e) {
+                throw (IOException) e.getCause();
+            }
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Determines if a match can contain the byte <code>c</code>.
+     */
+    abstract boolean isMember(int c);
+
+    /**
+     * Reports the matches that start from <code>first</code> to
+     * <code>stop - 1</code>, scanning from <code>from</code> and reading no
+     * further than <code>end</code>. The scan at <code>from</code> starts
+     * afresh, with the byte before it, if any, seen only by word boundaries.
+     *
+     * @param in The bytes to scan.
+     * @param from The index to start at.
+     * @param first The index before which matches are not reported.
+     * @param end The index of the end of the input.
+     * @param stop The index at which no more matches may start.
+     * @param base The offset of index zero.
+     * @param listener The listener for the matches.
+     */
+    abstract void scan(ByteBuffer in, int from, int first, int end, int stop, long base, MatchListener listener);
+
+    /**
+     * Backs up from <code>i</code>, but not below <code>min</code>, to just
+     * after a byte that no match can contain.
+     */
+    int sync(ByteBuffer in, int i, int min) {
+        while(i > min && isMember(in.get(i - 1) & 0xFF)) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Reports the match from <code>start</code> to <code>end</code> if it
+     * starts at or after <code>first</code>.
+     */
+    void report(ByteBuffer in, int start, int end, int first, long base, MatchListener listener) {
+        if(start < first)
+            return;
+        byte[] b = new byte[end - start];
+        for(int i = 0; i < b.length; i++) {
+            b[i] = in.get(start + i);
+        }
+        listener.matchFound(this, base + start, base + end, new String(b, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Returns the unsigned byte at <code>i</code>.
+     */
+    static int at(ByteBuffer in, int i) {
+        return in.get(i) & 0xFF;
+    }
+
+    /**
+     * Determines if there is a word boundary, <code>\b</code>, before
+     * <code>i</code>.
+     */
+    static boolean isBoundary(ByteBuffer in, int i, int end) {
+        boolean before = i > 0 && WORD[at(in, i - 1)];
+        boolean after = i < end && WORD[at(in, i)];
+        return before != after;
+    }
+
+    /**
+     * The scanner for
+     * <code>\b((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\.){3}(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\b</code>.
+     * A match starts at a digit after a word boundary and is four runs of
+     * one to three digits of value up to 255 separated by points, the last
+     * followed by a boundary.
+     */
+    private static class IPScanner extends PatternScanner {
+
+        IPScanner() {
+            super("IP");
+        }
+
+        boolean isMember(int c) {
+            return DIGIT[c] || c == '.';
+        }
+
+        void scan(ByteBuffer in, int from, int first, int end, int stop, long base, MatchListener listener) {
+            int i = from;
+            while(i < stop) {
+                if(DIGIT[at(in, i)] && isBoundary(in, i, end)) {
+                    int m = match(in, i, end);
+                    if(m > 0) {
+                        report(in, i, m, first, base, listener);
+                        i = m;
+                        continue;
+                    }
+                }
+                i++;
+            }
+        }
+
+        private int match(ByteBuffer in, int p, int end) {
+            for(int octet = 0; ; octet++) {
+                int q = p, value = 0;
+                while(q < end && q - p < 4) {
+                    int c = at(in, q);
+                    if(!DIGIT[c])
+                        break;
+                    value = value * 10 + c - '0';
+                    q++;
+                }
+                if(q == p || q - p > 3 || value > 255)
+                    return -1;
+                if(octet == 3)
+                    return (q < end && WORD[at(in, q)]) ? -1 : q;
+                if(q == end || at(in, q) != '.')
+                    return -1;
+                p = q + 1;
+            }
+        }
+    }
+
+    /**
+     * The scanner for
+     * <code>\b[a-zA-Z0-9._%-]+@[a-zA-Z0-9._%-]+\.[a-zA-Z]{2,4}\b</code>.
+     * Since the character class cannot hold '@', every match is found from
+     * its '@': the local part is the run of the class before it, starting at
+     * its first word boundary, and the domain is the longest prefix of the
+     * run after it that ends in a point, two to four letters and a word
+     * boundary.
+     */
+    private static class EmailScanner extends PatternScanner {
+
+        EmailScanner() {
+            super("EMAIL");
+        }
+
+        boolean isMember(int c) {
+            return EMAIL_CHAR[c] || c == '@';
+        }
+
+        void scan(ByteBuffer in, int from, int first, int end, int stop, long base, MatchListener listener) {
+            int last = from; // the end of the last match
+            for(int a = from; a < end; a++) {
+                if(at(in, a) != '@')
+                    continue;
+                int r = a;
+                while(r > last && EMAIL_CHAR[at(in, r - 1)]) {
+                    r--;
+                }
+                if(r >= stop)
+                    break;
+                int s = r;
+                while(s < a && !isBoundary(in, s, end)) {
+                    s++;
+                }
+                if(s == a)
+                    continue;
+                if(s >= stop)
+                    break;
+                int m = domain(in, a, end);
+                if(m > 0) {
+                    report(in, s, m, first, base, listener);
+                    last = m;
+                    a = m - 1;
+                }
+            }
+        }
+
+        private int domain(ByteBuffer in, int a, int end) {
+            int e = a + 1;
+            while(e < end && EMAIL_CHAR[at(in, e)]) {
+                e++;
+            }
+            for(int d = e - 1; d >= a + 2; d--) {
+                if(at(in, d) != '.')
+                    continue;
+                for(int k = 4; k >= 2; k--) {
+                    int t = d + 1 + k;
+                    if(t <= e && letters(in, d + 1, t) && (t == end || !WORD[at(in, t)]))
+                        return t;
+                }
+            }
+            return -1;
+        }
+
+        private boolean letters(ByteBuffer in, int from, int to) {
+            for(int i = from; i < to; i++) {
+                if(!LETTER[at(in, i)])
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The scanner for <code>[-+]?([0-9]*\.)?[0-9]+([eE][-+]?[0-9]+)?</code>,
+     * a small automaton run from each position: an optional sign, digits
+     * with an optional point that must be followed by a digit, and an
+     * optional exponent that is kept only if it has a digit.
+     */
+    private static class FloatScanner extends PatternScanner {
+
+        FloatScanner() {
+            super("FLOAT");
+        }
+
+        boolean isMember(int c) {
+            return DIGIT[c] || c == '.' || c == '+' || c == '-' || c == 'e' || c == 'E';
+        }
+
+        void scan(ByteBuffer in, int from, int first, int end, int stop, long base, MatchListener listener) {
+            int i = from;
+            while(i < stop) {
+                int m = match(in, i, end);
+                if(m > 0) {
+                    report(in, i, m, first, base, listener);
+                    i = m;
+                } else {
+                    i++;
+                }
+            }
+        }
+
+        private int match(ByteBuffer in, int p, int end) {
+            int c = at(in, p);
+            if(c == '+' || c == '-')
+                p++;
+            int q = digits(in, p, end);
+            int m;
+            if(q + 1 < end && at(in, q) == '.' && DIGIT[at(in, q + 1)])
+                m = digits(in, q + 1, end);
+            else if(q > p)
+                m = q;
+            else
+                return -1;
+
+            if(m + 1 < end && (at(in, m) == 'e' || at(in, m) == 'E')) {
+                int x = m + 1;
+                c = at(in, x);
+                if((c == '+' || c == '-') && x + 1 < end)
+                    x++;
+                if(DIGIT[at(in, x)])
+                    m = digits(in, x, end);
+            }
+            return m;
+        }
+
+        private int digits(ByteBuffer in, int i, int end) {
+            while(i < end && DIGIT[at(in, i)]) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    /**
+     * Holds the pool shared by the file scans until it is first needed.
+     */
+    private static class PoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    /**
+     * Carries an <code>IOException</code> out of a task.
+     */
+    private static class ChunkException extends RuntimeException {
+        ChunkException(IOException cause) {
+            super(cause);
+        }
+
+        static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Maps and scans a range of chunks of a file.
+     */
+    private static class ChunkTask extends RecursiveAction {
+        private final FileChannel channel;
+        private final long size;
+        private final PatternScanner[] scanners;
+        private final MatchListener listener;
+        private final int chunkSize, overlap, lo, hi;
+
+        ChunkTask(FileChannel channel, long size, PatternScanner[] scanners, MatchListener listener, int chunkSize, int overlap, int lo, int hi) {
+            this.channel = channel;
+            this.size = size;
+            this.scanners = scanners;
+            this.listener = listener;
+            this.chunkSize = chunkSize;
+            this.overlap = overlap;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute() {
+            if(hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ChunkTask(channel, size, scanners, listener, chunkSize, overlap, lo, mid),
+                          new ChunkTask(channel, size, scanners, listener, chunkSize, overlap, mid, hi));
+                return;
+            }
+            if(lo == hi)
+                return;
+
+            long chunkStart = (long) lo * chunkSize;
+            long chunkEnd = Math.min(size, chunkStart + chunkSize);
+            long mapStart = Math.max(0L, chunkStart - overlap - 1); // one more byte for the boundary before the sync point
+            long mapEnd = Math.min(size, chunkEnd + overlap);
+            ByteBuffer in;
+            try {
+                in = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+            } catch(IOException e) {
+                throw new ChunkException(e);
+            }
+            int start = (int) (chunkStart - mapStart);
+            int stop = (int) (chunkEnd - mapStart);
+            for(int k = 0; k < scanners.length; k++) {
+                int from = (chunkStart == 0) ? 0 : scanners[k].sync(in, start, 1);
+                scanners[k].scan(in, from, start, in.limit(), stop, mapStart, listener);
+            }
+        }
+
+        static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,742 @@
+/**
+ * SortUtil.java A class for sorting, selecting and partitioning primitive arrays.
+ */
+
+/* This file is part of Math4J.
+ * Math4J is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * Math4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Math4J; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA
+ *
+ * Copyright 2005 Anthony Magee
+ */
+
+package org.magee.util;
+
+// import other packages
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The <code>SortUtil</code> class sorts and selects on primitive arrays
+ * without boxing. It cannot be instantiated.
+ * <p>
+ *
+ * The sorts are least significant digit radix sorts that work one byte at a
+ * time. Signed integers and doubles are first mapped to unsigned keys whose
+ * order is the same as the numeric order; for doubles the IEEE-754 bits of a
+ * negative number are inverted and the sign bit of a positive number is set.
+ * The resulting order is the same as <code>java.util.Arrays.sort</code>:
+ * -0.0 sorts before 0.0 and every NaN sorts last.
+ * <p>
+ *
+ * Large arrays may be sorted with <code>parallelRadixSort</code>, which
+ * splits the array on its most significant byte and sorts the 256 buckets
+ * concurrently.
+ *
+ * @version 1.0, October 19, 2026
+ */
+
+/*
+ * version changes
+ */
+public class SortUtil {
+
+    /**
+     * The number of bits sorted in each radix pass.
+     */
+    private static final int RADIX_BITS = 8;
+
+    /**
+     * The number of buckets in each radix pass.
+     */
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    /**
+     * Arrays shorter than this are sorted by insertion.
+     */
+    private static final int INSERTION_THRESHOLD = 64;
+
+    /**
+     * Arrays shorter than this are not worth sorting in parallel.
+     */
+    protected static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private SortUtil() {
+    }
+
+    /**
+     * Sorts int array <code>arr</code> into ascending numerical order.
+     *
+     * @param arr The array to be sorted.
+     */
+    public static void radixSort(int[] arr) {
+        int n = arr.length;
+        if(n < INSERTION_THRESHOLD) {
+            Arrays.sort(arr);
+            return;
+        }
+
+        int[][] counts = new int[4][RADIX];
+        for(int i = 0; i < n; i++) { // one pass builds every histogram
+            int key = arr[i] ^ Integer.MIN_VALUE;
+            counts[0][key & 0xFF]++;
+            counts[1][(key >>> 8) & 0xFF]++;
+            counts[2][(key >>> 16) & 0xFF]++;
+            counts[3][key >>> 24]++;
+        }
+
+        int[] src = arr;
+        int[] dst = new int[n];
+        for(int digit = 0; digit < 4; digit++) {
+            int shift = digit * RADIX_BITS;
+            int[] count = counts[digit];
+            if(isTrivial(count, n))
+                continue; // every key has the same byte here
+
+            toOffsets(count);
+            for(int i = 0; i < n; i++) {
+                int value = src[i];
+                dst[count[((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+            }
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+
+        if(src != arr)
+            System.arraycopy(src, 0, arr, 0, n);
+    }
+
+    /**
+     * Sorts long array <code>arr</code> into ascending numerical order.
+     *
+     * @param arr The array to be sorted.
+     */
+    public static void radixSort(long[] arr) {
+        if(arr.length < INSERTION_THRESHOLD) {
+            Arrays.sort(arr);
+            return;
+        }
+
+        toKeys(arr);
+        sortKeys(arr, new long[arr.length], 0, arr.length, 8);
+        fromKeys(arr);
+    }
+
+    /**
+     * Sorts double array <code>arr</code> into ascending numerical order.
+     *
+     * @param arr The array to be sorted.
+     */
+    public static void radixSort(double[] arr) {
+        if(arr.length < INSERTION_THRESHOLD) {
+            Arrays.sort(arr);
+            return;
+        }
+
+        long[] keys = toKeys(arr);
+        sortKeys(keys, new long[keys.length], 0, keys.length, 8);
+        fromKeys(keys, arr);
+    }
+
+    /**
+     * Sorts int array <code>arr</code> into ascending numerical order using
+     * every available processor. Small arrays are sorted serially.
+     *
+     * @param arr The array to be sorted.
+     */
+    public static void parallelRadixSort(int[] arr) {
+        if(arr.length < PARALLEL_THRESHOLD) {
+            radixSort(arr);
+            return;
+        }
+
+        long[] keys = new long[arr.length];
+        for(int i = 0; i < arr.length; i++) {
+            keys[i] = ((long) (arr[i] ^ Integer.MIN_VALUE)) << 32; // the top four bytes carry the key
+        }
+        parallelSortKeys(keys, 4);
+        for(int i = 0; i < arr.length; i++) {
+            arr[i] = ((int) (keys[i] >>> 32)) ^ Integer.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Sorts long array <code>arr</code> into ascending numerical order using
+     * every available processor. Small arrays are sorted serially.
+     *
+     * @param arr The array to be sorted.
+     */
+    public static void parallelRadixSort(long[] arr) {
+        if(arr.length < PARALLEL_THRESHOLD) {
+            radixSort(arr);
+            return;
+        }
+
+        toKeys(arr);
+        parallelSortKeys(arr, 8);
+        fromKeys(arr);
+    }
+
+    /**
+     * Sorts double array <code>arr</code> into ascending numerical order using
+     * every available processor. Small arrays are sorted serially.
+     *
+     * @param arr The array to be sorted.
+     */
+    public static void parallelRadixSort(double[] arr) {
+        if(arr.length < PARALLEL_THRESHOLD) {
+            radixSort(arr);
+            return;
+        }
+
+        long[] keys = toKeys(arr);
+        parallelSortKeys(keys, 8);
+        fromKeys(keys, arr);
+    }
+
+    /**
+     * Rearranges double array <code>arr</code> so that the element at
+     * <code>n</code> is the one that would be there if the array were sorted.
+     * No element before <code>n</code> is greater and no element after it is
+     * less. The selection is an introspective quickselect that runs in
+     * expected linear time.
+     *
+     * @param arr The array to be rearranged.
+     * @param n The sorted position to select.
+     * @return The <code>n</code>th smallest element of <code>arr</code>.
+     * @throws ArrayIndexOutOfBoundsException
+     */
+    public static double nthElement(double[] arr, int n) {
+        if(n < 0 || n >= arr.length)
+            throw new ArrayIndexOutOfBoundsException(n + " is not a valid index");
+
+        int lo = 0, hi = arr.length - 1;
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(arr.length)); // partitions before giving up on pivots
+        while(hi - lo > INSERTION_THRESHOLD / 4) {
+            if(budget-- == 0) {
+                Arrays.sort(arr, lo, hi + 1);
+                return arr[n];
+            }
+
+            // median of three moves the pivot to lo
+            int mid = (lo + hi) >>> 1;
+            if(Double.compare(arr[mid], arr[lo]) < 0)
+                swap(arr, mid, lo);
+            if(Double.compare(arr[hi], arr[lo]) < 0)
+                swap(arr, hi, lo);
+            if(Double.compare(arr[hi], arr[mid]) < 0)
+                swap(arr, hi, mid);
+            swap(arr, lo, mid);
+            double pivot = arr[lo];
+
+            int i = lo, j = hi + 1;
+            while(true) {
+                while(Double.compare(arr[++i], pivot) < 0 && i < hi)
+                    ;
+                while(Double.compare(pivot, arr[--j]) < 0)
+                    ;
+                if(i >= j)
+                    break;
+                swap(arr, i, j);
+            }
+            swap(arr, lo, j);
+
+            if(j == n)
+                return arr[n];
+            else if(j < n)
+                lo = j + 1;
+            else
+                hi = j - 1;
+        }
+
+        Arrays.sort(arr, lo, hi + 1);
+        return arr[n];
+    }
+
+    /**
+     * Rearranges long array <code>arr</code> so that the element at
+     * <code>n</code> is the one that would be there if the array were sorted.
+     * No element before <code>n</code> is greater and no element after it is
+     * less. The selection is an introspective quickselect that runs in
+     * expected linear time.
+     *
+     * @param arr The array to be rearranged.
+     * @param n The sorted position to select.
+     * @return The <code>n</code>th smallest element of <code>arr</code>.
+     * @throws ArrayIndexOutOfBoundsException
+     */
+    public static long nthElement(long[] arr, int n) {
+        if(n < 0 || n >= arr.length)
+            throw new ArrayIndexOutOfBoundsException(n + " is not a valid index");
+
+        int lo = 0, hi = arr.length - 1;
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(arr.length)); // partitions before giving up on pivots
+        while(hi - lo > INSERTION_THRESHOLD / 4) {
+            if(budget-- == 0) {
+                Arrays.sort(arr, lo, hi + 1);
+                return arr[n];
+            }
+
+            // median of three moves the pivot to lo
+            int mid = (lo + hi) >>> 1;
+            if(arr[mid] < arr[lo])
+                swap(arr, mid, lo);
+            if(arr[hi] < arr[lo])
+                swap(arr, hi, lo);
+            if(arr[hi] < arr[mid])
+                swap(arr, hi, mid);
+            swap(arr, lo, mid);
+            long pivot = arr[lo];
+
+            int i = lo, j = hi + 1;
+            while(true) {
+                while(arr[++i] < pivot && i < hi)
+                    ;
+                while(pivot < arr[--j])
+                    ;
+                if(i >= j)
+                    break;
+                swap(arr, i, j);
+            }
+            swap(arr, lo, j);
+
+            if(j == n)
+                return arr[n];
+            else if(j < n)
+                lo = j + 1;
+            else
+                hi = j - 1;
+        }
+
+        Arrays.sort(arr, lo, hi + 1);
+        return arr[n];
+    }
+
+    /**
+     * Finds the <code>k</code> largest elements of double array
+     * <code>arr</code>. The array itself is not changed.
+     *
+     * @param arr The array to search.
+     * @param k The number of elements desired.
+     * @return The <code>k</code> largest elements in descending order.
+     * @throws IllegalArgumentException
+     */
+    public static double[] topK(double[] arr, int k) {
+        if(k < 0 || k > arr.length)
+            throw new IllegalArgumentException(k + " is not a valid number of elements");
+
+        double[] reply = new double[k];
+        if(k == 0)
+            return reply;
+
+        double[] work = arr.clone();
+        int from = work.length - k;
+        nthElement(work, from);
+        System.arraycopy(work, from, reply, 0, k);
+        radixSort(reply);
+        for(int i = 0, j = k - 1; i < j; i++, j--) { // descending
+            swap(reply, i, j);
+        }
+        return reply;
+    }
+
+    /**
+     * Finds the <code>k</code> largest elements of long array
+     * <code>arr</code>. The array itself is not changed.
+     *
+     * @param arr The array to search.
+     * @param k The number of elements desired.
+     * @return The <code>k</code> largest elements in descending order.
+     * @throws IllegalArgumentException
+     */
+    public static long[] topK(long[] arr, int k) {
+        if(k < 0 || k > arr.length)
+            throw new IllegalArgumentException(k + " is not a valid number of elements");
+
+        long[] reply = new long[k];
+        if(k == 0)
+            return reply;
+
+        long[] work = arr.clone();
+        int from = work.length - k;
+        nthElement(work, from);
+        System.arraycopy(work, from, reply, 0, k);
+        radixSort(reply);
+        for(int i = 0, j = k - 1; i < j; i++, j--) { // descending
+            swap(reply, i, j);
+        }
+        return reply;
+    }
+
+    /**
+     * Stably partitions double array <code>arr</code> in place so that every
+     * element less than <code>pivot</code> comes before every other element.
+     * Elements on each side keep their original relative order. NaN is never
+     * less than <code>pivot</code>.
+     *
+     * @param arr The array to be partitioned.
+     * @param pivot The partitioning value.
+     * @return The permutation applied, such that the new <code>arr[i]</code>
+     *         was at index <code>perm[i]</code>. The number of elements less
+     *         than <code>pivot</code> is the partition point.
+     */
+    public static int[] stablePartition(double[] arr, double pivot) {
+        int n = arr.length;
+        int[] perm = new int[n];
+        int less = 0;
+        for(int i = 0; i < n; i++) {
+            if(arr[i] < pivot)
+                less++;
+        }
+
+        double[] work = arr.clone();
+        int lo = 0, hi = less;
+        for(int i = 0; i < n; i++) {
+            int to = (work[i] < pivot) ? lo++ : hi++;
+            arr[to] = work[i];
+            perm[to] = i;
+        }
+        return perm;
+    }
+
+    /**
+     * Stably partitions long array <code>arr</code> in place so that every
+     * element less than <code>pivot</code> comes before every other element.
+     * Elements on each side keep their original relative order.
+     *
+     * @param arr The array to be partitioned.
+     * @param pivot The partitioning value.
+     * @return The permutation applied, such that the new <code>arr[i]</code>
+     *         was at index <code>perm[i]</code>. The number of elements less
+     *         than <code>pivot</code> is the partition point.
+     */
+    public static int[] stablePartition(long[] arr, long pivot) {
+        int n = arr.length;
+        int[] perm = new int[n];
+        int less = 0;
+        for(int i = 0; i < n; i++) {
+            if(arr[i] < pivot)
+                less++;
+        }
+
+        long[] work = arr.clone();
+        int lo = 0, hi = less;
+        for(int i = 0; i < n; i++) {
+            int to = (work[i] < pivot) ? lo++ : hi++;
+            arr[to] = work[i];
+            perm[to] = i;
+        }
+        return perm;
+    }
+
+    /**
+     * Maps every signed long in <code>arr</code> to its unsigned sort key.
+     */
+    private static void toKeys(long[] arr) {
+        for(int i = 0; i < arr.length; i++) {
+            arr[i] ^= Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Maps every unsigned sort key in <code>arr</code> back to its signed long.
+     */
+    private static void fromKeys(long[] arr) {
+        for(int i = 0; i < arr.length; i++) {
+            arr[i] ^= Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Maps every double in <code>arr</code> to an unsigned sort key. All NaNs
+     * share the canonical NaN bits so they sort after positive infinity.
+     */
+    private static long[] toKeys(double[] arr) {
+        long[] keys = new long[arr.length];
+        for(int i = 0; i < arr.length; i++) {
+            long bits = Double.doubleToLongBits(arr[i]);
+            keys[i] = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        }
+        return keys;
+    }
+
+    /**
+     * Maps the unsigned sort keys <code>keys</code> back into doubles in
+     * <code>arr</code>.
+     */
+    private static void fromKeys(long[] keys, double[] arr) {
+        for(int i = 0; i < keys.length; i++) {
+            long key = keys[i];
+            arr[i] = Double.longBitsToDouble(key ^ ((~key >> 63) | Long.MIN_VALUE));
+        }
+    }
+
+    /**
+     * Sorts the unsigned keys of <code>keys</code> from <code>from</code>
+     * (inclusive) to <code>to</code> (exclusive) on their lowest
+     * <code>digits</code> bytes. <code>buf</code> must be at least as long
+     * as the range and is used as scratch space; the result is always left in
+     * <code>keys</code>.
+     */
+    private static void sortKeys(long[] keys, long[] buf, int from, int to, int digits) {
+        int n = to - from;
+        if(n < INSERTION_THRESHOLD) {
+            insertionSortKeys(keys, from, to);
+            return;
+        }
+
+        int[][] counts = new int[digits][RADIX];
+        for(int i = from; i < to; i++) { // one pass builds every histogram
+            long key = keys[i];
+            for(int digit = 0; digit < digits; digit++) {
+                counts[digit][(int) (key >>> (digit * RADIX_BITS)) & 0xFF]++;
+            }
+        }
+
+        long[] src = keys;
+        long[] dst = buf;
+        for(int digit = 0; digit < digits; digit++) {
+            int shift = digit * RADIX_BITS;
+            int[] count = counts[digit];
+            if(isTrivial(count, n))
+                continue; // every key has the same byte here
+
+            toOffsets(count);
+            for(int i = 0; i < n; i++) {
+                long key = src[from + i];
+                dst[from + count[(int) (key >>> shift) & 0xFF]++] = key;
+            }
+            long[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+
+        if(src != keys)
+            System.arraycopy(src, from, keys, from, n);
+    }
+
+    /**
+     * Sorts the range of unsigned keys by insertion.
+     */
+    private static void insertionSortKeys(long[] keys, int from, int to) {
+        for(int i = from + 1; i < to; i++) {
+            long key = keys[i];
+            long signed = key ^ Long.MIN_VALUE;
+            int j = i - 1;
+            while(j >= from && (keys[j] ^ Long.MIN_VALUE) > signed) {
+                keys[j + 1] = keys[j];
+                j--;
+            }
+            keys[j + 1] = key;
+        }
+    }
+
+    /**
+     * Determines if a histogram has only one bucket in use.
+     */
+    private static boolean isTrivial(int[] count, int n) {
+        for(int b = 0; b < RADIX; b++) {
+            if(count[b] != 0)
+                return count[b] == n;
+        }
+        return true;
+    }
+
+    /**
+     * Turns a histogram into the starting offset of each bucket.
+     */
+    private static void toOffsets(int[] count) {
+        int sum = 0;
+        for(int b = 0; b < RADIX; b++) {
+            int c = count[b];
+            count[b] = sum;
+            sum += c;
+        }
+    }
+
+    /**
+     * Sorts the unsigned keys of <code>keys</code> on their top
+     * <code>digits</code> bytes. The top byte is distributed in parallel chunks
+     * and then every bucket is sorted on the remaining bytes concurrently.
+     */
+    private static void parallelSortKeys(long[] keys, int digits) {
+        int n = keys.length;
+        int topShift = (8 - 1) * RADIX_BITS;
+        long[] buf = new long[n];
+        ForkJoinPool pool = PoolHolder.POOL;
+
+        int chunks = Math.min(pool.getParallelism() * 4, n / INSERTION_THRESHOLD + 1);
+        int chunkSize = (n + chunks - 1) / chunks;
+        int[][] counts = new int[chunks][RADIX];
+        pool.invoke(new HistogramTask(keys, counts, chunkSize, topShift, 0, chunks));
+
+        // the offset of every chunk within every bucket
+        int[] bucketStart = new int[RADIX + 1];
+        int sum = 0;
+        for(int b = 0; b < RADIX; b++) {
+            bucketStart[b] = sum;
+            for(int c = 0; c < chunks; c++) {
+                int count = counts[c][b];
+                counts[c][b] = sum;
+                sum += count;
+            }
+        }
+        bucketStart[RADIX] = n;
+        pool.invoke(new ScatterTask(keys, buf, counts, chunkSize, topShift, 0, chunks));
+
+        // the keys now sit in buf bucketed by their top byte
+        pool.invoke(new BucketTask(buf, keys, bucketStart, digits - 1, 8 - digits, 0, RADIX));
+    }
+
+    /**
+     * Holds the pool shared by the parallel sorts until it is first needed.
+     */
+    private static class PoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    /**
+     * Counts the top byte of each chunk of keys.
+     */
+    private static class HistogramTask extends RecursiveAction {
+        private final long[] keys;
+        private final int[][] counts;
+        private final int chunkSize, shift, lo, hi;
+
+        HistogramTask(long[] keys, int[][] counts, int chunkSize, int shift, int lo, int hi) {
+            this.keys = keys;
+            this.counts = counts;
+            this.chunkSize = chunkSize;
+            this.shift = shift;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute() {
+            if(hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new HistogramTask(keys, counts, chunkSize, shift, lo, mid),
+                          new HistogramTask(keys, counts, chunkSize, shift, mid, hi));
+                return;
+            }
+
+            int[] count = counts[lo];
+            int end = Math.min(keys.length, (lo + 1) * chunkSize);
+            for(int i = lo * chunkSize; i < end; i++) {
+                count[(int) (keys[i] >>> shift) & 0xFF]++;
+            }
+        }
+
+        static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Moves each chunk of keys to its offsets within the top byte buckets.
+     */
+    private static class ScatterTask extends RecursiveAction {
+        private final long[] src, dst;
+        private final int[][] offsets;
+        private final int chunkSize, shift, lo, hi;
+
+        ScatterTask(long[] src, long[] dst, int[][] offsets, int chunkSize, int shift, int lo, int hi) {
+            this.src = src;
+            this.dst = dst;
+            this.offsets = offsets;
+            this.chunkSize = chunkSize;
+            this.shift = shift;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute() {
+            if(hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ScatterTask(src, dst, offsets, chunkSize, shift, lo, mid),
+                          new ScatterTask(src, dst, offsets, chunkSize, shift, mid, hi));
+                return;
+            }
+
+            int[] offset = offsets[lo];
+            int end = Math.min(src.length, (lo + 1) * chunkSize);
+            for(int i = lo * chunkSize; i < end; i++) {
+                long key = src[i];
+                dst[offset[(int) (key >>> shift) & 0xFF]++] = key;
+            }
+        }
+
+        static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Sorts a range of top byte buckets on their remaining bytes and leaves
+     * the result in the destination array.
+     */
+    private static class BucketTask extends RecursiveAction {
+        private final long[] src, dst;
+        private final int[] bucketStart;
+        private final int digits, skipped, lo, hi;
+
+        BucketTask(long[] src, long[] dst, int[] bucketStart, int digits, int skipped, int lo, int hi) {
+            this.src = src;
+            this.dst = dst;
+            this.bucketStart = bucketStart;
+            this.digits = digits;
+            this.skipped = skipped;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute() {
+            if(hi - lo > 1 && bucketStart[hi] - bucketStart[lo] > INSERTION_THRESHOLD) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new BucketTask(src, dst, bucketStart, digits, skipped, lo, mid),
+                          new BucketTask(src, dst, bucketStart, digits, skipped, mid, hi));
+                return;
+            }
+
+            for(int b = lo; b < hi; b++) {
+                int from = bucketStart[b], to = bucketStart[b + 1];
+                if(to - from > 1) {
+                    if(skipped > 0) { // keys narrower than a long carry nothing in their low bytes
+                        int shift = skipped * RADIX_BITS;
+                        for(int i = from; i < to; i++) {
+                            src[i] >>>= shift;
+                        }
+                        sortKeys(src, dst, from, to, digits);
+                        for(int i = from; i < to; i++) {
+                            src[i] <<= shift;
+                        }
+                    } else
+                        sortKeys(src, dst, from, to, digits);
+                }
+                System.arraycopy(src, from, dst, from, to - from);
+            }
+        }
+
+        static final long serialVersionUID = 1L;
+    }
+
+    private static void swap(double[] arr, int i, int j) {
+        double temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    private static void swap(long[] arr, int i, int j) {
+        long temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+}
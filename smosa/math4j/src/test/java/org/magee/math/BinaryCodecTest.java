@@ -0,0 +1,222 @@
+package org.magee.math;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BinaryCodecTest {
+
+    private static Function roundTrip(Function f) throws Throwable {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeFunction(f, new DataOutputStream(bytes));
+        assertEquals(BinaryCodec.encodedLength(f), bytes.size());
+
+        ByteBuffer buf = ByteBuffer.allocate(bytes.size() + 3).order(ByteOrder.LITTLE_ENDIAN);
+        buf.position(3);
+        BinaryCodec.writeFunction(f, buf);
+        assertEquals(0, buf.remaining());
+        buf.position(3);
+        assertArrayEquals(bytes.toByteArray(), java.util.Arrays.copyOfRange(buf.array(), 3, buf.capacity()));
+
+        Function g = BinaryCodec.readFunction(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(f.getClass(), g.getClass());
+        assertEquals(f.toString(), g.toString());
+        Function h = BinaryCodec.readFunction(buf);
+        assertEquals(0, buf.remaining());
+        assertEquals(f.toString(), h.toString());
+        return g;
+    }
+
+    private static double simpson(Function f, double a, double b) {
+        int n = 1024;
+        double h = (b - a) / n, sum = f.valueAt(a) + f.valueAt(b);
+        for(int i = 1; i < n; i++) {
+            sum += f.valueAt(a + i * h) * ((i % 2 == 0) ? 2 : 4);
+        }
+        return sum * h / 3;
+    }
+
+    /**
+     * Test for {@link BinaryCodec#writeFunction(Function, java.io.DataOutput)}
+     * Every function class reads back the same and polynomial coefficients take the tightest packing
+     */
+    @Test
+    public void test01() throws Throwable {
+        roundTrip(new ConstantFunction(-2.5));
+        roundTrip(new ExponentialFunction(3.0));
+        roundTrip(new NaturalExpFunction());
+        roundTrip(new LogFunction(10.0));
+        roundTrip(new RadicalFunction(3.0));
+        roundTrip(new CompoundFunction());
+        roundTrip(CompoundFunction.compose(new LogFunction(2.0), CompoundFunction.product(new ExponentialFunction(3.0), new PolyFunction(new double[] { 1.5, 0.0 }))));
+        assertEquals(new CompoundFunction().toString(), BinaryCodec.readFunction(ByteBuffer.wrap(new byte[] { 1, 6 })).toString()); // format 1
+        roundTrip(new PolyFunction());
+
+        PolyFunction integral = new PolyFunction(new double[] { 0.0, 6.0, 0.0, -5.0, 3.0 });
+        assertArrayEquals(integral.getCoeffients(), ((PolyFunction) roundTrip(integral)).getCoeffients(), 0.0);
+        assertEquals(1 + 1 + 1 + 1 + 4, BinaryCodec.encodedLength(integral));
+
+        PolyFunction floats = new PolyFunction(new double[] { 0.5, -0.25, 1.0 / 1024 });
+        assertArrayEquals(floats.getCoeffients(), ((PolyFunction) roundTrip(floats)).getCoeffients(), 0.0);
+        assertEquals(1 + 1 + 1 + 1 + 3 * 4, BinaryCodec.encodedLength(floats));
+
+        PolyFunction doubles = new PolyFunction(new double[] { 0.1, 2.0, Math.PI });
+        assertArrayEquals(doubles.getCoeffients(), ((PolyFunction) roundTrip(doubles)).getCoeffients(), 0.0);
+        assertEquals(1 + 1 + 1 + 1 + 3 * 8, BinaryCodec.encodedLength(doubles));
+
+        ByteArrayOutputStream java = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(java);
+        oos.writeObject(doubles);
+        oos.close();
+        assertTrue(java.size() > 5 * BinaryCodec.encodedLength(doubles));
+
+        try {
+            BinaryCodec.readFunction(ByteBuffer.wrap(new byte[] { 9, 0 }));
+            fail();
+        } catch(IllegalArgumentException e) {
+        }
+        try {
+            BinaryCodec.readFunction(new DataInputStream(new ByteArrayInputStream(new byte[] { 1, 42 })));
+            fail();
+        } catch(StreamCorruptedException e) {
+        }
+        try {
+            BinaryCodec.encodedLength(new Function() {
+                public String toString() { return ""; }
+                public double valueAt(double x) { return x; }
+                public double area(double x1, double x2) { return 0; }
+                public Function getDerivFunc() { return null; }
+                public Function getAntiderivFunc() { return null; }
+            });
+            fail();
+        } catch(IllegalArgumentException e) {
+        }
+    }
+
+    /**
+     * Test for {@link BinaryCodec#writeRational(Rational, java.io.DataOutput)} and {@link BinaryCodec#writeComplex(Complex, java.io.DataOutput)}
+     * Small fractions take a byte per part and extreme values survive
+     */
+    @Test
+    public void test02() throws Throwable {
+        long[][] cases = { { 1, 2 }, { -3, 7 }, { 5, -1 }, { Long.MIN_VALUE, Long.MAX_VALUE }, { 63, 64 } };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        ByteBuffer buf = ByteBuffer.allocate(256);
+        for(long[] c : cases) {
+            BinaryCodec.writeRational(new Rational(c[0], c[1]), out);
+            BinaryCodec.writeRational(new Rational(c[0], c[1]), buf);
+        }
+        BinaryCodec.writeComplex(new Complex(1.5, -Double.MAX_VALUE), out);
+        BinaryCodec.writeComplex(new Complex(1.5, -Double.MAX_VALUE), buf);
+        assertEquals(bytes.size(), buf.position());
+        assertEquals(2, bytes.toByteArray()[0]);
+        assertEquals(4, bytes.toByteArray()[1]);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        buf.flip();
+        for(long[] c : cases) {
+            Rational r = BinaryCodec.readRational(in);
+            assertEquals(c[0], r.numerator);
+            assertEquals(c[1], r.denominator);
+            r = BinaryCodec.readRational(buf);
+            assertEquals(c[0], r.numerator);
+            assertEquals(c[1], r.denominator);
+        }
+        Complex c = BinaryCodec.readComplex(in);
+        assertEquals(1.5, c.real, 0.0);
+        assertEquals(-Double.MAX_VALUE, c.imag, 0.0);
+        c = BinaryCodec.readComplex(buf);
+        assertEquals(-Double.MAX_VALUE, c.imag, 0.0);
+        assertEquals(0, buf.remaining());
+    }
+
+    /**
+     * Test for {@link BinaryCodec#viewFunction(ByteBuffer)}
+     * Polynomials evaluated from the buffer agree with decoded ones, record after record
+     */
+    @Test
+    public void test03() throws Throwable {
+        Random random = new Random(39L);
+        PolyFunction[] models = new PolyFunction[200];
+        ByteBuffer buf = ByteBuffer.allocateDirect(200 * 100);
+        for(int m = 0; m < models.length; m++) {
+            double[] coefs = new double[2 + random.nextInt(6)];
+            for(int i = 0; i < coefs.length; i++) {
+                coefs[i] = (m % 3 == 0) ? random.nextInt(9) - 4 : (m % 3 == 1) ? (float) random.nextGaussian() : random.nextGaussian();
+            }
+            coefs[0] = 1.0 + random.nextInt(3);
+            models[m] = new PolyFunction(coefs);
+            BinaryCodec.writeFunction(models[m], buf);
+        }
+        buf.flip();
+        for(int m = 0; m < models.length; m++) {
+            Function f = BinaryCodec.viewFunction(buf);
+            assertEquals(models[m].toString(), f.toString());
+            for(double x = -2.0; x <= 2.0; x += 0.25) {
+                assertEquals(models[m].valueAt(x), f.valueAt(x), 1e-9);
+            }
+            if(m % 3 == 0)
+                assertEquals(PolyFunction.class, f.getClass()); // whole numbers are decoded
+            assertEquals(simpson(models[m], -1.0, 1.5), f.area(-1.0, 1.5), 1e-7);
+            assertEquals(models[m].getDerivFunc().toString(), f.getDerivFunc().toString());
+        }
+        assertEquals(0, buf.remaining());
+
+        buf.rewind();
+        Function view = BinaryCodec.viewFunction(buf);
+        ByteArrayOutputStream java = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(java);
+        oos.writeObject(view);
+        oos.close();
+        Object back = new java.io.ObjectInputStream(new ByteArrayInputStream(java.toByteArray())).readObject();
+        assertTrue(back instanceof PolyFunction);
+        assertEquals(models[0].toString(), back.toString());
+    }
+
+    /**
+     * Test for {@link BinaryCodec#readFunction(ByteBuffer)} and {@link BinaryCodec#readFunction(java.io.DataInput)}
+     * A corrupt coefficient count is refused or fails at the end of the data without a huge array
+     */
+    @Test
+    public void test04() throws Throwable {
+        // version 2, a polynomial of 2^31 - 32 coefficients packed as doubles, then one coefficient
+        byte[] corrupt = { 2, 1, (byte) 0xE0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 2, 0x3F, (byte) 0xF0, 0, 0, 0, 0, 0, 0 };
+        try {
+            BinaryCodec.readFunction(ByteBuffer.wrap(corrupt));
+            fail();
+        } catch(IllegalArgumentException e) {
+        }
+        try {
+            BinaryCodec.viewFunction(ByteBuffer.wrap(corrupt));
+            fail();
+        } catch(IllegalArgumentException e) {
+        }
+        try {
+            BinaryCodec.readFunction(new DataInputStream(new ByteArrayInputStream(corrupt)));
+            fail();
+        } catch(java.io.EOFException e) {
+        }
+
+        double[] c = new double[10000];
+        Random random = new Random(39L);
+        for(int i = 0; i < c.length; i++) {
+            c[i] = random.nextGaussian();
+        }
+        PolyFunction p = (PolyFunction) roundTrip(new PolyFunction(c));
+        assertArrayEquals(c, p.getCoeffients(), 0.0);
+    }
+}
@@ -0,0 +1,92 @@
+package org.magee.math;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class FunctionTest {
+
+    private static Function[] functions() {
+        Function x = CompoundFunction.power(1.0);
+        return new Function[] {
+            new ConstantFunction(4.0), new PolyFunction(new double[] { 2.0, -3.0, 0.5, 1.0 }),
+            new ExponentialFunction(3.0), new NaturalExpFunction(), new LogFunction(10.0),
+            new RadicalFunction(2.0), new RadicalFunction(-1.0), new RadicalFunction(0.5),
+            CompoundFunction.sum(new LogFunction(2.0), new RadicalFunction(3.0)),
+            CompoundFunction.product(new ExponentialFunction(2.0), new LogFunction(Math.E)),
+            CompoundFunction.quotient(new RadicalFunction(2.0), CompoundFunction.sum(x, new ConstantFunction(1.0))),
+            CompoundFunction.compose(new LogFunction(Math.E), new PolyFunction(new double[] { 1.0, 0.0, 1.0 })),
+            CompoundFunction.compose(new ExponentialFunction(Math.E), CompoundFunction.product(new LogFunction(3.0), new RadicalFunction(-2.0))),
+        };
+    }
+
+    private static double tolerance(double expected) {
+        return 1e-12 * Math.max(1.0, Math.abs(expected));
+    }
+
+    /**
+     * Test for {@link Function#jetAt(double, double[])}
+     * One forward pass gives the value and the first two symbolic derivatives
+     */
+    @Test
+    public void test01() throws Throwable {
+        double[] jet = new double[3];
+        for(Function f : functions()) {
+            Function d = f.getDerivFunc(), dd = d.getDerivFunc();
+            for(double x = 0.25; x < 3.0; x += 0.25) {
+                f.jetAt(x, jet);
+                assertEquals(f + " at " + x, f.valueAt(x), jet[0], tolerance(jet[0]));
+                assertEquals(f + " at " + x, d.valueAt(x), jet[1], tolerance(jet[1]));
+                assertEquals(f + " at " + x, dd.valueAt(x), jet[2], 1e-10 * Math.max(1.0, Math.abs(jet[2])));
+                double[] vd = f.valueAndDerivative(x);
+                assertEquals(jet[0], vd[0], 0.0);
+                assertEquals(jet[1], vd[1], 0.0);
+            }
+        }
+        new RadicalFunction(0.5).jetAt(0.0, jet);
+        assertArrayEquals(new double[] { 0.0, 0.0, 2.0 }, jet, 0.0);
+    }
+
+    /**
+     * Test for {@link Function#valueAndDerivatives(double[], double[], double[], double[])}
+     * Bulk evaluation fills the caller's arrays, and a function without a derivative uses differences
+     */
+    @Test
+    public void test02() throws Throwable {
+        double[] xs = new double[100];
+        for(int i = 0; i < xs.length; i++) {
+            xs[i] = 0.1 + i * 0.03;
+        }
+        double[] values = new double[xs.length], first = new double[xs.length], second = new double[xs.length + 5];
+        double[] jet = new double[3];
+        for(Function f : functions()) {
+            f.valueAndDerivatives(xs, values, first, second);
+            for(int i = 0; i < xs.length; i++) {
+                f.jetAt(xs[i], jet);
+                assertEquals(jet[0], values[i], 0.0);
+                assertEquals(jet[1], first[i], 0.0);
+                assertEquals(jet[2], second[i], 0.0);
+            }
+            f.valueAndDerivative(xs, values, first);
+            assertEquals(jet[1], first[xs.length - 1], 0.0);
+        }
+        try {
+            new ConstantFunction(1.0).valueAndDerivative(xs, new double[99], first);
+            fail();
+        } catch(IllegalArgumentException e) {
+        }
+
+        Function sine = new Function() {
+            public String toString() { return "sin x"; }
+            public double valueAt(double x) { return Math.sin(x); }
+            public double area(double x1, double x2) { return Math.cos(x1) - Math.cos(x2); }
+        };
+        sine.valueAndDerivatives(xs, values, first, second);
+        for(int i = 0; i < xs.length; i++) {
+            assertEquals(Math.cos(xs[i]), first[i], 1e-9);
+            assertEquals(-Math.sin(xs[i]), second[i], 1e-4);
+        }
+    }
+}
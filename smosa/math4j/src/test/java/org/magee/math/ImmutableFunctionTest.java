@@ -0,0 +1,150 @@
+package org.magee.math;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ImmutableFunctionTest {
+
+    /**
+     * Test for {@link ImmutablePolyFunction.Builder#build()} and {@link ImmutablePolyFunction#withDegree(int)}
+     * Builders and with methods give new polynomials and never change the ones already built
+     */
+    @Test
+    public void test01() throws Throwable {
+        ImmutablePolyFunction.Builder b = ImmutablePolyFunction.builder().coeffient(3, 2.0).coeffient(0, -1.0);
+        ImmutablePolyFunction p = b.build();
+        b.coeffient(3, 5.0).coeffient(7, 1.0);
+        ImmutablePolyFunction q = b.build();
+        assertArrayEquals(new double[] { 2.0, 0.0, 0.0, -1.0 }, p.getCoeffients(), 0.0);
+        assertEquals(7, q.getDegree());
+        assertEquals(5.0, q.getCoeffient(3), 0.0);
+        assertEquals(15.0, p.valueAt(2.0), 0.0);
+        assertEquals(p, new ImmutablePolyFunction(new double[] { 0.0, 2.0, 0.0, 0.0, -1.0 }));
+        assertEquals(p.hashCode(), new ImmutablePolyFunction(new double[] { 2.0, 0.0, 0.0, -1.0 }).hashCode());
+        assertEquals("2.0 x^3 + -1.0", p.toString());
+
+        assertSame(p, p.withCoeffient(3, 2.0));
+        assertSame(p, p.withDegree(5));
+        ImmutablePolyFunction r = p.withCoeffient(1, 4.0);
+        assertEquals(0.0, p.getCoeffient(1), 0.0);
+        assertEquals(23.0, r.valueAt(2.0), 0.0);
+        assertEquals(-1.0, q.withDegree(2).valueAt(3.0), 0.0); // the coeffients of x and x^2 are zero
+        assertEquals(0, q.withDegree(2).getDegree());
+        assertEquals(7, q.getDegree());
+        assertArrayEquals(new double[] { 4.0, 0.0, 0.0, -2.0 }, p.withScale(2.0).getCoeffients(), 0.0);
+        assertEquals("0", p.withScale(0.0).toString());
+        assertEquals(0.0, ImmutablePolyFunction.builder().build().valueAt(5.0), 0.0);
+
+        PolyFunction mutable = new PolyFunction(new double[] { 1.0, -3.0, 0.5, 2.0 });
+        ImmutablePolyFunction frozen = mutable.toImmutable();
+        mutable.setCoeffients(new double[] { 9.0, 9.0 });
+        double[] jet = new double[3], expected = new double[3];
+        PolyFunction original = frozen.toPolyFunction();
+        for(double x = -2.0; x <= 2.0; x += 0.25) {
+            frozen.jetAt(x, jet);
+            original.jetAt(x, expected);
+            assertArrayEquals(expected, jet, 0.0);
+            assertEquals(original.getDerivFunc().valueAt(x), frozen.getDerivFunc().valueAt(x), 0.0);
+        }
+        assertEquals(original.area(-1.0, 2.0), frozen.area(-1.0, 2.0), 1e-12);
+        assertEquals(-frozen.area(-1.0, 2.0), frozen.area(2.0, -1.0), 1e-12);
+
+        Function sum = CompoundFunction.sum(frozen, new ConstantFunction(1.0));
+        assertEquals(PolyFunction.class, sum.getClass());
+        assertEquals(3.0, sum.valueAt(0.0), 0.0);
+
+        ByteBuffer buf = ByteBuffer.allocate(BinaryCodec.encodedLength(frozen));
+        BinaryCodec.writeFunction(frozen, buf);
+        buf.flip();
+        assertEquals(original.valueAt(1.5), BinaryCodec.readFunction(buf).valueAt(1.5), 0.0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(q.withDegree(3));
+        out.close();
+        Object copy = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertEquals(q.withDegree(3), copy);
+        assertNotSame(q, copy);
+    }
+
+    /**
+     * Test for {@link ImmutableExponentialFunction} and {@link ImmutableLogFunction}
+     * The immutable functions agree with the mutable ones and one instance serves many threads
+     */
+    @Test
+    public void test02() throws Throwable {
+        ExponentialFunction exp = new ExponentialFunction(3.0);
+        final ImmutableExponentialFunction iexp = exp.toImmutable();
+        exp.setBase(7.0);
+        LogFunction log = new LogFunction(10.0);
+        final ImmutableLogFunction ilog = log.toImmutable();
+        log.setBase(2.0);
+        ExponentialFunction exp3 = new ExponentialFunction(3.0);
+        LogFunction log10 = new LogFunction(10.0);
+        double[] jet = new double[3], expected = new double[3];
+        for(double x = 0.25; x < 4.0; x += 0.25) {
+            assertEquals(exp3.valueAt(x), iexp.valueAt(x), 0.0);
+            assertEquals(exp3.getDerivFunc().valueAt(x), iexp.getDerivFunc().valueAt(x), 1e-12);
+            assertEquals(exp3.area(0.5, x), iexp.area(0.5, x), 1e-12);
+            assertEquals(log10.valueAt(x), ilog.valueAt(x), 1e-15);
+            assertEquals(log10.getAntiderivFunc().valueAt(x) - log10.getAntiderivFunc().valueAt(0.5), ilog.area(0.5, x), 1e-12);
+            assertEquals(ilog.area(0.5, x), ilog.getAntiderivFunc().valueAt(x) - ilog.getAntiderivFunc().valueAt(0.5), 1e-12);
+            log10.jetAt(x, expected);
+            ilog.jetAt(x, jet);
+            assertArrayEquals(expected, jet, 1e-15);
+        }
+        assertSame(iexp, iexp.withBase(3.0));
+        assertEquals(8.0, iexp.withBase(2.0).valueAt(3.0), 0.0);
+        assertEquals(3.0, iexp.getBase(), 0.0);
+        assertEquals(2.0, ilog.withBase(2.0).valueAt(4.0), 0.0);
+        assertEquals(2.0, new ImmutableExponentialFunction(1.0).area(1.0, 3.0), 0.0);
+
+        final Function shared = CompoundFunction.sum(CompoundFunction.product(iexp, ilog),
+                ImmutablePolyFunction.builder().coeffients(1.0, 0.0, -2.0).build());
+        final double[] xs = new double[1000];
+        final double[] ys = new double[xs.length];
+        for(int i = 0; i < xs.length; i++) {
+            xs[i] = 0.5 + i * 0.003;
+            ys[i] = shared.valueAt(xs[i]);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for(int t = 0; t < 256; t++) {
+                results.add(pool.submit(new Callable<Boolean>() {
+                    public Boolean call() {
+                        double[] jet = new double[3];
+                        for(int i = 0; i < xs.length; i++) {
+                            shared.jetAt(xs[i], jet);
+                            if(jet[0] != ys[i] || shared.valueAt(xs[i]) != ys[i] || shared.getDerivFunc() == null)
+                                return false;
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for(Future<Boolean> f : results) {
+                assertTrue(f.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
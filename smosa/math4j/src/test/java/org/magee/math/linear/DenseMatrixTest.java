@@ -0,0 +1,136 @@
+package org.magee.math.linear;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class DenseMatrixTest {
+
+    private static DenseMatrix random(Random random, int rows, int cols) {
+        DenseMatrix m = new DenseMatrix(rows, cols);
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < cols; j++) {
+                m.set(i, j, random.nextGaussian());
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Test for {@link DenseMatrix#times(DenseMatrix)}
+     * The blocked product must agree with Jama on a size that is not a multiple of the block
+     */
+    @Test
+    public void test01() throws Throwable {
+        Random random = new Random(29L);
+        DenseMatrix a = random(random, 131, 70);
+        DenseMatrix b = random(random, 70, 150);
+        DenseMatrix c = a.times(b);
+        Jama.Matrix expected = JamaAdapter.toJama(a).times(JamaAdapter.toJama(b));
+        for(int i = 0; i < 131; i++) {
+            for(int j = 0; j < 150; j++) {
+                assertEquals(expected.get(i, j), c.get(i, j), 1e-12);
+            }
+        }
+    }
+
+    /**
+     * Test for {@link DenseMatrix#view(int, int, int, int)}
+     * A view shares storage with its parent and multiplies like a copy
+     */
+    @Test
+    public void test02() throws Throwable {
+        DenseMatrix big = new DenseMatrix(10, 10);
+        for(int i = 0; i < 10; i++) {
+            for(int j = 0; j < 10; j++) {
+                big.set(i, j, i * 10 + j);
+            }
+        }
+        DenseMatrix view = big.view(2, 3, 4, 5);
+        assertEquals(23.0, view.get(0, 0), 0.0);
+        view.set(1, 1, -1.0);
+        assertEquals(-1.0, big.get(3, 4), 0.0);
+
+        DenseMatrix copy = view.copy();
+        assertArrayEquals(copy.times(copy.transpose()).toRowPackedArray(), view.times(view.transpose()).toRowPackedArray(), 0.0);
+    }
+
+    /**
+     * Test for {@link LUDecomposition#solve(double[])} and {@link LUDecomposition#det()}
+     */
+    @Test
+    public void test03() throws Throwable {
+        Random random = new Random(3L);
+        DenseMatrix a = random(random, 40, 40);
+        double[] b = new double[40];
+        for(int i = 0; i < b.length; i++) {
+            b[i] = random.nextGaussian();
+        }
+        LUDecomposition lu = new LUDecomposition(a);
+        assertArrayEquals(b, a.times(lu.solve(b)), 1e-10);
+        double det = JamaAdapter.toJama(a).det();
+        assertEquals(det, lu.det(), Math.abs(det) * 1e-12);
+    }
+
+    /**
+     * Test for {@link QRDecomposition#getQ()} and {@link QRDecomposition#getR()}
+     */
+    @Test
+    public void test04() throws Throwable {
+        Random random = new Random(4L);
+        DenseMatrix a = random(random, 30, 20);
+        QRDecomposition qr = new QRDecomposition(a);
+        assertArrayEquals(a.toRowPackedArray(), qr.getQ().times(qr.getR()).toRowPackedArray(), 1e-12);
+    }
+
+    /**
+     * Test for {@link EigenvalueDecomposition#getRealEigenvalues()}
+     * The eigenvalues must match Jama exactly, for both general and symmetric matrices
+     */
+    @Test
+    public void test05() throws Throwable {
+        Random random = new Random(5L);
+        for(int t = 0; t < 50; t++) {
+            int n = 1 + random.nextInt(12);
+            DenseMatrix a = random(random, n, n);
+            if(t % 2 == 0)
+                a = a.add(a.transpose());
+            Jama.EigenvalueDecomposition expected = new Jama.EigenvalueDecomposition(JamaAdapter.toJama(a));
+            EigenvalueDecomposition actual = new EigenvalueDecomposition(a);
+            assertArrayEquals(expected.getRealEigenvalues(), actual.getRealEigenvalues(), 0.0);
+            assertArrayEquals(expected.getImagEigenvalues(), actual.getImagEigenvalues(), 0.0);
+        }
+    }
+
+    /**
+     * Test for {@link DenseMatrix#DenseMatrix(int, int)}
+     * Bad dimensions are refused with IllegalArgumentException before any array is made
+     */
+    @Test
+    public void test06() throws Throwable {
+        int[][] bad = { { -2, 3 }, { 2, -3 }, { -2, -3 }, { 1 << 16, 1 << 16 } };
+        for(int[] d : bad) {
+            try {
+                new DenseMatrix(d[0], d[1]);
+                fail();
+            } catch(IllegalArgumentException e) {
+            }
+            try {
+                new DenseMatrix(d[0], d[1], new double[6]);
+                fail();
+            } catch(IllegalArgumentException e) {
+            }
+        }
+        try {
+            new DenseMatrix(2, 4, new double[6]);
+            fail();
+        } catch(IllegalArgumentException e) {
+        }
+        assertEquals(0, new DenseMatrix(0, 5).getRowDimension());
+        assertEquals(3, new DenseMatrix(2, 3, new double[7]).getColumnDimension());
+    }
+}
@@ -0,0 +1,127 @@
+package org.magee.math.linear;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.magee.math.Rational;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RationalMatrixTest {
+
+    private static BigInteger big(long x) {
+        return BigInteger.valueOf(x);
+    }
+
+    private static RationalMatrix random(Random random, int rows, int cols, int bound) {
+        long[] a = new long[rows * cols];
+        for(int i = 0; i < a.length; i++) {
+            a[i] = random.nextInt(2 * bound + 1) - bound;
+        }
+        return new RationalMatrix(rows, cols, a, 1L);
+    }
+
+    /**
+     * Test for {@link RationalMatrix#determinant()}
+     * Exact determinants of small, overflowing and large matrices, by elimination and modulo primes
+     */
+    @Test
+    public void test01() throws Throwable {
+        RationalMatrix a = new RationalMatrix(new long[][] { { 2, -1, 0 }, { -1, 2, -1 }, { 0, -1, 2 } });
+        assertEquals(big(4), a.determinant()[0]);
+        assertEquals(BigInteger.ONE, a.determinant()[1]);
+        assertEquals(3, a.rank());
+        assertEquals(big(0), new RationalMatrix(new long[][] { { 1, 2, 3 }, { 4, 5, 6 }, { 7, 8, 9 } }).determinant()[0]);
+        assertEquals(big(-1), new RationalMatrix(new long[][] { { 0, 1 }, { 1, 0 } }).determinant()[0]);
+
+        // the Hilbert matrix of order 4 has determinant 1/6048000
+        Rational[][] hilbert = new Rational[4][4];
+        for(int i = 0; i < 4; i++) {
+            for(int j = 0; j < 4; j++) {
+                hilbert[i][j] = new Rational(1, i + j + 1);
+            }
+        }
+        RationalMatrix h = RationalMatrix.valueOf(hilbert);
+        assertEquals(big(420), h.getDenominator());
+        assertEquals(BigInteger.ONE, h.determinant()[0]);
+        assertEquals(big(6048000), h.determinant()[1]);
+
+        // products overflow a long, so elimination starts again in BigIntegers
+        long m = 3037000499L;
+        RationalMatrix o = new RationalMatrix(new long[][] { { m, 1, 2 }, { 3, m, 5 }, { 7, 11, m } });
+        assertTrue(o.isPacked());
+        BigInteger expected = big(m).pow(3).add(big(101)).subtract(big(m).multiply(big(55 + 3 + 14)));
+        assertEquals(expected, o.determinant()[0]);
+        assertEquals(expected, o.modularDeterminant());
+
+        Random random = new Random(48L);
+        for(int n : new int[] { 5, 20, 45 }) {
+            RationalMatrix r = random(random, n, n, 1000);
+            assertEquals(r.bareissDeterminant(), r.modularDeterminant());
+        }
+        RationalMatrix large = random(random, 60, 60, 1 << 20);
+        assertEquals(large.bareissDeterminant(), large.determinant()[0]);
+
+        BigInteger[] huge = new BigInteger[4];
+        huge[0] = BigInteger.ONE.shiftLeft(100);
+        huge[1] = big(3);
+        huge[2] = big(5);
+        huge[3] = BigInteger.ONE.shiftLeft(90);
+        RationalMatrix b = new RationalMatrix(2, 2, huge, big(2));
+        assertFalse(b.isPacked());
+        assertEquals(BigInteger.ONE.shiftLeft(190).subtract(big(15)), b.determinant()[0]);
+        assertEquals(big(4), b.determinant()[1]);
+        assertEquals(b.bareissDeterminant(), b.modularDeterminant());
+        try {
+            new RationalMatrix(2, 3, new long[6], 1L).determinant();
+            fail();
+        } catch(IllegalArgumentException e) {
+        }
+    }
+
+    /**
+     * Test for {@link RationalMatrix#solve(RationalMatrix)}
+     * Exact solutions satisfy the system, and rank counts independent rows
+     */
+    @Test
+    public void test02() throws Throwable {
+        RationalMatrix a = new RationalMatrix(new long[][] { { 2, 1, 1 }, { 1, 3, 2 }, { 1, 0, 0 } });
+        RationalMatrix b = new RationalMatrix(new long[][] { { 4 }, { 5 }, { 6 } });
+        RationalMatrix x = a.solve(b);
+        assertEquals(new RationalMatrix(new long[][] { { 6 }, { 15 }, { -23 } }), x);
+        assertEquals(b, a.times(x));
+
+        Random random = new Random(49L);
+        for(int n : new int[] { 1, 4, 12 }) {
+            RationalMatrix r = random(random, n, n, 50);
+            RationalMatrix rhs = random(random, n, 2, 9).times(new RationalMatrix(2, 2, new long[] { 1, 0, 0, 1 }, 7L));
+            RationalMatrix s = r.solve(rhs);
+            assertEquals(rhs, r.times(s));
+        }
+
+        RationalMatrix h = RationalMatrix.valueOf(new Rational[][] { { new Rational(1, 2), new Rational(1, 3) }, { new Rational(1, 3), new Rational(1, 4) } });
+        RationalMatrix inverse = h.solve(RationalMatrix.identity(2));
+        assertEquals(new RationalMatrix(new long[][] { { 18, -24 }, { -24, 36 } }).toString(), inverse.toString());
+        assertEquals(RationalMatrix.identity(2), h.times(inverse));
+        assertEquals("1/2 1/3\n1/3 1/4\n", h.toString());
+        try {
+            new RationalMatrix(new long[][] { { 1, 2 }, { 2, 4 } }).solve(RationalMatrix.identity(2));
+            fail();
+        } catch(ArithmeticException e) {
+        }
+
+        assertEquals(2, new RationalMatrix(new long[][] { { 1, 2, 3 }, { 4, 5, 6 }, { 7, 8, 9 } }).rank());
+        assertEquals(1, new RationalMatrix(new long[][] { { 0, 0, 2, 4 }, { 0, 0, 1, 2 } }).rank());
+        assertEquals(2, new RationalMatrix(new long[][] { { 0, 1 }, { 0, 2 }, { 1, 0 } }).rank());
+        assertEquals(0, new RationalMatrix(3, 2, new long[6], 5L).rank());
+        RationalMatrix e = new RationalMatrix(new long[][] { { 0, 2, 1 }, { 1, 1, 1 }, { 2, 2, 3 } }).echelon();
+        assertEquals(BigInteger.ZERO, e.getNumerator(1, 0));
+        assertEquals(BigInteger.ZERO, e.getNumerator(2, 1));
+        assertEquals(big(2), e.getNumerator(2, 2)); // minus the determinant, after one swap
+    }
+}
@@ -0,0 +1,89 @@
+package org.magee.math.solver;
+
+import org.junit.Test;
+
+import org.magee.math.CompoundFunction;
+import org.magee.math.ExponentialFunction;
+import org.magee.math.Function;
+import org.magee.math.PolyFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MinimizerTest {
+
+    /**
+     * A function with many local minima and no symbolic derivative, lowest at zero.
+     */
+    private static Function rastrigin() {
+        return new Function() {
+            public String toString() { return "x^2 - 10 cos 2 pi x + 10"; }
+            public double valueAt(double x) { return x * x - 10 * Math.cos(2 * Math.PI * x) + 10; }
+            public double area(double x1, double x2) { return 0.0; }
+        };
+    }
+
+    private static Function cosine() {
+        return new Function() {
+            public String toString() { return "cos x"; }
+            public double valueAt(double x) { return Math.cos(x); }
+            public double area(double x1, double x2) { return Math.sin(x2) - Math.sin(x1); }
+        };
+    }
+
+    /**
+     * Test for {@link Minimizer#minimize(Function, double, double)}
+     * Golden section and Brent's method agree, and Brent's method needs fewer evaluations
+     */
+    @Test
+    public void test01() throws Throwable {
+        GoldenSectionMinimizer golden = new GoldenSectionMinimizer();
+        BrentMinimizer brent = new BrentMinimizer();
+
+        assertEquals(Math.PI, golden.minimize(cosine(), 2.0, 4.0), 1e-7);
+        assertEquals(-1.0, golden.getValue(), 1e-14);
+        long goldenCount = golden.getEvaluations();
+        assertEquals(Math.PI, brent.minimize(cosine(), 2.0, 4.0), 1e-7);
+        assertTrue(brent.getEvaluations() < goldenCount);
+
+        Function parabola = new PolyFunction(new double[] { 1.0, -4.0, 5.0 }); // (x - 2)^2 + 1
+        assertEquals(2.0, golden.minimize(parabola, 0.0, 5.0), 1e-7);
+        assertEquals(2.0, brent.minimize(parabola, 0.0, 5.0), 1e-7);
+        assertEquals(1.0, brent.getValue(), 1e-14);
+        assertTrue(brent.getEvaluations() < 12);
+
+        Function f = CompoundFunction.difference(new ExponentialFunction(Math.E), new PolyFunction(new double[] { 2.0, 0.0 }));
+        assertEquals(Math.log(2.0), brent.minimize(f, -3.0, 4.0), 1e-7);
+        assertEquals(Math.log(2.0), golden.minimize(f, -3.0, 4.0), 1e-7);
+
+        assertEquals(1.0, brent.maximize(new PolyFunction(new double[] { -1.0, 2.0, 3.0 }), -4.0, 9.0), 1e-7);
+        assertEquals(4.0, brent.getValue(), 1e-14);
+        assertEquals(0.0, golden.maximize(cosine(), -1.0, 2.0), 1e-7);
+        assertEquals(1.0, golden.getValue(), 1e-14);
+        assertEquals(2.0, brent.minimize(cosine(), 0.0, 2.0), 1e-7); // at the end of the interval
+    }
+
+    /**
+     * Test for {@link MultiStartMinimizer#minimize(Function, double, double)}
+     * Parts searched in parallel give the global optimum and the total evaluation count
+     */
+    @Test
+    public void test02() throws Throwable {
+        MultiStartMinimizer multi = new MultiStartMinimizer(new BrentMinimizer(), 40);
+        assertEquals(0.0, multi.minimize(rastrigin(), -5.12, 5.12), 1e-7);
+        assertEquals(0.0, multi.getValue(), 1e-12);
+        assertEquals(40, multi.getMinima().length);
+        assertTrue(multi.getEvaluations() > 40 * 5);
+
+        Function quartic = new PolyFunction(new double[] { 1.0, 0.0, -3.0, 1.0, 0.0 });
+        double x = -1.3008395659415772;
+        assertEquals(x, multi.minimize(quartic, -3.0, 3.0), 1e-7);
+        assertEquals(quartic.valueAt(x), multi.getValue(), 1e-12);
+        assertEquals(1.1309011226299859, new BrentMinimizer().minimize(quartic, 0.0, 3.0), 1e-6);
+
+        MultiStartMinimizer few = new MultiStartMinimizer(new GoldenSectionMinimizer(), 3);
+        assertEquals(3.0, few.maximize(new PolyFunction(new double[] { 1.0, 0.0 }), -3.0, 3.0), 1e-7);
+        assertEquals(3.0, few.getValue(), 1e-7);
+        assertEquals(2.0 * Math.PI, new MultiStartMinimizer().maximize(cosine(), 1.0, 7.0), 1e-7);
+    }
+}
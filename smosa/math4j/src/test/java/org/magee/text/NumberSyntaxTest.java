@@ -0,0 +1,100 @@
+package org.magee.text;
+
+import org.junit.Test;
+
+import javax.swing.text.Document;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NumberSyntaxTest {
+
+    /**
+     * Test for {@link NumberSyntax#matches(CharSequence)} and {@link NumberSyntax#isPrefix(CharSequence)}
+     * with the floating point syntax
+     */
+    @Test
+    public void test01() throws Throwable {
+        String[] numbers = { "0", "-1", "+2.", ".5", "3.25e10", "-6.02E+23", "1e-9", "007" };
+        for(int i = 0; i < numbers.length; i++) {
+            assertTrue(numbers[i], NumberSyntax.DOUBLE.matches(numbers[i]));
+            Double.parseDouble(numbers[i]); // the syntax must agree with the parser
+        }
+        String[] prefixes = { "", "-", ".", "1e", "1E-", "-." };
+        for(int i = 0; i < prefixes.length; i++) {
+            assertTrue(prefixes[i], NumberSyntax.DOUBLE.isPrefix(prefixes[i]));
+            assertFalse(prefixes[i], NumberSyntax.DOUBLE.matches(prefixes[i]));
+        }
+        String[] invalid = { "1.2.3", "--1", "1e2e3", "e5", "1e2.5", "1,5", "\u0661" };
+        for(int i = 0; i < invalid.length; i++) {
+            assertFalse(invalid[i], NumberSyntax.DOUBLE.isPrefix(invalid[i]));
+        }
+    }
+
+    /**
+     * Test for {@link NumberSyntax#forRadix(int)}
+     * Integer syntaxes take a sign and digits of their radix only
+     */
+    @Test
+    public void test02() throws Throwable {
+        assertTrue(NumberSyntax.BINARY.matches("-1011"));
+        assertFalse(NumberSyntax.BINARY.isPrefix("102"));
+        assertTrue(NumberSyntax.OCTAL.matches("755"));
+        assertFalse(NumberSyntax.OCTAL.isPrefix("8"));
+        assertTrue(NumberSyntax.HEXADECIMAL.matches("7fFf"));
+        assertFalse(NumberSyntax.HEXADECIMAL.isPrefix("G"));
+        assertFalse(NumberSyntax.HEXADECIMAL.isPrefix("1-"));
+        assertTrue(NumberSyntax.forRadix(36).matches("ZZ"));
+    }
+
+    /**
+     * Test for {@link NumberDocumentFilter}
+     * The whole document is checked, so a valid insertion in the wrong place is refused
+     */
+    @Test
+    public void test03() throws Throwable {
+        Document doc = new DoubleDocument();
+        doc.insertString(0, "1.5", null);
+        doc.insertString(3, "e", null);
+        doc.insertString(4, "-3", null);
+        assertEquals("1.5e-3", doc.getText(0, doc.getLength()));
+        doc.insertString(1, ".", null); // a second point
+        doc.insertString(0, "x", null);
+        assertEquals("1.5e-3", doc.getText(0, doc.getLength()));
+
+        Document hex = new HexadecimalDocument();
+        hex.insertString(0, "ff", null);
+        assertEquals("FF", hex.getText(0, hex.getLength()));
+
+        StringBuffer sb = new StringBuffer();
+        for(int i = 0; i < 1 << 20; i++) {
+            sb.append((char) ('0' + (i & 1)));
+        }
+        Document binary = new BinaryDocument();
+        binary.insertString(0, sb.toString(), null);
+        assertEquals(1 << 20, binary.getLength());
+        binary.insertString(500, "2", null);
+        assertEquals(1 << 20, binary.getLength());
+    }
+
+    /**
+     * Test for {@link NumberDocumentFilter#remove(javax.swing.text.DocumentFilter.FilterBypass, int, int)}
+     * A removal that would leave something other than the start of a number is refused
+     */
+    @Test
+    public void test04() throws Throwable {
+        Document doc = new DoubleDocument();
+        doc.insertString(0, "-1.5e-3", null);
+        doc.remove(1, 3); // the mantissa
+        doc.remove(0, 4); // everything before the exponent
+        assertEquals("-1.5e-3", doc.getText(0, doc.getLength()));
+        doc.remove(2, 1);
+        assertEquals("-15e-3", doc.getText(0, doc.getLength()));
+        doc.remove(5, 1); // the start of a number is left, as when typing
+        doc.remove(1, 2);
+        assertEquals("-15e-", doc.getText(0, doc.getLength()));
+        doc.remove(0, doc.getLength());
+        assertEquals(0, doc.getLength());
+    }
+}
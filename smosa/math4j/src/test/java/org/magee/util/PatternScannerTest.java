@@ -0,0 +1,108 @@
+package org.magee.util;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PatternScannerTest {
+
+    private static final PatternScanner[] SCANNERS = { PatternScanner.IP, PatternScanner.EMAIL, PatternScanner.FLOAT };
+
+    private static final Pattern[] PATTERNS = {
+            Pattern.compile("\\b(?:(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\b"),
+            Pattern.compile("\\b[a-zA-Z0-9._%-]+@[a-zA-Z0-9._%-]+\\.[a-zA-Z]{2,4}\\b"),
+            Pattern.compile("[-+]?([0-9]*\\.)?[0-9]+([eE][-+]?[0-9]+)?") };
+
+    private static final String ALPHABET = "0123456789012345....@@abcXYZeE+-_% \né";
+
+    private static String random(Random random, int length) {
+        StringBuffer sb = new StringBuffer(length);
+        for(int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+
+    private static List<String> expected(String s, int k) {
+        List<String> found = new ArrayList<String>();
+        Matcher m = PATTERNS[k].matcher(s);
+        while(m.find()) {
+            found.add(SCANNERS[k].getName() + " " + m.start() + " " + m.end() + " " + m.group());
+        }
+        return found;
+    }
+
+    private static class Collector implements MatchListener {
+        final List<String> found = Collections.synchronizedList(new ArrayList<String>());
+
+        public void matchFound(PatternScanner scanner, long start, long end, String match) {
+            found.add(scanner.getName() + " " + start + " " + end + " " + match);
+        }
+    }
+
+    /**
+     * Test for {@link PatternScanner#scan(ByteBuffer, MatchListener)}
+     * The scanners find the same matches as <code>Matcher.find</code>
+     */
+    @Test
+    public void test01() throws Throwable {
+        Random random = new Random(36L);
+        for(int trial = 0; trial < 2000; trial++) {
+            String s = random(random, random.nextInt(60));
+            if(trial % 3 == 0)
+                s = s + " 192.168.0." + random.nextInt(300) + " a.b-c@host.org " + s;
+            ByteBuffer in = ByteBuffer.wrap(s.getBytes(StandardCharsets.ISO_8859_1));
+            for(int k = 0; k < SCANNERS.length; k++) {
+                Collector c = new Collector();
+                SCANNERS[k].scan(in, c);
+                assertEquals(s, expected(s, k), c.found);
+            }
+        }
+    }
+
+    /**
+     * Test for {@link PatternScanner#scan(File, PatternScanner[], MatchListener, int, int)}
+     * Matches across chunk boundaries are reported once, by the chunk they start in
+     */
+    @Test
+    public void test02() throws Throwable {
+        Random random = new Random(6L);
+        StringBuffer sb = new StringBuffer();
+        while(sb.length() < 100000) {
+            sb.append(random(random, 20)).append(" 10.0.0.").append(random.nextInt(256)).append(" x_y@mail.example.com ");
+        }
+        String s = sb.toString();
+        File file = File.createTempFile("scan", ".log");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            out.write(s.getBytes(StandardCharsets.ISO_8859_1));
+            out.close();
+
+            Collector c = new Collector();
+            PatternScanner.scan(file, SCANNERS, c, 997, 64);
+            List<String> expected = new ArrayList<String>();
+            for(int k = 0; k < SCANNERS.length; k++) {
+                expected.addAll(expected(s, k));
+            }
+            assertTrue(expected.size() > 1000);
+            Collections.sort(expected);
+            List<String> found = new ArrayList<String>(c.found);
+            Collections.sort(found);
+            assertEquals(expected, found);
+        } finally {
+            file.delete();
+        }
+    }
+}
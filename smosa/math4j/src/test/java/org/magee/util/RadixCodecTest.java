@@ -0,0 +1,105 @@
+package org.magee.util;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RadixCodecTest {
+
+    /**
+     * Test for {@link RadixCodec#encode(byte[])} and {@link RadixCodec#decode(CharSequence)}
+     * Every byte round trips in each radix
+     */
+    @Test
+    public void test01() throws Throwable {
+        byte[] all = new byte[256];
+        for(int i = 0; i < 256; i++) {
+            all[i] = (byte) i;
+        }
+        RadixCodec[] codecs = { RadixCodec.BINARY, RadixCodec.OCTAL, RadixCodec.HEXADECIMAL, RadixCodec.HEXADECIMAL_UPPER_CASE };
+        for(int c = 0; c < codecs.length; c++) {
+            String s = codecs[c].encode(all);
+            assertEquals(256 * codecs[c].getDigitsPerByte(), s.length());
+            assertArrayEquals(all, codecs[c].decode(s));
+            assertArrayEquals(all, codecs[c].decode(s.toLowerCase()));
+        }
+        assertEquals("00ff7f80", RadixCodec.HEXADECIMAL.encode(new byte[] { 0, -1, 127, -128 }));
+        assertEquals("377", RadixCodec.OCTAL.encode(new byte[] { -1 }));
+        assertEquals("00001010", RadixCodec.BINARY.encode(new byte[] { 10 }));
+        try {
+            RadixCodec.OCTAL.decode("400");
+            fail();
+        } catch(NumberFormatException e) {
+        }
+        try {
+            RadixCodec.HEXADECIMAL.decode("0g");
+            fail();
+        } catch(NumberFormatException e) {
+        }
+    }
+
+    /**
+     * Test for {@link RadixCodec#encode(ByteBuffer, CharBuffer)} and {@link RadixCodec#decode(CharBuffer, ByteBuffer)}
+     * Streaming through small buffers leaves partial groups for the next call
+     */
+    @Test
+    public void test02() throws Throwable {
+        byte[] data = new byte[1000];
+        new Random(34L).nextBytes(data);
+        ByteBuffer in = ByteBuffer.wrap(data);
+        CharBuffer chars = CharBuffer.allocate(3 * data.length);
+        CharBuffer window = CharBuffer.allocate(7); // not a multiple of the width
+        while(in.hasRemaining()) {
+            RadixCodec.OCTAL.encode(in, window);
+            window.flip();
+            chars.put(window);
+            window.clear();
+        }
+        chars.flip();
+        assertEquals(RadixCodec.OCTAL.encode(data), chars.toString());
+
+        ByteBuffer out = ByteBuffer.allocateDirect(data.length);
+        CharBuffer piece = CharBuffer.allocate(5);
+        while(chars.hasRemaining() || piece.position() > 0) {
+            while(piece.hasRemaining() && chars.hasRemaining()) {
+                piece.put(chars.get());
+            }
+            piece.flip();
+            RadixCodec.OCTAL.decode(piece, out);
+            piece.compact();
+        }
+        out.flip();
+        byte[] back = new byte[out.remaining()];
+        out.get(back);
+        assertArrayEquals(data, back);
+    }
+
+    /**
+     * Test for {@link RadixCodec#toString(BigInteger, int)} and {@link RadixCodec#parse(CharSequence, int)}
+     * Large numbers agree with <code>BigInteger</code> in every radix
+     */
+    @Test
+    public void test03() throws Throwable {
+        Random random = new Random(3L);
+        BigInteger[] numbers = { BigInteger.ZERO, BigInteger.ONE.negate(), new BigInteger(20000, random),
+                new BigInteger(20000, random).negate(), BigInteger.TEN.pow(3000), BigInteger.TEN.pow(3000).subtract(BigInteger.ONE) };
+        for(int i = 0; i < numbers.length; i++) {
+            for(int radix = 2; radix <= 36; radix++) {
+                String s = numbers[i].toString(radix);
+                assertEquals(s, RadixCodec.toString(numbers[i], radix));
+                assertEquals(numbers[i], RadixCodec.parse(s, radix));
+            }
+        }
+        assertEquals(BigInteger.valueOf(255), RadixCodec.parse("+Ff", 16));
+        assertEquals(5L, MathUtil.binaryToLong("101"));
+        assertEquals(0xBEEFL, MathUtil.hexToLong("beef"));
+        assertEquals("0a", MathUtil.longToHex(10));
+    }
+}
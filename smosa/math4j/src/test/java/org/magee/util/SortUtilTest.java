@@ -0,0 +1,135 @@
+package org.magee.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SortUtilTest {
+
+    /**
+     * Test for {@link SortUtil#radixSort(double[])}
+     * The IEEE-754 key transform must give the same order as Arrays.sort, including
+     * negative zero, infinities and NaN
+     */
+    @Test
+    public void test01() throws Throwable {
+        Random random = new Random(26L);
+        double[] values = new double[1000];
+        for(int i = 0; i < values.length; i++) {
+            values[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 10);
+        }
+        values[0] = -0.0;
+        values[1] = 0.0;
+        values[2] = Double.NaN;
+        values[3] = Double.NEGATIVE_INFINITY;
+        values[4] = Double.POSITIVE_INFINITY;
+        values[5] = -Double.MIN_VALUE;
+
+        double[] expected = values.clone();
+        Arrays.sort(expected);
+        SortUtil.radixSort(values);
+        for(int i = 0; i < values.length; i++) {
+            assertEquals(Double.doubleToLongBits(expected[i]), Double.doubleToLongBits(values[i]));
+        }
+    }
+
+    /**
+     * Test for {@link SortUtil#radixSort(long[])} and {@link SortUtil#radixSort(int[])}
+     */
+    @Test
+    public void test02() throws Throwable {
+        Random random = new Random(2L);
+        long[] longs = new long[5000];
+        int[] ints = new int[5000];
+        for(int i = 0; i < longs.length; i++) {
+            longs[i] = random.nextLong();
+            ints[i] = random.nextInt();
+        }
+        longs[0] = Long.MIN_VALUE;
+        longs[1] = Long.MAX_VALUE;
+        ints[0] = Integer.MIN_VALUE;
+
+        long[] expectedLongs = longs.clone();
+        int[] expectedInts = ints.clone();
+        Arrays.sort(expectedLongs);
+        Arrays.sort(expectedInts);
+        SortUtil.radixSort(longs);
+        SortUtil.radixSort(ints);
+        assertArrayEquals(expectedLongs, longs);
+        assertArrayEquals(expectedInts, ints);
+    }
+
+    /**
+     * Test for {@link SortUtil#parallelRadixSort(long[])}, {@link SortUtil#parallelRadixSort(int[])}
+     * and {@link SortUtil#parallelRadixSort(double[])} above the parallel threshold
+     */
+    @Test
+    public void test03() throws Throwable {
+        Random random = new Random(3L);
+        int n = SortUtil.PARALLEL_THRESHOLD * 3;
+        long[] longs = new long[n];
+        int[] ints = new int[n];
+        double[] doubles = new double[n];
+        for(int i = 0; i < n; i++) {
+            longs[i] = random.nextLong() >> random.nextInt(64);
+            ints[i] = random.nextInt(1000) - 500;
+            doubles[i] = random.nextGaussian();
+        }
+
+        long[] expectedLongs = longs.clone();
+        int[] expectedInts = ints.clone();
+        double[] expectedDoubles = doubles.clone();
+        Arrays.sort(expectedLongs);
+        Arrays.sort(expectedInts);
+        Arrays.sort(expectedDoubles);
+        SortUtil.parallelRadixSort(longs);
+        SortUtil.parallelRadixSort(ints);
+        SortUtil.parallelRadixSort(doubles);
+        assertArrayEquals(expectedLongs, longs);
+        assertArrayEquals(expectedInts, ints);
+        assertArrayEquals(expectedDoubles, doubles, 0.0);
+    }
+
+    /**
+     * Test for {@link SortUtil#nthElement(double[], int)} and {@link SortUtil#topK(long[], int)}
+     */
+    @Test
+    public void test04() throws Throwable {
+        Random random = new Random(4L);
+        double[] doubles = new double[999];
+        long[] longs = new long[999];
+        for(int i = 0; i < doubles.length; i++) {
+            doubles[i] = random.nextInt(100);
+            longs[i] = random.nextInt(100000);
+        }
+
+        double[] sorted = doubles.clone();
+        Arrays.sort(sorted);
+        assertEquals(sorted[499], SortUtil.nthElement(doubles, 499), 0.0);
+        for(int i = 0; i < 499; i++) {
+            assertEquals(true, doubles[i] <= doubles[499]);
+        }
+
+        long[] expected = longs.clone();
+        Arrays.sort(expected);
+        long[] top = SortUtil.topK(longs, 10);
+        for(int i = 0; i < 10; i++) {
+            assertEquals(expected[expected.length - 1 - i], top[i]);
+        }
+    }
+
+    /**
+     * Test for {@link SortUtil#stablePartition(double[], double)}
+     */
+    @Test
+    public void test05() throws Throwable {
+        double[] values = {5.0, 1.0, 7.0, 2.0, 3.0, 9.0};
+        int[] perm = SortUtil.stablePartition(values, 4.0);
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0, 5.0, 7.0, 9.0}, values, 0.0);
+        assertArrayEquals(new int[] {1, 3, 4, 0, 2, 5}, perm);
+    }
+}
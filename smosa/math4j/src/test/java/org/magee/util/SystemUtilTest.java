@@ -0,0 +1,155 @@
+package org.magee.util;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SystemUtilTest {
+
+    private static boolean unix() {
+        return File.separatorChar == '/' && new File("/bin/sh").exists();
+    }
+
+    /**
+     * Test for {@link SystemUtil#parseCommand(String)}
+     * Quoted text stays one argument
+     */
+    @Test
+    public void test01() throws Throwable {
+        assertArrayEquals(new String[] { "sh", "-c", "echo a b", "x y" }, SystemUtil.parseCommand("sh -c \"echo a b\" 'x y'"));
+    }
+
+    /**
+     * Test for {@link SystemUtil#execAsync(String, Consumer, Consumer, long, TimeUnit)}
+     * Both outputs are drained, so a command that floods standard error finishes
+     */
+    @Test
+    public void test02() throws Throwable {
+        if(!unix())
+            return;
+        assertEquals("hello" + System.getProperty("line.separator"), SystemUtil.exec("echo hello"));
+
+        final AtomicInteger errors = new AtomicInteger();
+        ProcessResult r = SystemUtil.execAsync("sh -c 'i=0; while [ $i -lt 20000 ]; do echo error line $i 1>&2; i=$((i+1)); done; echo done; exit 3'", null,
+                new Consumer<String>() {
+                    public void accept(String line) {
+                        errors.incrementAndGet();
+                    }
+                }, 60, TimeUnit.SECONDS).get();
+        assertEquals(3, r.getExitValue());
+        assertEquals(20000, errors.get());
+        assertEquals("done" + System.getProperty("line.separator"), r.getOutput());
+        assertEquals("", r.getErrorOutput());
+    }
+
+    /**
+     * Test for {@link ProcessRunner#submit(String[], Consumer, Consumer, long, TimeUnit)}
+     * Timeouts and cancellation kill the process, and a bounded runner queues the rest
+     */
+    @Test
+    public void test03() throws Throwable {
+        if(!unix())
+            return;
+        long start = System.nanoTime();
+        try {
+            SystemUtil.execAsync("sleep 30", null, null, 200, TimeUnit.MILLISECONDS).get();
+            fail();
+        } catch(ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        CompletableFuture<ProcessResult> f = SystemUtil.execAsync("sleep 30");
+        f.cancel(true);
+        assertTrue(f.isCancelled());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+
+        ProcessRunner runner = new ProcessRunner(2);
+        List<CompletableFuture<ProcessResult>> futures = new ArrayList<CompletableFuture<ProcessResult>>();
+        for(int i = 0; i < 6; i++) {
+            futures.add(runner.submit(new String[] { "sh", "-c", "sleep 0.5; echo " + i }));
+        }
+        assertEquals(2, runner.getRunningCount());
+        assertEquals(4, runner.getQueuedCount());
+        for(int i = 0; i < 6; i++) {
+            assertEquals(i + System.getProperty("line.separator"), futures.get(i).get().getOutput());
+        }
+        try {
+            runner.submit(new String[] { "no-such-command-here" }).get();
+            fail();
+        } catch(ExecutionException e) {
+            assertTrue(e.getCause() instanceof java.io.IOException);
+        }
+        assertEquals(0, runner.getRunningCount());
+    }
+
+    /**
+     * Test for {@link ProcessRunner#submit(String[])}
+     * Standard input is closed at the start, and more processes than reader threads all finish
+     */
+    @Test
+    public void test04() throws Throwable {
+        if(!unix())
+            return;
+        ProcessResult r = new ProcessRunner().submit(new String[] { "cat" }).get(10, TimeUnit.SECONDS);
+        assertEquals(0, r.getExitValue());
+        assertEquals("", r.getOutput());
+
+        ProcessRunner runner = new ProcessRunner();
+        int n = ProcessRunner.MAX_READERS + 8;
+        List<CompletableFuture<ProcessResult>> futures = new ArrayList<CompletableFuture<ProcessResult>>();
+        for(int i = 0; i < n; i++) {
+            futures.add(runner.submit(new String[] { "sh", "-c", "sleep 0.1; echo " + i + "; echo e 1>&2" }));
+        }
+        for(int i = 0; i < n; i++) {
+            r = futures.get(i).get(60, TimeUnit.SECONDS);
+            assertEquals(i + System.getProperty("line.separator"), r.getOutput());
+            assertEquals("e" + System.getProperty("line.separator"), r.getErrorOutput());
+        }
+        assertEquals(0, runner.getRunningCount());
+    }
+
+    /**
+     * Test for {@link ProcessRunner#submit(String[])}
+     * Thousands of commands that cannot start, queued behind a busy slot, all fail and free the runner
+     */
+    @Test
+    public void test05() throws Throwable {
+        if(!unix())
+            return;
+        ProcessRunner runner = new ProcessRunner(1);
+        CompletableFuture<ProcessResult> busy = runner.submit(new String[] { "sleep", "1" });
+        List<CompletableFuture<ProcessResult>> futures = new ArrayList<CompletableFuture<ProcessResult>>();
+        for(int i = 0; i < 5000; i++) {
+            futures.add(runner.submit(new String[] { "/nonexistent/cmd" }));
+        }
+        assertEquals(5000, runner.getQueuedCount());
+        futures.get(10).cancel(true);
+        CompletableFuture<ProcessResult> last = runner.submit(new String[] { "sh", "-c", "echo last" });
+        assertEquals(0, busy.get(30, TimeUnit.SECONDS).getExitValue());
+        assertEquals("last" + System.getProperty("line.separator"), last.get(30, TimeUnit.SECONDS).getOutput());
+        for(int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get(30, TimeUnit.SECONDS);
+                fail();
+            } catch(ExecutionException e) {
+                assertTrue(e.getCause() instanceof java.io.IOException);
+            } catch(java.util.concurrent.CancellationException e) {
+                assertEquals(10, i);
+            }
+        }
+        assertEquals(0, runner.getRunningCount());
+        assertEquals(0, runner.getQueuedCount());
+    }
+}
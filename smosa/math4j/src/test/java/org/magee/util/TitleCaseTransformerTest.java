@@ -0,0 +1,126 @@
+package org.magee.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+import java.util.StringTokenizer;
+
+import org.magee.util.TextUtil.LetterCase;
+
+import static org.junit.Assert.assertEquals;
+
+public class TitleCaseTransformerTest {
+
+    /**
+     * The tokenizer implementation <code>TextUtil.titleCase</code> used to have.
+     */
+    private static String tokenized(String str, LetterCase changeOption, String delimit) {
+        StringBuffer reply = new StringBuffer();
+        StringTokenizer st = new StringTokenizer(str, delimit);
+        while(st.hasMoreTokens()) {
+            char[] c = st.nextToken().toCharArray();
+            c[0] = Character.toUpperCase(c[0]);
+            for(int i = 1; i < c.length; i++) {
+                if(changeOption == LetterCase.LOWERCASE)
+                    c[i] = Character.toLowerCase(c[i]);
+                else if(changeOption == LetterCase.UPPERCASE)
+                    c[i] = Character.toUpperCase(c[i]);
+            }
+            if(reply.length() > 0)
+                reply.append(delimit);
+            reply.append(c);
+        }
+        return reply.toString();
+    }
+
+    private static String random(Random random, int length, String alphabet) {
+        StringBuffer sb = new StringBuffer(length);
+        for(int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A reader that returns a few characters at a time.
+     */
+    private static class TrickleReader extends Reader {
+        private final String s;
+        private final Random random;
+        private int at;
+
+        TrickleReader(String s, long seed) {
+            this.s = s;
+            this.random = new Random(seed);
+        }
+
+        public int read(char[] buf, int off, int len) throws IOException {
+            if(at == s.length())
+                return -1;
+            int n = Math.min(Math.min(len, 1 + random.nextInt(7)), s.length() - at);
+            s.getChars(at, at + n, buf, off);
+            at += n;
+            return n;
+        }
+
+        public void close() {
+        }
+    }
+
+    /**
+     * Test for {@link TextUtil#titleCase(String, LetterCase, String)}
+     * Single character delimiters give the same text as the tokenizer
+     */
+    @Test
+    public void test01() throws Throwable {
+        Random random = new Random(37L);
+        LetterCase[] options = LetterCase.values();
+        for(int trial = 0; trial < 3000; trial++) {
+            String s = random(random, random.nextInt(30), "aBc dE,féİ ");
+            String delimit = (trial % 2 == 0) ? " " : ", ";
+            LetterCase option = options[trial % options.length];
+            assertEquals(tokenized(s, option, delimit), TextUtil.titleCase(s, option, delimit));
+        }
+        assertEquals("Hello World", TextUtil.titleCase("  hello   world "));
+        assertEquals("Hello World", TextUtil.titleCase("hELLO wORLD", LetterCase.LOWERCASE));
+    }
+
+    /**
+     * Test for {@link TitleCaseTransformer#transform(Reader, java.io.Writer)}
+     * Delimiters of several characters cut by the end of a read are still found
+     */
+    @Test
+    public void test02() throws Throwable {
+        TitleCaseTransformer t = new TitleCaseTransformer(LetterCase.LOWERCASE, new String[] { "\r\n", "--", "---x", " " }, "|");
+        assertEquals("Ab|C-d|Ef|-x\r|X|-y", t.transform("aB\r\nc-D -- eF---X\r\r\n---x x ---y"));
+
+        Random random = new Random(2L);
+        for(int trial = 0; trial < 500; trial++) {
+            String s = random(random, random.nextInt(200), "ab-x \r\n");
+            StringWriter out = new StringWriter();
+            t.transform(new TrickleReader(s, trial), out);
+            assertEquals(s, t.transform(s), out.toString());
+        }
+    }
+
+    /**
+     * Test for {@link TitleCaseTransformer#parallelTransform(Reader, java.io.Writer)}
+     * Splitting blocks into pieces gives the same text as a sequential pass
+     */
+    @Test
+    public void test03() throws Throwable {
+        Random random = new Random(3L);
+        String s = random(random, 10000000, "abcdefGHIJ  --\n");
+        TitleCaseTransformer t = new TitleCaseTransformer(LetterCase.UPPERCASE, new String[] { " ", "--", "\n" }, " ");
+        StringWriter sequential = new StringWriter();
+        t.transform(new StringReader(s), sequential);
+        StringWriter parallel = new StringWriter();
+        t.parallelTransform(new StringReader(s), parallel);
+        assertEquals(t.transform(s), sequential.toString());
+        assertEquals(sequential.toString(), parallel.toString());
+    }
+}